@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -66,6 +66,21 @@ public class SnomedIdentifierConfiguration {
 	@Min(1000)
 	@Max(50000)
 	private int requestBulkLimit = 50_000;
+
+	// number of IDs reserved at once for the local ID pool of a namespace and component category, zero disables pooling
+	@Min(0)
+	@JsonProperty(value = "idPoolBlockSize", required = false)
+	private int idPoolBlockSize = 0;
+	
+	// the pool is refilled in the background when the number of pooled IDs drops to this value
+	@Min(0)
+	@JsonProperty(value = "idPoolLowWaterMark", required = false)
+	private int idPoolLowWaterMark = 100;
+	
+	// pooled IDs reserved earlier than this are released instead of being assigned (CIS reservations expire after a day)
+	@Min(1)
+	@JsonProperty(value = "idPoolExpiryMinutes", required = false)
+	private long idPoolExpiryMinutes = 720;
 	
 	public IdGenerationStrategy getStrategy() {
 		return strategy;
@@ -162,4 +177,28 @@ public class SnomedIdentifierConfiguration {
 	public void setRequestBulkLimit(int requestBulkLimit) {
 		this.requestBulkLimit = requestBulkLimit;
 	}
+
+	public int getIdPoolBlockSize() {
+		return idPoolBlockSize;
+	}
+	
+	public void setIdPoolBlockSize(int idPoolBlockSize) {
+		this.idPoolBlockSize = idPoolBlockSize;
+	}
+	
+	public int getIdPoolLowWaterMark() {
+		return idPoolLowWaterMark;
+	}
+	
+	public void setIdPoolLowWaterMark(int idPoolLowWaterMark) {
+		this.idPoolLowWaterMark = idPoolLowWaterMark;
+	}
+	
+	public long getIdPoolExpiryMinutes() {
+		return idPoolExpiryMinutes;
+	}
+	
+	public void setIdPoolExpiryMinutes(long idPoolExpiryMinutes) {
+		this.idPoolExpiryMinutes = idPoolExpiryMinutes;
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,7 @@ import com.b2international.snowowl.snomed.cis.gen.SequentialItemIdGenerationStra
 import com.b2international.snowowl.snomed.cis.internal.reservations.IdSetReservation;
 import com.b2international.snowowl.snomed.cis.internal.reservations.SnomedIdentifierReservationServiceImpl;
 import com.b2international.snowowl.snomed.cis.memory.DefaultSnomedIdentifierService;
+import com.b2international.snowowl.snomed.cis.pool.PooledSnomedIdentifierService;
 import com.b2international.snowowl.snomed.cis.reservations.ISnomedIdentifierReservationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Charsets;
@@ -129,6 +130,11 @@ public final class SnomedIdentifierPlugin extends Plugin {
 			throw new IllegalStateException(String.format("Unknown ID generation source configured: %s. ", conf.getStrategy()));
 		}
 
+		if (conf.getIdPoolBlockSize() > 0) {
+			identifierService = new PooledSnomedIdentifierService(identifierService, conf);
+			LOGGER.info("Generated SNOMED CT identifiers are served from local ID pools (block size: {}, low-water mark: {}).", conf.getIdPoolBlockSize(), conf.getIdPoolLowWaterMark());
+		}
+
 		env.services().registerService(ISnomedIdentifierService.class, identifierService);
 		LOGGER.info("Snow Owl is configured to use {} based identifier service.", conf.getStrategy());
 	}
@@ -0,0 +1,382 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.cis.pool;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.commons.Pair;
+import com.b2international.snowowl.core.IDisposableService;
+import com.b2international.snowowl.core.terminology.ComponentCategory;
+import com.b2international.snowowl.snomed.cis.ISnomedIdentifierService;
+import com.b2international.snowowl.snomed.cis.SnomedIdentifierConfiguration;
+import com.b2international.snowowl.snomed.cis.domain.SctId;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * {@link ISnomedIdentifierService} decorator which keeps a local pool of identifiers for each namespace and component category. Pools are
+ * filled with blocks of identifiers reserved through the wrapped service in the background, whenever their size drops to the configured
+ * low-water mark. ID generation requests are served by registering identifiers taken from the pool which are still in reserved state, which
+ * requires a status check and a registration round trip only, and fall back to the wrapped service when the pool can not provide the
+ * requested quantity.
+ * <p>
+ * Pooled identifiers which stayed in the pool for longer than the configured expiry are released instead of being handed out, so that
+ * identifiers with an external reservation deadline (eg. in the CIS) are never assigned after their reservation has lapsed.
+ *
+ * @since 7.5
+ */
+public final class PooledSnomedIdentifierService implements ISnomedIdentifierService, IDisposableService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PooledSnomedIdentifierService.class);
+
+	private final ISnomedIdentifierService delegate;
+	private final int blockSize;
+	private final int lowWaterMark;
+	private final long expiryNanos;
+	private final Ticker ticker;
+	private final ExecutorService executor;
+	private final ConcurrentMap<Pair<String, ComponentCategory>, Pool> pools = new ConcurrentHashMap<>();
+	private final AtomicBoolean disposed = new AtomicBoolean(false);
+
+	public PooledSnomedIdentifierService(final ISnomedIdentifierService delegate, final SnomedIdentifierConfiguration config) {
+		this(delegate,
+				config.getIdPoolBlockSize(),
+				config.getIdPoolLowWaterMark(),
+				TimeUnit.MINUTES.toNanos(config.getIdPoolExpiryMinutes()),
+				Ticker.systemTicker(),
+				Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+						.setNameFormat("snomed-id-pool-%d")
+						.setDaemon(true)
+						.build()));
+
+		// expired identifiers of pools that are not used anymore are released periodically
+		final long sweepIntervalMinutes = Math.max(1L, config.getIdPoolExpiryMinutes() / 2);
+		((ScheduledExecutorService) executor).scheduleWithFixedDelay(this::releaseExpiredIds, sweepIntervalMinutes, sweepIntervalMinutes, TimeUnit.MINUTES);
+	}
+
+	@VisibleForTesting
+	public PooledSnomedIdentifierService(final ISnomedIdentifierService delegate, final int blockSize, final int lowWaterMark, final long expiryNanos, final Ticker ticker, final ExecutorService executor) {
+		checkArgument(blockSize > 0, "Block size should be greater than zero.");
+		checkArgument(lowWaterMark >= 0, "Low-water mark should be greater than or equal to zero.");
+		checkArgument(expiryNanos > 0, "Expiry should be greater than zero.");
+		this.delegate = checkNotNull(delegate);
+		this.blockSize = blockSize;
+		this.lowWaterMark = lowWaterMark;
+		this.expiryNanos = expiryNanos;
+		this.ticker = checkNotNull(ticker);
+		this.executor = checkNotNull(executor);
+	}
+
+	@Override
+	public Set<String> generate(final String namespace, final ComponentCategory category, final int quantity) {
+		return ImmutableSet.copyOf(generateSctIds(namespace, category, quantity).keySet());
+	}
+
+	@Override
+	public Map<String, SctId> generateSctIds(final String namespace, final ComponentCategory category, final int quantity) {
+		if (!isPooled(category) || quantity <= 0 || disposed.get()) {
+			return delegate.generateSctIds(namespace, category, quantity);
+		}
+
+		final Pool pool = getPool(namespace, category);
+		final Map<String, SctId> sctIds = Maps.newLinkedHashMap();
+
+		final List<String> expiredIds = Lists.newArrayList();
+		final List<String> pooledIds = pool.take(quantity, ticker.read(), expiredIds);
+		releaseQuietly(expiredIds);
+
+		if (!pooledIds.isEmpty()) {
+			final List<String> reservedIds = Lists.newArrayList();
+			try {
+				// registration also succeeds for identifiers that were assigned elsewhere in the meantime, only the ones still reserved can be handed out
+				delegate.getSctIds(ImmutableSet.copyOf(pooledIds)).forEach((id, sctId) -> {
+					if (sctId.isReserved()) {
+						reservedIds.add(id);
+					}
+				});
+			} catch (RuntimeException e) {
+				LOGGER.warn("Failed to check the status of {} pooled {} IDs, generating new ones instead.", pooledIds.size(), category.getDisplayName(), e);
+			}
+			
+			if (!reservedIds.isEmpty()) {
+				try {
+					// registering reserved identifiers moves them into assigned state
+					delegate.register(ImmutableSet.copyOf(reservedIds)).forEach((id, sctId) -> {
+						if (sctId.isAssigned()) {
+							sctIds.put(id, sctId);
+						}
+					});
+				} catch (RuntimeException e) {
+					LOGGER.warn("Failed to register {} pooled {} IDs, generating new ones instead.", reservedIds.size(), category.getDisplayName(), e);
+				}
+				
+				// reserved identifiers that could not be registered are not handed out, and are released instead of keeping their reservation
+				final List<String> unregisteredIds = Lists.newArrayList(reservedIds);
+				unregisteredIds.removeAll(sctIds.keySet());
+				releaseQuietly(unregisteredIds);
+			}
+			
+			// identifiers in any other state are discarded without releasing them, as releasing would also remove an assignment made by someone else 
+		}
+
+		if (sctIds.size() < quantity) {
+			sctIds.putAll(delegate.generateSctIds(pool.namespace, category, quantity - sctIds.size()));
+		}
+
+		scheduleRefill(pool);
+		return ImmutableMap.copyOf(sctIds);
+	}
+
+	@Override
+	public Map<String, SctId> register(final Set<String> componentIds) {
+		return delegate.register(componentIds);
+	}
+
+	@Override
+	public Set<String> reserve(final String namespace, final ComponentCategory category, final int quantity) {
+		return delegate.reserve(namespace, category, quantity);
+	}
+
+	@Override
+	public Map<String, SctId> reserveSctIds(final String namespace, final ComponentCategory category, final int quantity) {
+		return delegate.reserveSctIds(namespace, category, quantity);
+	}
+
+	@Override
+	public Map<String, SctId> release(final Set<String> componentIds) {
+		return delegate.release(componentIds);
+	}
+
+	@Override
+	public Map<String, SctId> deprecate(final Set<String> componentIds) {
+		return delegate.deprecate(componentIds);
+	}
+
+	@Override
+	public Map<String, SctId> publish(final Set<String> componentIds) {
+		return delegate.publish(componentIds);
+	}
+
+	@Override
+	public Map<String, SctId> getSctIds(final Set<String> componentIds) {
+		return delegate.getSctIds(componentIds);
+	}
+
+	@Override
+	public boolean importSupported() {
+		return delegate.importSupported();
+	}
+
+	/**
+	 * Returns the number of identifiers currently available in the pool of the given namespace and component category.
+	 *
+	 * @param namespace - the namespace, may be <code>null</code> for the international namespace
+	 * @param category - the component category
+	 * @return the number of pooled identifiers
+	 */
+	public int getPoolSize(final String namespace, final ComponentCategory category) {
+		final Pool pool = pools.get(Pair.identicalPairOf(Strings.nullToEmpty(namespace), category));
+		return pool == null ? 0 : pool.size();
+	}
+
+	/**
+	 * Releases all pooled identifiers which were reserved longer than the configured expiry.
+	 */
+	public void releaseExpiredIds() {
+		final long now = ticker.read();
+		final List<String> expiredIds = Lists.newArrayList();
+		for (final Pool pool : pools.values()) {
+			pool.removeExpired(now, expiredIds);
+		}
+		releaseQuietly(expiredIds);
+	}
+
+	@Override
+	public void dispose() {
+		if (disposed.compareAndSet(false, true)) {
+			executor.shutdownNow();
+
+			final List<String> pooledIds = Lists.newArrayList();
+			for (final Pool pool : pools.values()) {
+				pooledIds.addAll(pool.drain());
+			}
+			pools.clear();
+			releaseQuietly(pooledIds);
+
+			if (delegate instanceof IDisposableService) {
+				((IDisposableService) delegate).dispose();
+			}
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return disposed.get();
+	}
+
+	private boolean isPooled(final ComponentCategory category) {
+		return category == ComponentCategory.CONCEPT
+				|| category == ComponentCategory.DESCRIPTION
+				|| category == ComponentCategory.RELATIONSHIP;
+	}
+
+	private Pool getPool(final String namespace, final ComponentCategory category) {
+		final String namespaceKey = Strings.nullToEmpty(namespace);
+		return pools.computeIfAbsent(Pair.identicalPairOf(namespaceKey, category), key -> new Pool(namespaceKey, category));
+	}
+
+	private void scheduleRefill(final Pool pool) {
+		if (disposed.get() || pool.size() > lowWaterMark || !pool.refilling.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			executor.execute(() -> refill(pool));
+		} catch (RejectedExecutionException e) {
+			pool.refilling.set(false);
+		}
+	}
+
+	private void refill(final Pool pool) {
+		try {
+			LOGGER.debug("Reserving {} {} IDs for the ID pool of namespace '{}'.", blockSize, pool.category.getDisplayName(), pool.namespace);
+			final Set<String> reservedIds = delegate.reserve(pool.namespace, pool.category, blockSize);
+			if (disposed.get()) {
+				releaseQuietly(reservedIds);
+			} else {
+				pool.add(reservedIds, ticker.read());
+			}
+		} catch (RuntimeException e) {
+			LOGGER.warn("Failed to reserve {} IDs for the ID pool of namespace '{}'.", pool.category.getDisplayName(), pool.namespace, e);
+		} finally {
+			pool.refilling.set(false);
+		}
+	}
+
+	private void releaseQuietly(final Iterable<String> componentIds) {
+		final Set<String> idsToRelease = ImmutableSet.copyOf(componentIds);
+		if (idsToRelease.isEmpty()) {
+			return;
+		}
+
+		try {
+			delegate.release(idsToRelease);
+		} catch (RuntimeException e) {
+			LOGGER.warn("Failed to release {} pooled IDs.", idsToRelease.size(), e);
+		}
+	}
+
+	/**
+	 * Reserved identifiers of a single namespace and component category, in the order of their reservation.
+	 *
+	 * @since 7.5
+	 */
+	private final class Pool {
+
+		private final String namespace;
+		private final ComponentCategory category;
+		private final AtomicBoolean refilling = new AtomicBoolean(false);
+		private final Deque<PooledId> ids = new ArrayDeque<>();
+
+		Pool(final String namespace, final ComponentCategory category) {
+			this.namespace = namespace;
+			this.category = category;
+		}
+
+		synchronized void add(final Set<String> componentIds, final long reservedAt) {
+			for (final String componentId : componentIds) {
+				ids.add(new PooledId(componentId, reservedAt));
+			}
+		}
+
+		synchronized List<String> take(final int quantity, final long now, final List<String> expiredIds) {
+			final List<String> taken = Lists.newArrayListWithExpectedSize(Math.min(quantity, ids.size()));
+			while (taken.size() < quantity && !ids.isEmpty()) {
+				final PooledId pooledId = ids.poll();
+				if (pooledId.isExpired(now)) {
+					expiredIds.add(pooledId.id);
+				} else {
+					taken.add(pooledId.id);
+				}
+			}
+			return taken;
+		}
+
+		synchronized void removeExpired(final long now, final List<String> expiredIds) {
+			// identifiers are reserved in blocks and added in order, so expired ones are always at the head of the queue
+			while (!ids.isEmpty() && ids.peek().isExpired(now)) {
+				expiredIds.add(ids.poll().id);
+			}
+		}
+
+		synchronized List<String> drain() {
+			final List<String> drained = Lists.newArrayListWithCapacity(ids.size());
+			while (!ids.isEmpty()) {
+				drained.add(ids.poll().id);
+			}
+			return drained;
+		}
+
+		synchronized int size() {
+			return ids.size();
+		}
+
+	}
+
+	/**
+	 * @since 7.5
+	 */
+	private final class PooledId {
+
+		private final String id;
+		private final long reservedAt;
+
+		PooledId(final String id, final long reservedAt) {
+			this.id = id;
+			this.reservedAt = reservedAt;
+		}
+
+		boolean isExpired(final long now) {
+			return now - reservedAt >= expiryNanos;
+		}
+
+	}
+
+}
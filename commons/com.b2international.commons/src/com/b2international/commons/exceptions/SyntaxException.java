@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2017 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import com.b2international.commons.Pair;
+import com.google.common.collect.ImmutableMap;
 
 /**
  * Generic syntax exception
@@ -30,14 +31,49 @@ import com.b2international.commons.Pair;
 public final class SyntaxException extends BadRequestException {
 
 	private static final long serialVersionUID = -6130929059690887226L;
-	private final Map<String, Object> additionalInfo;
+	private final String language;
+	private final ImmutableMap<String, Object> additionalInfo;
 	
 	public SyntaxException(String language, Map<Pair<Integer, Integer>, String> errors) {
+		this(language, toErrors(errors));
+	}
+	
+	/**
+	 * Creates a new exception with errors keyed by their already formatted position, as returned by {@link #getErrors()}.
+	 * 
+	 * @param language - the language of the erroneous expression
+	 * @param errors - the errors keyed by their position
+	 * @since 7.5
+	 */
+	public SyntaxException(String language, ImmutableMap<String, Object> errors) {
 		super("One or more %s syntax errors", language);
-		additionalInfo = newHashMap();
+		this.language = language;
+		this.additionalInfo = errors;
+	}
+	
+	private static ImmutableMap<String, Object> toErrors(Map<Pair<Integer, Integer>, String> errors) {
+		// multiple errors may be reported at the same position, the last one wins
+		final Map<String, Object> additionalInfo = newHashMap();
 		for (Entry<Pair<Integer, Integer>, String> entry : errors.entrySet()) {
 			additionalInfo.put(String.format("[%s,%s]", entry.getKey().getA(), entry.getKey().getB()), entry.getValue());
 		}
+		return ImmutableMap.copyOf(additionalInfo);
+	}
+	
+	/**
+	 * @return the language of the erroneous expression
+	 * @since 7.5
+	 */
+	public String getLanguage() {
+		return language;
+	}
+	
+	/**
+	 * @return the errors keyed by their position in the erroneous expression
+	 * @since 7.5
+	 */
+	public ImmutableMap<String, Object> getErrors() {
+		return additionalInfo;
 	}
 	
 	@Override
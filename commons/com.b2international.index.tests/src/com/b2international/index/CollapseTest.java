@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+
+import org.junit.Test;
+
+import com.b2international.index.Fixtures.Data;
+import com.b2international.index.query.Expressions;
+import com.b2international.index.query.Query;
+import com.b2international.index.query.SortBy;
+import com.b2international.index.query.SortBy.Order;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * @since 7.5
+ */
+public class CollapseTest extends BaseIndexTest {
+
+	@Override
+	protected Collection<Class<?>> getTypes() {
+		return ImmutableList.of(Data.class);
+	}
+	
+	@Test
+	public void collapseOnFieldValue() throws Exception {
+		final Data first = new Data();
+		first.setField1("group1");
+		first.setField2("a");
+		
+		final Data second = new Data();
+		second.setField1("group1");
+		second.setField2("b");
+		
+		final Data third = new Data();
+		third.setField1("group2");
+		third.setField2("c");
+		
+		indexDocuments(ImmutableMap.<String, Object>builder()
+				.put(KEY1, first)
+				.put(KEY2, second)
+				.put("key3", third)
+				.build());
+		
+		final Hits<Data> hits = search(Query.select(Data.class)
+				.where(Expressions.matchAll())
+				.sortBy(SortBy.field("field2", Order.DESC))
+				.collapse("field1")
+				.limit(10)
+				.build());
+		
+		// total hits reflect all matching documents, the hits contain the first document of each group
+		assertThat(hits.getTotal()).isEqualTo(3);
+		assertThat(hits.getHits()).containsExactly(third, second);
+	}
+	
+}
@@ -23,6 +23,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang.RandomStringUtils;
 import org.junit.Ignore;
@@ -107,6 +109,36 @@ public class ScrollTest extends BaseIndexTest {
 		assertThat(hits).hasSize(NUM_DOCS);
 	}
 	
+	@Test
+	public void streamAllHits() throws Exception {
+		indexDocs(NUM_DOCS + 1);
+		final long numberOfHits = index().read(index -> {
+			try (Stream<Data> hits = index.stream(Query.select(Data.class)
+					.where(Expressions.matchAll())
+					.limit(Integer.MAX_VALUE)
+					.build())) {
+				return hits.count();
+			}
+		});
+		assertThat(numberOfHits).isEqualTo(NUM_DOCS + 1);
+	}
+	
+	@Test
+	public void streamRespectsLimit() throws Exception {
+		indexDocs(NUM_DOCS);
+		final List<String> hits = index().read(index -> {
+			try (Stream<String> fieldValues = index.stream(Query.select(String.class)
+					.from(Data.class)
+					.fields("field1")
+					.where(Expressions.matchAll())
+					.limit(150)
+					.build())) {
+				return fieldValues.collect(Collectors.toList());
+			}
+		});
+		assertThat(hits).hasSize(150);
+	}
+	
 	@Test(expected = SearchContextMissingException.class)
 	@Ignore("slows down test suite; scroll context invalidation is non-deterministic")
 	public void scrollTimeout() throws Exception {
@@ -70,6 +70,34 @@ public class RevisionBranchingTest extends BaseRevisionIndexTest {
 		assertThat(branching().getBranchState(MAIN)).isEqualTo(BranchState.UP_TO_DATE);
 	}
 	
+	@Test
+	public void branchCacheServesRepeatedReads() throws Exception {
+		final String path = createBranch(MAIN, "a");
+		final long hitsBefore = branching().getBranchCacheStats().hitCount();
+		final RevisionBranch branch = getBranch(path);
+		assertThat(getBranch(path)).isSameAs(branch);
+		assertThat(branching().getBranchCacheStats().hitCount()).isGreaterThan(hitsBefore);
+	}
+	
+	@Test
+	public void branchCacheEvictedOnCommit() throws Exception {
+		final String path = createBranch(MAIN, "a");
+		final RevisionBranch branchBeforeCommit = getBranch(path);
+		final long timestamp = commit(path, Collections.emptySet());
+		assertThat(branchBeforeCommit.getHeadTimestamp()).isLessThan(timestamp);
+		assertThat(getBranch(path).getHeadTimestamp()).isEqualTo(timestamp);
+	}
+	
+	@Test
+	public void branchCacheEvictedOnDeleteAndMetadataUpdate() throws Exception {
+		final String path = createBranch(MAIN, "a");
+		getBranch(path);
+		branching().updateMetadata(path, new MetadataImpl(ImmutableMap.<String, Object>of("test", 1)));
+		assertEquals(ImmutableMap.<String, Object>of("test", 1), getBranch(path).metadata());
+		branching().delete(path);
+		assertTrue(getBranch(path).isDeleted());
+	}
+	
 	@Test(expected = BadRequestException.class)
 	public void deleteMainIsNotPossible() throws Exception {
 		branching().delete(MAIN);
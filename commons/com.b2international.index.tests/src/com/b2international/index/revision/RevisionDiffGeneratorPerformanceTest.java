@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.index.revision;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.databene.contiperf.junit.ContiPerfRuleExt;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.b2international.index.Fixtures.Data;
+import com.b2international.index.IndexResource;
+import com.b2international.index.revision.RevisionFixtures.NestedRevisionData;
+import com.b2international.index.revision.RevisionFixtures.RevisionData;
+
+/**
+ * Compares the throughput of the type specific and the full JSON tree based revision diff, using the object mapper the revision index is
+ * configured with.
+ * 
+ * @since 7.5
+ */
+public class RevisionDiffGeneratorPerformanceTest {
+
+	@ClassRule
+	public static final IndexResource INDEX = IndexResource.create(Collections.emptySet(), mapper -> {});
+	
+	private static final RevisionData OLD_REVISION = new RevisionData("1", "field1", "field2");
+	private static final RevisionData NEW_REVISION = new RevisionData("1", "field1", "field2Changed");
+	
+	private static final NestedRevisionData OLD_NESTED_REVISION = new NestedRevisionData("1", "field1", data(1L));
+	private static final NestedRevisionData NEW_NESTED_REVISION = new NestedRevisionData("1", "field1", data(2L));
+	
+	private static RevisionDiffGenerator generator;
+	
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRuleExt();
+	
+	@BeforeClass
+	public static void setup() {
+		generator = new RevisionDiffGenerator(INDEX.getMapper());
+	}
+	
+	@Test
+	@PerfTest(invocations = 100_000, threads = 4)
+	public void fullDiff() throws Exception {
+		assertEquals(1, generator.fullDiff(OLD_REVISION, NEW_REVISION).size());
+	}
+	
+	@Test
+	@PerfTest(invocations = 100_000, threads = 4)
+	public void diff() throws Exception {
+		assertEquals(1, generator.diff(OLD_REVISION, NEW_REVISION).size());
+	}
+	
+	@Test
+	@PerfTest(invocations = 100_000, threads = 4)
+	public void fullDiffNested() throws Exception {
+		assertEquals(1, generator.fullDiff(OLD_NESTED_REVISION, NEW_NESTED_REVISION).size());
+	}
+	
+	@Test
+	@PerfTest(invocations = 100_000, threads = 4)
+	public void diffNested() throws Exception {
+		assertEquals(1, generator.diff(OLD_NESTED_REVISION, NEW_NESTED_REVISION).size());
+	}
+	
+	private static Data data(long longField) {
+		final Data data = new Data();
+		data.setField1("field1");
+		data.setLongField(longField);
+		return data;
+	}
+	
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.index.revision;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.index.Fixtures.Data;
+import com.b2international.index.revision.RevisionFixtures.NestedRevisionData;
+import com.b2international.index.revision.RevisionFixtures.RevisionData;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * @since 7.5
+ */
+public class RevisionDiffGeneratorTest {
+
+	private RevisionDiffGenerator generator;
+
+	@Before
+	public void setup() {
+		final ObjectMapper mapper = new ObjectMapper();
+		mapper.setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
+		generator = new RevisionDiffGenerator(mapper);
+	}
+
+	@Test
+	public void noChanges() throws Exception {
+		final RevisionData oldRevision = new RevisionData("1", "field1", "field2");
+		final RevisionData newRevision = new RevisionData("1", "field1", "field2");
+		assertThat(generator.diff(oldRevision, newRevision)).isEmpty();
+		assertSameDiff(oldRevision, newRevision);
+	}
+
+	@Test
+	public void changedProperty() throws Exception {
+		final RevisionData oldRevision = new RevisionData("1", "field1", "field2");
+		final RevisionData newRevision = new RevisionData("1", "field1", "field2Changed");
+		assertThat(generator.diff(oldRevision, newRevision)).hasSize(1);
+		assertSameDiff(oldRevision, newRevision);
+	}
+
+	@Test
+	public void addedAndRemovedProperty() throws Exception {
+		assertSameDiff(new RevisionData("1", "field1", null), new RevisionData("1", "field1", "field2"));
+		assertSameDiff(new RevisionData("1", "field1", "field2"), new RevisionData("1", null, "field2"));
+	}
+
+	@Test
+	public void changedNestedProperty() throws Exception {
+		final Data oldData = new Data();
+		oldData.setField1("field1");
+		oldData.setLongField(1L);
+		final Data newData = new Data();
+		newData.setField1("field1");
+		newData.setLongField(2L);
+
+		assertSameDiff(new NestedRevisionData("1", "field1", oldData), new NestedRevisionData("1", "field1", newData));
+		assertSameDiff(new NestedRevisionData("1", "field1", oldData), new NestedRevisionData("1", "field1", null));
+		assertSameDiff(new NestedRevisionData("1", "field1", oldData), new NestedRevisionData("1", "field1", oldData));
+	}
+
+	private void assertSameDiff(Revision oldRevision, Revision newRevision) {
+		final ArrayNode expected = generator.fullDiff(oldRevision, newRevision);
+		final ArrayNode actual = generator.diff(oldRevision, newRevision);
+		assertThat(actual).isEqualTo(expected);
+	}
+
+}
@@ -25,7 +25,7 @@ import com.google.common.base.Strings;
  * @since 6.0
  * @param <T> - the type of scrolled documents
  */
-public final class ScrollingIterator<T> implements Iterator<Hits<T>> {
+public final class ScrollingIterator<T> implements Iterator<Hits<T>>, AutoCloseable {
 
 	private final Searcher searcher;
 	private final Query<T> query;
@@ -74,5 +74,17 @@ public final class ScrollingIterator<T> implements Iterator<Hits<T>> {
 	public Hits<T> next() {
 		return hits;
 	}
+	
+	/**
+	 * Releases the scroll context of this iterator on the server side, if the iterator has not been fully consumed yet.
+	 */
+	@Override
+	public void close() {
+		if (!done && hits != null) {
+			searcher.cancelScroll(hits.getScrollId());
+			hits = null;
+		}
+		done = true;
+	}
 
 }
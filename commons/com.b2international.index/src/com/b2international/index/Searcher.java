@@ -15,18 +15,28 @@
  */
 package com.b2international.index;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 import com.b2international.index.aggregations.Aggregation;
 import com.b2international.index.aggregations.AggregationBuilder;
 import com.b2international.index.query.Query;
+import com.google.common.base.Strings;
+import com.google.common.collect.Streams;
 
 /**
  * @since 4.7
  */
 public interface Searcher {
 
+	/**
+	 * The number of hits fetched and converted at once by {@link #stream(Query)}.
+	 */
+	int DEFAULT_STREAM_PAGE_SIZE = 10_000;
+
 	/**
 	 * Execute the given query among all stored items.
 	 * 
@@ -102,4 +112,29 @@ public interface Searcher {
 		};
 	}
 	
+	/**
+	 * Returns a lazy {@link Stream} of all matches of the given query (up to the query's limit). Hits are fetched using the scroll API, 
+	 * {@link #DEFAULT_STREAM_PAGE_SIZE} items at a time, and each page is converted and released before the next one is loaded, so the memory 
+	 * required to consume the results does not depend on the total number of hits.
+	 * <p>
+	 * The returned stream should be closed if it is not consumed fully, otherwise the scroll context remains open on the server 
+	 * until the keep alive period expires.
+	 * 
+	 * @param query - the query to execute, may not specify scroll or search after values
+	 * @return a {@link Stream} of matching values
+	 */
+	default <T> Stream<T> stream(Query<T> query) {
+		checkArgument(Strings.isNullOrEmpty(query.getScrollKeepAlive()), "Streaming does not support scroll keep alive values. Use the scroll API instead.");
+		checkArgument(Strings.isNullOrEmpty(query.getSearchAfter()), "Streaming does not support search after values.");
+		final int limit = query.getLimit();
+		if (limit < 1) {
+			return Stream.empty();
+		}
+		final ScrollingIterator<T> pages = new ScrollingIterator<>(this, query.withLimit(Math.min(limit, DEFAULT_STREAM_PAGE_SIZE)));
+		return Streams.stream(pages)
+				.flatMap(Hits::stream)
+				.limit(limit)
+				.onClose(pages::close);
+	}
+	
 }
@@ -30,6 +30,22 @@ public interface Writer {
 
 	<T> void bulkUpdate(BulkUpdate<T> update);
 	
+	/**
+	 * Updates the documents with the given document identifiers (<code>_id</code>) by executing the named script of the document type on each
+	 * of them. Unlike {@link #bulkUpdate(BulkUpdate)}, this does not require a query to locate the documents to update.
+	 * 
+	 * @param type
+	 *            - the document type
+	 * @param ids
+	 *            - the document identifiers to update
+	 * @param script
+	 *            - the name of the script to execute
+	 * @param params
+	 *            - the script parameters
+	 * @since 7.5
+	 */
+	void update(Class<?> type, Set<String> ids, String script, Map<String, Object> params);
+	
 	<T> void bulkDelete(BulkDelete<T> delete);
 	
 	void remove(Class<?> type, String keyToRemove);
@@ -25,7 +25,6 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.Base64;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,6 +42,7 @@ import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.Aggregations;
 import org.elasticsearch.search.aggregations.bucket.nested.Nested;
@@ -52,6 +52,7 @@ import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilde
 import org.elasticsearch.search.aggregations.metrics.TopHits;
 import org.elasticsearch.search.aggregations.metrics.TopHitsAggregationBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.collapse.CollapseBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.sort.ScriptSortBuilder.ScriptSortType;
 import org.elasticsearch.search.sort.SortBuilders;
@@ -182,6 +183,13 @@ public class EsDocumentSearcher implements Searcher {
 			reqSource.searchAfter(fromSearchAfterToken(query.getSearchAfter()));
 		}
 		
+		// field collapsing
+		if (!Strings.isNullOrEmpty(query.getCollapseField())) {
+			checkArgument(!isLocalScroll, "Cannot fetch more than '%s' items when collapsing is specified. You requested '%s' items.", resultWindow, limit);
+			checkArgument(!isScrolled && !isLiveScrolled, "Cannot collapse and scroll at the same time");
+			reqSource.collapse(new CollapseBuilder(query.getCollapseField()));
+		}
+		
 		// disable explain explicitly, just in case
 		reqSource.explain(false);
 		// disable version field explicitly, just in case
@@ -201,8 +209,11 @@ public class EsDocumentSearcher implements Searcher {
 		final int totalHitCount = (int) totalHits.value;
 		int numDocsToFetch = Math.min(limit, totalHitCount) - response.getHits().getHits().length;
 		
-		final ImmutableList.Builder<SearchHit> allHits = ImmutableList.builder();
-		allHits.add(response.getHits().getHits());
+		final HitConverter<T> hitConverter = HitConverter.getConverter(mapper, query.getSelect(), query.getFrom(), fetchSource, query.getFields());
+		
+		// convert each page as soon as it arrives, so raw search hits of earlier pages can be released during local scrolls
+		final ImmutableList.Builder<T> allHits = ImmutableList.builder();
+		Object[] searchAfterSortValues = convertHits(hitConverter, response.getHits().getHits(), allHits);
 
 		while (isLocalScroll && numDocsToFetch > 0) {
 			final SearchScrollRequest searchScrollRequest = new SearchScrollRequest(response.getScrollId())
@@ -214,7 +225,7 @@ public class EsDocumentSearcher implements Searcher {
 				break;
 			}
 			numDocsToFetch -= fetchedDocs;
-			allHits.add(response.getHits().getHits());
+			searchAfterSortValues = convertHits(hitConverter, response.getHits().getHits(), allHits);
 		}
 		
 		// clear the custom local scroll
@@ -224,10 +235,7 @@ public class EsDocumentSearcher implements Searcher {
 			client.clearScroll(clearScrollRequest);
 		}
 		
-		final Class<T> select = query.getSelect();
-		final Class<?> from = query.getFrom();
-		
-		return toHits(select, from, query.getFields(), fetchSource, limit, totalHitCount, response.getScrollId(), query.getSortBy(), allHits.build());
+		return new Hits<T>(allHits.build(), response.getScrollId(), toSearchAfterToken(searchAfterSortValues), limit, totalHitCount);
 	}
 
 	private <T> boolean applySourceFiltering(List<String> fields, boolean isDocIdOnly, final DocumentMapping mapping, final SearchSourceBuilder reqSource) {
@@ -318,13 +326,19 @@ public class EsDocumentSearcher implements Searcher {
 			final int totalHits, 
 			final String scrollId,
 			final SortBy sortBy,
-			final Iterable<SearchHit> hits) throws IOException {
+			final SearchHits hits) throws IOException {
 		final HitConverter<T> hitConverter = HitConverter.getConverter(mapper, select, from, fetchSource, fields);
-		Object[] searchAfterSortValues = null;
 		final ImmutableList.Builder<T> result = ImmutableList.builder();
-		for (Iterator<SearchHit> iterator = hits.iterator(); iterator.hasNext();) {
-			SearchHit hit = iterator.next();
-			// if this was the last value then collect the sort values for searchAfter
+		final Object[] searchAfterSortValues = convertHits(hitConverter, hits.getHits(), result);
+		return new Hits<T>(result.build(), scrollId, toSearchAfterToken(searchAfterSortValues), limit, totalHits);
+	}
+	
+	/*
+	 * Converts the given search hits and adds them to the result builder. Returns the sort values of the last hit (if any) for searchAfter.
+	 */
+	private <T> Object[] convertHits(final HitConverter<T> hitConverter, final SearchHit[] hits, final ImmutableList.Builder<T> result) throws IOException {
+		Object[] searchAfterSortValues = null;
+		for (SearchHit hit : hits) {
 			final T value = hitConverter.convert(hit);
 			if (value instanceof WithId) {
 				((WithId) value).set_id(hit.getId());
@@ -333,11 +347,9 @@ public class EsDocumentSearcher implements Searcher {
 				((WithScore) value).setScore(Float.isNaN(hit.getScore()) ? 0.0f : hit.getScore());
 			}
 			result.add(value);
-			if (!iterator.hasNext()) {
-				searchAfterSortValues = hit.getSortValues();
-			}
+			searchAfterSortValues = hit.getSortValues();
 		}
-		return new Hits<T>(result.build(), scrollId, toSearchAfterToken(searchAfterSortValues), limit, totalHits);
+		return searchAfterSortValues;
 	}
 	
 	private String toSearchAfterToken(final Object[] searchAfter) {
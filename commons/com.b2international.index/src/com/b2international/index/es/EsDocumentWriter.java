@@ -36,9 +36,12 @@ import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
 
 import com.b2international.index.BulkDelete;
 import com.b2international.index.BulkUpdate;
@@ -52,8 +55,10 @@ import com.b2international.index.mapping.DocumentMapping;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
@@ -70,11 +75,14 @@ import com.google.common.util.concurrent.MoreExecutors;
  */
 public class EsDocumentWriter implements Writer {
 
+	private static final int UPDATE_RETRY_ON_CONFLICT = 5;
+	
 	private final EsIndexAdmin admin;
 	private final Searcher searcher;
 
 	private final Table<Class<?>, String, Object> indexOperations = HashBasedTable.create();
 	private final Multimap<Class<?>, String> deleteOperations = HashMultimap.create();
+	private final Multimap<Class<?>, UpdateRequest> updateOperations = ArrayListMultimap.create();
 	private final ObjectMapper mapper;
 	private List<BulkUpdate<?>> bulkUpdateOperations = newArrayList();
 	private List<BulkDelete<?>> bulkDeleteOperations = newArrayList();
@@ -100,6 +108,18 @@ public class EsDocumentWriter implements Writer {
 		bulkUpdateOperations.add(update);
 	}
 	
+	@Override
+	public void update(Class<?> type, Set<String> ids, String script, Map<String, Object> params) {
+		final DocumentMapping mapping = admin.mappings().getMapping(type);
+		final String typeIndex = admin.getTypeIndex(mapping);
+		final Script updateScript = new Script(ScriptType.INLINE, "painless", mapping.getScript(script).script(), ImmutableMap.copyOf(params));
+		for (String id : ids) {
+			updateOperations.put(type, new UpdateRequest(typeIndex, id)
+					.script(updateScript)
+					.retryOnConflict(UPDATE_RETRY_ON_CONFLICT));
+		}
+	}
+	
 	@Override
 	public <T> void bulkDelete(BulkDelete<T> delete) {
 		bulkDeleteOperations.add(delete);
@@ -124,7 +144,7 @@ public class EsDocumentWriter implements Writer {
 
 	@Override
 	public void commit() throws IOException {
-		if (indexOperations.isEmpty() && deleteOperations.isEmpty() && bulkUpdateOperations.isEmpty() && bulkDeleteOperations.isEmpty()) {
+		if (indexOperations.isEmpty() && deleteOperations.isEmpty() && updateOperations.isEmpty() && bulkUpdateOperations.isEmpty() && bulkDeleteOperations.isEmpty()) {
 			return;
 		}
 		
@@ -154,8 +174,8 @@ public class EsDocumentWriter implements Writer {
 			throw new IndexException("Couldn't execute bulk updates", e);
 		}
 		
-		// then bulk indexes/deletes
-		if (!indexOperations.isEmpty() || !deleteOperations.isEmpty()) {
+		// then bulk indexes/updates/deletes
+		if (!indexOperations.isEmpty() || !deleteOperations.isEmpty() || !updateOperations.isEmpty()) {
 			final BulkProcessor processor = client.bulk(new BulkProcessor.Listener() {
 				@Override
 				public void beforeBulk(long executionId, BulkRequest request) {
@@ -182,6 +202,18 @@ public class EsDocumentWriter implements Writer {
 			.setBulkSize(new ByteSizeValue(10L, ByteSizeUnit.MB))
 			.build();
 			
+			// Updates by _id do not depend on the documents indexed in this commit, send them first
+			for (Class<?> type : ImmutableSet.copyOf(updateOperations.keySet())) {
+				mappingsToRefresh.add(admin.mappings().getMapping(type));
+				
+				for (UpdateRequest update : updateOperations.removeAll(type)) {
+					processor.add(update);
+				}
+				
+				// Flush processor between index boundaries
+				processor.flush();
+			}
+			
 			for (Class<?> type : ImmutableSet.copyOf(indexOperations.rowKeySet())) {
 				final Map<String, Object> indexOperationsForType = indexOperations.row(type);
 				
@@ -280,6 +312,10 @@ public class EsDocumentWriter implements Writer {
 		for (Class<?> type : deleteOperations.keySet()) {
 			System.err.format("\t%s -> %s\n", admin.mappings().getMapping(type).typeAsString(), deleteOperations.get(type));
 		}
+		System.err.println("Updated documents: ");
+		for (Class<?> type : updateOperations.keySet()) {
+			System.err.format("\t%s -> %s\n", admin.mappings().getMapping(type).typeAsString(), updateOperations.get(type).size());
+		}
 		System.err.println("Bulk updates: ");
 		for (BulkUpdate<?> update : bulkUpdateOperations) {
 			System.err.format("\t%s -> %s, %s, %s\n", admin.mappings().getMapping(update.getType()).typeAsString(), update.getFilter(), update.getScript(), update.getParams());
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,7 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T>, AfterWhereBuilder<T> {
 	private Expression where;
 	private SortBy sortBy = SortBy.DOC_ID;
 	private boolean withScores = false;
+	private String collapseField;
 
 	private List<String> fields = Collections.emptyList();
 
@@ -101,6 +102,12 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T>, AfterWhereBuilder<T> {
 		return this;
 	}
 
+	@Override
+	public AfterWhereBuilder<T> collapse(String field) {
+		this.collapseField = field;
+		return this;
+	}
+
 	@Override
 	public Query<T> build() {
 		Query<T> query = new Query<T>();
@@ -114,6 +121,7 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T>, AfterWhereBuilder<T> {
 		query.setSortBy(sortBy);
 		query.setWithScores(withScores);
 		query.setFields(fields);
+		query.setCollapseField(collapseField);
 		return query;
 	}
 }
\ No newline at end of file
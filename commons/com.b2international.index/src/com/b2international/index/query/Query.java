@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -106,6 +106,18 @@ public final class Query<T> {
 		 * @return
 		 */
 		AfterWhereBuilder<T> withScores(boolean withScores);
+		
+		/**
+		 * Collapse the hits by the value of the given single valued keyword or numeric field, returning only the first hit (in sort order) of
+		 * each distinct value. The total number of hits reflects the number of matching documents, not the number of distinct values.
+		 * Collapsing can not be combined with scrolling and search after, and the limit can not exceed the maximum result window of the
+		 * index.
+		 * 
+		 * @param field - the field to collapse the hits by, <code>null</code> disables collapsing
+		 * @return
+		 * @since 7.5
+		 */
+		AfterWhereBuilder<T> collapse(String field);
 	}
 
 	private String scrollKeepAlive;
@@ -118,6 +130,7 @@ public final class Query<T> {
 	private Class<?> parentType;
 	private boolean withScores;
 	private List<String> fields;
+	private String collapseField;
 
 	Query() {}
 
@@ -201,6 +214,18 @@ public final class Query<T> {
 		this.searchAfter = searchAfter;
 	}
 	
+	/**
+	 * @return the field to collapse the hits by or <code>null</code> if the hits should not be collapsed
+	 * @since 7.5
+	 */
+	public String getCollapseField() {
+		return collapseField;
+	}
+	
+	void setCollapseField(String collapseField) {
+		this.collapseField = collapseField;
+	}
+	
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -210,6 +235,9 @@ public final class Query<T> {
 		if (!SortBy.DOC_ID.equals(sortBy)) {
 			sb.append(" SORT BY " + sortBy);
 		}
+		if (!Strings.isNullOrEmpty(collapseField)) {
+			sb.append(" COLLAPSE BY " + collapseField);
+		}
 		sb.append(" LIMIT " + limit);
 		if (!Strings.isNullOrEmpty(scrollKeepAlive)) {
 			sb.append(" SCROLL("+scrollKeepAlive+") ");
@@ -224,6 +252,26 @@ public final class Query<T> {
 		return fields != null && !fields.isEmpty() ? Joiner.on(",").join(fields) : select == from ? "*" : select.toString();
 	}
 
+	/**
+	 * Creates a copy of this query with the given limit. Scroll and search after configuration is not copied.
+	 * 
+	 * @param limit - the new limit
+	 * @return a new {@link Query} instance
+	 */
+	public Query<T> withLimit(int limit) {
+		final Query<T> copy = new Query<>();
+		copy.setSelect(select);
+		copy.setFrom(from);
+		copy.setParentType(parentType);
+		copy.setFields(fields);
+		copy.setWhere(where);
+		copy.setSortBy(sortBy);
+		copy.setWithScores(withScores);
+		copy.setCollapseField(collapseField);
+		copy.setLimit(limit);
+		return copy;
+	}
+
 	public boolean isDocIdOnly() {
 		return getFields().size() == 1 && getFields().contains(DocumentMapping._ID);
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
@@ -43,8 +44,10 @@ import com.b2international.index.query.Query.AfterWhereBuilder;
 import com.b2international.index.revision.RevisionBranch.BranchState;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -56,6 +59,11 @@ import com.google.common.collect.Iterables;
  */
 public abstract class BaseRevisionBranching {
 
+	/**
+	 * The default maximum number of {@link RevisionBranch} documents kept in the in-memory branch cache.
+	 */
+	public static final long DEFAULT_BRANCH_CACHE_SIZE = 1_000L;
+	
 	private final RevisionIndex index;
 	private final TimestampProvider timestampProvider;
 	private final ObjectMapper mapper;
@@ -69,11 +77,23 @@ public abstract class BaseRevisionBranching {
 					return new ReentrantLock();
 				}
 			});
+	
+	private final Cache<String, RevisionBranch> branches;
+	
+	/*
+	 * Incremented each time a branch document is modified. Loads that started before a modification must not
+	 * populate the cache with their (potentially outdated) result.
+	 */
+	private final AtomicLong branchModifications = new AtomicLong(0L);
 
 	public BaseRevisionBranching(RevisionIndex index, TimestampProvider timestampProvider, ObjectMapper mapper) {
 		this.index = index;
 		this.timestampProvider = timestampProvider;
 		this.mapper = mapper;
+		this.branches = CacheBuilder.newBuilder()
+				.maximumSize(DEFAULT_BRANCH_CACHE_SIZE)
+				.recordStats()
+				.build();
 	}
 	
 	public long currentTime() {
@@ -122,7 +142,7 @@ public abstract class BaseRevisionBranching {
 						.add(new RevisionSegment(branchId, baseTimestamp, headTimestamp))
 						.build())
 				.build();
-			commit(create(main));
+			commitBranch(main.getPath(), create(main));
 		}
 	}
 	
@@ -147,7 +167,58 @@ public abstract class BaseRevisionBranching {
 	 * @return
 	 */
 	protected RevisionBranch get(String branchPath) {
-		return index().read(searcher -> searcher.get(RevisionBranch.class, branchPath));
+		final RevisionBranch cachedBranch = branches.getIfPresent(branchPath);
+		if (cachedBranch != null) {
+			return cachedBranch;
+		}
+		
+		final long modificationsBeforeLoad = branchModifications.get();
+		final RevisionBranch branch = index().read(searcher -> searcher.get(RevisionBranch.class, branchPath));
+		// cache existing branches only, if no branch modification happened while loading the document
+		if (branch != null) {
+			synchronized (branches) {
+				if (modificationsBeforeLoad == branchModifications.get()) {
+					branches.put(branchPath, branch);
+				}
+			}
+		}
+		return branch;
+	}
+	
+	/**
+	 * Evicts the cached state of the given branch. Subsequent {@link #get(String)} calls will load the current branch document from the index.
+	 * 
+	 * @param branchPath - the branch that has been modified
+	 */
+	final void invalidate(String branchPath) {
+		synchronized (branches) {
+			branchModifications.incrementAndGet();
+			branches.invalidate(branchPath);
+		}
+	}
+	
+	/**
+	 * Evicts all cached branches. Should be called when the underlying branch documents are modified or removed in bulk. 
+	 */
+	final void invalidateAll() {
+		synchronized (branches) {
+			branchModifications.incrementAndGet();
+			branches.invalidateAll();
+		}
+	}
+	
+	/**
+	 * @return hit/miss statistics of the in-memory branch cache
+	 */
+	public final CacheStats getBranchCacheStats() {
+		return branches.stats();
+	}
+	
+	/**
+	 * @return the approximate number of branches currently held in the in-memory branch cache
+	 */
+	public final long getBranchCacheSize() {
+		return branches.size();
 	}
 
 	/**
@@ -173,7 +244,21 @@ public abstract class BaseRevisionBranching {
 		return index().read(searcher -> searcher.search(query));
 	}
 	
+	/**
+	 * Commits arbitrary changes to the branch documents. Since the affected branches are unknown, the entire branch cache is evicted afterwards.
+	 * 
+	 * @param changes - the changes to commit
+	 * @return the result of the changes
+	 */
 	public <T> T commit(IndexWrite<T> changes) {
+		try {
+			return doCommit(changes);
+		} finally {
+			invalidateAll();
+		}
+	}
+	
+	private <T> T doCommit(IndexWrite<T> changes) {
 		return index().write(writer -> {
 			T result = changes.execute(writer);
 			writer.commit();
@@ -181,6 +266,21 @@ public abstract class BaseRevisionBranching {
 		});
 	}
 	
+	/**
+	 * Commits changes of a single branch document and evicts the branch from the branch cache once the changes are visible.
+	 * 
+	 * @param branchPath - the path of the modified branch
+	 * @param changes - the changes to commit
+	 * @return the result of the changes
+	 */
+	protected final <T> T commitBranch(String branchPath, IndexWrite<T> changes) {
+		try {
+			return doCommit(changes);
+		} finally {
+			invalidate(branchPath);
+		}
+	}
+	
 	protected final String toAbsolutePath(final String parentPath, final String name) {
 		return parentPath.concat(RevisionBranch.SEPARATOR).concat(name);
 	}
@@ -242,7 +342,7 @@ public abstract class BaseRevisionBranching {
 	}
 	
 	private void doDelete(final String branchPath) {
-		commit(update(branchPath, RevisionBranch.Scripts.WITH_DELETED, Collections.emptyMap()));
+		commitBranch(branchPath, update(branchPath, RevisionBranch.Scripts.WITH_DELETED, Collections.emptyMap()));
 		sendChangeEvent(branchPath); // Explicit notification (delete)
 	}
 	
@@ -306,6 +406,7 @@ public abstract class BaseRevisionBranching {
 	
 	protected final IndexWrite<Void> update(final String path, final String script, final Map<String, Object> params) {
 		return index -> {
+			invalidate(path);
 			index.bulkUpdate(new BulkUpdate<>(RevisionBranch.class, DocumentMapping.matchId(path), DocumentMapping._ID, script, params));
 			return null;
 		};
@@ -313,6 +414,7 @@ public abstract class BaseRevisionBranching {
 	
 	protected final IndexWrite<RevisionBranch> create(final RevisionBranch branch) {
 		return index -> {
+			invalidate(branch.getPath());
 			index.put(branch.getPath(), branch);
 			return branch;
 		};
@@ -375,7 +477,7 @@ public abstract class BaseRevisionBranching {
 	 * @param metadata - the metadata instance to set on the branch
 	 */
 	public final void updateMetadata(String branchPath, Metadata metadata) {
-		commit(update(branchPath, RevisionBranch.Scripts.WITH_METADATA, ImmutableMap.of("metadata", metadata)));
+		commitBranch(branchPath, update(branchPath, RevisionBranch.Scripts.WITH_METADATA, ImmutableMap.of("metadata", metadata)));
 	}
 	
 }
@@ -96,7 +96,7 @@ public final class DefaultRevisionBranching extends BaseRevisionBranching {
 				)
 				.metadata(metadata)
 				.build();
-		return commit(create(branch));
+		return commitBranch(branch.getPath(), create(branch));
 	}
 	
 	@Override
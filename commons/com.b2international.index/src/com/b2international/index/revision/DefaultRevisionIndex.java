@@ -54,11 +54,13 @@ public final class DefaultRevisionIndex implements InternalRevisionIndex, Hooks
 	private final BaseRevisionBranching branching;
 	private final RevisionIndexAdmin admin;
 	private final ObjectMapper mapper;
+	private final RevisionDiffGenerator diffGenerator;
 	private final List<Hooks.Hook> hooks = newArrayList();
 
 	public DefaultRevisionIndex(Index index, TimestampProvider timestampProvider, ObjectMapper mapper) {
 		this.index = index;
 		this.mapper = mapper;
+		this.diffGenerator = new RevisionDiffGenerator(mapper);
 		this.admin = new RevisionIndexAdmin(this, index.admin());
 		this.branching = new DefaultRevisionBranching(this, timestampProvider, mapper);
 	}
@@ -314,6 +316,14 @@ public final class DefaultRevisionIndex implements InternalRevisionIndex, Hooks
 		return ImmutableList.copyOf(hooks);
 	}
 
+	/**
+	 * Returns the {@link RevisionDiffGenerator} to use when computing the changes between two revisions.
+	 * @return
+	 */
+	RevisionDiffGenerator diffGenerator() {
+		return diffGenerator;
+	}
+
 	private RevisionBranchRef getBranchRef(final String branchPath) {
 		return getBranch(branchPath).ref();
 	}
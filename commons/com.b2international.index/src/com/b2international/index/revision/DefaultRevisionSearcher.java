@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -86,6 +86,7 @@ public class DefaultRevisionSearcher implements RevisionSearcher {
 					.scroll(query.getScrollKeepAlive())
 					.searchAfter(query.getSearchAfter())
 					.withScores(query.isWithScores())
+					.collapse(query.getCollapseField())
 					.build();
 		} else {
 			checkArgument(Revision.class.isAssignableFrom(query.getParentType()), "Searching non-revision documents require a revision parent type: %s", query);
@@ -102,6 +103,7 @@ public class DefaultRevisionSearcher implements RevisionSearcher {
 					.scroll(query.getScrollKeepAlive())
 					.searchAfter(query.getSearchAfter())
 					.withScores(query.isWithScores())
+					.collapse(query.getCollapseField())
 					.build();
 		}
 		return searcher.search(query);
@@ -24,6 +24,8 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.b2international.index.BulkDelete;
 import com.b2international.index.BulkUpdate;
@@ -31,6 +33,7 @@ import com.b2international.index.Writer;
 import com.b2international.index.mapping.DocumentMapping;
 import com.b2international.index.query.Expression;
 import com.b2international.index.query.Expressions;
+import com.b2international.index.query.Query;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 
@@ -94,6 +97,11 @@ public class DefaultRevisionWriter implements RevisionWriter {
 		index.bulkUpdate(update);
 	}
 	
+	@Override
+	public void update(Class<?> type, Set<String> ids, String script, Map<String, Object> params) {
+		index.update(type, ids, script, params);
+	}
+	
 	@Override
 	public <T> void bulkDelete(BulkDelete<T> delete) {
 		index.bulkDelete(delete);
@@ -132,8 +140,20 @@ public class DefaultRevisionWriter implements RevisionWriter {
 						.filter(Expressions.matchAny(Revision.Fields.ID, keysToUpdate))
 						.filter(branchToUpdate.toRevisionFilter())
 						.build();
-				final BulkUpdate<Revision> update = new BulkUpdate<Revision>((Class<? extends Revision>) type, filter, DocumentMapping._ID, Revision.UPDATE_REVISED, ImmutableMap.of("oldRevised", oldRevised, "newRevised", newRevised));
-				index.bulkUpdate(update);
+				// resolve the affected documents now and update them directly by _id instead of an update by query
+				final Query<String> query = Query.select(String.class)
+						.from(type)
+						.fields(DocumentMapping._ID)
+						.where(filter)
+						.limit(Integer.MAX_VALUE)
+						.build();
+				final Set<String> idsToUpdate;
+				try (Stream<String> ids = index.searcher().stream(query)) {
+					idsToUpdate = ids.collect(Collectors.toSet());
+				}
+				if (!idsToUpdate.isEmpty()) {
+					index.update(type, idsToUpdate, Revision.UPDATE_REVISED, ImmutableMap.of("oldRevised", oldRevised, "newRevised", newRevised));
+				}
 			}
 		} else {
 			index.remove(type, keysToUpdate);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -79,5 +79,19 @@ public interface Hooks {
 		void run(Commit commit);
 
 	}
+	
+	/**
+	 * Invoked by {@link StagingArea#commit(String, long, String, String)} when committing the changes failed, either in a {@link PreCommitHook}
+	 * or while writing the changes to the index. The hook receives the {@link StagingArea} of the failed commit, so it can discard any state
+	 * prepared for the commit.
+	 * 
+	 * @since 7.5
+	 */
+	@FunctionalInterface
+	interface FailedCommitHook extends Hook {
+		
+		void failed(StagingArea staging);
+		
+	}
 
 }
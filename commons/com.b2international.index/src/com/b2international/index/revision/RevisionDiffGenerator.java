@@ -0,0 +1,269 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.index.revision;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.b2international.commons.ClassUtils;
+import com.b2international.index.IndexException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.flipkart.zjsonpatch.DiffFlags;
+import com.flipkart.zjsonpatch.JsonDiff;
+
+/**
+ * Computes the JSON patch style difference of two revisions of the same type. Instead of converting both revisions to a JSON tree and
+ * diffing them as a whole, the generator compares the serialized properties of the type one by one using precompiled accessors, and
+ * serializes and diffs only those properties where the values are not trivially equal. The resulting change operations are identical to
+ * the ones computed by {@link JsonDiff} on the complete documents.
+ * <p>
+ * Property accessors are resolved once per document type from the Jackson bean serializer of the type. Types that can not be handled this
+ * way (custom serializers, any getters, filtered properties) fall back to the full JSON tree diff.
+ *
+ * @since 7.5
+ */
+final class RevisionDiffGenerator {
+
+	static final EnumSet<DiffFlags> DIFF_FLAGS = EnumSet.of(DiffFlags.ADD_ORIGINAL_VALUE_ON_REPLACE, DiffFlags.OMIT_COPY_OPERATION, DiffFlags.OMIT_MOVE_OPERATION);
+
+	private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private final ObjectMapper mapper;
+	private final Map<Class<?>, Optional<TypeDiffGenerator>> generators = new ConcurrentHashMap<>();
+
+	RevisionDiffGenerator(ObjectMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Computes the raw JSON patch operations required to transform the old revision into the new revision.
+	 *
+	 * @param oldRevision
+	 * @param newRevision
+	 * @return an {@link ArrayNode} of JSON patch operations, never <code>null</code>
+	 */
+	ArrayNode diff(Revision oldRevision, Revision newRevision) {
+		if (oldRevision.getClass() == newRevision.getClass()) {
+			final Optional<TypeDiffGenerator> generator = generators.computeIfAbsent(newRevision.getClass(), this::createGenerator);
+			if (generator.isPresent()) {
+				return generator.get().diff(oldRevision, newRevision);
+			}
+		}
+		return fullDiff(oldRevision, newRevision);
+	}
+
+	/**
+	 * Computes the JSON patch operations by converting both revisions to JSON trees.
+	 *
+	 * @param oldRevision
+	 * @param newRevision
+	 * @return an {@link ArrayNode} of JSON patch operations, never <code>null</code>
+	 */
+	ArrayNode fullDiff(Revision oldRevision, Revision newRevision) {
+		final ObjectNode oldRevisionSource = mapper.valueToTree(oldRevision);
+		final ObjectNode newRevisionSource = mapper.valueToTree(newRevision);
+		return ClassUtils.checkAndCast(JsonDiff.asJson(oldRevisionSource, newRevisionSource, DIFF_FLAGS), ArrayNode.class);
+	}
+
+	private Optional<TypeDiffGenerator> createGenerator(Class<?> type) {
+		try {
+			final BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(type));
+			if (description.findAnyGetter() != null || description.findFilterId() != null) {
+				return Optional.empty();
+			}
+
+			final JsonSerializer<Object> serializer = mapper.getSerializerProviderInstance().findValueSerializer(type);
+			if (!(serializer instanceof BeanSerializerBase) || serializer.usesObjectId()) {
+				return Optional.empty();
+			}
+
+			final List<PropertyAccessor> properties = newArrayList();
+			for (Iterator<PropertyWriter> it = ((BeanSerializerBase) serializer).properties(); it.hasNext();) {
+				final PropertyWriter property = it.next();
+				if (!(property instanceof BeanPropertyWriter)) {
+					return Optional.empty();
+				}
+				properties.add(new PropertyAccessor((BeanPropertyWriter) property));
+			}
+			return Optional.of(new TypeDiffGenerator(properties));
+		} catch (Exception e) {
+			// unable to compile a specific diff generator, use the full JSON diff instead
+			return Optional.empty();
+		}
+	}
+
+	private final class TypeDiffGenerator {
+
+		private final PropertyAccessor[] properties;
+
+		private TypeDiffGenerator(List<PropertyAccessor> properties) {
+			this.properties = properties.toArray(new PropertyAccessor[properties.size()]);
+		}
+
+		ArrayNode diff(Revision oldRevision, Revision newRevision) {
+			List<PropertyAccessor> changedProperties = null;
+			for (PropertyAccessor property : properties) {
+				if (!isSameValue(property.get(oldRevision), property.get(newRevision))) {
+					if (changedProperties == null) {
+						changedProperties = newArrayList();
+					}
+					changedProperties.add(property);
+				}
+			}
+
+			if (changedProperties == null) {
+				return mapper.createArrayNode();
+			}
+
+			// serialize and compare only the properties with (potentially) different values
+			final SerializerProvider provider = mapper.getSerializerProviderInstance();
+			final ObjectNode oldSource = serialize(oldRevision, changedProperties, provider);
+			final ObjectNode newSource = serialize(newRevision, changedProperties, provider);
+			return ClassUtils.checkAndCast(JsonDiff.asJson(oldSource, newSource, DIFF_FLAGS), ArrayNode.class);
+		}
+
+		private ObjectNode serialize(Revision revision, List<PropertyAccessor> changedProperties, SerializerProvider provider) {
+			try (final TokenBuffer buffer = new TokenBuffer(mapper, false)) {
+				buffer.writeStartObject();
+				for (PropertyAccessor property : changedProperties) {
+					// serializeAsField applies the same inclusion rules (eg. NON_NULL) as the full serialization of the revision
+					property.writer.serializeAsField(revision, buffer, provider);
+				}
+				buffer.writeEndObject();
+				final JsonNode node = mapper.readTree(buffer.asParser());
+				return ClassUtils.checkAndCast(node, ObjectNode.class);
+			} catch (Exception e) {
+				throw new IndexException("Couldn't serialize properties of revision: " + revision, e);
+			}
+		}
+
+	}
+
+	private static final class PropertyAccessor {
+
+		private final BeanPropertyWriter writer;
+		private final MethodHandle accessor;
+
+		private PropertyAccessor(BeanPropertyWriter writer) {
+			this.writer = writer;
+			this.accessor = toMethodHandle(writer.getMember().getMember());
+		}
+
+		Object get(Object bean) {
+			try {
+				if (accessor != null) {
+					return (Object) accessor.invokeExact(bean);
+				} else {
+					return writer.get(bean);
+				}
+			} catch (Throwable e) {
+				throw new IndexException("Couldn't access property '" + writer.getName() + "' of revision: " + bean, e);
+			}
+		}
+
+		private static MethodHandle toMethodHandle(Member member) {
+			try {
+				if (member instanceof Method) {
+					return MethodHandles.lookup().unreflect((Method) member).asType(ACCESSOR_TYPE);
+				} else if (member instanceof Field) {
+					return MethodHandles.lookup().unreflectGetter((Field) member).asType(ACCESSOR_TYPE);
+				} else {
+					return null;
+				}
+			} catch (IllegalAccessException e) {
+				// fall back to reflective access through the bean property writer
+				return null;
+			}
+		}
+
+	}
+
+	/*
+	 * Returns true if the two values are guaranteed to produce the same JSON representation, false if they might be different.
+	 * Only scalar values, primitive arrays and collections of those are compared directly, everything else requires a JSON diff.
+	 */
+	private static boolean isSameValue(Object oldValue, Object newValue) {
+		if (oldValue == newValue) {
+			return true;
+		} else if (oldValue == null || newValue == null) {
+			return false;
+		} else if (isScalar(oldValue)) {
+			return oldValue.equals(newValue);
+		} else if (oldValue instanceof Collection<?> && newValue instanceof Collection<?>) {
+			final Collection<?> oldValues = (Collection<?>) oldValue;
+			final Collection<?> newValues = (Collection<?>) newValue;
+			if (oldValues.size() != newValues.size()) {
+				return false;
+			}
+			final Iterator<?> oldIterator = oldValues.iterator();
+			final Iterator<?> newIterator = newValues.iterator();
+			while (oldIterator.hasNext() && newIterator.hasNext()) {
+				final Object oldElement = oldIterator.next();
+				if (oldElement != null && !isScalar(oldElement)) {
+					return false;
+				}
+				if (!isSameValue(oldElement, newIterator.next())) {
+					return false;
+				}
+			}
+			return !oldIterator.hasNext() && !newIterator.hasNext();
+		} else if (oldValue instanceof long[] && newValue instanceof long[]) {
+			return Arrays.equals((long[]) oldValue, (long[]) newValue);
+		} else if (oldValue instanceof int[] && newValue instanceof int[]) {
+			return Arrays.equals((int[]) oldValue, (int[]) newValue);
+		} else if (oldValue instanceof boolean[] && newValue instanceof boolean[]) {
+			return Arrays.equals((boolean[]) oldValue, (boolean[]) newValue);
+		} else {
+			return false;
+		}
+	}
+
+	private static boolean isScalar(Object value) {
+		return value instanceof String
+				|| value instanceof Boolean
+				|| value instanceof Integer
+				|| value instanceof Long
+				|| value instanceof Short
+				|| value instanceof Byte
+				|| value instanceof Character
+				|| value instanceof Enum<?>;
+	}
+
+}
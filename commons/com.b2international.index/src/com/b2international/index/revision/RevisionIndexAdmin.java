@@ -64,11 +64,15 @@ public final class RevisionIndexAdmin implements IndexAdmin {
 	@Override
 	public void delete() {
 		rawIndexAdmin.delete();
+		index.branching().invalidateAll();
 	}
 
 	@Override
 	public void clear(Collection<Class<?>> types) {
 		rawIndexAdmin.clear(types);
+		if (types.contains(RevisionBranch.class)) {
+			index.branching().invalidateAll();
+		}
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import com.b2international.commons.ClassUtils;
 import com.b2international.commons.Pair;
 import com.b2international.index.BulkUpdate;
 import com.b2international.index.mapping.DocumentMapping;
+import com.b2international.index.revision.Hooks.FailedCommitHook;
 import com.b2international.index.revision.Hooks.Hook;
 import com.b2international.index.revision.Hooks.PostCommitHook;
 import com.b2international.index.revision.Hooks.PreCommitHook;
@@ -40,8 +41,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.flipkart.zjsonpatch.DiffFlags;
-import com.flipkart.zjsonpatch.JsonDiff;
 import com.google.common.collect.*;
 
 /**
@@ -52,8 +51,6 @@ import com.google.common.collect.*;
  */
 public final class StagingArea {
 
-	private static final EnumSet<DiffFlags> DIFF_FLAGS = EnumSet.of(DiffFlags.ADD_ORIGINAL_VALUE_ON_REPLACE, DiffFlags.OMIT_COPY_OPERATION, DiffFlags.OMIT_MOVE_OPERATION);
-	
 	private final DefaultRevisionIndex index;
 	private final String branchPath;
 	private final ObjectMapper mapper;
@@ -222,13 +219,29 @@ public final class StagingArea {
 	public Commit commit(String commitGroupId, long timestamp, String author, String commitComment) {
 		// run pre-commit hooks
 		final List<Hook> hooks = index.getHooks(); // get a snapshot of the current hooks so we use the same hooks before and after commit
-		hooks.stream()
-			.filter(PreCommitHook.class::isInstance)
-			.map(PreCommitHook.class::cast)
-			.forEach(hook -> hook.run(this));
-		
-		// commit the registered changes
-		final Commit commit = index.write(branchPath, timestamp, writer -> doCommit(commitGroupId, timestamp, author, commitComment, writer));
+		final Commit commit;
+		try {
+			hooks.stream()
+				.filter(PreCommitHook.class::isInstance)
+				.map(PreCommitHook.class::cast)
+				.forEach(hook -> hook.run(this));
+			
+			// commit the registered changes
+			commit = index.write(branchPath, timestamp, writer -> doCommit(commitGroupId, timestamp, author, commitComment, writer));
+		} catch (RuntimeException e) {
+			// notify hooks about the failed commit, failures of the hooks themselves must not hide the original failure
+			hooks.stream()
+				.filter(FailedCommitHook.class::isInstance)
+				.map(FailedCommitHook.class::cast)
+				.forEach(hook -> {
+					try {
+						hook.failed(this);
+					} catch (RuntimeException suppressed) {
+						e.addSuppressed(suppressed);
+					}
+				});
+			throw e;
+		}
 		
 		// run post-commit hooks
 		hooks.stream()
@@ -438,6 +451,7 @@ public final class StagingArea {
 			toBranchUpdateParams = ImmutableMap.of("headTimestamp", timestamp); 
 		}
 		
+		index.branching().invalidate(branchPath);
 		writer.bulkUpdate(
 			new BulkUpdate<>(
 				RevisionBranch.class, 
@@ -448,7 +462,12 @@ public final class StagingArea {
 			)
 		);
 		
-		writer.commit();
+		try {
+			writer.commit();
+		} finally {
+			// make sure subsequent reads see the new head of the branch
+			index.branching().invalidate(branchPath);
+		}
 
 		// clear remaining state
 		mergeSources = null;
@@ -755,10 +774,7 @@ public final class StagingArea {
 
 		private ArrayNode rawDiff() {
 			if (rawDiff == null) {
-				ObjectNode oldRevisionSource = mapper.valueToTree(oldRevision);
-				ObjectNode newRevisionSource = mapper.valueToTree(newRevision);
-				final JsonNode diff = JsonDiff.asJson(oldRevisionSource, newRevisionSource, DIFF_FLAGS);
-				final ArrayNode rawDiff = ClassUtils.checkAndCast(diff, ArrayNode.class);
+				final ArrayNode rawDiff = index.diffGenerator().diff(oldRevision, newRevision);
 				final ArrayNode filteredRawDiff = mapper.createArrayNode();
 				final Iterator<JsonNode> elements = rawDiff.elements();
 				while (elements.hasNext()) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import com.b2international.commons.exceptions.NotFoundException;
 import com.b2international.snowowl.core.api.IBranchPath;
 import com.b2international.snowowl.datastore.CodeSystemEntry;
 import com.b2international.snowowl.datastore.CodeSystems;
+import com.b2international.snowowl.datastore.request.CodeSystemCache;
 import com.b2international.snowowl.eventbus.IEventBus;
 import com.b2international.snowowl.terminologyregistry.core.request.CodeSystemRequests;
 import com.b2international.snowowl.test.commons.Services;
@@ -88,6 +89,26 @@ public class CodeSystemRequestTest {
 		assertEquals("updated name", updatedCodeSystem.getName());
 	}
 	
+	@Test
+	public void updateCodeSystemInvalidatesCodeSystemCache() {
+		final String shortName = "sn4";
+		final String oid = "oid4";
+		
+		createCodeSystem(shortName, oid);
+		final CodeSystemCache cache = Services.service(CodeSystemCache.class);
+		final CodeSystemEntry cachedCodeSystem = cache.getCodeSystem(shortName, () -> getCodeSystem(shortName));
+		assertEquals(String.format("%s - %s", shortName, oid), cachedCodeSystem.getName());
+		
+		CodeSystemRequests.prepareUpdateCodeSystem(shortName)
+			.setName("updated name")
+			.build(REPOSITORY_ID, BRANCH, "system", String.format("Updated code system %s.", shortName))
+			.execute(bus)
+			.getSync();
+		
+		final CodeSystemEntry updatedCodeSystem = cache.getCodeSystem(shortName, () -> getCodeSystem(shortName));
+		assertEquals("updated name", updatedCodeSystem.getName());
+	}
+	
 	@Test(expected = NotFoundException.class)
 	public void updateCodeSystemWithInvalidBranchPath() {
 		final String shortName = "sn3";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,8 @@ public class ValidationRestInput {
 	private Set<String> ruleIds;
 	
 	private boolean unpublishedOnly = true;
+	
+	private boolean incremental = false;
 
 	public String getBranchPath() {
 		return branchPath;
@@ -67,6 +69,14 @@ public class ValidationRestInput {
 		this.unpublishedOnly = unpublishedOnly;
 	}
 	
+	public boolean isIncremental() {
+		return incremental;
+	}
+	
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+	
 	@Override
 	public String toString() {
 		final StringBuilder builder = new StringBuilder();
@@ -76,6 +86,8 @@ public class ValidationRestInput {
 		builder.append(ruleIds);
 		builder.append(", unpublishedOnly=");
 		builder.append(unpublishedOnly);
+		builder.append(", incremental=");
+		builder.append(incremental);
 		builder.append("]");
 		return builder.toString();
 	}
@@ -157,7 +157,8 @@ public class ValidationRestService extends AbstractRestService {
 		final ValidateRequestBuilder validateRequestBuilder = ValidationRequests
 				.prepareValidate()
 				.setRuleParameters(ruleParams)
-				.setRuleIds(validationInput.getRuleIds());
+				.setRuleIds(validationInput.getRuleIds())
+				.setIncremental(validationInput.isIncremental());
 		
 		final Request<ServiceProvider, ValidationResult> request = validateRequestBuilder
 				.build(codeSystem.getRepositoryUuid(), validationInput.getBranchPath())
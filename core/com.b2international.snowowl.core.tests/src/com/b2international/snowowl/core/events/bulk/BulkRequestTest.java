@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.events.bulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.commons.exceptions.BadRequestException;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.events.Request;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * @since 7.5
+ */
+public class BulkRequestTest {
+
+	private final AtomicInteger running = new AtomicInteger();
+	private final AtomicInteger maxRunning = new AtomicInteger();
+	
+	private BulkRequestExecutor executor;
+	private ServiceProvider context;
+	
+	@Before
+	public void setup() {
+		executor = new BulkRequestExecutor(8);
+		context = ServiceProvider.EMPTY.inject()
+				.bind(BulkRequestExecutor.class, executor)
+				.build();
+	}
+	
+	@After
+	public void after() {
+		executor.dispose();
+	}
+	
+	@Test
+	public void parallelResponsesKeepRequestOrder() throws Exception {
+		final BulkRequestBuilder<ServiceProvider> bulk = BulkRequest.<ServiceProvider>create().setParallelism(4);
+		for (int i = 0; i < 20; i++) {
+			bulk.add(sleepAndReturn(i));
+		}
+		
+		final BulkResponse response = bulk.build().execute(context);
+		
+		assertEquals(ImmutableList.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19), response.getItems());
+		assertTrue(maxRunning.get() > 1);
+		assertTrue(maxRunning.get() <= 4);
+	}
+	
+	@Test
+	public void sequentialByDefault() throws Exception {
+		final BulkRequestBuilder<ServiceProvider> bulk = BulkRequest.<ServiceProvider>create();
+		for (int i = 0; i < 5; i++) {
+			bulk.add(sleepAndReturn(i));
+		}
+		
+		final BulkResponse response = bulk.build().execute(context);
+		
+		assertEquals(ImmutableList.of(0, 1, 2, 3, 4), response.getItems());
+		assertEquals(1, maxRunning.get());
+	}
+	
+	@Test(expected = BadRequestException.class)
+	public void failureIsPropagated() throws Exception {
+		BulkRequest.<ServiceProvider>create()
+			.setParallelism(2)
+			.add(sleepAndReturn(0))
+			.add(ctx -> {
+				throw new BadRequestException("Failed");
+			})
+			.add(sleepAndReturn(2))
+			.build()
+			.execute(context);
+	}
+	
+	private Request<ServiceProvider, Integer> sleepAndReturn(int value) {
+		return ctx -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(20L);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				running.decrementAndGet();
+			}
+			return value;
+		};
+	}
+	
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.events.Request;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * @since 7.5
+ */
+public class MonitoredRequestTest {
+
+	private static class CountRequest implements Request<ServiceProvider, Integer> {
+		@Override
+		public Integer execute(ServiceProvider context) {
+			return 42;
+		}
+	}
+
+	private MeterRegistry registry;
+	private ServiceProvider context;
+
+	@Before
+	public void setup() {
+		registry = new SimpleMeterRegistry();
+		context = ServiceProvider.EMPTY.inject()
+				.bind(MeterRegistry.class, registry)
+				.bind(ObjectMapper.class, new ObjectMapper())
+				.build();
+	}
+
+	@Test
+	public void responseTimeIsRecordedPerRequestType() throws Exception {
+		final MonitoringConfiguration config = new MonitoringConfiguration();
+		config.setRequestLogSampleRate(0.0);
+
+		assertEquals(Integer.valueOf(42), new MonitoredRequest<>(new CountRequest(), config).execute(context));
+		assertEquals(Integer.valueOf(42), new MonitoredRequest<>(new CountRequest(), config).execute(context));
+
+		final Timer timer = registry.find("response_time").tag("type", "CountRequest").timer();
+		assertNotNull(timer);
+		assertEquals(2L, timer.count());
+	}
+
+	@Test
+	public void lambdaRequestTypeIsBounded() throws Exception {
+		final Request<ServiceProvider, Integer> lambda = ctx -> 0;
+		final MonitoredRequest<Integer> request = new MonitoredRequest<>(lambda);
+
+		assertEquals(MonitoredRequestTest.class.getSimpleName(), request.getRequestType());
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2017 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,8 @@
  */
 package com.b2international.snowowl.core;
 
+import java.util.Optional;
+
 import com.b2international.snowowl.core.domain.DelegatingContext;
 import com.b2international.snowowl.core.events.Request;
 import com.google.inject.Provider;
@@ -31,6 +33,22 @@ public interface ServiceProvider {
 	 * @return the currently registered service implementation for the given service interface, never <code>null</code>
 	 */
 	<T> T service(Class<T> type);
+	
+	/**
+	 * Returns the given service if it is available in the current {@link ApplicationContext}, or an empty {@link Optional} if it is not
+	 * registered.
+	 * 
+	 * @param type
+	 * @return the currently registered service implementation for the given service interface or an empty {@link Optional}
+	 * @since 7.5
+	 */
+	default <T> Optional<T> optionalService(Class<T> type) {
+		try {
+			return Optional.ofNullable(service(type));
+		} catch (RuntimeException e) {
+			return Optional.empty();
+		}
+	}
 
 	/**
 	 * Returns a {@link Provider} to provide the given type when needed by using {@link #service(Class)}, so the returned {@link Provider} will never
@@ -61,6 +79,11 @@ public interface ServiceProvider {
 		public <T> T service(Class<T> type) {
 			throw new UnsupportedOperationException("Empty service provider can't provide services. Requested: " + type);
 		}
+		
+		@Override
+		public <T> Optional<T> optionalService(Class<T> type) {
+			return Optional.empty();
+		}
 
 		@Override
 		public <T> Provider<T> provider(Class<T> type) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.b2international.snowowl.core.IDisposableService;
@@ -108,6 +109,15 @@ public class DelegatingContext implements ServiceProvider, Bindable, IDisposable
 			return delegate.service(type);
 		}
 	}
+	
+	@Override
+	public <T> Optional<T> optionalService(Class<T> type) {
+		if (bindings.containsKey(type)) {
+			return Optional.of(type.cast(bindings.get(type)));
+		} else {
+			return delegate.optionalService(type);
+		}
+	}
 
 	@Override
 	public <T> Provider<T> provider(final Class<T> type) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2017 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,9 +19,11 @@ import static com.google.common.collect.Lists.newArrayList;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import com.b2international.commons.CompositeClassLoader;
 import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.domain.TransactionContext;
 import com.b2international.snowowl.core.events.Request;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -32,13 +34,27 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 public final class BulkRequest<C extends ServiceProvider> implements Request<C, BulkResponse> {
 
 	private List<Request<C, ?>> requests;
+	
+	private int parallelism = 1;
 
 	BulkRequest(List<Request<C, ?>> requests) {
 		this.requests = requests == null ? Collections.<Request<C, ?>> emptyList() : requests;
 	}
+	
+	BulkRequest(List<Request<C, ?>> requests, int parallelism) {
+		this(requests);
+		this.parallelism = parallelism;
+	}
 
 	@Override
 	public BulkResponse execute(C context) {
+		if (isParallel(context)) {
+			final Optional<BulkRequestExecutor> executor = context.optionalService(BulkRequestExecutor.class);
+			if (executor.isPresent()) {
+				return new BulkResponse(executor.get().execute(context, requests, parallelism));
+			}
+		}
+		
 		final List<Object> responses = newArrayList();
 		
 		for (Request<C, ?> req : requests) {
@@ -47,6 +63,13 @@ public final class BulkRequest<C extends ServiceProvider> implements Request<C,
 		
 		return new BulkResponse(responses);
 	}
+	
+	/*
+	 * Nested requests of a transaction modify the same transaction context, they are always executed sequentially.
+	 */
+	private boolean isParallel(C context) {
+		return parallelism > 1 && requests.size() > 1 && !(context instanceof TransactionContext);
+	}
 
 	/**
 	 * Creates a new {@link BulkRequestBuilder} instance to create a {@link BulkRequest}.
@@ -65,6 +88,15 @@ public final class BulkRequest<C extends ServiceProvider> implements Request<C,
 		return requests;
 	}
 	
+	/**
+	 * @return the maximum number of nested requests executed at the same time
+	 * @since 7.5
+	 */
+	@JsonIgnore
+	public int getParallelism() {
+		return parallelism;
+	}
+	
 	@Override
 	public ClassLoader getClassLoader() {
 		final CompositeClassLoader classLoader = new CompositeClassLoader();
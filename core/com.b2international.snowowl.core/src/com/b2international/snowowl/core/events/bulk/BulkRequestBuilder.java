@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package com.b2international.snowowl.core.events.bulk;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.b2international.snowowl.core.ServiceProvider;
@@ -30,6 +31,8 @@ public final class BulkRequestBuilder<C extends ServiceProvider> implements Requ
 	
 	private Builder<Request<C, ?>> requests = ImmutableList.builder();
 	
+	private int parallelism = 1;
+	
 	BulkRequestBuilder() {}
 
 	public BulkRequestBuilder<C> add(Request<C, ?> req) {
@@ -43,8 +46,23 @@ public final class BulkRequestBuilder<C extends ServiceProvider> implements Requ
 		return add(req.build());
 	}
 	
+	/**
+	 * Allows the nested requests to be executed in parallel, with at most the given number of requests running at the same time. Responses
+	 * are returned in the order of the requests regardless of the parallelism. Nested requests are executed in parallel only if they are not
+	 * part of a transaction, so this option should be used for independent read requests only.
+	 * 
+	 * @param parallelism - the maximum number of nested requests executed at the same time, <code>1</code> (the default) executes the requests sequentially
+	 * @return this builder
+	 * @since 7.5
+	 */
+	public BulkRequestBuilder<C> setParallelism(int parallelism) {
+		checkArgument(parallelism > 0, "Parallelism must be greater than zero, was: %s", parallelism);
+		this.parallelism = parallelism;
+		return this;
+	}
+	
 	@Override
 	public BulkRequest<C> build() {
-		return new BulkRequest<>(requests.build());
+		return new BulkRequest<>(requests.build(), parallelism);
 	}
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.events.bulk;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.b2international.snowowl.core.IDisposableService;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.b2international.snowowl.core.events.Request;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Executes the nested requests of parallel {@link BulkRequest}s on a bounded pool of worker threads shared by all bulk requests.
+ * <p>
+ * The calling thread takes part in the execution of its own bulk request, and workers pick the next unprocessed request until all requests
+ * have been executed. A bulk request therefore completes even if all workers are busy with other bulk requests, it just falls back to
+ * sequential execution on the calling thread.
+ *
+ * @since 7.5
+ */
+public final class BulkRequestExecutor implements IDisposableService {
+
+	private final ExecutorService workers;
+
+	/**
+	 * Creates a new executor with the given number of worker threads.
+	 *
+	 * @param numberOfWorkers - the number of worker threads shared by all parallel bulk requests
+	 */
+	public BulkRequestExecutor(int numberOfWorkers) {
+		this.workers = Executors.newFixedThreadPool(numberOfWorkers, new ThreadFactoryBuilder()
+				.setNameFormat("bulk-worker-%d")
+				.setDaemon(true)
+				.build());
+	}
+
+	/**
+	 * Executes the given requests with at most the given number of requests running at the same time, and returns their responses in the
+	 * order of the requests. If any of the requests fail, the remaining requests are not started and the first failure is rethrown.
+	 *
+	 * @param context - the context to execute the requests with, must be safe to use from multiple threads
+	 * @param requests - the requests to execute
+	 * @param parallelism - the maximum number of requests executing at the same time (including the calling thread)
+	 * @return the responses of the requests, in the order of the requests
+	 */
+	public <C extends ServiceProvider> List<Object> execute(C context, List<Request<C, ?>> requests, int parallelism) {
+		final Object[] responses = new Object[requests.size()];
+		final AtomicInteger nextRequest = new AtomicInteger();
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		final Runnable worker = () -> {
+			int i;
+			while (failure.get() == null && (i = nextRequest.getAndIncrement()) < responses.length) {
+				try {
+					responses[i] = requests.get(i).execute(context);
+				} catch (Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			}
+		};
+
+		final int numberOfWorkers = Math.min(parallelism, requests.size()) - 1;
+		final List<Future<?>> futures = newArrayListWithCapacity(numberOfWorkers);
+		for (int i = 0; i < numberOfWorkers; i++) {
+			futures.add(workers.submit(worker));
+		}
+
+		worker.run();
+
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure.compareAndSet(null, e);
+				futures.forEach(f -> f.cancel(false));
+				break;
+			} catch (ExecutionException e) {
+				failure.compareAndSet(null, e.getCause());
+			}
+		}
+
+		final Throwable e = failure.get();
+		if (e != null) {
+			Throwables.propagateIfPossible(e);
+			throw new SnowowlRuntimeException(e);
+		}
+		return newArrayList(responses);
+	}
+
+	@Override
+	public void dispose() {
+		workers.shutdownNow();
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return workers.isShutdown();
+	}
+
+}
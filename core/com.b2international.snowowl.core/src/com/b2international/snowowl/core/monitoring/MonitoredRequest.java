@@ -15,7 +15,10 @@
  */
 package com.b2international.snowowl.core.monitoring;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -28,19 +31,36 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.Timer.Sample;
 
 /**
+ * Records the response time of the wrapped request in a timer tagged with the execution context and the type of the request, and writes
+ * a log entry about each execution. Only sampled and slow requests are logged with their full (size-capped) request body, all other
+ * executions are logged with a short summary, so the request does not have to be serialized on every execution.
+ * 
  * @since 4.5
  */
 public final class MonitoredRequest<R> extends DelegatingRequest<ServiceProvider, ServiceProvider, R> {
 
 	private static final Logger LOG = LoggerFactory.getLogger("request");
 	
+	private static final String TRUNCATED_SUFFIX = "...";
+	
+	private final MonitoringConfiguration config;
+	
 	public MonitoredRequest(Request<ServiceProvider, R> next) {
+		this(next, new MonitoringConfiguration());
+	}
+	
+	/**
+	 * @param next - the request to monitor
+	 * @param config - the monitoring configuration controlling request log sampling and the published response time statistics
+	 * @since 7.5
+	 */
+	public MonitoredRequest(Request<ServiceProvider, R> next, MonitoringConfiguration config) {
 		super(next);
+		this.config = checkNotNull(config, "config");
 	}
 	
 	@Override
@@ -50,23 +70,61 @@ public final class MonitoredRequest<R> extends DelegatingRequest<ServiceProvider
 		try {
 			return next(context);
 		} finally {
-			final Tags tags = Tags.of("context", getContextId());
-			tags.and("context", DEFAULT_CONTEXT_ID);
-			final long responseTime = responseTimeSample.stop(registry.timer("response_time", tags));
-			final Map<String, Object> additionalInfo = ImmutableMap.of("metrics", ImmutableMap.of("responseTime", TimeUnit.NANOSECONDS.toMillis(responseTime)));
-			LOG.info(getMessage(context, additionalInfo));
+			final String requestType = getRequestType();
+			final Timer responseTimeTimer = Timer.builder("response_time")
+					.tags("context", getContextId(), "type", requestType)
+					.publishPercentiles(config.getResponseTimePercentiles())
+					.publishPercentileHistogram(config.isResponseTimeHistogram())
+					.register(registry);
+			final long responseTime = TimeUnit.NANOSECONDS.toMillis(responseTimeSample.stop(responseTimeTimer));
+			if (LOG.isInfoEnabled()) {
+				LOG.info(getMessage(context, requestType, responseTime));
+			}
 		}
 	}
 
-	private String getMessage(ServiceProvider context, final Map<String, Object> additionalInfo) {
+	/**
+	 * @return the type of the innermost (actual) request wrapped by this and any other {@link DelegatingRequest}s.
+	 * @since 7.5
+	 */
+	String getRequestType() {
+		Request<?, ?> request = next();
+		while (request instanceof DelegatingRequest<?, ?, ?>) {
+			request = ((DelegatingRequest<?, ?, ?>) request).next();
+		}
+		final String type = request.getType();
+		// keep the number of distinct tag values bounded for lambda requests
+		final int lambdaIdx = type.indexOf("$$Lambda");
+		return lambdaIdx < 0 ? type : type.substring(0, lambdaIdx);
+	}
+	
+	private boolean isSampled() {
+		final double sampleRate = config.getRequestLogSampleRate();
+		return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+	}
+	
+	private String getMessage(ServiceProvider context, String requestType, long responseTime) {
 		try {
 			final ObjectMapper mapper = context.service(ObjectMapper.class);
-			final Map<String, Object> body = mapper.convertValue(next(), Map.class);
-			body.putAll(additionalInfo);
-			return mapper.writeValueAsString(body);
+			final Map<String, Object> metrics = ImmutableMap.of("responseTime", responseTime);
+			if (responseTime >= config.getSlowRequestThreshold() || isSampled()) {
+				final Map<String, Object> body = mapper.convertValue(next(), Map.class);
+				body.put("metrics", metrics);
+				return truncate(mapper.writeValueAsString(body));
+			} else {
+				return mapper.writeValueAsString(ImmutableMap.of("type", requestType, "context", getContextId(), "metrics", metrics));
+			}
 		} catch (Throwable e) {
 			return "Unable to get request description: " + e.getMessage();
 		}
 	}
+
+	private String truncate(String message) {
+		final int maxLength = config.getMaxRequestLogLength();
+		if (maxLength <= 0 || message.length() <= maxLength) {
+			return message;
+		}
+		return message.substring(0, maxLength) + TRUNCATED_SUFFIX;
+	}
 	
 }
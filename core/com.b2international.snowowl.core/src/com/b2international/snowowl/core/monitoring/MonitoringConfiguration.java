@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,21 @@ public class MonitoringConfiguration {
 	
 	private Map<String, String> tags = Collections.emptyMap();
 	
+	// fraction of requests (between 0.0 and 1.0) which are logged with their full request body
+	private double requestLogSampleRate = 0.01;
+	
+	// requests taking at least this many milliseconds are always logged with their full request body
+	private long slowRequestThreshold = 1000L;
+	
+	// maximum number of characters of a request body written to the request log
+	private int maxRequestLogLength = 8192;
+	
+	// client-side percentiles published for the response time of each request type
+	private double[] responseTimePercentiles = { 0.5, 0.95, 0.99 };
+	
+	// publish response time histogram buckets for server-side percentile aggregation
+	private boolean responseTimeHistogram = false;
+	
 	public void setEnabled(boolean endabled) {
 		this.enabled = endabled;
 	}
@@ -43,4 +58,44 @@ public class MonitoringConfiguration {
 		this.tags = tags;
 	}
 	
+	public double getRequestLogSampleRate() {
+		return requestLogSampleRate;
+	}
+	
+	public void setRequestLogSampleRate(double requestLogSampleRate) {
+		this.requestLogSampleRate = requestLogSampleRate;
+	}
+	
+	public long getSlowRequestThreshold() {
+		return slowRequestThreshold;
+	}
+	
+	public void setSlowRequestThreshold(long slowRequestThreshold) {
+		this.slowRequestThreshold = slowRequestThreshold;
+	}
+	
+	public int getMaxRequestLogLength() {
+		return maxRequestLogLength;
+	}
+	
+	public void setMaxRequestLogLength(int maxRequestLogLength) {
+		this.maxRequestLogLength = maxRequestLogLength;
+	}
+	
+	public double[] getResponseTimePercentiles() {
+		return responseTimePercentiles;
+	}
+	
+	public void setResponseTimePercentiles(double[] responseTimePercentiles) {
+		this.responseTimePercentiles = responseTimePercentiles;
+	}
+	
+	public boolean isResponseTimeHistogram() {
+		return responseTimeHistogram;
+	}
+	
+	public void setResponseTimeHistogram(boolean responseTimeHistogram) {
+		this.responseTimeHistogram = responseTimeHistogram;
+	}
+	
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.b2international.snowowl.core.setup;
 
 import java.nio.file.Path;
+import java.util.Optional;
 
 import org.eclipse.net4j.util.container.IManagedContainer;
 import org.eclipse.net4j.util.container.IPluginContainer;
@@ -104,6 +105,11 @@ public final class Environment implements ServiceProvider {
 		return services().getServiceChecked(type);
 	}
 	
+	@Override
+	public <T> Optional<T> optionalService(final Class<T> type) {
+		return services().exists(type) ? Optional.of(services().getService(type)) : Optional.empty();
+	}
+	
 	@Override
 	public <T> Provider<T> provider(final Class<T> type) {
 		return new Provider<T>() {
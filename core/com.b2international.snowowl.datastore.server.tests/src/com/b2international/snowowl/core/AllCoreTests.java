@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,13 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.b2international.snowowl.core.authorization.AuthorizedRequestTest;
 import com.b2international.snowowl.core.validation.ValidationIssueApiTest;
 import com.b2international.snowowl.core.validation.ValidationRuleApiTest;
 import com.b2international.snowowl.core.validation.ValidationThreadPoolTest;
 import com.b2international.snowowl.core.validation.ValidationWhiteListApiTest;
 import com.b2international.snowowl.datastore.file.FileRegistryTest;
+import com.b2international.snowowl.datastore.request.CodeSystemResourceRequestTest;
 import com.b2international.snowowl.datastore.request.SortParserTest;
 import com.b2international.snowowl.datastore.request.job.JobRequestsTest;
 import com.b2international.snowowl.datastore.server.internal.merge.MergeConflictSerializationTest;
@@ -40,6 +42,8 @@ import com.b2international.snowowl.datastore.server.internal.review.ReviewSerial
 	ValidationWhiteListApiTest.class,
 	FileRegistryTest.class,
 	SortParserTest.class,
+	CodeSystemResourceRequestTest.class,
+	AuthorizedRequestTest.class,
 	JobRequestsTest.class,
 	MergeConflictSerializationTest.class,
 	ReviewSerializationTest.class
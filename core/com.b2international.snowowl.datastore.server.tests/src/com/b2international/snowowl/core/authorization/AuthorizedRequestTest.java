@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.authorization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.b2international.commons.exceptions.ForbiddenException;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.domain.BranchContext;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.events.util.RequestHeaders;
+import com.b2international.snowowl.datastore.request.BranchRequest;
+import com.b2international.snowowl.datastore.request.RepositoryRequest;
+import com.b2international.snowowl.identity.IdentityProvider;
+import com.b2international.snowowl.identity.domain.Permission;
+import com.b2international.snowowl.identity.domain.Role;
+import com.b2international.snowowl.identity.domain.User;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * @since 7.5
+ */
+public class AuthorizedRequestTest {
+
+	private static final String TOKEN = "Bearer token";
+	private static final int BULK_SIZE = 1_000;
+
+	private static final User BROWSER = new User("browser", ImmutableList.of(new Role("Browser", ImmutableSet.of(Permission.toBrowse("snomedStore/*")))));
+	private static final User EDITOR = new User("editor", ImmutableList.of(new Role("Editor", ImmutableSet.of(Permission.toBrowse("snomedStore/*"), Permission.toEdit("snomedStore/*")))));
+
+	@Test
+	public void distinctTemplatesAreResolvedOncePerBulk() throws Exception {
+		final AtomicInteger resolutions = new AtomicInteger();
+		final Function<Permission, Permission> resolver = resolver(resolutions);
+
+		AuthorizedRequest.authorize(EDITOR, bulk(), resolver);
+		assertThat(resolutions.get()).isEqualTo(2);
+
+		// resolutions are not shared between bulk requests, the branch a template resolves to can change between requests
+		AuthorizedRequest.authorize(EDITOR, bulk(), resolver);
+		assertThat(resolutions.get()).isEqualTo(4);
+	}
+
+	@Test
+	public void distinctResolvedPermissionsAreChecked() throws Exception {
+		final AtomicInteger resolutions = new AtomicInteger();
+		try {
+			AuthorizedRequest.authorize(BROWSER, bulk(), resolver(resolutions));
+			fail("Expected ForbiddenException");
+		} catch (ForbiddenException e) {
+			assertThat(e.getMessage()).contains("edit:snomedStore/MAIN");
+		}
+	}
+
+	@Test
+	public void nestedRequestsOfBulkAreAuthorized() throws Exception {
+		final IdentityProvider identityProvider = mock(IdentityProvider.class);
+		when(identityProvider.auth(TOKEN)).thenReturn(BROWSER);
+		final ServiceProvider context = ServiceProvider.EMPTY.inject()
+				.bind(RequestHeaders.class, new RequestHeaders(ImmutableMap.of(AuthorizedRequest.AUTHORIZATION_HEADER, TOKEN)))
+				.bind(IdentityProvider.class, identityProvider)
+				.build();
+
+		final ImmutableList.Builder<Request<?, ?>> requests = ImmutableList.builder();
+		IntStream.range(0, BULK_SIZE).forEach(i -> requests.add(new AccessControlledRequest(i % 2 == 0 ? Permission.BROWSE : Permission.EDIT)));
+
+		try {
+			new AuthorizedRequest<>(new RepositoryRequest<>("snomedStore", new BranchRequest<>("MAIN/a", new NestedRequests(requests.build())))).execute(context);
+			fail("Expected ForbiddenException");
+		} catch (ForbiddenException e) {
+			assertThat(e.getMessage()).contains("edit:snomedStore/MAIN/a");
+		}
+	}
+
+	private static Stream<Permission> bulk() {
+		return IntStream.range(0, BULK_SIZE)
+				.mapToObj(i -> Permission.of(i % 2 == 0 ? Permission.BROWSE : Permission.EDIT, RepositoryAccessControl.REPOSITORY_TEMPLATE, BranchAccessControl.BRANCH_TEMPLATE));
+	}
+
+	private static Function<Permission, Permission> resolver(final AtomicInteger resolutions) {
+		return permission -> {
+			resolutions.incrementAndGet();
+			return Permission.of(permission.getOperation(), permission.getResource()
+					.replace(RepositoryAccessControl.REPOSITORY_TEMPLATE, "snomedStore")
+					.replace(BranchAccessControl.BRANCH_TEMPLATE, "MAIN"));
+		};
+	}
+
+	private static final class NestedRequests implements Request<BranchContext, Object> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<Request<?, ?>> requests;
+
+		NestedRequests(final List<Request<?, ?>> requests) {
+			this.requests = requests;
+		}
+
+		@Override
+		public Object execute(final BranchContext context) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Collection<Request<?, ?>> getNestedRequests() {
+			return requests;
+		}
+
+	}
+
+	private static final class AccessControlledRequest implements Request<BranchContext, Object>, BranchAccessControl {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String operation;
+
+		AccessControlledRequest(final String operation) {
+			this.operation = operation;
+		}
+
+		@Override
+		public Object execute(final BranchContext context) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getOperation() {
+			return operation;
+		}
+
+	}
+
+}
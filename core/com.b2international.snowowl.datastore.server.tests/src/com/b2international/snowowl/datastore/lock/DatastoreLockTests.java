@@ -1,5 +1,5 @@
 /*
- * Copyright 2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2019-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,8 +15,13 @@
  */
 package com.b2international.snowowl.datastore.lock;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -134,6 +139,69 @@ public class DatastoreLockTests {
 		}
 	}
 	
+	@Test
+	public void testLockDifferentBranches() throws Exception {
+		final DatastoreLockContext context = createContext(USER, DatastoreLockContextDescriptions.COMMIT);
+		final DatastoreLockContext otherContext = createContext(USER, DatastoreLockContextDescriptions.CREATE_VERSION);
+		final DatastoreLockTarget target1 = new DatastoreLockTarget("snomedStore", "MAIN/a");
+		final DatastoreLockTarget target2 = new DatastoreLockTarget("snomedStore", "MAIN/b");
+		
+		manager.lock(context, IOperationLockManager.IMMEDIATE, target1);
+		manager.lock(otherContext, IOperationLockManager.IMMEDIATE, target2);
+		
+		assertEquals(2, manager.getLocks().size());
+	}
+	
+	@Test(expected = OperationLockException.class)
+	public void testRepositoryLockConflictsWithBranchLock() throws Exception {
+		final DatastoreLockContext context = createContext(USER, DatastoreLockContextDescriptions.COMMIT);
+		final DatastoreLockContext otherContext = createContext(USER, DatastoreLockContextDescriptions.CREATE_VERSION);
+		
+		manager.lock(context, IOperationLockManager.IMMEDIATE, new DatastoreLockTarget("snomedStore", "MAIN/a"));
+		manager.lock(otherContext, IOperationLockManager.IMMEDIATE, new DatastoreLockTarget("snomedStore", null));
+	}
+	
+	@Test
+	public void testLockWaitsForRelease() throws Exception {
+		final DatastoreLockContext context = createContext(USER, DatastoreLockContextDescriptions.COMMIT);
+		final DatastoreLockContext otherContext = createContext(USER, DatastoreLockContextDescriptions.CREATE_VERSION);
+		final DatastoreLockTarget target = new DatastoreLockTarget("snomedStore", "MAIN");
+		
+		manager.lock(context, IOperationLockManager.IMMEDIATE, target);
+		
+		final CompletableFuture<Void> otherLock = CompletableFuture.runAsync(() -> {
+			try {
+				manager.lock(otherContext, TIMEOUT, target);
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		
+		Thread.sleep(100L);
+		assertFalse(otherLock.isDone());
+		
+		manager.unlock(context, target);
+		otherLock.get(TIMEOUT, TimeUnit.MILLISECONDS);
+		checkIfLockExists(otherContext, true, target);
+	}
+	
+	@Test
+	public void testNestedLockIsReleasedInBalancedFashion() throws Exception {
+		final DatastoreLockContext context = createContext(USER, DatastoreLockContextDescriptions.MAINTENANCE);
+		final DatastoreLockContext nestedContext = new DatastoreLockContext(USER, DatastoreLockContextDescriptions.COMMIT, DatastoreLockContextDescriptions.MAINTENANCE);
+		final DatastoreLockTarget target = new DatastoreLockTarget("snomedStore", "MAIN");
+		
+		manager.lock(context, IOperationLockManager.IMMEDIATE, target);
+		manager.lock(nestedContext, IOperationLockManager.IMMEDIATE, target);
+		assertEquals(2, manager.getLocks().get(0).getLevel());
+		
+		manager.unlock(nestedContext, target);
+		checkIfLockExists(context, true, target);
+		
+		manager.unlock(context, target);
+		checkIfLockExists(context, false, target);
+	}
+	
 	private DatastoreLockContext createContext(final String user, final String description) {
 		return new DatastoreLockContext(user, description);
 	}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.datastore.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.commons.exceptions.ForbiddenException;
+import com.b2international.snowowl.core.ServiceProvider;
+import com.b2international.snowowl.core.authorization.AuthorizedRequest;
+import com.b2international.snowowl.core.authorization.BranchAccessControl;
+import com.b2international.snowowl.core.domain.BranchContext;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.events.util.RequestHeaders;
+import com.b2international.snowowl.core.uri.CodeSystemURI;
+import com.b2international.snowowl.datastore.CodeSystemEntry;
+import com.b2international.snowowl.datastore.request.CodeSystemCache.Resolution;
+import com.b2international.snowowl.identity.IdentityProvider;
+import com.b2international.snowowl.identity.domain.Permission;
+import com.b2international.snowowl.identity.domain.Role;
+import com.b2international.snowowl.identity.domain.User;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * @since 7.5
+ */
+public class CodeSystemResourceRequestTest {
+
+	private static final String URI = "SNOMEDCT/2020-01-31";
+	private static final String VERSION_PATH = "MAIN/2020-01-31";
+
+	private CodeSystemEntry codeSystem;
+	private CodeSystemCache cache;
+	private AtomicInteger loads;
+	private ServiceProvider context;
+
+	@Before
+	public void setup() {
+		codeSystem = CodeSystemEntry.builder()
+				.shortName("SNOMEDCT")
+				.repositoryUuid("snomedStore")
+				.branchPath("MAIN")
+				.build();
+		cache = new CodeSystemCache();
+		loads = new AtomicInteger();
+		cache.resolve(new CodeSystemURI(URI), () -> {
+			loads.incrementAndGet();
+			return new Resolution(codeSystem, VERSION_PATH);
+		});
+		// the context can not look up code systems and versions in the index, resolution must go through the cache
+		context = ServiceProvider.EMPTY.inject()
+				.bind(CodeSystemCache.class, cache)
+				.build();
+	}
+
+	@Test
+	public void resolvesThroughCodeSystemCache() throws Exception {
+		final CodeSystemResourceRequest<Object> request = new CodeSystemResourceRequest<>(URI, new EditRequest());
+
+		assertThat(request.getCodeSystem(context)).isSameAs(codeSystem);
+		assertThat(request.getRepositoryId(context)).isEqualTo("snomedStore");
+		assertThat(request.getBranchPath(context)).isEqualTo(VERSION_PATH);
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void requestsWithSameUriShareResolution() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			assertThat(new CodeSystemResourceRequest<>(URI, new EditRequest()).getBranchPath(context)).isEqualTo(VERSION_PATH);
+		}
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void authorizationResolvesThroughCodeSystemCache() throws Exception {
+		final User user = new User("browser", ImmutableList.of(new Role("Browser", ImmutableSet.of(Permission.toBrowse("snomedStore/*")))));
+		final IdentityProvider identityProvider = mock(IdentityProvider.class);
+		when(identityProvider.auth("Bearer token")).thenReturn(user);
+		final ServiceProvider authorizationContext = context.inject()
+				.bind(RequestHeaders.class, new RequestHeaders(ImmutableMap.of(AuthorizedRequest.AUTHORIZATION_HEADER, "Bearer token")))
+				.bind(IdentityProvider.class, identityProvider)
+				.build();
+
+		try {
+			new AuthorizedRequest<>(new CodeSystemResourceRequest<>(URI, new EditRequest())).execute(authorizationContext);
+			fail("Expected ForbiddenException");
+		} catch (ForbiddenException e) {
+			assertThat(e.getMessage()).contains("edit:snomedStore/" + VERSION_PATH);
+		}
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	private static final class EditRequest implements Request<BranchContext, Object>, BranchAccessControl {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Object execute(final BranchContext context) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getOperation() {
+			return Permission.EDIT;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,12 @@ package com.b2international.snowowl.datastore.request.job;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
 
@@ -32,7 +34,10 @@ import org.junit.Test;
 
 import com.b2international.commons.exceptions.NotFoundException;
 import com.b2international.index.Index;
+import com.b2international.index.IndexRead;
+import com.b2international.index.IndexWrite;
 import com.b2international.index.Indexes;
+import com.b2international.index.admin.IndexAdmin;
 import com.b2international.index.mapping.Mappings;
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.events.Request;
@@ -191,12 +196,130 @@ public class JobRequestsTest {
 		verifyJobEvents(jobId, 1, 12, 0);
 	}
 	
+	@Test
+	public void scheduleAndMonitorCoalescesProgressWrites() throws Exception {
+		final String jobId = schedule("scheduleAndMonitorCoalescesProgressWrites", context -> {
+			final IProgressMonitor monitor = context.service(IProgressMonitor.class);
+			final int totalWork = 10;
+			monitor.beginTask("Reticulating splines...", totalWork);
+			for (int i = 0; i < totalWork; i++) {
+				monitor.worked(1);
+			}
+			return RESULT;
+		});
+		
+		final RemoteJobEntry job = waitDone(jobId);
+		assertEquals(100, job.getCompletionLevel());
+		assertEquals(10, tracker.getProgressUpdates());
+		assertTrue(tracker.getProgressWrites() < tracker.getProgressUpdates());
+	}
+	
+	@Test
+	public void progressFlushDoesNotOverwriteFinalProgress() throws Exception {
+		final BlockingIndex index = new BlockingIndex(Indexes.createIndex("jobs-flush", mapper, new Mappings(RemoteJobEntry.class)));
+		// replace the tracker with one that flushes progress only when requested
+		tracker.dispose();
+		tracker = new RemoteJobTracker(index, bus, mapper, 200, TimeUnit.HOURS.toMillis(1L));
+		context = context.inject().bind(RemoteJobTracker.class, tracker).build();
+		
+		final CountDownLatch finishJob = new CountDownLatch(1);
+		final String jobId = schedule("progressFlushDoesNotOverwriteFinalProgress", context -> {
+			final IProgressMonitor monitor = context.service(IProgressMonitor.class);
+			monitor.beginTask("Reticulating splines...", 10);
+			monitor.worked(9);
+			try {
+				finishJob.await();
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			monitor.worked(1);
+			return RESULT;
+		});
+		
+		while (get(jobId).getCompletionLevel() != 90) {
+			Thread.sleep(20);
+		}
+		
+		// the flush picks up the pending progress of 90 and stalls before writing it
+		final Thread flush = new Thread(tracker::flushProgress, "progress-flush");
+		index.blockWritesOf(flush);
+		flush.start();
+		index.awaitBlockedWrite();
+		
+		// the job completes with a progress of 100 while the flush is still in progress
+		finishJob.countDown();
+		Thread.sleep(200);
+		
+		index.releaseBlockedWrite();
+		flush.join();
+		
+		final RemoteJobEntry entry = waitDone(jobId);
+		assertEquals(RemoteJobState.FINISHED, entry.getState());
+		assertEquals(100, entry.getCompletionLevel());
+		// the stored entry has the final progress as well, not only the tracked one
+		tracker.flushProgress();
+		assertEquals(100, index.read(searcher -> searcher.get(RemoteJobEntry.class, jobId)).getCompletionLevel());
+	}
+	
 	@Test(expected = NotFoundException.class)
 	public void scheduleAndClean() throws Exception {
 		final String jobId = schedule("scheduleAndClean", true, context -> RESULT);
 		waitDone(jobId);
 	}
 
+	private static final class BlockingIndex implements Index {
+		
+		private final Index delegate;
+		private final CountDownLatch blocked = new CountDownLatch(1);
+		private final CountDownLatch released = new CountDownLatch(1);
+		private volatile Thread blockedThread;
+		
+		BlockingIndex(Index delegate) {
+			this.delegate = delegate;
+		}
+		
+		void blockWritesOf(Thread thread) {
+			this.blockedThread = thread;
+		}
+		
+		void awaitBlockedWrite() throws InterruptedException {
+			assertTrue("Write was not blocked in time", blocked.await(5, TimeUnit.SECONDS));
+		}
+		
+		void releaseBlockedWrite() {
+			released.countDown();
+		}
+		
+		@Override
+		public IndexAdmin admin() {
+			return delegate.admin();
+		}
+		
+		@Override
+		public String name() {
+			return delegate.name();
+		}
+		
+		@Override
+		public <T> T read(IndexRead<T> read) {
+			return delegate.read(read);
+		}
+		
+		@Override
+		public <T> T write(IndexWrite<T> write) {
+			if (Thread.currentThread() == blockedThread) {
+				blocked.countDown();
+				try {
+					released.await();
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			}
+			return delegate.write(write);
+		}
+		
+	}
+	
 	private void verifyJobEvents(String jobId, int expectedAdded, int expectedChanged, int expectedRemoved) {
 		int numberOfNotificationsToExpect = expectedAdded + expectedChanged + expectedRemoved;
 		
@@ -15,7 +15,12 @@
  */
 package com.b2international.snowowl.core.authorization;
 
+import static com.google.common.collect.Maps.newHashMap;
+
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.b2international.commons.exceptions.ForbiddenException;
 import com.b2international.commons.exceptions.UnauthorizedException;
@@ -31,6 +36,7 @@ import com.b2international.snowowl.eventbus.IEventBus;
 import com.b2international.snowowl.identity.IdentityProvider;
 import com.b2international.snowowl.identity.domain.Permission;
 import com.b2international.snowowl.identity.domain.User;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.Iterables;
 
@@ -83,40 +89,13 @@ public final class AuthorizedRequest<R> extends DelegatingRequest<ServiceProvide
 			CodeSystemResourceRequest<?> codeSystemResourceRequest = Request.getNestedRequest(next(), CodeSystemResourceRequest.class);
 			
 			// authorize user whether it is permitted to execute the operation or not
-			requests
-				.stream()
-				.filter(AccessControl.class::isInstance)
-				.map(AccessControl.class::cast)
-				.map(ac -> ac.getPermission(context))
-				.map(permission -> {
-					String newResource = permission.getResource();
-					if (newResource.contains(RepositoryAccessControl.REPOSITORY_TEMPLATE)) {
-						if (repositoryRequest != null) {
-							newResource = newResource.replace(RepositoryAccessControl.REPOSITORY_TEMPLATE, repositoryRequest.getContextId());
-						} else if (codeSystemResourceRequest != null) {
-							newResource = newResource.replace(RepositoryAccessControl.REPOSITORY_TEMPLATE, codeSystemResourceRequest.getRepositoryId(context));
-						} else {
-							throw new IllegalArgumentException("Repository context is missing from request: " + next());
-						}
-					}
-					
-					if (newResource.contains(BranchAccessControl.BRANCH_TEMPLATE)) {
-						if (branchRequest != null) {
-							newResource = newResource.replace(BranchAccessControl.BRANCH_TEMPLATE, branchRequest.getBranchPath());
-						} else if (codeSystemResourceRequest != null) {
-							newResource = newResource.replace(BranchAccessControl.BRANCH_TEMPLATE, codeSystemResourceRequest.getBranchPath(context));
-						} else {
-							throw new IllegalArgumentException("Branch context is missing from request: " + next());
-						}
-					}
-							
-					return Permission.of(permission.getOperation(), newResource);
-				})
-				.forEach(permissionRequirement -> {
-					if (!user.hasPermission(permissionRequirement)) {
-						throw new ForbiddenException("Operation not permitted. '%s' permission is required.", permissionRequirement.getPermission());
-					}
-				});
+			authorize(user, 
+				requests
+					.stream()
+					.filter(AccessControl.class::isInstance)
+					.map(AccessControl.class::cast)
+					.map(ac -> ac.getPermission(context)),
+				permission -> resolvePermission(context, permission, repositoryRequest, branchRequest, codeSystemResourceRequest));
 		}
 
 		// inject the User for later access
@@ -125,5 +104,46 @@ public final class AuthorizedRequest<R> extends DelegatingRequest<ServiceProvide
 				.bind(IEventBus.class, new AuthorizedEventBus(context.service(IEventBus.class), requestHeaders.headers()))
 				.build());
 	}
+	
+	/*
+	 * Nested requests of bulk requests usually share the same permission requirement, resolves and checks each distinct requirement only once.
+	 */
+	@VisibleForTesting
+	static void authorize(User user, Stream<Permission> permissions, Function<Permission, Permission> resolver) {
+		final Map<Permission, Permission> resolvedPermissions = newHashMap();
+		permissions
+			.map(permission -> resolvedPermissions.computeIfAbsent(permission, resolver))
+			.distinct()
+			.forEach(permissionRequirement -> {
+				if (!user.hasPermission(permissionRequirement)) {
+					throw new ForbiddenException("Operation not permitted. '%s' permission is required.", permissionRequirement.getPermission());
+				}
+			});
+	}
+	
+	private Permission resolvePermission(ServiceProvider context, Permission permission, RepositoryRequest<?> repositoryRequest, BranchRequest<?> branchRequest, CodeSystemResourceRequest<?> codeSystemResourceRequest) {
+		String newResource = permission.getResource();
+		if (newResource.contains(RepositoryAccessControl.REPOSITORY_TEMPLATE)) {
+			if (repositoryRequest != null) {
+				newResource = newResource.replace(RepositoryAccessControl.REPOSITORY_TEMPLATE, repositoryRequest.getContextId());
+			} else if (codeSystemResourceRequest != null) {
+				newResource = newResource.replace(RepositoryAccessControl.REPOSITORY_TEMPLATE, codeSystemResourceRequest.getRepositoryId(context));
+			} else {
+				throw new IllegalArgumentException("Repository context is missing from request: " + next());
+			}
+		}
+		
+		if (newResource.contains(BranchAccessControl.BRANCH_TEMPLATE)) {
+			if (branchRequest != null) {
+				newResource = newResource.replace(BranchAccessControl.BRANCH_TEMPLATE, branchRequest.getBranchPath());
+			} else if (codeSystemResourceRequest != null) {
+				newResource = newResource.replace(BranchAccessControl.BRANCH_TEMPLATE, codeSystemResourceRequest.getBranchPath(context));
+			} else {
+				throw new IllegalArgumentException("Branch context is missing from request: " + next());
+			}
+		}
+		
+		return Permission.of(permission.getOperation(), newResource);
+	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,14 @@ public class ValidationConfiguration {
 
 	public static final int DEFAULT_NUMBER_OF_VALIDATION_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2); 
 	public static final String IS_UNPUBLISHED_ONLY = "isUnpublishedOnly";
+	/**
+	 * Rule parameter holding the identifiers of the components changed on the branch during incremental validation. Only passed to evaluators
+	 * that report the components they evaluate with it, see
+	 * {@link com.b2international.snowowl.core.validation.eval.ValidationRuleEvaluator#getEvaluatedComponentIds}.
+	 * 
+	 * @since 7.5
+	 */
+	public static final String AFFECTED_COMPONENT_IDS = "affectedComponentIds";
 	private static final int DEFAULT_MAX_CONCURRENT_EXPENSIVE_JOBS = 1;
 	private static final int DEFAULT_MAX_CONCURRENT_NORMAL_JOBS = 4;
 	
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,11 +24,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.b2international.commons.extension.Component;
+import com.b2international.index.BulkDelete;
 import com.b2international.index.Index;
 import com.b2international.index.Indexes;
 import com.b2international.index.mapping.Mappings;
@@ -72,7 +75,7 @@ public final class ValidationPlugin extends Plugin {
 			final Index validationIndex = Indexes.createIndex(
 				"validations", 
 				mapper, 
-				new Mappings(ValidationIssue.class, ValidationRule.class, ValidationWhiteList.class), 
+				new Mappings(ValidationIssue.class, ValidationRule.class, ValidationWhiteList.class, ValidationRuleRun.class), 
 				env.service(IndexSettings.class)
 			);
 			
@@ -125,22 +128,25 @@ public final class ValidationPlugin extends Plugin {
 				}
 				
 				
-				// delete rules and associated issues
+				// delete rules and associated issues and runs
 				Set<String> rulesToDelete = Sets.difference(existingRules.keySet(), ruleIds);
 				if (!rulesToDelete.isEmpty()) {
-					final Set<String> issuesToDelete = newHashSet(writer.searcher().search(Query.select(String.class)
+					final Set<String> issuesToDelete;
+					try (Stream<String> issueIds = writer.searcher().stream(Query.select(String.class)
 							.from(ValidationIssue.class)
 							.fields(ValidationIssue.Fields.ID)
 							.where(Expressions.builder()
 									.filter(Expressions.matchAny(ValidationIssue.Fields.RULE_ID, rulesToDelete))
 									.build())
 							.limit(Integer.MAX_VALUE)
-							.build())
-							.getHits());
+							.build())) {
+						issuesToDelete = issueIds.collect(Collectors.toSet());
+					}
 					writer.removeAll(ImmutableMap.<Class<?>, Set<String>>of(
 							ValidationRule.class, rulesToDelete,
 							ValidationIssue.class, issuesToDelete
 							));
+					writer.bulkDelete(new BulkDelete<>(ValidationRuleRun.class, Expressions.matchAny(ValidationRuleRun.Fields.RULE_ID, rulesToDelete)));
 				}
 				
 				writer.commit();
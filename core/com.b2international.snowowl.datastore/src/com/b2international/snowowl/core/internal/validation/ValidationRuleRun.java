@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.core.internal.validation;
+
+import java.io.Serializable;
+
+import com.b2international.index.Doc;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+
+/**
+ * Records the state of a branch that the persisted issues of a validation rule reflect on that branch. Incremental validation of a child branch
+ * relies on the issues of its parent only if they were computed for the state of the parent that the child branch is based on.
+ *
+ * @since 7.5
+ */
+@Doc
+public final class ValidationRuleRun implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @since 7.5
+	 */
+	public static final class Fields {
+		public static final String ID = "id";
+		public static final String RULE_ID = "ruleId";
+		public static final String BRANCH_PATH = "branchPath";
+		public static final String TIMESTAMP = "timestamp";
+	}
+
+	private final String id;
+	private final String ruleId;
+	private final String branchPath;
+	private final long timestamp;
+
+	public ValidationRuleRun(final String ruleId, final String branchPath, final long timestamp) {
+		this(toId(ruleId, branchPath), ruleId, branchPath, timestamp);
+	}
+
+	@JsonCreator
+	public ValidationRuleRun(
+			@JsonProperty("id") final String id,
+			@JsonProperty("ruleId") final String ruleId,
+			@JsonProperty("branchPath") final String branchPath,
+			@JsonProperty("timestamp") final long timestamp) {
+		this.id = id;
+		this.ruleId = ruleId;
+		this.branchPath = branchPath;
+		this.timestamp = timestamp;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getRuleId() {
+		return ruleId;
+	}
+
+	public String getBranchPath() {
+		return branchPath;
+	}
+
+	/**
+	 * @return the head timestamp of the branch at the time the rule was evaluated
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(getClass())
+				.add("id", id)
+				.add("ruleId", ruleId)
+				.add("branchPath", branchPath)
+				.add("timestamp", timestamp)
+				.toString();
+	}
+
+	/**
+	 * @param ruleId - the identifier of the validation rule
+	 * @param branchPath - the path of the validated branch
+	 * @return the document identifier of the run of the given rule on the given branch
+	 */
+	public static String toId(final String ruleId, final String branchPath) {
+		return branchPath + "#" + ruleId;
+	}
+
+}
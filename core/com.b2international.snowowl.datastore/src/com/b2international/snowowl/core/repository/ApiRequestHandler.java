@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,10 +20,12 @@ import org.eclipse.emf.common.util.WrappedException;
 import com.b2international.commons.exceptions.ApiException;
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.authorization.AuthorizedRequest;
+import com.b2international.snowowl.core.config.SnowOwlConfiguration;
 import com.b2international.snowowl.core.events.Request;
 import com.b2international.snowowl.core.events.util.RequestHeaders;
 import com.b2international.snowowl.core.events.util.ResponseHeaders;
 import com.b2international.snowowl.core.monitoring.MonitoredRequest;
+import com.b2international.snowowl.core.monitoring.MonitoringConfiguration;
 import com.b2international.snowowl.core.rate.RateLimitingRequest;
 import com.b2international.snowowl.eventbus.IHandler;
 import com.b2international.snowowl.eventbus.IMessage;
@@ -37,10 +39,12 @@ public final class ApiRequestHandler implements IHandler<IMessage> {
 
 	private final ServiceProvider context;
 	private final ClassLoader classLoader;
+	private final MonitoringConfiguration monitoringConfig;
 	
 	public ApiRequestHandler(ServiceProvider context, ClassLoader classLoader) {
 		this.context = context;
 		this.classLoader = classLoader;
+		this.monitoringConfig = context.service(SnowOwlConfiguration.class).getModuleConfig(MonitoringConfiguration.class);
 	}
 	
 	@Override
@@ -63,7 +67,8 @@ public final class ApiRequestHandler implements IHandler<IMessage> {
 						// actual request
 						req
 					)
-				)
+				),
+				monitoringConfig
 			).execute(executionContext);
 					
 			message.reply(body, responseHeaders.headers());
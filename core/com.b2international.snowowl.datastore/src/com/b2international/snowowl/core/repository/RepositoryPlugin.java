@@ -16,6 +16,8 @@
 package com.b2international.snowowl.core.repository;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.net4j.Net4jUtil;
@@ -43,6 +45,7 @@ import com.b2international.snowowl.core.config.SnowOwlConfiguration;
 import com.b2international.snowowl.core.domain.RepositoryContextProvider;
 import com.b2international.snowowl.core.events.Notifications;
 import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.events.bulk.BulkRequestExecutor;
 import com.b2international.snowowl.core.setup.ConfigurationRegistry;
 import com.b2international.snowowl.core.setup.Environment;
 import com.b2international.snowowl.core.setup.Plugin;
@@ -51,7 +54,9 @@ import com.b2international.snowowl.datastore.config.IndexSettings;
 import com.b2international.snowowl.datastore.config.RepositoryConfiguration;
 import com.b2international.snowowl.datastore.remotejobs.RemoteJobEntry;
 import com.b2international.snowowl.datastore.remotejobs.RemoteJobTracker;
+import com.b2international.snowowl.datastore.request.CodeSystemCache;
 import com.b2international.snowowl.datastore.review.ReviewConfiguration;
+import com.b2international.snowowl.eventbus.BoundedExecutorService;
 import com.b2international.snowowl.eventbus.IEventBus;
 import com.b2international.snowowl.eventbus.net4j.EventBusNet4jUtil;
 import com.b2international.snowowl.rpc.RpcConfiguration;
@@ -88,10 +93,12 @@ public final class RepositoryPlugin extends Plugin {
 		final RpcConfiguration rpcConfig = configuration.getModuleConfig(RpcConfiguration.class);
 		LOG.debug("Preparing RPC communication (config={},gzip={})", rpcConfig, gzip);
 		RpcUtil.prepareContainer(container, rpcConfig, gzip);
-		LOG.debug("Preparing EventBus communication (gzip={})", gzip);
-		int maxThreads = configuration.getModuleConfig(RepositoryConfiguration.class).getMaxThreads();
+		final RepositoryConfiguration repositoryConfig = configuration.getModuleConfig(RepositoryConfiguration.class);
+		LOG.debug("Preparing EventBus communication (gzip={},messageBodyCompressionThreshold={})", gzip, repositoryConfig.getMessageBodyCompressionThreshold());
+		EventBusNet4jUtil.setBodyCompressionThreshold(repositoryConfig.getMessageBodyCompressionThreshold());
+		int maxThreads = repositoryConfig.getMaxThreads();
 		EventBusNet4jUtil.prepareContainer(container, gzip, maxThreads);
-		env.services().registerService(IEventBus.class, EventBusNet4jUtil.getBus(container, maxThreads));
+		env.services().registerService(IEventBus.class, EventBusNet4jUtil.getBus(container, maxThreads, repositoryConfig.getExecutorMode(), repositoryConfig.getMaxConcurrentHandlers()));
 		LOG.debug("Preparing JSON support");
 		final ObjectMapper mapper = JsonSupport.getDefaultObjectMapper();
 		mapper.registerModule(new PrimitiveCollectionModule());
@@ -103,6 +110,8 @@ public final class RepositoryPlugin extends Plugin {
 		indexSettings.putAll(initIndexSettings(env));
 		env.services().registerService(IndexSettings.class, indexSettings);
 		env.services().registerService(TimestampProvider.class, new TimestampProvider.Default());
+		env.services().registerService(CodeSystemCache.class, new CodeSystemCache());
+		env.services().registerService(BulkRequestExecutor.class, new BulkRequestExecutor(repositoryConfig.getBulkWorkers()));
 	}
 	
 	private Map<String, Object> initIndexSettings(Environment env) {
@@ -214,6 +223,24 @@ public final class RepositoryPlugin extends Plugin {
 				.description("The total number of requests that have failed execution")
 				.register(registry);
 		
+		final ExecutorService executor = eventBus.getExecutorService();
+		if (executor instanceof BoundedExecutorService) {
+			Gauge.builder("eventbus.handlers.queued", (BoundedExecutorService) executor, BoundedExecutorService::getQueuedTasks)
+					.description("The number of message handlers waiting for a free execution slot")
+					.register(registry);
+			
+			Gauge.builder("eventbus.handlers.active", (BoundedExecutorService) executor, BoundedExecutorService::getActiveTasks)
+					.description("The number of message handlers currently executing")
+					.register(registry);
+		} else if (executor instanceof ThreadPoolExecutor) {
+			Gauge.builder("eventbus.handlers.queued", (ThreadPoolExecutor) executor, pool -> pool.getQueue().size())
+					.description("The number of message handlers waiting for a free execution slot")
+					.register(registry);
+			
+			Gauge.builder("eventbus.handlers.active", (ThreadPoolExecutor) executor, ThreadPoolExecutor::getActiveCount)
+					.description("The number of message handlers currently executing")
+					.register(registry);
+		}
 	}
 	
 	@Override
@@ -228,14 +255,29 @@ public final class RepositoryPlugin extends Plugin {
 		final Index jobsIndex = Indexes.createIndex("jobs", objectMapper, new Mappings(RemoteJobEntry.class), env.service(IndexSettings.class));
 		// TODO make this configurable
 		final long defaultJobCleanUpInterval = TimeUnit.MINUTES.toMillis(1);
-		env.services()
-			.registerService(RemoteJobTracker.class, 
-				new RemoteJobTracker(
-					jobsIndex, 
-					env.service(IEventBus.class), 
-					objectMapper, 
-					defaultJobCleanUpInterval)
-			);
+		final long progressFlushInterval = configuration.getModuleConfig(RepositoryConfiguration.class).getRemoteJobProgressFlushInterval();
+		final RemoteJobTracker tracker = new RemoteJobTracker(
+				jobsIndex, 
+				env.service(IEventBus.class), 
+				objectMapper, 
+				defaultJobCleanUpInterval,
+				progressFlushInterval);
+		env.services().registerService(RemoteJobTracker.class, tracker);
+		registerJobMetrics(env.service(MeterRegistry.class), tracker);
+	}
+	
+	private void registerJobMetrics(MeterRegistry registry, RemoteJobTracker tracker) {
+		FunctionCounter.builder("jobs.progress_updates", tracker, RemoteJobTracker::getProgressUpdates)
+				.description("The total number of progress updates reported by remote jobs")
+				.register(registry);
+		
+		FunctionCounter.builder("jobs.progress_writes", tracker, RemoteJobTracker::getProgressWrites)
+				.description("The total number of remote job progress updates written to the index")
+				.register(registry);
+		
+		FunctionCounter.builder("jobs.progress_writes_coalesced", tracker, t -> t.getProgressUpdates() - t.getProgressWrites())
+				.description("The total number of remote job progress updates that were superseded in memory instead of being written to the index")
+				.register(registry);
 	}
 
 	private void initializeRequestSupport(Environment env, int numberOfWorkers) {
@@ -68,6 +68,7 @@ import com.b2international.snowowl.datastore.oplock.impl.DatastoreLockContext;
 import com.b2international.snowowl.datastore.oplock.impl.DatastoreLockContextDescriptions;
 import com.b2international.snowowl.datastore.oplock.impl.DatastoreLockTarget;
 import com.b2international.snowowl.datastore.oplock.impl.DatastoreOperationLockException;
+import com.b2international.snowowl.datastore.request.CodeSystemCache;
 import com.b2international.snowowl.eventbus.IEventBus;
 import com.b2international.snowowl.identity.domain.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -90,6 +91,9 @@ public final class RepositoryTransactionContext extends DelegatingBranchContext
 	
 	@JsonIgnore
 	private transient final StagingArea staging;
+	
+	@JsonIgnore
+	private transient boolean codeSystemsChanged;
 
 	RepositoryTransactionContext(BranchContext context, String author, String commitComment, String parentContextDescription) {
 		super(context);
@@ -190,11 +194,13 @@ public final class RepositoryTransactionContext extends DelegatingBranchContext
 			final CodeSystemEntry cs = (CodeSystemEntry) o;
 			staging.stageNew(cs.getShortName(), cs);
 			resolvedObjectsById.put(createComponentKey(cs.getShortName(), cs.getClass()), cs);
+			codeSystemsChanged = true;
 			return cs.getShortName();
 		} else if (o instanceof CodeSystemVersionEntry) { 
 			final CodeSystemVersionEntry cs = (CodeSystemVersionEntry) o;
 			staging.stageNew(cs.getVersionId(), cs);
 			resolvedObjectsById.put(createComponentKey(cs.getVersionId(), cs.getClass()), cs);
+			codeSystemsChanged = true;
 			return cs.getVersionId();
 		} else if (o instanceof Revision) {
 			Revision rev = (Revision) o;
@@ -261,6 +267,11 @@ public final class RepositoryTransactionContext extends DelegatingBranchContext
 			}
 			throw new SnowowlRuntimeException(e.getMessage(), e);
 		} finally {
+			// code systems or their versions have changed, cached code system metadata and URI resolutions are no longer valid
+			// invalidate before releasing the lock and notifying others, so nobody can observe the commit with stale cached metadata
+			if (commit != null && codeSystemsChanged) {
+				optionalService(CodeSystemCache.class).ifPresent(CodeSystemCache::invalidateAll);
+			}
 			locks.unlock(lockContext, lockTarget);
 			// send a commit notification
 			if (commit != null) {
@@ -322,6 +333,7 @@ public final class RepositoryTransactionContext extends DelegatingBranchContext
 
 	private void clear() {
 		resolvedObjectsById.clear();
+		codeSystemsChanged = false;
 	}
 
 	private void acquireLock(IOperationLockManager locks, DatastoreLockContext lockContext, DatastoreLockTarget lockTarget) {
@@ -56,6 +56,10 @@ import com.b2international.snowowl.eventbus.IEventBus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.MapMaker;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
 
@@ -135,8 +139,29 @@ public final class TerminologyRepository extends DelegatingContext implements Re
 		bind(RevisionIndex.class, revisionIndex);
 		// register branching services
 		bind(BaseRevisionBranching.class, revisionIndex.branching());
+		registerBranchCacheMetrics(revisionIndex.branching());
 		return revisionIndex;
 	}
+	
+	private void registerBranchCacheMetrics(BaseRevisionBranching branching) {
+		final MeterRegistry registry = getDelegate().service(MeterRegistry.class);
+		final Tags tags = Tags.of("repository", repositoryId);
+		
+		FunctionCounter.builder("branch_cache.hits", branching, b -> b.getBranchCacheStats().hitCount())
+			.description("The number of branch lookups served from the in-memory branch cache")
+			.tags(tags)
+			.register(registry);
+		
+		FunctionCounter.builder("branch_cache.misses", branching, b -> b.getBranchCacheStats().missCount())
+			.description("The number of branch lookups that had to load the branch document from the index")
+			.tags(tags)
+			.register(registry);
+		
+		Gauge.builder("branch_cache.size", branching, BaseRevisionBranching::getBranchCacheSize)
+			.description("The approximate number of branches held in the in-memory branch cache")
+			.tags(tags)
+			.register(registry);
+	}
 
 	@Override
 	public void doDispose() {
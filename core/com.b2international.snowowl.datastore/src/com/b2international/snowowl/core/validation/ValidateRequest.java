@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,13 +34,19 @@ import org.slf4j.LoggerFactory;
 
 import com.b2international.commons.CompareUtils;
 import com.b2international.index.Writer;
+import com.b2international.index.revision.BaseRevisionBranching;
+import com.b2international.index.revision.RevisionCompare;
+import com.b2international.index.revision.RevisionCompareDetail;
+import com.b2international.index.revision.RevisionIndex;
 import com.b2international.snowowl.core.ComponentIdentifier;
 import com.b2international.snowowl.core.api.SnowowlRuntimeException;
 import com.b2international.snowowl.core.authorization.BranchAccessControl;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.events.Request;
 import com.b2international.snowowl.core.events.util.Promise;
+import com.b2international.snowowl.core.internal.validation.ValidationConfiguration;
 import com.b2international.snowowl.core.internal.validation.ValidationRepository;
+import com.b2international.snowowl.core.internal.validation.ValidationRuleRun;
 import com.b2international.snowowl.core.internal.validation.ValidationThreadPool;
 import com.b2international.snowowl.core.validation.eval.ValidationRuleEvaluator;
 import com.b2international.snowowl.core.validation.issue.ValidationIssue;
@@ -52,6 +58,7 @@ import com.b2international.snowowl.core.validation.rule.ValidationRules;
 import com.b2international.snowowl.core.validation.whitelist.ValidationWhiteListSearchRequestBuilder;
 import com.b2international.snowowl.identity.domain.Permission;
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Strings;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -73,6 +80,8 @@ final class ValidateRequest implements Request<BranchContext, ValidationResult>,
 
 	private Map<String, Object> ruleParameters = Maps.newHashMap();
 	
+	private boolean incremental;
+	
 	ValidateRequest() {}
 	
 	@Override
@@ -93,6 +102,22 @@ final class ValidateRequest implements Request<BranchContext, ValidationResult>,
 				.build()
 				.execute(context);
 		
+		final BaseRevisionBranching branching = context.service(RevisionIndex.class).branching();
+		final long headTimestamp = branching.getBranch(branchPath).getHeadTimestamp();
+		
+		// in incremental mode only the components affected by the changes on the branch are evaluated, issues of other components are inherited from the parent branch
+		final String basePath = incremental ? Strings.emptyToNull(context.branch().parentPath()) : null;
+		final Set<String> incrementalRuleIds = basePath != null ? getUpToDateRuleIds(context, index, basePath, rules) : Collections.emptySet();
+		final Set<String> affectedComponentIds = !incrementalRuleIds.isEmpty() ? getAffectedComponentIds(context) : null;
+		final Map<String, Object> incrementalParameters;
+		if (affectedComponentIds != null) {
+			LOG.info("Validating '{}' changed components on branch '{}' incrementally...", affectedComponentIds.size(), branchPath);
+			incrementalParameters = ruleParameters == null ? Maps.newHashMap() : Maps.newHashMap(ruleParameters);
+			incrementalParameters.put(ValidationConfiguration.AFFECTED_COMPONENT_IDS, affectedComponentIds);
+		} else {
+			incrementalParameters = null;
+		}
+		
 		final ValidationThreadPool pool = context.service(ValidationThreadPool.class);
 		final BlockingQueue<IssuesToPersist> issuesToPersistQueue = Queues.newLinkedBlockingDeque();
 		final List<Promise<Object>> validationPromises = Lists.newArrayList();
@@ -106,8 +131,12 @@ final class ValidateRequest implements Request<BranchContext, ValidationResult>,
 					
 					try {
 						LOG.info("Executing rule '{}'...", rule.getId());
-						final List<?> evaluationResponse = evaluator.eval(context, rule, ruleParameters);
-						issuesToPersistQueue.offer(new IssuesToPersist(rule.getId(), evaluationResponse));
+						// rules of evaluators that can not report the exact set of evaluated components are always evaluated on all components
+						final Set<String> evaluatedComponentIds = incrementalRuleIds.contains(rule.getId()) 
+								? evaluator.getEvaluatedComponentIds(context, rule, affectedComponentIds) 
+								: null;
+						final List<?> evaluationResponse = evaluator.eval(context, rule, evaluatedComponentIds != null ? incrementalParameters : ruleParameters);
+						issuesToPersistQueue.offer(new IssuesToPersist(rule.getId(), evaluationResponse, evaluatedComponentIds));
 						LOG.info("Execution of rule '{}' successfully completed in '{}'.", rule.getId(), w);
 						// TODO report successfully executed validation rule
 					} catch (Exception e) {
@@ -159,6 +188,43 @@ final class ValidateRequest implements Request<BranchContext, ValidationResult>,
 						// remove all processed whitelist entries 
 						final Collection<ComponentIdentifier> ruleWhiteListEntries = whiteListedEntries.removeAll(ruleId);
 						final String toolingId = rules.stream().filter(rule -> ruleId.equals(rule.getId())).findFirst().get().getToolingId();
+						
+						if (ruleIssues.evaluatedComponentIds != null) {
+							// carry over the issues of components that were neither changed on the branch nor evaluated by the evaluator
+							final Set<String> evaluatedComponentIds = ruleIssues.evaluatedComponentIds;
+							
+							final List<ValidationIssue> baseRuleIssues = ValidationRequests.issues().prepareSearch()
+									.all()
+									.filterByBranchPath(basePath)
+									.filterByRule(ruleId)
+									.build()
+									.execute(context)
+									.getItems();
+							
+							for (ValidationIssue baseIssue : baseRuleIssues) {
+								final ComponentIdentifier componentIdentifier = baseIssue.getAffectedComponent();
+								if (affectedComponentIds.contains(componentIdentifier.getComponentId()) || evaluatedComponentIds.contains(componentIdentifier.getComponentId())) {
+									continue;
+								}
+								
+								final ValidationIssue existingIssue = existingIsssuesByComponentIdentifier.remove(componentIdentifier);
+								final ValidationIssue validationIssue = new ValidationIssue(
+										existingIssue != null ? existingIssue.getId() : UUID.randomUUID().toString(),
+										ruleId,
+										branchPath,
+										componentIdentifier,
+										ruleWhiteListEntries.contains(componentIdentifier));
+								
+								if (baseIssue.getDetails() != null) {
+									validationIssue.setDetails(Maps.newHashMap(baseIssue.getDetails()));
+								}
+								if (baseIssue.getAffectedComponentLabels() != null) {
+									validationIssue.setAffectedComponentLabels(baseIssue.getAffectedComponentLabels());
+								}
+								index.put(validationIssue.getId(), validationIssue);
+								persistedIssues++;
+							}
+						}
 						for (ValidationIssueDetails issueDetails : ruleIssues.issueDetails) {
 							ComponentIdentifier componentIdentifier = issueDetails.affectedComponentId;
 							
@@ -199,6 +265,9 @@ final class ValidateRequest implements Request<BranchContext, ValidationResult>,
 							index.removeAll(Collections.singletonMap(ValidationIssue.class, issueIdsToDelete));
 						}
 						
+						final ValidationRuleRun ruleRun = new ValidationRuleRun(ruleId, branchPath, headTimestamp);
+						index.put(ruleRun.getId(), ruleRun);
+						
 					}
 					
 					for (String toolingId : issuesToExtendWithDetailsByToolingId.keySet()) {
@@ -228,6 +297,49 @@ final class ValidateRequest implements Request<BranchContext, ValidationResult>,
 		return new ValidationResult(context.id(), context.branchPath());
 	}
 
+	/*
+	 * Returns the identifiers of the rules whose persisted issues on the parent branch reflect the state of the parent that the branch is based on.
+	 * Issues of other rules can not be carried over from the parent, so those rules are evaluated on all components.
+	 */
+	private Set<String> getUpToDateRuleIds(BranchContext context, Writer index, String basePath, ValidationRules rules) throws IOException {
+		final BaseRevisionBranching branching = context.service(RevisionIndex.class).branching();
+		final long baseHeadTimestamp = branching.getBranch(basePath).getHeadTimestamp();
+		if (baseHeadTimestamp > branching.getBranch(context.branchPath()).getBaseTimestamp()) {
+			LOG.info("Branch '{}' is behind its parent '{}', validating all components...", context.branchPath(), basePath);
+			return Collections.emptySet();
+		}
+		
+		final Set<String> ruleRunIds = rules.stream()
+				.map(rule -> ValidationRuleRun.toId(rule.getId(), basePath))
+				.collect(Collectors.toSet());
+		
+		final Set<String> upToDateRuleIds = Sets.newHashSet();
+		for (ValidationRuleRun ruleRun : index.searcher().get(ValidationRuleRun.class, ruleRunIds)) {
+			if (ruleRun.getTimestamp() == baseHeadTimestamp) {
+				upToDateRuleIds.add(ruleRun.getRuleId());
+			}
+		}
+		return upToDateRuleIds;
+	}
+
+	/*
+	 * Collects the identifiers of all components that have been added, changed or removed on the branch since it was created or last rebased,
+	 * along with the components containing them.
+	 */
+	private Set<String> getAffectedComponentIds(BranchContext context) {
+		final RevisionCompare compare = context.service(RevisionIndex.class).compare(context.branchPath());
+		final Set<String> affectedComponentIds = Sets.newHashSet();
+		for (RevisionCompareDetail detail : compare.getDetails()) {
+			if (!detail.getObject().isRoot()) {
+				affectedComponentIds.add(detail.getObject().id());
+			}
+			if (detail.isComponentChange()) {
+				affectedComponentIds.add(detail.getComponent().id());
+			}
+		}
+		return affectedComponentIds;
+	}
+
 	private Multimap<String, ComponentIdentifier> fetchWhiteListEntries(BranchContext context, final Set<String> ruleIds) {
 		// fetch all white list entries to determine whether an issue is whitelisted already or not
 		final Multimap<String, ComponentIdentifier> whiteListedEntries = HashMultimap.create();
@@ -256,14 +368,20 @@ final class ValidateRequest implements Request<BranchContext, ValidationResult>,
 		this.ruleParameters = ruleParameters;
 	}
 	
+	void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+	
 	private static final class IssuesToPersist {
 		
 		public final String ruleId;
 		public final Collection<ValidationIssueDetails> issueDetails;
+		public final Set<String> evaluatedComponentIds;
 		
 		@SuppressWarnings("unchecked")
-		public IssuesToPersist(String ruleId, Collection<?> evaluationResult) {
+		public IssuesToPersist(String ruleId, Collection<?> evaluationResult, Set<String> evaluatedComponentIds) {
 			this.ruleId = ruleId;
+			this.evaluatedComponentIds = evaluatedComponentIds;
 			if (evaluationResult.iterator().hasNext() && evaluationResult.iterator().next() instanceof ValidationIssueDetails) {
 				this.issueDetails = (Collection<ValidationIssueDetails>) evaluationResult;
 			} else {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,8 @@ public final class ValidateRequestBuilder
 	
 	private Map<String, Object> ruleParameters;
 	
+	private boolean incremental;
+	
 	public ValidateRequestBuilder setRuleIds(Collection<String> ruleIds) {
 		this.ruleIds = ruleIds;
 		return getSelf();
@@ -46,11 +48,28 @@ public final class ValidateRequestBuilder
 		return getSelf();
 	}
 	
+	/**
+	 * Enables incremental validation. Instead of evaluating the rules on the entire branch, incremental validation evaluates them only on 
+	 * components that have been changed on the branch compared to its parent and on the components depending on them, and inherits the issues
+	 * of all other components from the parent branch. Rules are still evaluated on the entire branch if their evaluator can not report the
+	 * exact set of evaluated components, or if the parent branch has not been validated with them since its last commit before the branch was
+	 * created or rebased. Has no effect on branches without a parent.
+	 * 
+	 * @param incremental - <code>true</code> to validate changed components only, <code>false</code> to validate the entire branch (default)
+	 * @return this builder
+	 * @since 7.5
+	 */
+	public ValidateRequestBuilder setIncremental(boolean incremental) {
+		this.incremental = incremental;
+		return getSelf();
+	}
+	
 	@Override
 	protected Request<BranchContext, ValidationResult> doBuild() {
 		ValidateRequest validateRequest = new ValidateRequest();
 		validateRequest.setRuleIds(ruleIds);
 		validateRequest.setRuleParameters(ruleParameters);
+		validateRequest.setIncremental(incremental);
 		return validateRequest;
 	}
 
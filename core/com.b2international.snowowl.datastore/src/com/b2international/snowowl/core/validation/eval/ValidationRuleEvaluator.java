@@ -18,6 +18,7 @@ package com.b2international.snowowl.core.validation.eval;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Maps.newHashMap;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -87,6 +88,28 @@ public interface ValidationRuleEvaluator {
 	 */
 	List<?> eval(BranchContext context, ValidationRule rule, Map<String, Object> params) throws Exception;
 
+	/**
+	 * Returns the identifiers of all components that {@link #eval(BranchContext, ValidationRule, Map)} evaluates when the evaluation is restricted
+	 * to the given changed components with the
+	 * {@link com.b2international.snowowl.core.internal.validation.ValidationConfiguration#AFFECTED_COMPONENT_IDS} parameter, including the
+	 * components whose evaluation depends on the changed ones. Issues of any other component are carried over from the parent branch during
+	 * incremental validation, so evaluators must either report the exact set of evaluated components or not support incremental evaluation.
+	 * 
+	 * @param context
+	 *            - the branch context where the evaluation should run
+	 * @param rule
+	 *            - the rule to evaluate
+	 * @param affectedComponentIds
+	 *            - the identifiers of the components changed on the branch
+	 * @return the identifiers of the evaluated components, or <code>null</code> if this evaluator does not support incremental evaluation, in
+	 *         which case the rule is always evaluated on all components
+	 * @throws Exception
+	 * @since 7.5
+	 */
+	default Set<String> getEvaluatedComponentIds(BranchContext context, ValidationRule rule, Collection<String> affectedComponentIds) throws Exception {
+		return null;
+	}
+
 	/**
 	 * Unique type identifier of this validation rule evaluator. The type should represent the kind of rules that this evaluator can evaluate using
 	 * the {@link #eval(BranchContext, ValidationRule)} method.
@@ -26,6 +26,7 @@ import com.b2international.index.query.Expressions.ExpressionBuilder;
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.events.Request;
 import com.b2international.snowowl.core.internal.validation.ValidationRepository;
+import com.b2international.snowowl.core.internal.validation.ValidationRuleRun;
 import com.b2international.snowowl.core.validation.ValidationDeleteNotification;
 import com.b2international.snowowl.core.validation.ValidationRequests;
 import com.b2international.snowowl.core.validation.rule.ValidationRule;
@@ -53,9 +54,11 @@ final class ValidationIssueDeleteRequest implements Request<ServiceProvider, Boo
 	@Override
 	public Boolean execute(ServiceProvider context) {
 		ExpressionBuilder query = Expressions.builder();
+		ExpressionBuilder ruleRunQuery = Expressions.builder();
 		
 		if (!Strings.isNullOrEmpty(branch)) {
 			query.filter(Expressions.exactMatch(ValidationIssue.Fields.BRANCH_PATH, branch));
+			ruleRunQuery.filter(Expressions.exactMatch(ValidationRuleRun.Fields.BRANCH_PATH, branch));
 		}
 		
 		if (!Strings.isNullOrEmpty(toolingId)) {
@@ -68,11 +71,14 @@ final class ValidationIssueDeleteRequest implements Request<ServiceProvider, Boo
 				.map(ValidationRule::getId)
 				.collect(Collectors.toSet());
 			query.filter(Expressions.matchAny(ValidationIssue.Fields.RULE_ID, rulesToDelete));
+			ruleRunQuery.filter(Expressions.matchAny(ValidationRuleRun.Fields.RULE_ID, rulesToDelete));
 		}
 		
 		return context.service(ValidationRepository.class).write(writer -> {
 			
 			writer.bulkDelete(new BulkDelete<>(ValidationIssue.class, query.build()));
+			// without their issues the branch is no longer validated, incremental validation of child branches should not rely on it
+			writer.bulkDelete(new BulkDelete<>(ValidationRuleRun.class, ruleRunQuery.build()));
 			writer.commit();
 			
 			new ValidationDeleteNotification(branch, toolingId).publish(context.service(IEventBus.class));
@@ -22,6 +22,8 @@ import javax.validation.constraints.Pattern;
 
 import org.hibernate.validator.constraints.NotEmpty;
 
+import com.b2international.snowowl.datastore.remotejobs.RemoteJobTracker;
+import com.b2international.snowowl.eventbus.EventBusExecutorMode;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.net.HostAndPort;
 
@@ -53,6 +55,21 @@ public class RepositoryConfiguration {
 	@Pattern(regexp = "^[a-zA-Z0-9_-]{0,32}$")
 	private String deploymentId = "";
 	
+	@Min(0)
+	private long remoteJobProgressFlushInterval = RemoteJobTracker.DEFAULT_PROGRESS_FLUSH_INTERVAL;
+	
+	@NotNull
+	private EventBusExecutorMode executorMode = EventBusExecutorMode.PLATFORM;
+	
+	@Min(1)
+	private int maxConcurrentHandlers = 10_000;
+	
+	@Min(1)
+	private int bulkWorkers = 16;
+	
+	@Min(0)
+	private int messageBodyCompressionThreshold = 0;
+	
 	/**
 	 * @return the host
 	 */
@@ -160,4 +177,91 @@ public class RepositoryConfiguration {
 	public void setDeploymentId(String deploymentId) {
 		this.deploymentId = deploymentId;
 	}
+	
+	/**
+	 * @return the interval in milliseconds of writing the progress of running remote jobs to the index, or <code>0</code> to write each progress update immediately
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public long getRemoteJobProgressFlushInterval() {
+		return remoteJobProgressFlushInterval;
+	}
+	
+	/**
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public void setRemoteJobProgressFlushInterval(long remoteJobProgressFlushInterval) {
+		this.remoteJobProgressFlushInterval = remoteJobProgressFlushInterval;
+	}
+	
+	/**
+	 * @return the way request handlers of the underlying event bus are executed
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public EventBusExecutorMode getExecutorMode() {
+		return executorMode;
+	}
+	
+	/**
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public void setExecutorMode(EventBusExecutorMode executorMode) {
+		this.executorMode = executorMode;
+	}
+	
+	/**
+	 * @return the maximum number of concurrently executing request handlers when running in {@link EventBusExecutorMode#VIRTUAL} mode, further
+	 *         limited to {@link #getMaxThreads()} if the JVM does not provide virtual threads
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public int getMaxConcurrentHandlers() {
+		return maxConcurrentHandlers;
+	}
+	
+	/**
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public void setMaxConcurrentHandlers(int maxConcurrentHandlers) {
+		this.maxConcurrentHandlers = maxConcurrentHandlers;
+	}
+	
+	/**
+	 * @return the number of worker threads shared by bulk requests that execute their nested read requests in parallel
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public int getBulkWorkers() {
+		return bulkWorkers;
+	}
+	
+	/**
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public void setBulkWorkers(int bulkWorkers) {
+		this.bulkWorkers = bulkWorkers;
+	}
+	
+	/**
+	 * @return the minimum serialized size of event bus message bodies in bytes to compress before sending them to remote nodes, or zero if
+	 *         message bodies are not compressed
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public int getMessageBodyCompressionThreshold() {
+		return messageBodyCompressionThreshold;
+	}
+	
+	/**
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public void setMessageBodyCompressionThreshold(int messageBodyCompressionThreshold) {
+		this.messageBodyCompressionThreshold = messageBodyCompressionThreshold;
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,22 +15,23 @@
  */
 package com.b2international.snowowl.datastore.oplock;
 
-import java.text.MessageFormat;
 import java.util.BitSet;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
-
-import javax.annotation.OverridingMethodsMustInvokeSuper;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.core.runtime.ListenerList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.b2international.index.Hits;
 import com.b2international.index.Index;
-import com.b2international.index.query.Expression;
 import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Query;
 import com.b2international.index.query.SortBy;
@@ -43,39 +44,66 @@ import com.b2international.snowowl.datastore.oplock.impl.DatastoreOperationLockE
 import com.b2international.snowowl.identity.domain.User;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
- * An abstract superclass of {@link IOperationLockManager} providing common methods.
- * 
+ * {@link IOperationLockManager} implementation which keeps granted locks in memory.
+ * <p>
+ * Locks on branch targets are tracked in a fixed number of stripes, selected by the repository identifier and branch path of the target, so 
+ * lock and unlock requests on unrelated branches do not contend with each other. Locks on repository-wide targets (and on {@link DatastoreLockTarget#ALL}) 
+ * conflict with locks on multiple branches, so they can only be granted or released while holding all stripes.
+ * <p>
+ * Changes are also written to the locks index asynchronously, in the order they were made. The index is used for diagnostic purposes and 
+ * for restoring the granted locks on startup; requests are never blocked by index reads or writes.
  */
 public final class DatastoreOperationLockManager implements IOperationLockManager, IDisposableService {
 	
+	private static final Logger LOG = LoggerFactory.getLogger("lock");
+	
 	protected static final String ACQUIRE_FAILED_MESSAGE = "Could not acquire requested lock(s).";
 
 	private static final String RELEASE_FAILED_MESSAGE = "Could not release requested lock(s).";
 
-	private static final String LOCK_EXISTS_BUT_NOT_HELD_MESSAGE = "Lock for target {0} exists, but no lock is held.";
-
 	private static final int EXPECTED_LOCKS = 128;
 	
+	// Must be a power of two
+	private static final int STRIPES = 32;
+	
+	private static final long INDEX_WRITER_SHUTDOWN_TIMEOUT_SECONDS = 10L;
+	
 	private final AtomicBoolean disposed = new AtomicBoolean(false);
 
-	private final Object syncObject = new Object();
-	
 	private final Index index;
 
 	private final ListenerList listenerList = new ListenerList();
 	
+	private final Stripe[] stripes = new Stripe[STRIPES];
+	
+	/*
+	 * Locks on repository-wide targets. Modified only while holding all stripes, read while holding at least one stripe.
+	 */
+	private final Map<DatastoreLockTarget, OperationLock> repositoryLocks = Maps.newHashMap();
+	
 	private final BitSet assignedIds = new BitSet(EXPECTED_LOCKS);
 	
 	private int lastAssignedId = 0;
 	
+	private final ExecutorService indexWriter = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+			.setNameFormat("datastore-lock-writer-%d")
+			.setDaemon(true)
+			.build());
+	
 	public DatastoreOperationLockManager(Index index) {
 		this.index = index;
 		this.index.admin().create();
+		
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new Stripe();
+		}
+		
+		restoreLocks();
 	}
 	
 	@Override
@@ -86,35 +114,48 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 	@Override
 	public void lock(final DatastoreLockContext context, final long timeoutMillis, final Iterable<DatastoreLockTarget> targets) throws OperationLockException, InterruptedException {
 
+		final List<DatastoreLockTarget> targetList = ImmutableList.copyOf(targets);
+		final int[] stripeIndexes = getStripeIndexes(targetList);
 		final Map<DatastoreLockTarget, DatastoreLockContext> alreadyLockedTargets = Maps.newHashMap();
 		final long startTimeMillis = getCurrentTimeMillis();
 		
-		synchronized (syncObject) {
-			while (true) {
+		while (true) {
+			
+			final Stripe stripeToWaitOn;
+			final long observedReleases;
+			
+			lockStripes(stripeIndexes);
+			try {
 				
 				alreadyLockedTargets.clear();
-				canContextLockTargets(context, targets, alreadyLockedTargets);
-	
+				final OperationLock conflictingLock = canContextLockTargets(context, targetList, alreadyLockedTargets);
+				
 				if (alreadyLockedTargets.isEmpty()) {
-					for (final DatastoreLockTarget newTarget : targets) {
+					for (final DatastoreLockTarget newTarget : targetList) {
 						final IOperationLock existingLock = getOrCreateLock(context, newTarget);
 						fireTargetAcquired(existingLock.getTarget(), context);
 					}
 					
-					syncObject.notifyAll();
 					return;
 				}
 				
-				if (NO_TIMEOUT == timeoutMillis) {
-					syncObject.wait();
+				// Releasing the conflicting lock is signalled on its own stripe, or on all stripes if it is a repository-wide lock 
+				stripeToWaitOn = isRepositoryTarget(conflictingLock.getTarget()) ? stripes[stripeIndexes[0]] : getStripe(conflictingLock.getTarget());
+				observedReleases = stripeToWaitOn.releases;
+				
+			} finally {
+				unlockStripes(stripeIndexes);
+			}
+			
+			if (NO_TIMEOUT == timeoutMillis) {
+				stripeToWaitOn.awaitRelease(observedReleases, NO_TIMEOUT);
+			} else {
+				final long remainingTimeoutMillis = timeoutMillis - (getCurrentTimeMillis() - startTimeMillis);
+				
+				if (remainingTimeoutMillis < 1L) {
+					throwLockException(ACQUIRE_FAILED_MESSAGE, alreadyLockedTargets);
 				} else {
-					final long remainingTimeoutMillis = timeoutMillis - (getCurrentTimeMillis() - startTimeMillis);
-					
-					if (remainingTimeoutMillis < 1L) {
-						throwLockException(ACQUIRE_FAILED_MESSAGE, alreadyLockedTargets);
-					} else {
-						syncObject.wait(remainingTimeoutMillis);
-					}
+					stripeToWaitOn.awaitRelease(observedReleases, remainingTimeoutMillis);
 				}
 			}
 		}
@@ -128,15 +169,17 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 	@Override
 	public void unlock(final DatastoreLockContext context, final Iterable<DatastoreLockTarget> targets) throws OperationLockException {
 
+		final List<DatastoreLockTarget> targetList = ImmutableList.copyOf(targets);
+		final int[] stripeIndexes = getStripeIndexes(targetList);
 		final Map<DatastoreLockTarget, DatastoreLockContext> notUnlockedTargets = Maps.newHashMap();
 
-		synchronized (syncObject) {
+		lockStripes(stripeIndexes);
+		try {
 
-			for (final DatastoreLockTarget targetToUnlock : targets) {
-				for (final IOperationLock existingLock : getExistingLocks()) {
-					if (existingLock.targetEquals(targetToUnlock) && !canContextUnlock(context, existingLock)) {
-						notUnlockedTargets.put(existingLock.getTarget(), existingLock.getContext());
-					}
+			for (final DatastoreLockTarget targetToUnlock : targetList) {
+				final IOperationLock existingLock = getLocks(targetToUnlock).get(targetToUnlock);
+				if (existingLock != null && !canContextUnlock(context, existingLock)) {
+					notUnlockedTargets.put(existingLock.getTarget(), existingLock.getContext());
 				}
 			}
 
@@ -144,9 +187,12 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 				throwLockException(RELEASE_FAILED_MESSAGE, notUnlockedTargets);
 			}
 
-			for (final DatastoreLockTarget targetToUnlock : targets) {
+			for (final DatastoreLockTarget targetToUnlock : targetList) {
 				
-				final IOperationLock existingLock = getOrCreateLock(context, targetToUnlock);
+				final OperationLock existingLock = getLocks(targetToUnlock).get(targetToUnlock);
+				if (existingLock == null) {
+					continue;
+				}
 				
 				try {
 					existingLock.release(context);
@@ -154,11 +200,15 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 				} finally {
 					if (!existingLock.isLocked()) {
 						removeLock(existingLock);
+					} else {
+						persistLock(existingLock);
 					}
 				}
 			}
 			
-			syncObject.notifyAll();
+		} finally {
+			signalReleases(stripeIndexes);
+			unlockStripes(stripeIndexes);
 		}
 	}
 
@@ -169,18 +219,17 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 	 */
 	public void unlockAll() {
 
-		synchronized (syncObject) {
+		final int[] allStripeIndexes = getAllStripeIndexes();
+		lockStripes(allStripeIndexes);
+		try {
 			
-			for (IOperationLock lockToRemove : getExistingLocks()) {
-				
-				if (!lockToRemove.isLocked()) {
-					throw new IllegalStateException(MessageFormat.format(LOCK_EXISTS_BUT_NOT_HELD_MESSAGE, lockToRemove.getTarget()));
-				} else {
-					removeLock(lockToRemove);
-				}
+			for (final OperationLock lockToRemove : getExistingLocks()) {
+				removeLock(lockToRemove);
 			}
 			
-			syncObject.notifyAll();
+		} finally {
+			signalReleases(allStripeIndexes);
+			unlockStripes(allStripeIndexes);
 		}
 	}
 
@@ -194,20 +243,20 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 	 */
 	public boolean unlockById(final int id) {
 		
-		synchronized (syncObject) {
+		final int[] allStripeIndexes = getAllStripeIndexes();
+		lockStripes(allStripeIndexes);
+		try {
 			
-			for (IOperationLock lockToRemove : getExistingLocks()) {
-				
-				if (!lockToRemove.isLocked()) {
-					throw new IllegalStateException(MessageFormat.format(LOCK_EXISTS_BUT_NOT_HELD_MESSAGE, lockToRemove.getTarget()));
-				} 
-				
+			for (final OperationLock lockToRemove : getExistingLocks()) {
 				if (id == lockToRemove.getId()) {
 					removeLock(lockToRemove);
-					syncObject.notifyAll();
+					signalReleases(allStripeIndexes);
 					return true;
 				}
-			}				
+			}
+			
+		} finally {
+			unlockStripes(allStripeIndexes);
 		}
 		
 		return false;
@@ -224,10 +273,14 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 
 		final List<OperationLockInfo> result = Lists.newArrayList();
 		
-		synchronized (syncObject) {
+		final int[] allStripeIndexes = getAllStripeIndexes();
+		lockStripes(allStripeIndexes);
+		try {
 			for (final IOperationLock existingLock : getExistingLocks()) {
 				result.add(createLockInfo(existingLock));
 			}
+		} finally {
+			unlockStripes(allStripeIndexes);
 		}
 		
 		Collections.sort(result);
@@ -246,17 +299,25 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 		throw new OperationLockException(message);
 	}
 
-	@OverridingMethodsMustInvokeSuper
-	protected void canContextLockTargets(final DatastoreLockContext context, final Iterable<DatastoreLockTarget> targets, final Map<DatastoreLockTarget, DatastoreLockContext> alreadyLockedTargets) 
+	/*
+	 * Collects targets which can not be locked by the given context and returns the first conflicting lock, or null if all targets can be locked. 
+	 * Stripes of all targets must be held by the caller.
+	 */
+	private OperationLock canContextLockTargets(final DatastoreLockContext context, final Iterable<DatastoreLockTarget> targets, final Map<DatastoreLockTarget, DatastoreLockContext> alreadyLockedTargets) 
 			throws DatastoreOperationLockException {
 		if (!isDisposed()) {
+			OperationLock firstConflictingLock = null;
 			for (final DatastoreLockTarget newTarget : targets) {
-				for (final IOperationLock existingLock : getExistingLocks()) {
+				for (final OperationLock existingLock : getPossiblyConflictingLocks(newTarget)) {
 					if (existingLock.targetConflicts(newTarget) && !canContextLock(context, existingLock)) {
 						alreadyLockedTargets.put(newTarget, existingLock.getContext());
+						if (firstConflictingLock == null) {
+							firstConflictingLock = existingLock;
+						}
 					}
 				}
 			}
+			return firstConflictingLock;
 		} else {
 			final DatastoreLockContext disposedContext = createLockContext(User.SYSTEM.getUsername(), DatastoreLockContextDescriptions.DISPOSE_LOCK_MANAGER, null);
 			for (final DatastoreLockTarget target : targets) {
@@ -264,6 +325,7 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 			}
 			
 			throwLockException(ACQUIRE_FAILED_MESSAGE, alreadyLockedTargets);
+			return null;
 		}
 		
 	}
@@ -276,7 +338,6 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 		return context.userMatches(existingLock.getContext());
 	}
 
-
 	private void clearListeners() {
 		listenerList.clear();
 	}
@@ -285,40 +346,119 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 		return System.nanoTime() / (1000L * 1000L);
 	}
 
-	private IOperationLock getOrCreateLock(DatastoreLockContext context, final DatastoreLockTarget target) {
-		synchronized (syncObject) {
-			final String repositoryId = target.getRepositoryId();
-			final String branchPath = target.getBranchPath();
-			
-			final Expression searchExpression = Expressions.builder()
-					.filter(DatastoreLockIndexEntry.Expressions.repositoryId(repositoryId))
-					.filter(DatastoreLockIndexEntry.Expressions.branchPath(branchPath))
-					.build();
-			
-			final DatastoreLockIndexEntry existingLockEntry = Iterables.getOnlyElement(search(searchExpression, 2), null);
-			final IOperationLock lock;
-			if (existingLockEntry == null) {
-				lastAssignedId = assignedIds.nextClearBit(lastAssignedId);
-				final String lockId = Integer.toString(lastAssignedId);
-				lock = createLock(lastAssignedId, target);
-				final DatastoreLockIndexEntry newEntry = buildIndexEntry(lockId, branchPath, repositoryId, context);
-				put(lockId, newEntry);
-				
-				assignedIds.set(lastAssignedId);
-				/* 
-				 * XXX (apeteri): this makes the lock manager revisit low IDs after every 128 issued locks, but 
-				 * it can still assign a number over 128 if all of the early ones are in use, since the BitSet grows unbounded. 
-				 */
-				lastAssignedId = lastAssignedId % EXPECTED_LOCKS;
-			} else {
-				lock = new OperationLock(Integer.parseInt(existingLockEntry.getId()), target);
+	private static boolean isRepositoryTarget(final DatastoreLockTarget target) {
+		return DatastoreLockTarget.ALL.equals(target) || Strings.isNullOrEmpty(target.getBranchPath());
+	}
+	
+	private Stripe getStripe(final DatastoreLockTarget target) {
+		return stripes[getStripeIndex(target)];
+	}
+	
+	private static int getStripeIndex(final DatastoreLockTarget target) {
+		final int hash = target.hashCode();
+		return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+	}
+	
+	/*
+	 * Returns the sorted indexes of the stripes which need to be held while locking or unlocking the given targets.
+	 */
+	private static int[] getStripeIndexes(final Iterable<DatastoreLockTarget> targets) {
+		final BitSet stripeIndexes = new BitSet(STRIPES);
+		for (final DatastoreLockTarget target : targets) {
+			if (isRepositoryTarget(target)) {
+				return getAllStripeIndexes();
 			}
-			
-			lock.acquire(context);
-			return lock;
+			stripeIndexes.set(getStripeIndex(target));
 		}
+		return stripeIndexes.stream().toArray();
 	}
-
+	
+	private static int[] getAllStripeIndexes() {
+		final int[] allStripeIndexes = new int[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			allStripeIndexes[i] = i;
+		}
+		return allStripeIndexes;
+	}
+	
+	// Stripes are always acquired in ascending order to avoid deadlocks
+	private void lockStripes(final int[] stripeIndexes) {
+		for (final int stripeIndex : stripeIndexes) {
+			stripes[stripeIndex].lock.lock();
+		}
+	}
+	
+	private void unlockStripes(final int[] stripeIndexes) {
+		for (int i = stripeIndexes.length - 1; i >= 0; i--) {
+			stripes[stripeIndexes[i]].lock.unlock();
+		}
+	}
+	
+	private void signalReleases(final int[] stripeIndexes) {
+		for (final int stripeIndex : stripeIndexes) {
+			stripes[stripeIndex].signalRelease();
+		}
+	}
+	
+	private Map<DatastoreLockTarget, OperationLock> getLocks(final DatastoreLockTarget target) {
+		return isRepositoryTarget(target) ? repositoryLocks : getStripe(target).locks;
+	}
+	
+	private Iterable<OperationLock> getPossiblyConflictingLocks(final DatastoreLockTarget target) {
+		if (isRepositoryTarget(target)) {
+			return getExistingLocks();
+		} else {
+			final OperationLock branchLock = getStripe(target).locks.get(target);
+			final List<OperationLock> locks = Lists.newArrayList(repositoryLocks.values());
+			if (branchLock != null) {
+				locks.add(branchLock);
+			}
+			return locks;
+		}
+	}
+	
+	// All stripes must be held by the caller
+	private List<OperationLock> getExistingLocks() {
+		final List<OperationLock> locks = Lists.newArrayList(repositoryLocks.values());
+		for (final Stripe stripe : stripes) {
+			locks.addAll(stripe.locks.values());
+		}
+		return locks;
+	}
+	
+	private IOperationLock getOrCreateLock(final DatastoreLockContext context, final DatastoreLockTarget target) {
+		final Map<DatastoreLockTarget, OperationLock> locks = getLocks(target);
+		OperationLock lock = locks.get(target);
+		if (lock == null) {
+			lock = createLock(assignId(), target);
+			locks.put(target, lock);
+		}
+		
+		lock.acquire(context);
+		persistLock(lock);
+		return lock;
+	}
+
+	private int assignId() {
+		synchronized (assignedIds) {
+			lastAssignedId = assignedIds.nextClearBit(lastAssignedId);
+			final int id = lastAssignedId;
+			assignedIds.set(id);
+			/* 
+			 * XXX (apeteri): this makes the lock manager revisit low IDs after every 128 issued locks, but 
+			 * it can still assign a number over 128 if all of the early ones are in use, since the BitSet grows unbounded. 
+			 */
+			lastAssignedId = lastAssignedId % EXPECTED_LOCKS;
+			return id;
+		}
+	}
+	
+	private void releaseId(final int id) {
+		synchronized (assignedIds) {
+			assignedIds.clear(id);
+		}
+	}
+	
 	private DatastoreLockIndexEntry buildIndexEntry(final String lockId, final String branchPath, final String repositoryId, final DatastoreLockContext context) {
 		final Builder entryBuilder = DatastoreLockIndexEntry.builder()
 			.id(lockId)
@@ -334,12 +474,26 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 		return entryBuilder.build();
 	}
 
-	private void removeLock(final IOperationLock existingLock) {
-		final DatastoreLockIndexEntry entry = Iterables.getOnlyElement(search(DatastoreLockIndexEntry.Expressions.id(Integer.toString(existingLock.getId())), 2), null);
-		if (entry != null) {
-			remove(entry.getId());
-		} else {
-			System.err.println("Failed to remove lock: " + existingLock + " with id:" + existingLock.getId());
+	private void removeLock(final OperationLock existingLock) {
+		getLocks(existingLock.getTarget()).remove(existingLock.getTarget());
+		releaseId(existingLock.getId());
+		remove(Integer.toString(existingLock.getId()));
+	}
+	
+	private void persistLock(final OperationLock lock) {
+		final DatastoreLockTarget target = lock.getTarget();
+		final String lockId = Integer.toString(lock.getId());
+		put(lockId, buildIndexEntry(lockId, target.getBranchPath(), target.getRepositoryId(), lock.getContext()));
+	}
+	
+	private void restoreLocks() {
+		for (final DatastoreLockIndexEntry entry : search(Integer.MAX_VALUE)) {
+			final int id = Integer.parseInt(entry.getId());
+			final DatastoreLockContext context = createLockContext(entry.getUserId(), entry.getDescription(), entry.getParentDescription());
+			final OperationLock lock = createLock(id, new DatastoreLockTarget(entry.getRepositoryId(), entry.getBranchPath()));
+			lock.acquire(context);
+			getLocks(lock.getTarget()).put(lock.getTarget(), lock);
+			assignedIds.set(id);
 		}
 	}
 
@@ -366,15 +520,6 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 		return new OperationLockInfo(lock.getId(), lock.getLevel(), lock.getCreationDate(), lock.getTarget(), lock.getContext());
 	}
 	
-	private Collection<IOperationLock> getExistingLocks() {
-		return search(Expressions.matchAll(), Integer.MAX_VALUE).stream().map(entry -> {
-			final DatastoreLockContext context = createLockContext(entry.getUserId(), entry.getDescription(), entry.getParentDescription());
-			final OperationLock lock = new OperationLock(Integer.parseInt(entry.getId()), new DatastoreLockTarget(entry.getRepositoryId(), entry.getBranchPath()));
-			lock.acquire(context);
-			return lock;
-		}).collect(Collectors.toSet());
-	}
-	
 	private DatastoreLockContext createLockContext(String userId, String description, String parentDescription) {
 		if (Strings.isNullOrEmpty(parentDescription)) {
 			return new DatastoreLockContext(userId, description);
@@ -383,50 +528,43 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 		return new DatastoreLockContext(userId, description, parentDescription);
 	}
 	
-	private DatastoreLocks search(Expression query, int limit) {
-		return search(query, ImmutableList.of(), SortBy.DOC_ID, limit); 
-	}
-	
-	private DatastoreLocks search(Expression query, List<String> fields, SortBy sortBy, int limit) {
-		final Hits<DatastoreLockIndexEntry> hits = searchHits(query, fields, sortBy, limit);
-		return new DatastoreLocks(hits.getHits(), null, hits.getLimit(), hits.getTotal());
-	}
-	
-	private Hits<DatastoreLockIndexEntry> searchHits(Expression query, List<String> fields, SortBy sortBy, int limit) {
-		return index.read(searcher -> {
+	private List<DatastoreLockIndexEntry> search(int limit) {
+		final Hits<DatastoreLockIndexEntry> hits = index.read(searcher -> {
 			return searcher.search(
 					Query.select(DatastoreLockIndexEntry.class)
-					.fields(fields)
-					.where(Expressions.builder()
-							.filter(query)
-							.build())
-					.sortBy(sortBy)
+					.where(Expressions.matchAll())
+					.sortBy(SortBy.DOC_ID)
 					.limit(limit)
 					.build()
 					);
 		});
-	}
-	
-	private DatastoreLockIndexEntry get(String lockId) {
-		return index.read(searcher -> searcher.get(DatastoreLockIndexEntry.class, lockId));
+		return hits.getHits();
 	}
 	
 	private void put(String lockId, DatastoreLockIndexEntry lock) {
-		index.write(writer -> {
+		writeBehind(lockId, () -> index.write(writer -> {
 			writer.put(lockId, lock);
 			writer.commit();
 			return null;
-		});
+		}));
 	}
 	
 	private void remove(String lockId) {
-		index.write(writer -> {
+		writeBehind(lockId, () -> index.write(writer -> {
 			writer.remove(DatastoreLockIndexEntry.class, lockId);
 			writer.commit();
-			
 			return null;
+		}));
+	}
+	
+	private void writeBehind(String lockId, Runnable write) {
+		indexWriter.execute(() -> {
+			try {
+				write.run();
+			} catch (RuntimeException e) {
+				LOG.warn("Failed to persist state of lock {}.", lockId, e);
+			}
 		});
-		
 	}
 	
 	@Override
@@ -434,6 +572,14 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 		if (disposed.compareAndSet(false, true)) {
 			unlockAll();
 			clearListeners();
+			indexWriter.shutdown();
+			try {
+				if (!indexWriter.awaitTermination(INDEX_WRITER_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+					LOG.warn("Pending lock index changes could not be persisted in {} seconds.", INDEX_WRITER_SHUTDOWN_TIMEOUT_SECONDS);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
 		}
 	}
 
@@ -442,4 +588,44 @@ public final class DatastoreOperationLockManager implements IOperationLockManage
 		return disposed.get();
 	}
 	
-}
\ No newline at end of file
+	/**
+	 * Locks on branch targets assigned to a single stripe, along with the monitor guarding them.
+	 * 
+	 * @since 7.5
+	 */
+	private static final class Stripe {
+		
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition released = lock.newCondition();
+		private final Map<DatastoreLockTarget, OperationLock> locks = Maps.newHashMap();
+		
+		// Number of release operations signalled on this stripe, guarded by lock
+		private long releases;
+		
+		private void signalRelease() {
+			releases++;
+			released.signalAll();
+		}
+		
+		/*
+		 * Waits until a release is signalled on this stripe after the given number of releases was observed, or the timeout elapses.
+		 */
+		private void awaitRelease(final long observedReleases, final long timeoutMillis) throws InterruptedException {
+			lock.lock();
+			try {
+				if (NO_TIMEOUT == timeoutMillis) {
+					while (releases == observedReleases) {
+						released.await();
+					}
+				} else {
+					long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+					while (releases == observedReleases && remainingNanos > 0L) {
+						remainingNanos = released.awaitNanos(remainingNanos);
+					}
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
@@ -23,7 +23,11 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -56,14 +60,26 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
 /**
+ * Tracks the state of {@link RemoteJob}s in the jobs index.
+ * <p>
+ * Progress updates of running jobs are kept in memory and written to the index in batches, periodically or when the job completes, while
+ * reads of tracked jobs return the latest progress from memory. All other state changes are written to the index immediately.
+ * 
  * @since 5.7
  */
 public final class RemoteJobTracker implements IDisposableService {
 
 	private static final Logger LOG = LoggerFactory.getLogger("jobs");
 	
+	/**
+	 * The default interval (in milliseconds) of writing coalesced progress updates to the index.
+	 * 
+	 * @since 7.5
+	 */
+	public static final long DEFAULT_PROGRESS_FLUSH_INTERVAL = 1_000L;
+	
 	private static class Holder {
-		private static final Timer CLEANUP_TIMER = new Timer("Remote job cleanup", true);
+		private static final Timer TIMER = new Timer("Remote job tracker", true);
 	}
 	
 	private final class CleanUpTask extends TimerTask {
@@ -95,14 +111,46 @@ public final class RemoteJobTracker implements IDisposableService {
 		}
 	}
 	
+	private final class FlushProgressTask extends TimerTask {
+		@Override
+		public void run() {
+			try {
+				flushProgress();
+			} catch (RuntimeException e) {
+				LOG.warn("Failed to persist progress of remote jobs", e);
+			}
+		}
+	}
+	
 	private final AtomicBoolean disposed = new AtomicBoolean(false);
 	private final Index index;
 	private final RemoteJobChangeAdapter listener;
 	private final CleanUpTask cleanUp;
+	private final FlushProgressTask flushProgress;
 	private final IEventBus events;
 	private final ObjectMapper mapper;
+	
+	// Latest completion level of jobs which has not been written to the index yet
+	private final ConcurrentMap<String, Integer> pendingCompletionLevels = new ConcurrentHashMap<>();
+	private final AtomicLong progressUpdates = new AtomicLong();
+	private final AtomicLong progressWrites = new AtomicLong();
+	// Serializes progress flushes with the final state updates of jobs, so that a flush can not overwrite the final progress with an older one
+	private final Object progressWriteLock = new Object();
 
 	public RemoteJobTracker(Index index, IEventBus events, ObjectMapper mapper, final long remoteJobCleanUpInterval) {
+		this(index, events, mapper, remoteJobCleanUpInterval, DEFAULT_PROGRESS_FLUSH_INTERVAL);
+	}
+	
+	/**
+	 * @param index - the index to store job entries in
+	 * @param events - the event bus to send job notifications on
+	 * @param mapper - the mapper to serialize job requests with
+	 * @param remoteJobCleanUpInterval - the interval of purging deleted jobs, in milliseconds
+	 * @param progressFlushInterval - the interval of writing coalesced progress updates to the index, in milliseconds; 
+	 * progress updates are written immediately if zero
+	 * @since 7.5
+	 */
+	public RemoteJobTracker(Index index, IEventBus events, ObjectMapper mapper, final long remoteJobCleanUpInterval, final long progressFlushInterval) {
 		this.index = index;
 		this.events = events;
 		this.mapper = mapper;
@@ -126,7 +174,13 @@ public final class RemoteJobTracker implements IDisposableService {
 		this.listener = new RemoteJobChangeAdapter();
 		Job.getJobManager().addJobChangeListener(listener);
 		this.cleanUp = new CleanUpTask();
-		Holder.CLEANUP_TIMER.schedule(cleanUp, remoteJobCleanUpInterval, remoteJobCleanUpInterval);
+		Holder.TIMER.schedule(cleanUp, remoteJobCleanUpInterval, remoteJobCleanUpInterval);
+		if (progressFlushInterval > 0L) {
+			this.flushProgress = new FlushProgressTask();
+			Holder.TIMER.schedule(flushProgress, progressFlushInterval, progressFlushInterval);
+		} else {
+			this.flushProgress = null;
+		}
 	}
 	
 	public RemoteJobs search(Expression query, int limit) {
@@ -139,7 +193,7 @@ public final class RemoteJobTracker implements IDisposableService {
 	}
 	
 	private Hits<RemoteJobEntry> searchHits(Expression query, List<String> fields, SortBy sortBy, int limit) {
-		return index.read(searcher -> {
+		final Hits<RemoteJobEntry> hits = index.read(searcher -> {
 			return searcher.search(
 					Query.select(RemoteJobEntry.class)
 					.fields(fields)
@@ -152,12 +206,43 @@ public final class RemoteJobTracker implements IDisposableService {
 					.build()
 					);
 		});
+		
+		if (pendingCompletionLevels.isEmpty()) {
+			return hits;
+		}
+		
+		final List<RemoteJobEntry> entries = hits.getHits().stream().map(this::withPendingProgress).collect(Collectors.toList());
+		return new Hits<>(entries, hits.getScrollId(), hits.getSearchAfter(), hits.getLimit(), hits.getTotal());
 	}
 	
 	
 	@VisibleForTesting
 	public RemoteJobEntry get(String jobId) {
-		return index.read(searcher -> searcher.get(RemoteJobEntry.class, jobId));
+		return withPendingProgress(index.read(searcher -> searcher.get(RemoteJobEntry.class, jobId)));
+	}
+	
+	private RemoteJobEntry withPendingProgress(RemoteJobEntry entry) {
+		if (entry == null || entry.getId() == null) {
+			return entry;
+		}
+		final Integer completionLevel = pendingCompletionLevels.get(entry.getId());
+		return completionLevel == null ? entry : RemoteJobEntry.from(entry).completionLevel(completionLevel).build();
+	}
+	
+	/**
+	 * @return the number of progress updates reported by running jobs
+	 * @since 7.5
+	 */
+	public long getProgressUpdates() {
+		return progressUpdates.get();
+	}
+	
+	/**
+	 * @return the number of progress updates written to the index
+	 * @since 7.5
+	 */
+	public long getProgressWrites() {
+		return progressWrites.get();
 	}
 	
 	public void requestCancel(String jobId) {
@@ -184,6 +269,7 @@ public final class RemoteJobTracker implements IDisposableService {
 		}
 		// delete all other jobs, that dont need to be cancelled
 		final Set<String> remoteJobsToDelete = Sets.difference(Sets.newHashSet(jobIds), remoteJobsToCancel);
+		pendingCompletionLevels.keySet().removeAll(remoteJobsToDelete);
 		index.write(writer -> {
 			// if the job still running or scheduled, then mark it deleted and the done handler will delete it
 			LOG.trace("Deleting jobs {}", remoteJobsToDelete);
@@ -217,11 +303,76 @@ public final class RemoteJobTracker implements IDisposableService {
 		});
 		notifyChanged(jobId);
 	}
+	
+	private void updateProgress(String jobId, int completionLevel) {
+		progressUpdates.incrementAndGet();
+		if (flushProgress == null) {
+			progressWrites.incrementAndGet();
+			update(jobId, RemoteJobEntry.WITH_COMPLETION_LEVEL, ImmutableMap.of("completionLevel", completionLevel));
+		} else {
+			pendingCompletionLevels.put(jobId, completionLevel);
+			notifyChanged(jobId);
+		}
+	}
+	
+	/**
+	 * Writes the pending progress of all jobs to the index with a single commit. Entries are removed from the pending table only after they 
+	 * have been written and if they have not changed in the meantime, so reads never see older progress than what was already reported.
+	 * Flushes are serialized with the final state updates of jobs, so the progress of a completed job is never overwritten with an older one.
+	 */
+	@VisibleForTesting
+	public void flushProgress() {
+		synchronized (progressWriteLock) {
+			final Map<String, Integer> completionLevels = ImmutableMap.copyOf(pendingCompletionLevels);
+			if (completionLevels.isEmpty()) {
+				return;
+			}
+			
+			index.write(writer -> {
+				for (Map.Entry<String, Integer> completionLevel : completionLevels.entrySet()) {
+					writer.bulkUpdate(toCompletionLevelUpdate(completionLevel.getKey(), completionLevel.getValue()));
+				}
+				writer.commit();
+				return null;
+			});
+			
+			progressWrites.addAndGet(completionLevels.size());
+			completionLevels.forEach(pendingCompletionLevels::remove);
+		}
+	}
+	
+	private BulkUpdate<RemoteJobEntry> toCompletionLevelUpdate(String jobId, int completionLevel) {
+		return new BulkUpdate<>(RemoteJobEntry.class, DocumentMapping.matchId(jobId), RemoteJobEntry.Fields.ID, RemoteJobEntry.WITH_COMPLETION_LEVEL, ImmutableMap.of("completionLevel", completionLevel));
+	}
+	
+	// Writes the final state of the job along with its pending progress, if any, with a single commit
+	private void updateDone(String jobId, Map<String, Object> params) {
+		synchronized (progressWriteLock) {
+			final Integer completionLevel = pendingCompletionLevels.get(jobId);
+			index.write(writer -> {
+				if (completionLevel != null) {
+					writer.bulkUpdate(toCompletionLevelUpdate(jobId, completionLevel));
+				}
+				writer.bulkUpdate(new BulkUpdate<>(RemoteJobEntry.class, DocumentMapping.matchId(jobId), RemoteJobEntry.Fields.ID, RemoteJobEntry.WITH_DONE, params));
+				writer.commit();
+				return null;
+			});
+			if (completionLevel != null) {
+				progressWrites.incrementAndGet();
+				pendingCompletionLevels.remove(jobId, completionLevel);
+			}
+		}
+		notifyChanged(jobId);
+	}
 
 	@Override
 	public void dispose() {
 		if (disposed.compareAndSet(false, true)) {
 			this.cleanUp.cancel();
+			if (this.flushProgress != null) {
+				this.flushProgress.cancel();
+				flushProgress();
+			}
 			Job.getJobManager().removeJobChangeListener(listener);
 			this.index.admin().close();
 		}
@@ -245,7 +396,7 @@ public final class RemoteJobTracker implements IDisposableService {
 	}
 	
 	IProgressMonitor createMonitor(String jobId, IProgressMonitor monitor) {
-		return new RemoteJobProgressMonitor(monitor, percentComplete -> update(jobId, RemoteJobEntry.WITH_COMPLETION_LEVEL, ImmutableMap.of("completionLevel", percentComplete)));
+		return new RemoteJobProgressMonitor(monitor, percentComplete -> updateProgress(jobId, percentComplete));
 	}
 	
 	private class RemoteJobChangeAdapter extends JobChangeAdapter {
@@ -313,7 +464,7 @@ public final class RemoteJobTracker implements IDisposableService {
 				}
 				params.put("state", newState.name());
 				params.put("finishDate", System.currentTimeMillis());
-				update(jobId, RemoteJobEntry.WITH_DONE, params.build());
+				updateDone(jobId, params.build());
 			}
 		}
 		
@@ -346,7 +497,8 @@ public final class RemoteJobTracker implements IDisposableService {
 
 			@Override
 			public <T> T get(Class<T> type, String key) throws IOException {
-				return index.read(searcher -> searcher.get(type, key));
+				final T doc = index.read(searcher -> searcher.get(type, key));
+				return doc instanceof RemoteJobEntry ? type.cast(withPendingProgress((RemoteJobEntry) doc)) : doc;
 			}
 
 			@Override
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.datastore.request;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.b2international.snowowl.core.uri.CodeSystemURI;
+import com.b2international.snowowl.datastore.CodeSystemEntry;
+import com.b2international.snowowl.datastore.CodeSystemVersionEntry;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Shared in-memory cache of terminology registry metadata. Caches {@link CodeSystemEntry code systems} by their short name or OID, and the
+ * resolution of {@link CodeSystemURI}s (the code system a URI refers to along with the branch path of the code system version it
+ * resolves to), so that requests addressed with a code system URI do not need to look up the code system and its versions in the index
+ * every time.
+ * <p>
+ * The cache is invalidated whenever a commit adds or changes {@link CodeSystemEntry code systems} or {@link CodeSystemVersionEntry code
+ * system versions} (code system creation, update and versioning). Values that were being loaded while the cache was invalidated are
+ * returned to their callers but are not kept, as they might have been read before the change. Entries also expire after a while to pick up
+ * changes that were not made through this server.
+ *
+ * @since 7.5
+ */
+public final class CodeSystemCache {
+
+	private static final long MAXIMUM_SIZE = 1_000L;
+	private static final long EXPIRE_AFTER_WRITE_MINUTES = 10L;
+
+	private final AtomicLong generation = new AtomicLong();
+
+	private final Cache<String, CodeSystemEntry> codeSystems = CacheBuilder.newBuilder()
+			.maximumSize(MAXIMUM_SIZE)
+			.expireAfterWrite(EXPIRE_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+			.build();
+
+	private final Cache<CodeSystemURI, Resolution> resolutions = CacheBuilder.newBuilder()
+			.maximumSize(MAXIMUM_SIZE)
+			.expireAfterWrite(EXPIRE_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+			.build();
+
+	/**
+	 * Returns the code system with the given short name or OID, looking it up with the specified loader if it is not cached yet.
+	 *
+	 * @param codeSystem - the short name or OID of the code system
+	 * @param loader - the loader looking up the code system
+	 * @return the code system
+	 */
+	public CodeSystemEntry getCodeSystem(String codeSystem, Callable<CodeSystemEntry> loader) {
+		return get(codeSystems, codeSystem, loader);
+	}
+
+	/**
+	 * Returns the resolution of the given code system URI, resolving it with the specified loader if it is not cached yet.
+	 *
+	 * @param uri - the code system URI to resolve
+	 * @param loader - the loader resolving the code system and the branch path of the URI
+	 * @return the resolved code system and branch path
+	 */
+	public Resolution resolve(CodeSystemURI uri, Callable<Resolution> loader) {
+		return get(resolutions, uri, loader);
+	}
+
+	/**
+	 * Discards all cached code systems and URI resolutions.
+	 */
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		codeSystems.invalidateAll();
+		resolutions.invalidateAll();
+	}
+
+	private <K, V> V get(Cache<K, V> cache, K key, Callable<V> loader) {
+		final long expectedGeneration = generation.get();
+		try {
+			final V value = cache.get(key, loader);
+			if (generation.get() != expectedGeneration) {
+				// the registry has changed while the value was loaded, do not keep a potentially stale value
+				cache.invalidate(key);
+			}
+			return value;
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			Throwables.propagateIfPossible(e.getCause());
+			throw new SnowowlRuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * @since 7.5
+	 */
+	public static final class Resolution {
+
+		private final CodeSystemEntry codeSystem;
+		private final String branchPath;
+
+		public Resolution(CodeSystemEntry codeSystem, String branchPath) {
+			this.codeSystem = codeSystem;
+			this.branchPath = branchPath;
+		}
+
+		public CodeSystemEntry getCodeSystem() {
+			return codeSystem;
+		}
+
+		public String getBranchPath() {
+			return branchPath;
+		}
+
+	}
+
+}
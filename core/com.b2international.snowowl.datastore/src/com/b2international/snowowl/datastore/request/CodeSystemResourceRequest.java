@@ -24,6 +24,7 @@ import com.b2international.snowowl.core.request.SearchResourceRequest;
 import com.b2international.snowowl.core.uri.CodeSystemURI;
 import com.b2international.snowowl.datastore.CodeSystemEntry;
 import com.b2international.snowowl.datastore.CodeSystemVersionEntry;
+import com.b2international.snowowl.datastore.request.CodeSystemCache.Resolution;
 import com.b2international.snowowl.terminologyregistry.core.request.CodeSystemRequests;
 import com.b2international.snowowl.terminologyregistry.core.request.CodeSystemVersionSearchRequestBuilder;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -60,7 +61,7 @@ public final class CodeSystemResourceRequest<R> extends DelegatingRequest<Servic
 
 	public CodeSystemEntry getCodeSystem(ServiceProvider context) {
 		if (codeSystem == null) {
-			codeSystem = CodeSystemRequests.getCodeSystem(context, uri.getCodeSystem());
+			resolve(context);
 		}
 		return codeSystem;
 	}
@@ -71,41 +72,54 @@ public final class CodeSystemResourceRequest<R> extends DelegatingRequest<Servic
 	
 	public String getBranchPath(ServiceProvider context) {
 		if (branchPath == null) {
-			
-			if (uri.isHead()) {
-				// use code system working branch directly when HEAD is specified
-				branchPath = codeSystem.getBranchPath();
-			} else {
-				CodeSystemVersionSearchRequestBuilder versionSearch = CodeSystemRequests.prepareSearchCodeSystemVersion()
-						.one()
-						.filterByCodeSystemShortName(codeSystem.getShortName());
-				
-				if (uri.isLatest()) {
-					// fetch the latest code system version if LATEST is specified in the URI
-					versionSearch.sortBy(SearchResourceRequest.SortField.descending(CodeSystemVersionEntry.Fields.EFFECTIVE_DATE));
-				} else {
-					// try to fetch the path as exact version if not the special LATEST is specified in the URI
-					versionSearch.filterByVersionId(uri.getPath());
-				}
-				// determine the final branch path, if based on the version search we find a version, then use that, otherwise use the defined path as relative branch of the code system working branch
-				branchPath = versionSearch
-						.build(codeSystem.getRepositoryUuid())
-						.getRequest()
-						.execute(context)
-						.stream()
-						.findFirst()
-						.map(CodeSystemVersionEntry::getPath)
-						.orElseGet(() -> {
-							if (uri.isLatest()) {
-								throw new BadRequestException("No CodeSystem version is present in '%s'. Explicit '%s/HEAD' can be used to retrieve the latest work in progress version of the CodeSystem.", codeSystem.getShortName(), codeSystem.getShortName());
-							} else {
-								return codeSystem.getRelativeBranchPath(uri.getPath()); 
-							}
-						});
-			}
-			
+			resolve(context);
 		}
 		return branchPath;
 	}
+	
+	private void resolve(ServiceProvider context) {
+		final Resolution resolution = context.optionalService(CodeSystemCache.class)
+				.map(cache -> cache.resolve(uri, () -> resolveUri(context)))
+				.orElseGet(() -> resolveUri(context));
+		codeSystem = resolution.getCodeSystem();
+		branchPath = resolution.getBranchPath();
+	}
+
+	private Resolution resolveUri(ServiceProvider context) {
+		final CodeSystemEntry codeSystem = CodeSystemRequests.getCodeSystem(context, uri.getCodeSystem());
+		
+		if (uri.isHead()) {
+			// use code system working branch directly when HEAD is specified
+			return new Resolution(codeSystem, codeSystem.getBranchPath());
+		}
+		
+		CodeSystemVersionSearchRequestBuilder versionSearch = CodeSystemRequests.prepareSearchCodeSystemVersion()
+				.one()
+				.filterByCodeSystemShortName(codeSystem.getShortName());
+		
+		if (uri.isLatest()) {
+			// fetch the latest code system version if LATEST is specified in the URI
+			versionSearch.sortBy(SearchResourceRequest.SortField.descending(CodeSystemVersionEntry.Fields.EFFECTIVE_DATE));
+		} else {
+			// try to fetch the path as exact version if not the special LATEST is specified in the URI
+			versionSearch.filterByVersionId(uri.getPath());
+		}
+		// determine the final branch path, if based on the version search we find a version, then use that, otherwise use the defined path as relative branch of the code system working branch
+		final String branchPath = versionSearch
+				.build(codeSystem.getRepositoryUuid())
+				.getRequest()
+				.execute(context)
+				.stream()
+				.findFirst()
+				.map(CodeSystemVersionEntry::getPath)
+				.orElseGet(() -> {
+					if (uri.isLatest()) {
+						throw new BadRequestException("No CodeSystem version is present in '%s'. Explicit '%s/HEAD' can be used to retrieve the latest work in progress version of the CodeSystem.", codeSystem.getShortName(), codeSystem.getShortName());
+					} else {
+						return codeSystem.getRelativeBranchPath(uri.getPath()); 
+					}
+				});
+		return new Resolution(codeSystem, branchPath);
+	}
 
 }
@@ -65,6 +65,7 @@ public abstract class SearchIndexResourceRequest<C extends ServiceProvider, B, D
 				.limit(limit())
 				.sortBy(sortBy())
 				.withScores(trackScores())
+				.collapse(collapseField())
 				.build());
 		
 		return toCollectionResource(context, hits);
@@ -125,6 +126,15 @@ public abstract class SearchIndexResourceRequest<C extends ServiceProvider, B, D
 		return false;
 	}
 	
+	/**
+	 * Subclasses may override to return only the first hit (in sort order) for each distinct value of a field. By default hits are not collapsed.
+	 * @return the field to collapse the hits by or <code>null</code> if collapsing is not required
+	 * @since 7.5
+	 */
+	protected String collapseField() {
+		return null;
+	}
+	
 	/**
 	 * Returns the type of documents to search for.
 	 * @return
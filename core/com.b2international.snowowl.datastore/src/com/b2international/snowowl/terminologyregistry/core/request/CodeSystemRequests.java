@@ -23,6 +23,7 @@ import com.b2international.snowowl.core.Repositories;
 import com.b2international.snowowl.core.ServiceProvider;
 import com.b2international.snowowl.core.request.ConceptSearchRequestBuilder;
 import com.b2international.snowowl.datastore.CodeSystemEntry;
+import com.b2international.snowowl.datastore.request.CodeSystemCache;
 import com.b2international.snowowl.datastore.request.RepositoryRequests;
 import com.b2international.snowowl.datastore.request.version.CodeSystemVersionCreateRequestBuilder;
 
@@ -90,7 +91,22 @@ public class CodeSystemRequests {
 			.collect(Collectors.toList());
 	}
 
+	/**
+	 * Returns the {@link CodeSystemEntry} with the given short name or OID from any of the repositories. Code systems are served from the
+	 * shared {@link CodeSystemCache} if it is available.
+	 * 
+	 * @param context - the context to look up the code system with
+	 * @param codeSystem - the short name or OID of the code system
+	 * @return the code system
+	 * @throws BadRequestException - if the code system cannot be found
+	 */
 	public static CodeSystemEntry getCodeSystem(ServiceProvider context, String codeSystem) {
+		return context.optionalService(CodeSystemCache.class)
+				.map(cache -> cache.getCodeSystem(codeSystem, () -> findCodeSystem(context, codeSystem)))
+				.orElseGet(() -> findCodeSystem(context, codeSystem));
+	}
+	
+	private static CodeSystemEntry findCodeSystem(ServiceProvider context, String codeSystem) {
 		final Repositories repositories = RepositoryRequests.prepareSearch()
 				.all()
 				.build()
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.identity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.b2international.snowowl.core.events.util.Promise;
+import com.b2international.snowowl.identity.domain.User;
+import com.b2international.snowowl.identity.domain.Users;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * @since 7.5
+ */
+public class CachingIdentityProviderTest {
+
+	private static final String BASIC_TOKEN = "Basic dGVzdDp0ZXN0";
+	private static final long TIME_TO_LIVE_SECONDS = 60L;
+	private static final long NOW = 1_600_000_000_000L;
+
+	private CountingIdentityProvider delegate;
+	private FakeTicker ticker;
+	private long currentTimeMillis;
+	private CachingIdentityProvider provider;
+
+	@Before
+	public void setup() {
+		delegate = new CountingIdentityProvider();
+		ticker = new FakeTicker();
+		currentTimeMillis = NOW;
+		provider = new CachingIdentityProvider(delegate, 100L, TIME_TO_LIVE_SECONDS, ticker, () -> currentTimeMillis);
+	}
+
+	@Test
+	public void successfulAuthIsCached() throws Exception {
+		final User user = delegate.register(BASIC_TOKEN);
+
+		assertThat(provider.auth(BASIC_TOKEN)).isSameAs(user);
+		assertThat(provider.auth(BASIC_TOKEN)).isSameAs(user);
+		assertThat(delegate.getAuthCount(BASIC_TOKEN)).isEqualTo(1);
+	}
+
+	@Test
+	public void failedAuthIsNotCached() throws Exception {
+		assertThat(provider.auth(BASIC_TOKEN)).isNull();
+		assertThat(provider.getCachedKeys()).isEmpty();
+
+		final User user = delegate.register(BASIC_TOKEN);
+		assertThat(provider.auth(BASIC_TOKEN)).isSameAs(user);
+		assertThat(delegate.getAuthCount(BASIC_TOKEN)).isEqualTo(2);
+	}
+
+	@Test
+	public void timeToLiveExpiresEntries() throws Exception {
+		delegate.register(BASIC_TOKEN);
+
+		provider.auth(BASIC_TOKEN);
+		ticker.advance(TIME_TO_LIVE_SECONDS - 1, TimeUnit.SECONDS);
+		provider.auth(BASIC_TOKEN);
+		assertThat(delegate.getAuthCount(BASIC_TOKEN)).isEqualTo(1);
+
+		ticker.advance(1, TimeUnit.SECONDS);
+		provider.auth(BASIC_TOKEN);
+		assertThat(delegate.getAuthCount(BASIC_TOKEN)).isEqualTo(2);
+	}
+
+	@Test
+	public void jwtEntryIsDroppedAtExpiration() throws Exception {
+		final String token = "Bearer " + jwt(NOW + TimeUnit.SECONDS.toMillis(10));
+		delegate.register(token);
+
+		provider.auth(token);
+		currentTimeMillis = NOW + TimeUnit.SECONDS.toMillis(9);
+		provider.auth(token);
+		assertThat(delegate.getAuthCount(token)).isEqualTo(1);
+
+		// well within the time-to-live, but the token itself has expired
+		currentTimeMillis = NOW + TimeUnit.SECONDS.toMillis(10);
+		provider.auth(token);
+		assertThat(delegate.getAuthCount(token)).isEqualTo(2);
+		assertThat(provider.getCachedKeys()).isEmpty();
+	}
+
+	@Test
+	public void expiredJwtIsNotCached() throws Exception {
+		final String token = jwt(NOW - 1L);
+		delegate.register(token);
+
+		provider.auth(token);
+		assertThat(provider.getCachedKeys()).isEmpty();
+	}
+
+	@Test
+	public void addUserInvalidatesCache() throws Exception {
+		delegate.register(BASIC_TOKEN);
+
+		provider.auth(BASIC_TOKEN);
+		provider.addUser("test", "test");
+		assertThat(delegate.getAddedUsers()).containsOnly("test");
+		assertThat(provider.getCachedKeys()).isEmpty();
+
+		provider.auth(BASIC_TOKEN);
+		assertThat(delegate.getAuthCount(BASIC_TOKEN)).isEqualTo(2);
+	}
+
+	@Test
+	public void rawTokensAreNeverUsedAsKeys() throws Exception {
+		final String token = "Bearer " + jwt(NOW + TimeUnit.HOURS.toMillis(1));
+		delegate.register(BASIC_TOKEN);
+		delegate.register(token);
+
+		provider.auth(BASIC_TOKEN);
+		provider.auth(token);
+
+		assertThat(provider.getCachedKeys()).hasSize(2);
+		for (final String key : provider.getCachedKeys()) {
+			// hex encoded SHA-256 hash
+			assertThat(key).matches("[0-9a-f]{64}");
+			assertThat(BASIC_TOKEN).doesNotContain(key);
+			assertThat(token).doesNotContain(key);
+			assertThat(key).doesNotContain("dGVzdDp0ZXN0");
+		}
+	}
+
+	private static String jwt(final long expiresAt) throws Exception {
+		return JWT.create()
+				.withSubject("test")
+				.withExpiresAt(new Date(expiresAt))
+				.sign(Algorithm.HMAC256("secret"));
+	}
+
+	private static final class FakeTicker extends Ticker {
+
+		private long nanos;
+
+		@Override
+		public long read() {
+			return nanos;
+		}
+
+		void advance(final long duration, final TimeUnit unit) {
+			nanos += unit.toNanos(duration);
+		}
+
+	}
+
+	private static final class CountingIdentityProvider implements IdentityProvider, IdentityWriter {
+
+		private final Map<String, User> users = Maps.newHashMap();
+		private final Map<String, Integer> authCounts = Maps.newHashMap();
+		private final Collection<String> addedUsers = Lists.newArrayList();
+
+		User register(final String authorizationToken) {
+			final User user = new User("test", Collections.emptyList());
+			users.put(authorizationToken, user);
+			return user;
+		}
+
+		int getAuthCount(final String authorizationToken) {
+			return authCounts.getOrDefault(authorizationToken, 0);
+		}
+
+		Collection<String> getAddedUsers() {
+			return addedUsers;
+		}
+
+		@Override
+		public User auth(final String authorizationToken) {
+			authCounts.merge(authorizationToken, 1, Integer::sum);
+			return users.get(authorizationToken);
+		}
+
+		@Override
+		public User auth(final String username, final String password) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void addUser(final String username, final String password) {
+			addedUsers.add(username);
+		}
+
+		@Override
+		public Promise<Users> searchUsers(final Collection<String> usernames, final int limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String getInfo() {
+			return "counting";
+		}
+
+	}
+
+}
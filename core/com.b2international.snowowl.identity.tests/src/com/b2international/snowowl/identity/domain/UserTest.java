@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.identity.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+/**
+ * @since 7.5
+ */
+public class UserTest {
+
+	private static final List<Role> ROLES = ImmutableList.of(
+		new Role("Browser", ImmutableSet.of(Permission.toBrowse("snomedct/*"), Permission.toEdit("snomedct", "MAIN"))),
+		new Role("Exporter", ImmutableSet.of(Permission.of(Permission.ALL, "icd10", "MAIN")))
+	);
+
+	private static final List<Permission> REQUIREMENTS = ImmutableList.of(
+		Permission.toBrowse("snomedct", "MAIN"),
+		Permission.toBrowse("snomedct", "MAIN", "a"),
+		Permission.toBrowse("icd10", "MAIN"),
+		Permission.toBrowse("loinc", "MAIN"),
+		Permission.toEdit("snomedct", "MAIN"),
+		Permission.toEdit("snomedct", "MAIN", "a"),
+		Permission.toExport("icd10", "MAIN"),
+		Permission.toExport("icd10", "MAIN", "a"),
+		Permission.toPromote("snomedct", "MAIN"),
+		Permission.toClassify("icd10", "MAIN")
+	);
+
+	@Test
+	public void memoizedDecisionsMatchUnmemoizedDecisions() throws Exception {
+		final User user = new User("test", ROLES);
+		for (int i = 0; i < 3; i++) {
+			for (final Permission requirement : REQUIREMENTS) {
+				assertThat(user.hasPermission(requirement))
+					.as("Decision of " + requirement)
+					.isEqualTo(isPermitted(ROLES, requirement));
+			}
+		}
+	}
+
+	@Test
+	public void deniedDecisionsAreMemoizedAsDenied() throws Exception {
+		final User user = new User("test", ROLES);
+		final Permission requirement = Permission.toPromote("snomedct", "MAIN");
+
+		assertThat(isPermitted(ROLES, requirement)).isFalse();
+		assertThat(user.hasPermission(requirement)).isFalse();
+		assertThat(user.hasPermission(requirement)).isFalse();
+		assertThat(user.hasPermission(Permission.toEdit("snomedct", "MAIN"))).isTrue();
+	}
+
+	@Test
+	public void decisionsBeyondMemoCapacityMatchUnmemoizedDecisions() throws Exception {
+		final User user = new User("test", ROLES);
+		final List<Permission> requirements = Lists.newArrayList();
+		for (int i = 0; i < 2_000; i++) {
+			requirements.add(Permission.toBrowse(i % 2 == 0 ? "snomedct" : "loinc", "MAIN", "task-" + i));
+		}
+
+		for (int i = 0; i < 2; i++) {
+			for (final Permission requirement : requirements) {
+				assertThat(user.hasPermission(requirement))
+					.as("Decision of " + requirement)
+					.isEqualTo(isPermitted(ROLES, requirement));
+			}
+		}
+	}
+
+	@Test
+	public void deserializedUserDecides() throws Exception {
+		final User user = new User("test", ROLES);
+		for (final Permission requirement : REQUIREMENTS) {
+			user.hasPermission(requirement);
+		}
+
+		final User deserializedUser = deserialize(serialize(user));
+		for (final Permission requirement : REQUIREMENTS) {
+			assertThat(deserializedUser.hasPermission(requirement))
+				.as("Decision of " + requirement)
+				.isEqualTo(isPermitted(ROLES, requirement));
+		}
+	}
+
+	private static boolean isPermitted(final Collection<Role> roles, final Permission requirement) {
+		for (final Role role : roles) {
+			for (final Permission permission : role.getPermissions()) {
+				if (permission.implies(requirement)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static byte[] serialize(final User user) throws Exception {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(user);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static User deserialize(final byte[] bytes) throws Exception {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return (User) in.readObject();
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.identity;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.b2international.snowowl.core.events.util.Promise;
+import com.b2international.snowowl.identity.domain.User;
+import com.b2international.snowowl.identity.domain.Users;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Charsets;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+
+/**
+ * Keeps successfully authenticated {@link User}s in memory for a short period of time, so that subsequent requests with the same
+ * authorization token (HTTP Basic credentials or JWT) do not have to be authenticated against the underlying identity provider again.
+ * <p>
+ * Authorization tokens are never stored as is, entries are keyed by the SHA-256 hash of the token. Entries are evicted after the configured
+ * time-to-live, and entries of JWTs are evicted no later than the expiration time of the token. Failed authentication attempts are not
+ * cached.
+ *
+ * @since 7.5
+ */
+final class CachingIdentityProvider implements IdentityProvider, IdentityWriter {
+
+	private final IdentityProvider delegate;
+	private final Cache<String, Authentication> authentications;
+	private final LongSupplier clock;
+
+	public CachingIdentityProvider(IdentityProvider delegate, long maximumSize, long timeToLiveSeconds) {
+		this(delegate, maximumSize, timeToLiveSeconds, Ticker.systemTicker(), System::currentTimeMillis);
+	}
+
+	/*
+	 * The ticker measures the time-to-live of entries, the clock returns the current time in milliseconds to compare JWT expiration times to.
+	 */
+	@VisibleForTesting
+	CachingIdentityProvider(IdentityProvider delegate, long maximumSize, long timeToLiveSeconds, Ticker ticker, LongSupplier clock) {
+		this.delegate = delegate;
+		this.clock = clock;
+		this.authentications = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+				.ticker(ticker)
+				.build();
+	}
+
+	@Override
+	public User auth(String authorizationToken) {
+		final String key = Hashing.sha256().hashString(authorizationToken, Charsets.UTF_8).toString();
+		final Authentication cached = authentications.getIfPresent(key);
+		if (cached != null) {
+			if (cached.expiresAt > clock.getAsLong()) {
+				return cached.user;
+			}
+			authentications.invalidate(key);
+		}
+
+		final User user = delegate.auth(authorizationToken);
+		if (user != null) {
+			final long expiresAt = getExpiresAt(authorizationToken);
+			if (expiresAt > clock.getAsLong()) {
+				authentications.put(key, new Authentication(user, expiresAt));
+			}
+		}
+		return user;
+	}
+
+	/*
+	 * Returns the expiration time of the token in milliseconds if it is a JWT with an expiration claim, Long.MAX_VALUE otherwise.
+	 */
+	private static long getExpiresAt(String authorizationToken) {
+		final String[] parts = authorizationToken.trim().split(" ");
+		if (parts.length == 2 && "basic".equalsIgnoreCase(parts[0])) {
+			return Long.MAX_VALUE;
+		}
+		try {
+			final Date expiresAt = JWT.decode(parts[parts.length - 1]).getExpiresAt();
+			return expiresAt == null ? Long.MAX_VALUE : expiresAt.getTime();
+		} catch (JWTDecodeException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	@VisibleForTesting
+	Set<String> getCachedKeys() {
+		return ImmutableSet.copyOf(authentications.asMap().keySet());
+	}
+
+	@Override
+	public User auth(String username, String password) {
+		return delegate.auth(username, password);
+	}
+
+	@Override
+	public void addUser(String username, String password) {
+		if (delegate instanceof IdentityWriter) {
+			((IdentityWriter) delegate).addUser(username, password);
+			authentications.invalidateAll();
+		}
+	}
+
+	@Override
+	public Promise<Users> searchUsers(Collection<String> usernames, int limit) {
+		return delegate.searchUsers(usernames, limit);
+	}
+
+	@Override
+	public String getInfo() {
+		return delegate.getInfo();
+	}
+
+	private static final class Authentication {
+
+		private final User user;
+		private final long expiresAt;
+
+		private Authentication(User user, long expiresAt) {
+			this.user = user;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,8 @@ public class IdentityConfiguration {
 	private boolean adminParty = false;
 	private String secret = "secret";
 	private String issuer = "Snow Owl";
+	private long authCacheSize = 1_000L;
+	private long authCacheTtl = 60L;
 	
 	private List<IdentityProviderConfig> providerConfigurations = Collections.emptyList();
 	
@@ -66,4 +68,34 @@ public class IdentityConfiguration {
 		this.issuer = issuer;
 	}
 	
+	/**
+	 * @return the maximum number of authenticated users kept in memory, <code>0</code> disables caching of authentication results
+	 * @since 7.5
+	 */
+	public long getAuthCacheSize() {
+		return authCacheSize;
+	}
+	
+	/**
+	 * @since 7.5
+	 */
+	public void setAuthCacheSize(long authCacheSize) {
+		this.authCacheSize = authCacheSize;
+	}
+	
+	/**
+	 * @return the number of seconds an authenticated user is kept in memory after a successful authentication
+	 * @since 7.5
+	 */
+	public long getAuthCacheTtl() {
+		return authCacheTtl;
+	}
+	
+	/**
+	 * @since 7.5
+	 */
+	public void setAuthCacheTtl(long authCacheTtl) {
+		this.authCacheTtl = authCacheTtl;
+	}
+	
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -55,6 +55,10 @@ public final class IdentityPlugin extends Plugin {
 		if (conf.isAdminParty()) {
 			identityProvider = new AdminPartyIdentityProvider(identityProvider);
 		}
+		
+		if (IdentityProvider.NOOP != identityProvider && conf.getAuthCacheSize() > 0L && conf.getAuthCacheTtl() > 0L) {
+			identityProvider = new CachingIdentityProvider(identityProvider, conf.getAuthCacheSize(), conf.getAuthCacheTtl());
+		}
 		IdentityProvider.LOG.info("Configured identity providers [{}]", identityProvider.getInfo());
 		env.services().registerService(IdentityProvider.class, identityProvider);
 		
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,7 +19,9 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -32,8 +34,16 @@ public final class User implements Serializable {
 
 	public static final User SYSTEM = new User("System", Collections.singletonList(Role.ADMINISTRATOR));
 	
+	/*
+	 * Upper bound of memoized permission decisions per user, the resources of permission requirements contain branch paths, so the number of
+	 * distinct requirements is not bounded for long-lived users (eg. SYSTEM).
+	 */
+	private static final int MAX_PERMISSION_DECISIONS = 1_000;
+	
 	private final String username;
 	private final List<Role> roles;
+	
+	private transient volatile Map<Permission, Boolean> permissionDecisions;
 
 	public User(String username, List<Role> roles) {
 		this.username = username;
@@ -80,16 +90,38 @@ public final class User implements Serializable {
 	}
 	
 	/**
-	 * Returns <code>true</code> if the user has the necessary permission to allow performing an operation on the given resource.
+	 * Returns <code>true</code> if the user has the necessary permission to allow performing an operation on the given resource. Decisions
+	 * are memoized per user, as the roles of a user do not change during its lifetime.
 	 *  
 	 * @param permissionRequirement
 	 * @return
 	 */
 	public boolean hasPermission(Permission permissionRequirement) {
-		return getRoles().stream()
+		final Map<Permission, Boolean> decisions = getPermissionDecisions();
+		final Boolean decision = decisions.get(permissionRequirement);
+		if (decision != null) {
+			return decision;
+		}
+		
+		final boolean permitted = getRoles().stream()
 			.map(Role::getPermissions)
 			.flatMap(Collection::stream)
 			.anyMatch(permission -> permission.implies(permissionRequirement));
+		
+		if (decisions.size() < MAX_PERMISSION_DECISIONS) {
+			decisions.put(permissionRequirement, permitted);
+		}
+		return permitted;
+	}
+	
+	private Map<Permission, Boolean> getPermissionDecisions() {
+		Map<Permission, Boolean> decisions = permissionDecisions;
+		if (decisions == null) {
+			// not initialized yet or the user has been deserialized, racing threads may create their own map, which is harmless
+			decisions = new ConcurrentHashMap<>();
+			permissionDecisions = decisions;
+		}
+		return decisions;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -95,6 +95,23 @@ public class ExpandSnomedRestTest extends SnomedFhirRestTest {
 			.statusCode(200);
 	}
 	
+	//isA subsumption based value set, paged
+	@Test
+	public void implicitIsaPagingTest() {
+		givenAuthenticatedRequest(FHIR_ROOT_CONTEXT)
+			.param("url", "http://snomed.info/sct?fhir_vs=isa/" + FhirTestConcepts.MICROORGANISM) 
+			.param("offset", 1)
+			.param("count", 1)
+			.when().get("/ValueSet/$expand")
+			.then()
+			.body("resourceType", equalTo("ValueSet"))
+			.body("expansion.total", notNullValue())
+			.body("expansion.offset", equalTo(1))
+			.body("expansion.contains.size()", equalTo(1))
+			.body("expansion.parameter.name", hasItem("count"))
+			.statusCode(200);
+	}
+	
 	//all SNOMED CT concepts
 	@Test
 	public void implicitSnomedCTTest() {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -169,6 +169,9 @@ public class FhirValueSetRestService extends BaseFhirResourceRestService<ValueSe
 	/**
 	 * HTTP Get request to expand a value set specified by its URL
 	 * @param url
+	 * @param filter
+	 * @param offset
+	 * @param count
 	 * @return expanded {@link ValueSet}
 	 */
 	@ApiOperation(
@@ -181,10 +184,20 @@ public class FhirValueSetRestService extends BaseFhirResourceRestService<ValueSe
 	})
 	@RequestMapping(value="/$expand", method=RequestMethod.GET)
 	public ValueSet expandByURL(
-			@ApiParam(value="Canonical URL of the value set") @RequestParam(value="url") final String url) {
+			@ApiParam(value="Canonical URL of the value set") @RequestParam(value="url") final String url,
+			@ApiParam(value="Text filter applied to the expansion") @RequestParam(value="filter", required=false) final String filter,
+			@ApiParam(value="Number of codes to skip in the expansion") @RequestParam(value="offset", required=false) final Integer offset,
+			@ApiParam(value="Maximum number of codes to return in the expansion") @RequestParam(value="count", required=false) final Integer count) {
+		
+		final ExpandValueSetRequest request = ExpandValueSetRequest.builder()
+				.url(url)
+				.filter(filter)
+				.offset(offset)
+				.count(count)
+				.build();
 		
 		IValueSetApiProvider valueSetProvider = IValueSetApiProvider.Registry.getValueSetProvider(getBus(), locales, url);
-		ValueSet valueSet = valueSetProvider.expandValueSet(url);
+		ValueSet valueSet = valueSetProvider.expandValueSet(request);
 		
 		applyEmptyContentFilter(valueSet);
 		return valueSet;
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.eventbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.snowowl.internal.eventbus.VirtualExecutorServiceFactory;
+
+/**
+ * @since 7.5
+ */
+public class BoundedExecutorServiceTest {
+
+	private static final int MAX_CONCURRENCY = 2;
+	private static final int TASKS = 10;
+
+	private BoundedExecutorService executor;
+
+	@Before
+	public void before() {
+		executor = new BoundedExecutorService(Executors.newCachedThreadPool(), MAX_CONCURRENCY);
+	}
+
+	@After
+	public void after() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void concurrencyIsLimited() throws Exception {
+		final CountDownLatch started = new CountDownLatch(MAX_CONCURRENCY);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch completed = new CountDownLatch(TASKS);
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+
+		for (int i = 0; i < TASKS; i++) {
+			executor.execute(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					running.decrementAndGet();
+					completed.countDown();
+				}
+			});
+		}
+
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertEquals(MAX_CONCURRENCY, executor.getActiveTasks());
+		assertEquals(TASKS - MAX_CONCURRENCY, executor.getQueuedTasks());
+
+		release.countDown();
+		assertTrue(completed.await(5, TimeUnit.SECONDS));
+		assertEquals(MAX_CONCURRENCY, maxRunning.get());
+		assertEquals(0, executor.getQueuedTasks());
+	}
+
+	@Test
+	public void shutdownNowReturnsQueuedTasks() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		for (int i = 0; i < TASKS; i++) {
+			executor.execute(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+
+		assertEquals(TASKS - MAX_CONCURRENCY, executor.shutdownNow().size());
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void shutdownDispatchesQueuedTasks() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger completed = new AtomicInteger();
+		for (int i = 0; i < TASKS; i++) {
+			executor.execute(() -> {
+				try {
+					release.await();
+					completed.incrementAndGet();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+
+		executor.shutdown();
+		assertTrue(executor.isShutdown());
+		assertFalse(executor.isTerminated());
+		assertEquals(TASKS - MAX_CONCURRENCY, executor.getQueuedTasks());
+
+		try {
+			executor.execute(() -> {});
+			fail("Tasks should be rejected after shutdown");
+		} catch (RejectedExecutionException expected) {
+			// expected
+		}
+
+		release.countDown();
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		assertTrue(executor.isTerminated());
+		assertEquals(TASKS, completed.get());
+	}
+
+	@Test
+	public void platformThreadFallbackIsLimitedToMaxThreads() throws Exception {
+		assumeFalse("Virtual threads are available", virtualThreadsAvailable());
+		final ExecutorService fallbackExecutor = new VirtualExecutorServiceFactory(MAX_CONCURRENCY).createExecutorService("fallback-test", 10_000);
+		try {
+			assertEquals(MAX_CONCURRENCY, ((BoundedExecutorService) fallbackExecutor).getMaxConcurrency());
+		} finally {
+			fallbackExecutor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void virtualExecutorRunsTasks() throws Exception {
+		final ExecutorService virtualExecutor = new VirtualExecutorServiceFactory(MAX_CONCURRENCY).createExecutorService("virtual-test", MAX_CONCURRENCY);
+		try {
+			assertTrue(virtualExecutor instanceof BoundedExecutorService);
+			assertEquals(Integer.valueOf(1), virtualExecutor.submit(() -> 1).get(5, TimeUnit.SECONDS));
+		} finally {
+			virtualExecutor.shutdownNow();
+		}
+	}
+
+	private static boolean virtualThreadsAvailable() {
+		try {
+			((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)).shutdown();
+			return true;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.internal.eventbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.databene.contiperf.junit.ContiPerfRuleExt;
+import org.eclipse.net4j.util.io.ExtendedDataInputStream;
+import org.eclipse.net4j.util.io.ExtendedDataOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.b2international.snowowl.eventbus.IMessage;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Measures encoding and decoding of a message carrying a bulk-request-like body (a list of nested component changes) over the wire format
+ * used between remote event buses, and compares the throughput and the encoded size of plain and compressed Java serialization.
+ * 
+ * @since 7.5
+ */
+public class MessageBodyCodecPerformanceTest {
+
+	private static final class Change implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String componentId;
+		private final String term;
+		private final List<String> acceptability;
+
+		Change(String componentId, String term, List<String> acceptability) {
+			this.componentId = componentId;
+			this.term = term;
+			this.acceptability = acceptability;
+		}
+
+	}
+
+	private static final ImmutableList<Change> BODY;
+
+	static {
+		final List<Change> changes = Lists.newArrayListWithCapacity(1_000);
+		for (int i = 0; i < 1_000; i++) {
+			changes.add(new Change(Integer.toString(100_000 + i), "Description term " + i, ImmutableList.of("900000000000548007", "900000000000549004")));
+		}
+		BODY = ImmutableList.copyOf(changes);
+	}
+
+	private static final JavaSerializationBodyCodec JAVA_SERIALIZATION = new JavaSerializationBodyCodec();
+	private static final DeflateBodyCodec DEFLATE = new DeflateBodyCodec(JAVA_SERIALIZATION, 1);
+	
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRuleExt();
+
+	@Test
+	@PerfTest(invocations = 1000, threads = 4)
+	@Required(percentile99 = 150)
+	public void encodeDecodeBulkBody() throws Exception {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		MessageFactory.writeMessage(ExtendedDataOutputStream.wrap(bytes), MessageFactory.createMessage("address", BODY, "tag", Collections.emptyMap()));
+
+		final IMessage message = MessageFactory.readMessage(ExtendedDataInputStream.wrap(new ByteArrayInputStream(bytes.toByteArray())), null);
+		assertEquals(BODY.size(), message.body(List.class).size());
+	}
+	
+	@Test
+	@PerfTest(invocations = 1000, threads = 4)
+	public void encodeDecodeBulkBodyWithJavaSerialization() throws Exception {
+		assertEquals(BODY.size(), ((List<?>) JAVA_SERIALIZATION.decode(JAVA_SERIALIZATION.encode(BODY), null)).size());
+	}
+	
+	@Test
+	@PerfTest(invocations = 1000, threads = 4)
+	public void encodeDecodeBulkBodyWithDeflate() throws Exception {
+		assertEquals(BODY.size(), ((List<?>) DEFLATE.decode(DEFLATE.encode(BODY), null)).size());
+	}
+	
+	@Test
+	public void encodedBulkBodySize() throws Exception {
+		final int javaSerializationSize = JAVA_SERIALIZATION.encode(BODY).length;
+		final int deflateSize = DEFLATE.encode(BODY).length;
+		System.out.println(String.format("Encoded size of bulk body: %d bytes with Java serialization, %d bytes with deflate (%.1f%%)", 
+				javaSerializationSize, 
+				deflateSize, 
+				100.0 * deflateSize / javaSerializationSize));
+		assertTrue(deflateSize < javaSerializationSize);
+	}
+
+}
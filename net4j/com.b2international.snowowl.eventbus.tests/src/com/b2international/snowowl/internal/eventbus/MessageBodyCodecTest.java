@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.internal.eventbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.eclipse.net4j.util.io.ExtendedDataInputStream;
+import org.eclipse.net4j.util.io.ExtendedDataOutputStream;
+import org.junit.After;
+import org.junit.Test;
+
+import com.b2international.snowowl.eventbus.IMessage;
+import com.b2international.snowowl.eventbus.IMessageBodyCodec;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+/**
+ * @since 7.5
+ */
+public class MessageBodyCodecTest {
+
+	private static final String ADDRESS = "address";
+
+	private static final class StringBodyCodec implements IMessageBodyCodec {
+
+		private int encoded;
+		private int decoded;
+
+		@Override
+		public byte getId() {
+			return 42;
+		}
+
+		@Override
+		public boolean canEncode(Object body) {
+			return body instanceof String;
+		}
+
+		@Override
+		public byte[] encode(Object body) throws IOException {
+			encoded++;
+			return ((String) body).getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public Object decode(byte[] bytes, ClassLoader classLoader) throws IOException {
+			decoded++;
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+	}
+
+	private final StringBodyCodec stringCodec = new StringBodyCodec();
+
+	@After
+	public void after() {
+		MessageBodyCodecs.unregister(stringCodec);
+		MessageBodyCodecs.setCompressionThreshold(0);
+	}
+
+	@Test
+	public void javaSerializationRoundTrip() throws Exception {
+		final ArrayList<String> body = Lists.newArrayList("a", "b", "c");
+
+		final IMessage message = roundTrip(body);
+
+		assertEquals(body, message.body(ArrayList.class));
+		assertEquals(ImmutableMap.of("key", "value"), message.headers());
+	}
+
+	@Test
+	public void registeredCodecTakesPrecedence() throws Exception {
+		MessageBodyCodecs.register(stringCodec);
+
+		final IMessage message = roundTrip("body");
+
+		assertEquals("body", message.body(String.class));
+		assertEquals(1, stringCodec.encoded);
+		assertEquals(1, stringCodec.decoded);
+	}
+
+	@Test
+	public void unsupportedBodyFallsBackToJavaSerialization() throws Exception {
+		MessageBodyCodecs.register(stringCodec);
+
+		final IMessage message = roundTrip(Integer.valueOf(1));
+
+		assertEquals(Integer.valueOf(1), message.body(Integer.class));
+		assertEquals(0, stringCodec.encoded);
+	}
+
+	@Test
+	public void bodyIsDecodedOnce() throws Exception {
+		MessageBodyCodecs.register(stringCodec);
+
+		final IMessage message = roundTrip("body");
+		final String first = message.body(String.class);
+		final String second = message.body(String.class);
+
+		assertTrue(first == second);
+		assertEquals(1, stringCodec.decoded);
+	}
+
+	@Test
+	public void compressedRoundTrip() throws Exception {
+		MessageBodyCodecs.setCompressionThreshold(1);
+		final ArrayList<String> body = Lists.newArrayList("a", "b", "c");
+
+		final IMessage message = roundTrip(body);
+
+		assertEquals(body, message.body(ArrayList.class));
+	}
+
+	@Test
+	public void bodyBelowCompressionThresholdIsNotCompressed() throws Exception {
+		final DeflateBodyCodec codec = new DeflateBodyCodec(new JavaSerializationBodyCodec(), Integer.MAX_VALUE);
+		final ArrayList<String> body = Lists.newArrayList("a", "b", "c");
+
+		final byte[] bytes = codec.encode(body);
+
+		assertEquals(new JavaSerializationBodyCodec().encode(body).length + 1, bytes.length);
+		assertEquals(body, codec.decode(bytes, null));
+	}
+
+	@Test
+	public void compressedBodyIsDecodedWithoutThreshold() throws Exception {
+		final ArrayList<String> body = Lists.newArrayList(Collections.nCopies(1_000, "Description term"));
+		final byte[] bytes = new DeflateBodyCodec(new JavaSerializationBodyCodec(), 1).encode(body);
+
+		assertTrue(bytes.length < new JavaSerializationBodyCodec().encode(body).length);
+		// the receiving side does not compress bodies itself
+		assertEquals(body, MessageBodyCodecs.getDecoder(DeflateBodyCodec.ID).decode(bytes, null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void compressionCodecIdentifierIsReserved() throws Exception {
+		MessageBodyCodecs.register(new IMessageBodyCodec() {
+			
+			@Override
+			public byte getId() {
+				return DeflateBodyCodec.ID;
+			}
+			
+			@Override
+			public boolean canEncode(Object body) {
+				return false;
+			}
+			
+			@Override
+			public byte[] encode(Object body) throws IOException {
+				throw new UnsupportedOperationException();
+			}
+			
+			@Override
+			public Object decode(byte[] bytes, ClassLoader classLoader) throws IOException {
+				throw new UnsupportedOperationException();
+			}
+			
+		});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void duplicateCodecIdentifier() throws Exception {
+		MessageBodyCodecs.register(stringCodec);
+		MessageBodyCodecs.register(stringCodec);
+	}
+
+	private IMessage roundTrip(Object body) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		MessageFactory.writeMessage(ExtendedDataOutputStream.wrap(bytes), MessageFactory.createMessage(ADDRESS, body, "tag", ImmutableMap.of("key", "value")));
+		final IMessage message = MessageFactory.readMessage(ExtendedDataInputStream.wrap(new ByteArrayInputStream(bytes.toByteArray())), null);
+		assertEquals(ADDRESS, message.address());
+		return message;
+	}
+
+}
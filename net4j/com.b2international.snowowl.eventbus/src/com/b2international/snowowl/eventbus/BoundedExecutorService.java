@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.eventbus;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.net4j.util.CheckUtil;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * {@link ExecutorService} which passes at most a fixed number of tasks to the underlying executor at a time. Tasks submitted while the
+ * limit is reached are queued and dispatched in submission order as running tasks complete. Tasks queued before {@link #shutdown()} are
+ * still dispatched, the underlying executor is shut down when the last of them has been completed.
+ * 
+ * @since 7.5
+ */
+public final class BoundedExecutorService extends AbstractExecutorService {
+
+	private final ExecutorService executor;
+	private final int maxConcurrency;
+	private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queuedTasks = new AtomicInteger();
+	private final AtomicInteger activeTasks = new AtomicInteger();
+	private final AtomicBoolean shutdown = new AtomicBoolean(false);
+
+	public BoundedExecutorService(ExecutorService executor, int maxConcurrency) {
+		CheckUtil.checkArg(executor, "executor");
+		CheckUtil.checkArg(maxConcurrency > 0, "Maximum concurrency should be greater than zero");
+		this.executor = executor;
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		CheckUtil.checkArg(command, "command");
+		if (isShutdown()) {
+			throw new RejectedExecutionException("Executor has been shut down");
+		}
+		queuedTasks.incrementAndGet();
+		queue.add(command);
+		dispatch();
+	}
+
+	private void dispatch() {
+		while (!queue.isEmpty()) {
+			final int active = activeTasks.get();
+			if (active >= maxConcurrency) {
+				// a running task will dispatch the next queued one when it completes
+				return;
+			}
+			if (!activeTasks.compareAndSet(active, active + 1)) {
+				continue;
+			}
+			final Runnable task = queue.poll();
+			if (task == null) {
+				// another thread took the last queued task
+				activeTasks.decrementAndGet();
+				continue;
+			}
+			queuedTasks.decrementAndGet();
+			try {
+				executor.execute(() -> {
+					try {
+						task.run();
+					} finally {
+						activeTasks.decrementAndGet();
+						dispatch();
+						shutdownExecutorIfIdle();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				activeTasks.decrementAndGet();
+				throw e;
+			}
+		}
+	}
+
+	private void shutdownExecutorIfIdle() {
+		// tasks can not be queued after shutdown, so the executor is idle for good once the queue is empty and no task is active
+		if (shutdown.get() && queue.isEmpty() && activeTasks.get() == 0) {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * @return the number of tasks waiting for a free slot
+	 */
+	public int getQueuedTasks() {
+		return queuedTasks.get();
+	}
+
+	/**
+	 * @return the number of tasks currently passed to the underlying executor
+	 */
+	public int getActiveTasks() {
+		return activeTasks.get();
+	}
+
+	/**
+	 * @return the maximum number of tasks passed to the underlying executor at a time
+	 */
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	@Override
+	public void shutdown() {
+		shutdown.set(true);
+		shutdownExecutorIfIdle();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		shutdown.set(true);
+		final ImmutableList.Builder<Runnable> pendingTasks = ImmutableList.builder();
+		Runnable task;
+		while ((task = queue.poll()) != null) {
+			queuedTasks.decrementAndGet();
+			pendingTasks.add(task);
+		}
+		pendingTasks.addAll(executor.shutdownNow());
+		return pendingTasks.build();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return shutdown.get();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return shutdown.get() && queue.isEmpty() && executor.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+
+}
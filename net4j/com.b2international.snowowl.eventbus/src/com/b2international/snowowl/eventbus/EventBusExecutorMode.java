@@ -0,0 +1,36 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.eventbus;
+
+/**
+ * Enumerates the supported ways of executing message handlers of an {@link IEventBus}.
+ * 
+ * @since 7.5
+ */
+public enum EventBusExecutorMode {
+
+	/**
+	 * Handlers are executed on a scaling pool of platform threads, limited by the maximum number of threads of the bus.
+	 */
+	PLATFORM,
+
+	/**
+	 * Handlers are executed on virtual threads, limited by the maximum number of concurrent handlers. When the JVM does not support
+	 * virtual threads, handlers are executed on small-stack platform threads created on demand, with the same concurrency limit.
+	 */
+	VIRTUAL;
+
+}
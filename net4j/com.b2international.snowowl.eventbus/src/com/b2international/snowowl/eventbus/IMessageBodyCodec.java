@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.eventbus;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes the body of {@link IMessage}s sent to remote {@link IEventBus} instances. Codecs are identified by a single byte
+ * written in front of each encoded body, so the receiving side can select the same codec for decoding.
+ * 
+ * @since 7.5
+ */
+public interface IMessageBodyCodec {
+
+	/**
+	 * @return the unique identifier of this codec
+	 */
+	byte getId();
+
+	/**
+	 * @param body - the message body to encode
+	 * @return <code>true</code> if this codec is able to encode the given message body, <code>false</code> otherwise
+	 */
+	boolean canEncode(Object body);
+
+	/**
+	 * Encodes the given message body.
+	 * 
+	 * @param body - the message body to encode
+	 * @return the encoded form of the message body
+	 * @throws IOException - if the body could not be encoded
+	 */
+	byte[] encode(Object body) throws IOException;
+
+	/**
+	 * Decodes a message body previously encoded by this codec.
+	 * 
+	 * @param bytes - the encoded message body
+	 * @param classLoader - the class loader to resolve classes with, may be <code>null</code>
+	 * @return the decoded message body
+	 * @throws IOException - if the body could not be decoded
+	 */
+	Object decode(byte[] bytes, ClassLoader classLoader) throws IOException;
+
+}
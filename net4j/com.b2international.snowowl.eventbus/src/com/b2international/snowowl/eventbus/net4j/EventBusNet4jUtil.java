@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2016 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,8 +19,11 @@ import org.eclipse.net4j.signal.wrapping.GZIPStreamWrapperInjector;
 import org.eclipse.net4j.util.container.IManagedContainer;
 import org.eclipse.spi.net4j.ClientProtocolFactory;
 
+import com.b2international.snowowl.eventbus.EventBusExecutorMode;
 import com.b2international.snowowl.eventbus.IEventBus;
+import com.b2international.snowowl.eventbus.IMessageBodyCodec;
 import com.b2international.snowowl.internal.eventbus.EventBus;
+import com.b2international.snowowl.internal.eventbus.MessageBodyCodecs;
 import com.b2international.snowowl.internal.eventbus.net4j.EventBusProtocol;
 import com.b2international.snowowl.internal.eventbus.net4j.EventBusProtocolInjector;
 
@@ -47,6 +50,28 @@ public class EventBusNet4jUtil {
 		}
 	}
 
+	/**
+	 * Registers a codec for encoding and decoding the body of messages sent over the network. Codecs registered later take precedence,
+	 * message bodies not supported by any registered codec are encoded using Java serialization.
+	 * 
+	 * @param codec - the codec to register
+	 * @since 7.5
+	 */
+	public static void registerBodyCodec(IMessageBodyCodec codec) {
+		MessageBodyCodecs.register(codec);
+	}
+
+	/**
+	 * Enables compression of message bodies sent over the network with Java serialization, if their serialized size reaches the given
+	 * threshold. Compressed bodies are decoded by any receiver, regardless of its own threshold.
+	 * 
+	 * @param threshold - the minimum serialized size of message bodies to compress in bytes, or zero to disable compression
+	 * @since 7.5
+	 */
+	public static void setBodyCompressionThreshold(int threshold) {
+		MessageBodyCodecs.setCompressionThreshold(threshold);
+	}
+
 	/**
 	 * Returns the client protocol of {@link IEventBusProtocol}.
 	 * 
@@ -69,6 +94,21 @@ public class EventBusNet4jUtil {
 		return getBus(container, EventBusConstants.GLOBAL_BUS, numberOfWorkers, true);
 	}
 
+	/**
+	 * Returns the event bus associated with the description of globalBus, executing message handlers in the given mode.
+	 * 
+	 * @param container
+	 * @param numberOfWorkers - the maximum number of threads in {@link EventBusExecutorMode#PLATFORM} mode
+	 * @param executorMode - the way message handlers are executed
+	 * @param maxConcurrentHandlers - the maximum number of concurrently executing handlers in {@link EventBusExecutorMode#VIRTUAL} mode
+	 * @return
+	 * @since 7.5
+	 */
+	public static IEventBus getBus(IManagedContainer container, int numberOfWorkers, EventBusExecutorMode executorMode, int maxConcurrentHandlers) {
+		return (IEventBus) container.getElement(EventBusConstants.EVENT_BUS_PRODUCT_GROUP,
+				EventBusConstants.PROTOCOL_NAME, String.format("%s:%s:%s:%s:%s", EventBusConstants.GLOBAL_BUS, numberOfWorkers, true, executorMode, maxConcurrentHandlers), true);
+	}
+
 	/**
 	 * Returns with a custom local event bus operating only on the local node.
 	 * 
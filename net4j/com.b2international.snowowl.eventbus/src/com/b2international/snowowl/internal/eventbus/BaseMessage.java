@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,10 @@
 package com.b2international.snowowl.internal.eventbus;
 
 import java.io.IOException;
-import java.io.ObjectStreamClass;
 import java.util.Collections;
 import java.util.Map;
 
 import org.eclipse.net4j.util.CheckUtil;
-import org.eclipse.net4j.util.io.ExtendedDataInputStream;
-import org.eclipse.net4j.util.io.ExtendedIOUtil;
 
 import com.b2international.snowowl.eventbus.IMessage;
 import com.b2international.snowowl.eventbus.net4j.IEventBusProtocol;
@@ -35,7 +32,7 @@ import com.google.common.collect.ImmutableMap;
 
 	private Map<String, String> headers;
 	private String tag;
-	private Object body;
+	private volatile Object body;
 	private String address;
 
 	/*package*/ boolean succeeded = true;
@@ -101,34 +98,25 @@ import com.google.common.collect.ImmutableMap;
 	@Override
 	public <T> T body(Class<T> type, final ClassLoader classLoader) {
 		CheckUtil.checkNull(body, "Body should not be null.");
-		if (body instanceof ExtendedDataInputStream) {
-			synchronized (this) {
-				if (body instanceof ExtendedDataInputStream) {
-					try {
-						Object readObject = null;
-						if (classLoader != null) {
-							readObject = ((ExtendedDataInputStream) body).readObject(new ExtendedIOUtil.ClassResolver() {
-								@Override
-								public Class<?> resolveClass(ObjectStreamClass v) throws ClassNotFoundException {
-									return Class.forName(v.getName(), true, classLoader);
-								}
-							});
-						} else {
-							readObject = ((ExtendedDataInputStream) body).readObject();
-						}
-						if (readObject != null) {
-							body = readObject;
-						}
-					} catch (IOException e) {
-						e.printStackTrace();
+		Object currentBody = body;
+		if (currentBody instanceof EncodedBody) {
+			// concurrent readers may decode the same body without blocking each other, the first decoded instance is kept 
+			try {
+				final Object decodedBody = ((EncodedBody) currentBody).decode(classLoader);
+				synchronized (this) {
+					if (body instanceof EncodedBody) {
+						body = decodedBody;
 					}
+					currentBody = body;
 				}
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Could not decode message body with class: " + type, e);
 			}
 		}
-		if (type.isInstance(body)) {
-			return type.cast(body);
+		if (type.isInstance(currentBody)) {
+			return type.cast(currentBody);
 		}
-		throw new IllegalArgumentException("Could not resolve message body with class: " + type + " body: " + body);
+		throw new IllegalArgumentException("Could not resolve message body with class: " + type + " body: " + currentBody);
 	}
 
 	@Override
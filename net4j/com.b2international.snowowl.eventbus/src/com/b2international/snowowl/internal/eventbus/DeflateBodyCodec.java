@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.internal.eventbus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.b2international.snowowl.eventbus.IMessageBodyCodec;
+
+/**
+ * {@link IMessageBodyCodec} encoding {@link Serializable} message bodies with Java serialization, and compressing the serialized form with
+ * the DEFLATE algorithm if it reaches the configured size. Bodies below the threshold are sent uncompressed, as compressing them costs more
+ * than it saves on the wire.
+ * 
+ * @since 7.5
+ */
+/*package*/ final class DeflateBodyCodec implements IMessageBodyCodec {
+
+	/*package*/ static final byte ID = 1;
+	
+	private static final byte UNCOMPRESSED = 0;
+	private static final byte COMPRESSED = 1;
+	
+	private final JavaSerializationBodyCodec serialization;
+	private final int threshold;
+
+	/**
+	 * @param serialization - the codec to serialize message bodies with
+	 * @param threshold - the minimum serialized size of message bodies to compress, in bytes
+	 */
+	/*package*/ DeflateBodyCodec(JavaSerializationBodyCodec serialization, int threshold) {
+		this.serialization = serialization;
+		this.threshold = threshold;
+	}
+	
+	@Override
+	public byte getId() {
+		return ID;
+	}
+
+	@Override
+	public boolean canEncode(Object body) {
+		return serialization.canEncode(body);
+	}
+
+	@Override
+	public byte[] encode(Object body) throws IOException {
+		final byte[] serialized = serialization.encode(body);
+		if (serialized.length < threshold) {
+			final byte[] bytes = new byte[serialized.length + 1];
+			bytes[0] = UNCOMPRESSED;
+			System.arraycopy(serialized, 0, bytes, 1, serialized.length);
+			return bytes;
+		}
+		
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(serialized.length / 4 + 1);
+		bytes.write(COMPRESSED);
+		final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try (final DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+			out.write(serialized);
+		} finally {
+			deflater.end();
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Object decode(byte[] bytes, ClassLoader classLoader) throws IOException {
+		final ByteArrayInputStream in = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+		switch (bytes[0]) {
+		case UNCOMPRESSED:
+			return serialization.decode(in, classLoader);
+		case COMPRESSED:
+			final Inflater inflater = new Inflater();
+			try {
+				return serialization.decode(new InflaterInputStream(in, inflater), classLoader);
+			} finally {
+				inflater.end();
+			}
+		default:
+			throw new IOException("Unknown compression flag " + bytes[0]);
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.internal.eventbus;
+
+import java.io.IOException;
+
+/**
+ * The encoded form of a message body received from a remote event bus, decoded lazily on first access.
+ * 
+ * @since 7.5
+ */
+/*package*/ final class EncodedBody {
+
+	private final byte codecId;
+	private final byte[] bytes;
+
+	/*package*/ EncodedBody(byte codecId, byte[] bytes) {
+		this.codecId = codecId;
+		this.bytes = bytes;
+	}
+	
+	/*package*/ Object decode(ClassLoader classLoader) throws IOException {
+		return MessageBodyCodecs.getDecoder(codecId).decode(bytes, classLoader);
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("EncodedBody[codec: %s, length: %s]", codecId, bytes.length);
+	}
+	
+}
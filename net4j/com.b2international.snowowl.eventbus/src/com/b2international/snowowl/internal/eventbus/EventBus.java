@@ -34,6 +34,7 @@ import org.eclipse.net4j.util.lifecycle.LifecycleUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.b2international.snowowl.eventbus.EventBusExecutorMode;
 import com.b2international.snowowl.eventbus.IEventBus;
 import com.b2international.snowowl.eventbus.IHandler;
 import com.b2international.snowowl.eventbus.IMessage;
@@ -68,11 +69,32 @@ public class EventBus extends Lifecycle implements IEventBus {
 	}
 	
 	public EventBus(String description, int maxThreads) {
+		this(description, maxThreads, EventBusExecutorMode.PLATFORM, maxThreads);
+	}
+	
+	/**
+	 * @param description - the description of the bus
+	 * @param maxThreads - the maximum number of threads in {@link EventBusExecutorMode#PLATFORM} mode, also used in {@link EventBusExecutorMode#VIRTUAL} mode when virtual threads are not available, <code>0</code> executes handlers on the calling thread
+	 * @param executorMode - the way message handlers are executed
+	 * @param maxConcurrentHandlers - the maximum number of concurrently executing handlers in {@link EventBusExecutorMode#VIRTUAL} mode
+	 * @since 7.5
+	 */
+	public EventBus(String description, int maxThreads, EventBusExecutorMode executorMode, int maxConcurrentHandlers) {
 		CheckUtil.checkArg(description, "Description should be specified");
 		CheckUtil.checkArg(maxThreads >= 0, "Number of workers must be greater than zero");
+		CheckUtil.checkArg(executorMode, "Executor mode should be specified");
 		this.description = description;
-		this.maxThreads = maxThreads;
-		this.executorServiceFactory = maxThreads == 0 ? ExecutorServiceFactory.DIRECT : new WorkerExecutorServiceFactory();
+		if (maxThreads == 0) {
+			this.maxThreads = maxThreads;
+			this.executorServiceFactory = ExecutorServiceFactory.DIRECT;
+		} else if (EventBusExecutorMode.VIRTUAL == executorMode) {
+			CheckUtil.checkArg(maxConcurrentHandlers > 0, "Number of concurrent handlers must be greater than zero");
+			this.maxThreads = maxConcurrentHandlers;
+			this.executorServiceFactory = new VirtualExecutorServiceFactory(maxThreads);
+		} else {
+			this.maxThreads = maxThreads;
+			this.executorServiceFactory = new WorkerExecutorServiceFactory();
+		}
 		
 		// init stat maps with 1-4 concurrencyLevel
 		final int concurrencyLevel = Ints.constrainToRange(maxThreads, 1, 4);
@@ -368,6 +390,9 @@ public class EventBus extends Lifecycle implements IEventBus {
 		@Override
 		public Object create(String description) throws ProductCreationException {
 			final String[] values = description.split(":");
+			if (values.length > 4) {
+				return new EventBus(values[0], Integer.parseInt(values[1]), EventBusExecutorMode.valueOf(values[3]), Integer.parseInt(values[4]));
+			}
 			return new EventBus(values[0], Integer.parseInt(values[1]));
 		}
 
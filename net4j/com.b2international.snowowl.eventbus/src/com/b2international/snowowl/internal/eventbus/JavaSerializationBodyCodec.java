@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.internal.eventbus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+
+import com.b2international.snowowl.eventbus.IMessageBodyCodec;
+
+/**
+ * {@link IMessageBodyCodec} encoding {@link Serializable} message bodies with Java serialization. This codec is used for all message bodies
+ * not supported by any other registered codec.
+ * 
+ * @since 7.5
+ */
+/*package*/ final class JavaSerializationBodyCodec implements IMessageBodyCodec {
+
+	/*package*/ static final byte ID = 0;
+	
+	private static final int INITIAL_BUFFER_SIZE = 512;
+
+	@Override
+	public byte getId() {
+		return ID;
+	}
+
+	@Override
+	public boolean canEncode(Object body) {
+		return body instanceof Serializable;
+	}
+
+	@Override
+	public byte[] encode(Object body) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+		try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(body);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Object decode(byte[] bytes, ClassLoader classLoader) throws IOException {
+		return decode(new ByteArrayInputStream(bytes), classLoader);
+	}
+	
+	/*package*/ Object decode(InputStream bytes, ClassLoader classLoader) throws IOException {
+		try (final ObjectInputStream in = new ClassLoaderObjectInputStream(bytes, classLoader)) {
+			return in.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Could not resolve class of message body", e);
+		}
+	}
+
+	/**
+	 * @since 7.5
+	 */
+	private static final class ClassLoaderObjectInputStream extends ObjectInputStream {
+
+		private final ClassLoader classLoader;
+
+		ClassLoaderObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+			super(in);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			if (classLoader != null) {
+				try {
+					return Class.forName(desc.getName(), false, classLoader);
+				} catch (ClassNotFoundException e) {
+					// fall back to the default resolution (primitive types, classes visible to this bundle)
+				}
+			}
+			return super.resolveClass(desc);
+		}
+
+	}
+
+}
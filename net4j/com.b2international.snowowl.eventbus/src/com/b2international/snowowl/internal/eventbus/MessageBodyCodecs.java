@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.internal.eventbus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.net4j.util.CheckUtil;
+
+import com.b2international.snowowl.eventbus.IMessageBodyCodec;
+
+/**
+ * Registry of {@link IMessageBodyCodec}s available for encoding and decoding message bodies. Codecs registered later take precedence over
+ * the ones registered earlier, Java serialization is used as a fallback for bodies not supported by any registered codec. The fallback
+ * compresses large serialized bodies if a compression threshold is set.
+ * <p>
+ * Bodies encoded with the built-in codecs can always be decoded, regardless of the compression threshold set on the receiving side.
+ * 
+ * @since 7.5
+ */
+public final class MessageBodyCodecs {
+
+	private static final JavaSerializationBodyCodec FALLBACK = new JavaSerializationBodyCodec();
+	
+	// the threshold is used for encoding only, any instance is able to decode
+	private static final DeflateBodyCodec DEFLATE_DECODER = new DeflateBodyCodec(FALLBACK, 0);
+	
+	private static final List<IMessageBodyCodec> CODECS = new CopyOnWriteArrayList<>();
+	
+	private static volatile IMessageBodyCodec defaultEncoder = FALLBACK;
+
+	private MessageBodyCodecs() {}
+	
+	/**
+	 * Registers the given codec. 
+	 * 
+	 * @param codec - the codec to register
+	 * @throws IllegalArgumentException - if a codec with the same identifier is already registered
+	 */
+	public static synchronized void register(IMessageBodyCodec codec) {
+		CheckUtil.checkArg(codec, "codec");
+		CheckUtil.checkArg(codec.getId() != FALLBACK.getId(), "Codec identifier " + codec.getId() + " is reserved for Java serialization");
+		CheckUtil.checkArg(codec.getId() != DEFLATE_DECODER.getId(), "Codec identifier " + codec.getId() + " is reserved for compressed Java serialization");
+		for (IMessageBodyCodec registered : CODECS) {
+			CheckUtil.checkArg(registered.getId() != codec.getId(), "A codec is already registered with identifier " + codec.getId());
+		}
+		CODECS.add(0, codec);
+	}
+	
+	/**
+	 * Unregisters the given codec.
+	 * 
+	 * @param codec - the codec to unregister
+	 */
+	public static void unregister(IMessageBodyCodec codec) {
+		CODECS.remove(codec);
+	}
+	
+	/**
+	 * Sets the minimum serialized size of message bodies encoded with Java serialization to compress before sending.
+	 * 
+	 * @param threshold - the minimum size of bodies to compress in bytes, or zero to disable compression
+	 */
+	public static void setCompressionThreshold(int threshold) {
+		CheckUtil.checkArg(threshold >= 0, "Compression threshold should be greater than or equal to zero");
+		defaultEncoder = threshold == 0 ? FALLBACK : new DeflateBodyCodec(FALLBACK, threshold);
+	}
+	
+	/*package*/ static IMessageBodyCodec getEncoder(Object body) {
+		for (IMessageBodyCodec codec : CODECS) {
+			if (codec.canEncode(body)) {
+				return codec;
+			}
+		}
+		return defaultEncoder;
+	}
+	
+	/*package*/ static IMessageBodyCodec getDecoder(byte id) {
+		if (id == FALLBACK.getId()) {
+			return FALLBACK;
+		}
+		if (id == DEFLATE_DECODER.getId()) {
+			return DEFLATE_DECODER;
+		}
+		for (IMessageBodyCodec codec : CODECS) {
+			if (codec.getId() == id) {
+				return codec;
+			}
+		}
+		throw new IllegalArgumentException("No message body codec is registered with identifier " + id);
+	}
+	
+}
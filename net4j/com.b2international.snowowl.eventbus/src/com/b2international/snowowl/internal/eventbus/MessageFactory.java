@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,10 +15,7 @@
  */
 package com.b2international.snowowl.internal.eventbus;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.Serializable;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -28,6 +25,7 @@ import org.eclipse.net4j.util.io.ExtendedDataOutputStream;
 import org.eclipse.net4j.util.io.ExtendedIOUtil;
 
 import com.b2international.snowowl.eventbus.IMessage;
+import com.b2international.snowowl.eventbus.IMessageBodyCodec;
 import com.b2international.snowowl.eventbus.net4j.IEventBusProtocol;
 import com.google.common.collect.ImmutableMap;
 
@@ -52,16 +50,15 @@ public class MessageFactory {
 
 	public static void writeMessage(ExtendedDataOutputStream out, IMessage message) throws IOException {
 		CheckUtil.checkNull(message, "Message should not be null");
-		CheckUtil.checkArg(message.body() instanceof Serializable, String.format("Message body type should be subtype of Serializable on address: %s, but was %s", message.address(), message.body()));
+		final IMessageBodyCodec codec = MessageBodyCodecs.getEncoder(message.body());
+		CheckUtil.checkArg(codec.canEncode(message.body()), String.format("Message body type should be subtype of Serializable on address: %s, but was %s", message.address(), message.body()));
 		out.writeString(message.address());
 		final String replyAddress = message.replyAddress() == null ? "" : message.replyAddress();
 		out.writeString(replyAddress);
 		out.writeBoolean(message.isSend());
 		out.writeBoolean(message.isSucceeded());
-		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-		ExtendedDataOutputStream wrap = ExtendedDataOutputStream.wrap(stream);
-		ExtendedIOUtil.writeObject(wrap, message.body());
-		ExtendedIOUtil.writeByteArray(out, stream.toByteArray());
+		out.writeByte(codec.getId());
+		ExtendedIOUtil.writeByteArray(out, codec.encode(message.body()));
 		out.writeString(message.tag());
 		// write headers, first the size to know how many key-value pairs will follow
 		out.writeInt(message.headers().size());
@@ -76,6 +73,7 @@ public class MessageFactory {
 		final String replyAddress = in.readString();
 		final boolean send = in.readBoolean();
 		final boolean succeeded = in.readBoolean();
+		final byte codecId = in.readByte();
 		final byte[] body = ExtendedIOUtil.readByteArray(in);
 		final String tag = in.readString();
 		final ImmutableMap.Builder<String, String> headers = ImmutableMap.builder();
@@ -83,7 +81,7 @@ public class MessageFactory {
 		for (int i = 0; i < numberOfHeaders; i++) {
 			headers.put(in.readString(), in.readString());
 		}
-		final BaseMessage message = createMessage(address, ExtendedDataInputStream.wrap(new ByteArrayInputStream(body)), tag, headers.build());
+		final BaseMessage message = createMessage(address, new EncodedBody(codecId, body), tag, headers.build());
 		message.replyAddress = isNullOrEmpty(replyAddress) ? null : replyAddress;
 		message.replyProtocol = protocol;
 		message.send = send;
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.internal.eventbus;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.snowowl.eventbus.BoundedExecutorService;
+import com.b2international.snowowl.eventbus.EventBusExecutorMode;
+
+/**
+ * Creates executors for the {@link EventBusExecutorMode#VIRTUAL} mode. Handlers run on virtual threads when the JVM provides them,
+ * otherwise on platform threads with a reduced stack size which are created on demand and discarded after being idle for a minute. In
+ * both cases the number of concurrently executing handlers is limited by a {@link BoundedExecutorService}. As platform threads are far more
+ * expensive than virtual ones, the fallback never runs more handlers at a time than the {@link EventBusExecutorMode#PLATFORM} mode would.
+ * 
+ * @since 7.5
+ */
+public class VirtualExecutorServiceFactory implements ExecutorServiceFactory {
+
+	private static final Logger LOG = LoggerFactory.getLogger(VirtualExecutorServiceFactory.class);
+	
+	private static final long FALLBACK_THREAD_STACK_SIZE = 512 * 1024;
+	
+	private final int maxPlatformThreads;
+	
+	/**
+	 * @param maxPlatformThreads - the maximum number of platform threads to execute handlers on when virtual threads are not available
+	 */
+	public VirtualExecutorServiceFactory(int maxPlatformThreads) {
+		this.maxPlatformThreads = maxPlatformThreads;
+	}
+	
+	@Override
+	public ExecutorService createExecutorService(String description, int maxConcurrentHandlers) {
+		final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+		if (executor != null) {
+			return new BoundedExecutorService(executor, maxConcurrentHandlers);
+		}
+		
+		final int maxThreads = Math.max(1, Math.min(maxConcurrentHandlers, maxPlatformThreads));
+		LOG.info("Virtual threads are not available, executing at most '{}' concurrent '{}' handlers on on-demand platform threads.", maxThreads, description);
+		return new BoundedExecutorService(newOnDemandThreadPool(description, maxThreads), maxThreads);
+	}
+
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			final Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factoryMethod.invoke(null);
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// virtual threads are present but not enabled (eg. preview feature on JDK 19-20)
+			LOG.debug("Could not create virtual thread executor.", e);
+			return null;
+		}
+	}
+
+	private static ExecutorService newOnDemandThreadPool(String description, int maxThreads) {
+		final ThreadGroup group = new ThreadGroup(description);
+		final ThreadFactory threadFactory = r -> {
+			final Thread thread = new Thread(group, r, description, FALLBACK_THREAD_STACK_SIZE);
+			thread.setName(description + "-" + thread.getId());
+			thread.setDaemon(true);
+			return thread;
+		};
+		
+		// the bounded executor never passes more than maxThreads tasks, so each task either starts a new thread or waits briefly for one that is about to complete
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 1L, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+}
@@ -34,6 +34,7 @@ import static com.b2international.snowowl.snomed.core.rest.SnomedRestFixtures.cr
 import static com.b2international.snowowl.snomed.core.rest.SnomedRestFixtures.inactivateConcept;
 import static com.b2international.snowowl.snomed.core.rest.SnomedRestFixtures.reactivateConcept;
 import static com.b2international.snowowl.snomed.core.rest.SnomedRestFixtures.reserveComponentId;
+import static com.b2international.snowowl.test.commons.rest.RestExtensions.givenAuthenticatedRequest;
 import static com.b2international.snowowl.test.commons.rest.RestExtensions.lastPathSegment;
 import static com.google.common.collect.Maps.newHashMap;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -58,12 +59,14 @@ import org.junit.Test;
 import com.b2international.commons.exceptions.ConflictException;
 import com.b2international.snowowl.core.ApplicationContext;
 import com.b2international.snowowl.core.api.IBranchPath;
+import com.b2international.snowowl.core.config.SnowOwlConfiguration;
 import com.b2international.snowowl.core.domain.IComponent;
 import com.b2international.snowowl.core.domain.TransactionContext;
 import com.b2international.snowowl.core.events.bulk.BulkRequest;
 import com.b2international.snowowl.core.events.bulk.BulkRequestBuilder;
 import com.b2international.snowowl.core.terminology.ComponentCategory;
 import com.b2international.snowowl.datastore.BranchPathUtils;
+import com.b2international.snowowl.datastore.config.RepositoryConfiguration;
 import com.b2international.snowowl.snomed.cis.ISnomedIdentifierService;
 import com.b2international.snowowl.snomed.cis.domain.IdentifierStatus;
 import com.b2international.snowowl.snomed.cis.domain.SctId;
@@ -89,6 +92,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 
+import io.restassured.http.ContentType;
 import io.restassured.response.ValidatableResponse;
 
 /**
@@ -1227,4 +1231,34 @@ public class SnomedConceptApiTest extends AbstractSnomedApiTest {
 		});
 	}
 	
+	@Test
+	public void searchWithTermMatchLimit() throws Exception {
+		searchWithTermMatchLimit(10).statusCode(200);
+	}
+	
+	@Test
+	public void searchWithNonPositiveTermMatchLimit() throws Exception {
+		searchWithTermMatchLimit(0).statusCode(400);
+	}
+	
+	@Test
+	public void searchWithTermMatchLimitAboveResultWindow() throws Exception {
+		final int resultWindow = ApplicationContext.getServiceForClass(SnowOwlConfiguration.class)
+				.getModuleConfig(RepositoryConfiguration.class)
+				.getIndexConfiguration()
+				.getResultWindow();
+		
+		searchWithTermMatchLimit(resultWindow).statusCode(200);
+		searchWithTermMatchLimit(resultWindow + 1).statusCode(400);
+	}
+	
+	private ValidatableResponse searchWithTermMatchLimit(int termMatchLimit) {
+		return givenAuthenticatedRequest(SnomedApiTestConstants.SCT_API)
+				.accept(ContentType.JSON)
+				.queryParam("term", "concept")
+				.queryParam("termMatchLimit", termMatchLimit)
+				.get("/{path:**}/concepts", branchPath.getPath())
+				.then();
+	}
+	
 }
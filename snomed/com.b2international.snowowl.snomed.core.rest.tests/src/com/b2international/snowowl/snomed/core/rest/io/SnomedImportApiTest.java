@@ -32,24 +32,38 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.StreamSupport;
 
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import com.b2international.commons.platform.PlatformUtil;
+import com.b2international.snowowl.core.ApplicationContext;
 import com.b2international.snowowl.core.api.IBranchPath;
+import com.b2international.snowowl.core.attachments.AttachmentRegistry;
 import com.b2international.snowowl.core.domain.IComponent;
+import com.b2international.snowowl.datastore.BranchPathUtils;
+import com.b2international.snowowl.identity.domain.User;
 import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
 import com.b2international.snowowl.snomed.common.SnomedRf2Headers;
+import com.b2international.snowowl.snomed.common.SnomedTerminologyComponentConstants;
 import com.b2international.snowowl.snomed.core.domain.ISnomedImportConfiguration.ImportStatus;
 import com.b2international.snowowl.snomed.core.domain.Rf2ReleaseType;
 import com.b2international.snowowl.snomed.core.domain.SnomedConcept;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSetMember;
 import com.b2international.snowowl.snomed.core.rest.AbstractSnomedApiTest;
 import com.b2international.snowowl.snomed.core.rest.SnomedComponentType;
+import com.b2international.snowowl.snomed.datastore.SnomedDatastoreActivator;
+import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfiguration;
+import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
+import com.b2international.snowowl.snomed.datastore.request.rf2.Rf2ImportResponse;
 import com.google.common.collect.ImmutableMap;
 
 import io.restassured.response.ValidatableResponse;
@@ -489,6 +503,71 @@ public class SnomedImportApiTest extends AbstractSnomedApiTest {
 		
 	}
 	
+	@Test
+	public void import29BulkLoadMatchesRegularImport() throws Exception {
+		final IBranchPath regularPath = BranchPathUtils.createPath(branchPath, "regular");
+		final IBranchPath bulkPath = BranchPathUtils.createPath(branchPath, "bulk");
+		branching.createBranch(regularPath).statusCode(201);
+		branching.createBranch(bulkPath).statusCode(201);
+		
+		final String[] archives = { 
+			"SnomedCT_Release_INT_20150131_new_concept.zip",
+			"SnomedCT_Release_INT_20150201_new_description.zip",
+			"SnomedCT_Release_INT_20150202_new_relationship.zip",
+			"SnomedCT_Release_INT_20150203_change_pt.zip",
+			"SnomedCT_Release_INT_20150204_inactivate_concept.zip",
+			"SnomedCT_Release_INT_20150201_descriptions_with_multiple_language_codes.zip"
+		};
+		
+		// a batch size of 1 splits each effective time slice into several batches, so the bulk import defers its commit over multiple batches
+		final SnomedCoreConfiguration configuration = ApplicationContext.getServiceForClass(SnomedCoreConfiguration.class);
+		final int importBatchSize = configuration.getImportBatchSize();
+		configuration.setImportBatchSize(1);
+		try {
+			for (final String archive : archives) {
+				importArchive(archive, regularPath, false);
+				importArchive(archive, bulkPath, true);
+			}
+		} finally {
+			configuration.setImportBatchSize(importBatchSize);
+		}
+		
+		assertSameComponent(regularPath, bulkPath, SnomedComponentType.CONCEPT, "63961392103", "pt()");
+		assertSameComponent(regularPath, bulkPath, SnomedComponentType.DESCRIPTION, "13809498114");
+		assertSameComponent(regularPath, bulkPath, SnomedComponentType.DESCRIPTION, "11320138110");
+		assertSameComponent(regularPath, bulkPath, SnomedComponentType.DESCRIPTION, "41320138114");
+		assertSameComponent(regularPath, bulkPath, SnomedComponentType.DESCRIPTION, "24688171113");
+		assertSameComponent(regularPath, bulkPath, SnomedComponentType.RELATIONSHIP, "24088071128");
+		assertSameComponent(regularPath, bulkPath, SnomedComponentType.MEMBER, "34d07985-48a0-41e7-b6ec-b28e6b00adfc");
+		assertSameComponent(regularPath, bulkPath, SnomedComponentType.MEMBER, "34d07985-48a0-41e7-b6ec-b28e6b00adfb");
+	}
+	
+	private void importArchive(final String fileName, final IBranchPath path, final boolean bulkLoad) throws IOException {
+		final UUID archiveId = UUID.randomUUID();
+		try (final InputStream in = new FileInputStream(PlatformUtil.toAbsolutePath(getClass(), fileName).toFile())) {
+			ApplicationContext.getServiceForClass(AttachmentRegistry.class).upload(archiveId, in);
+		}
+		
+		final Rf2ImportResponse response = SnomedRequests.rf2().prepareImport()
+				.setRf2ArchiveId(archiveId)
+				.setReleaseType(Rf2ReleaseType.DELTA)
+				.setCreateVersions(false)
+				.setBulkLoad(bulkLoad)
+				.setCodeSystemShortName(SnomedTerminologyComponentConstants.SNOMED_SHORT_NAME)
+				.setUserId(User.SYSTEM.getUsername())
+				.build(SnomedDatastoreActivator.REPOSITORY_UUID, path.getPath())
+				.execute(getBus())
+				.getSync();
+		
+		assertEquals(ImportStatus.COMPLETED, response.getStatus());
+	}
+	
+	private void assertSameComponent(final IBranchPath expectedPath, final IBranchPath actualPath, final SnomedComponentType type, final String id, final String... expand) {
+		final String expected = getComponent(expectedPath, type, id, expand).statusCode(200).extract().asString();
+		final String actual = getComponent(actualPath, type, id, expand).statusCode(200).extract().asString();
+		assertEquals(expected, actual);
+	}
+	
 	private void validateBranchHeadtimestampUpdate(IBranchPath branch, String importArchiveFileName,
 			boolean createVersions) {
 
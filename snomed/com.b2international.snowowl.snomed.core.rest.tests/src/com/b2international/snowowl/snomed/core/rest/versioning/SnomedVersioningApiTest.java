@@ -15,14 +15,30 @@
  */
 package com.b2international.snowowl.snomed.core.rest.versioning;
 
+import static com.b2international.snowowl.core.ApplicationContext.getServiceForClass;
 import static com.b2international.snowowl.snomed.common.SnomedTerminologyComponentConstants.SNOMED_SHORT_NAME;
+import static com.b2international.snowowl.snomed.core.rest.CodeSystemRestRequests.createCodeSystem;
 import static com.b2international.snowowl.snomed.core.rest.CodeSystemVersionRestRequests.createVersion;
 import static com.b2international.snowowl.snomed.core.rest.CodeSystemVersionRestRequests.getNextAvailableEffectiveDateAsString;
 import static com.b2international.snowowl.snomed.core.rest.CodeSystemVersionRestRequests.getVersion;
+import static com.b2international.snowowl.snomed.core.rest.SnomedComponentRestRequests.getComponent;
+import static com.b2international.snowowl.snomed.core.rest.SnomedRestFixtures.createNewConcept;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.everyItem;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
+import com.b2international.snowowl.core.branch.Branch;
+import com.b2international.snowowl.datastore.request.RepositoryRequests;
 import com.b2international.snowowl.snomed.core.rest.AbstractSnomedApiTest;
+import com.b2international.snowowl.snomed.core.rest.SnomedComponentType;
+import com.b2international.snowowl.snomed.datastore.SnomedDatastoreActivator;
+import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfiguration;
+import com.google.common.collect.Lists;
 
 /**
  * @since 2.0
@@ -50,6 +66,52 @@ public class SnomedVersioningApiTest extends AbstractSnomedApiTest {
 		getVersion(SNOMED_SHORT_NAME, "regular-version").statusCode(200);
 	}
 
+	@Test
+	public void createVersionInMultipleChunks() {
+		final List<String> conceptIds = Lists.newArrayList();
+		for (int i = 0; i < 3; i++) {
+			conceptIds.add(createNewConcept(branchPath));
+		}
+		
+		String shortName = "SNOMEDCT-VERSION-CHUNKS";
+		createCodeSystem(branchPath, shortName).statusCode(201);
+		String effectiveDate = getNextAvailableEffectiveDateAsString(shortName);
+		
+		// each new concept comes with descriptions, a relationship and language members, so a chunk size of 2 results in many chunks
+		final SnomedCoreConfiguration configuration = getServiceForClass(SnomedCoreConfiguration.class);
+		final int versioningChunkSize = configuration.getVersioningChunkSize();
+		configuration.setVersioningChunkSize(2);
+		try {
+			createVersion(shortName, "v1", effectiveDate).statusCode(201);
+		} finally {
+			configuration.setVersioningChunkSize(versioningChunkSize);
+		}
+		getVersion(shortName, "v1").statusCode(200).body("effectiveDate", equalTo(effectiveDate));
+		
+		for (String conceptId : conceptIds) {
+			getComponent(branchPath, SnomedComponentType.CONCEPT, conceptId, "descriptions()", "relationships()").statusCode(200)
+				.body("released", equalTo(true))
+				.body("effectiveTime", equalTo(effectiveDate))
+				.body("descriptions.items.released", everyItem(equalTo(true)))
+				.body("descriptions.items.effectiveTime", everyItem(equalTo(effectiveDate)))
+				.body("relationships.items.released", everyItem(equalTo(true)))
+				.body("relationships.items.effectiveTime", everyItem(equalTo(effectiveDate)));
+		}
+		
+		// the temporary branch of the chunks is removed after merging, only the version branch remains
+		final List<String> childBranches = RepositoryRequests.branching()
+				.prepareSearch()
+				.filterByParent(branchPath.getPath())
+				.build(SnomedDatastoreActivator.REPOSITORY_UUID)
+				.execute(getBus())
+				.getSync()
+				.stream()
+				.filter(branch -> !branch.isDeleted())
+				.map(Branch::name)
+				.collect(Collectors.toList());
+		assertThat(childBranches).containsOnly("v1");
+	}
+
 	@Test
 	public void createVersionWithSameNameAsBranch() {
 		createVersion(SNOMED_SHORT_NAME, "SnomedVersioningApiTest", getNextAvailableEffectiveDateAsString(SNOMED_SHORT_NAME)).statusCode(409);
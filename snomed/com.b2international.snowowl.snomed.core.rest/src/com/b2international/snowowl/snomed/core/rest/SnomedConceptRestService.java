@@ -124,6 +124,7 @@ public class SnomedConceptRestService extends AbstractSnomedRestService {
 					.filterByStatedEcl(params.getStatedEcl())
 					.filterByQuery(params.getQuery())
 					.filterByTerm(params.getTerm())
+					.withTermMatchLimit(params.getTermMatchLimit())
 					.filterByDescriptionLanguageRefSet(acceptLanguage)
 					.filterByDescriptionType(params.getDescriptionType())
 					.filterByDescriptionSemanticTags(params.getSemanticTag() == null ? null : ImmutableSet.copyOf(params.getSemanticTag()))
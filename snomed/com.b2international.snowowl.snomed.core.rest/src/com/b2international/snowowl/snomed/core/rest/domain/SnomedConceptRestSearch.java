@@ -50,6 +50,8 @@ public final class SnomedConceptRestSearch extends ResourceRestSearch {
 	private String[] semanticTag;
 	@ApiParam(value = "The description term to match")
 	private String term;
+	@ApiParam(value = "The number of top scoring concepts to consider when matching the description term (recommended for type-ahead searches)")
+	private Integer termMatchLimit;
 	@ApiParam(value = "Description type ECL expression to match")
 	private String descriptionType;
 
@@ -166,6 +168,14 @@ public final class SnomedConceptRestSearch extends ResourceRestSearch {
 	public void setTerm(String term) {
 		this.term = term;
 	}
+	
+	public Integer getTermMatchLimit() {
+		return termMatchLimit;
+	}
+	
+	public void setTermMatchLimit(Integer termMatchLimit) {
+		this.termMatchLimit = termMatchLimit;
+	}
 
 	public String[] getSemanticTag() {
 		return semanticTag;
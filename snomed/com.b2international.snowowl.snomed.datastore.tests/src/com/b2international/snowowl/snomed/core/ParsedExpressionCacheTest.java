@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import org.eclipse.xtext.parser.IParser;
+import org.eclipse.xtext.serializer.ISerializer;
+import org.eclipse.xtext.validation.IResourceValidator;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.commons.exceptions.SyntaxException;
+import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
+import com.b2international.snowowl.snomed.core.ecl.DefaultEclParser;
+import com.b2international.snowowl.snomed.core.ecl.DefaultEclSerializer;
+import com.b2international.snowowl.snomed.core.ecl.EclParser;
+import com.b2international.snowowl.snomed.core.ecl.EclSerializer;
+import com.b2international.snowowl.snomed.ecl.EclStandaloneSetup;
+import com.b2international.snowowl.snomed.ecl.ecl.DescendantOf;
+import com.b2international.snowowl.snomed.ecl.ecl.EclFactory;
+import com.b2international.snowowl.snomed.ecl.ecl.ExpressionConstraint;
+import com.google.common.base.Strings;
+import com.google.inject.Injector;
+
+/**
+ * @since 7.5
+ */
+public class ParsedExpressionCacheTest {
+
+	private static final String ECL = "<" + Concepts.ROOT_CONCEPT;
+	
+	private ParsedExpressionCache<ExpressionConstraint> cache;
+	private EclParser parser;
+	private EclSerializer serializer;
+
+	@Before
+	public void setup() {
+		final Injector injector = new EclStandaloneSetup().createInjectorAndDoEMFRegistration();
+		cache = new ParsedExpressionCache<>(10);
+		parser = new DefaultEclParser(injector.getInstance(IParser.class), injector.getInstance(IResourceValidator.class), cache);
+		serializer = new DefaultEclSerializer(injector.getInstance(ISerializer.class));
+	}
+	
+	@Test
+	public void repeatedExpressionIsServedFromCache() throws Exception {
+		final ExpressionConstraint first = parser.parse(ECL);
+		final ExpressionConstraint second = parser.parse(ECL);
+		
+		assertThat(serializer.serialize(second)).isEqualTo(serializer.serialize(first));
+		assertThat(cache.getStats().missCount()).isEqualTo(1L);
+		assertThat(cache.getStats().hitCount()).isEqualTo(1L);
+	}
+	
+	@Test
+	public void cachedExpressionIsNotShared() throws Exception {
+		final DescendantOf first = (DescendantOf) parser.parse(ECL);
+		final String expected = serializer.serialize(first);
+		first.setConstraint(EclFactory.eINSTANCE.createAny());
+		
+		final ExpressionConstraint second = parser.parse(ECL);
+		
+		assertThat(second).isNotSameAs(first);
+		assertThat(serializer.serialize(second)).isEqualTo(expected);
+	}
+	
+	@Test
+	public void syntaxErrorIsCached() throws Exception {
+		final SyntaxException first = parseWithSyntaxError("<<");
+		final SyntaxException second = parseWithSyntaxError("<<");
+		
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getLanguage()).isEqualTo(first.getLanguage());
+		assertThat(second.getErrors()).isNotEmpty().isEqualTo(first.getErrors());
+		assertThat(cache.getStats().missCount()).isEqualTo(1L);
+		assertThat(cache.getStats().hitCount()).isEqualTo(1L);
+	}
+	
+	@Test
+	public void cacheIsBounded() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			parser.parse(ECL + Strings.repeat(" ", i));
+		}
+		
+		assertThat(cache.getSize()).isLessThanOrEqualTo(10L);
+	}
+	
+	private SyntaxException parseWithSyntaxError(String expression) {
+		try {
+			parser.parse(expression);
+			fail("Expected a syntax error for expression: " + expression);
+			return null;
+		} catch (SyntaxException e) {
+			return e;
+		}
+	}
+	
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.core.ecl;
+
+import static org.junit.Assert.assertNotNull;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.databene.contiperf.junit.ContiPerfRuleExt;
+import org.eclipse.xtext.parser.IParser;
+import org.eclipse.xtext.validation.IResourceValidator;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
+import com.b2international.snowowl.snomed.core.ParsedExpressionCache;
+import com.b2international.snowowl.snomed.ecl.EclStandaloneSetup;
+import com.google.inject.Injector;
+
+/**
+ * Compares the throughput of parsing the same refined ECL expression repeatedly with and without the parsed expression cache.
+ * 
+ * @since 7.5
+ */
+public class DefaultEclParserPerformanceTest {
+
+	private static final String ECL = String.format("<%s : [1..*] { %s = <<%s, %s = <<%s }", 
+			Concepts.ROOT_CONCEPT, 
+			Concepts.HAS_ACTIVE_INGREDIENT, Concepts.SUBSTANCE,
+			Concepts.IS_A, Concepts.ROOT_CONCEPT);
+	
+	private static final Injector INJECTOR = new EclStandaloneSetup().createInjectorAndDoEMFRegistration();
+	
+	private static final EclParser UNCACHED_PARSER = new DefaultEclParser(INJECTOR.getInstance(IParser.class), INJECTOR.getInstance(IResourceValidator.class));
+	private static final EclParser CACHED_PARSER = new DefaultEclParser(INJECTOR.getInstance(IParser.class), INJECTOR.getInstance(IResourceValidator.class), new ParsedExpressionCache<>(100));
+	
+	@Rule
+	public ContiPerfRule rule = new ContiPerfRuleExt();
+	
+	@Test
+	@PerfTest(invocations = 10_000, threads = 4)
+	public void parseWithoutCache() throws Exception {
+		assertNotNull(UNCACHED_PARSER.parse(ECL));
+	}
+	
+	@Test
+	@PerfTest(invocations = 10_000, threads = 4)
+	public void parseWithCache() throws Exception {
+		assertNotNull(CACHED_PARSER.parse(ECL));
+	}
+	
+}
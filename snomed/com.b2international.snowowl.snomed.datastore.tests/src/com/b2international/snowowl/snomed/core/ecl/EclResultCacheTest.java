@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.core.ecl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.snowowl.snomed.core.tree.Trees;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * @since 7.5
+ */
+public class EclResultCacheTest {
+
+	private static final String MAIN = "MAIN";
+	private static final String ECL = "<<404684003";
+	private static final Set<String> IDS = ImmutableSet.of("404684003", "64572001");
+
+	private EclResultCache cache;
+
+	@Before
+	public void setup() {
+		cache = new EclResultCache(1024L * 1024L);
+	}
+
+	@Test
+	public void hit() throws Exception {
+		cache.put(MAIN, 1L, 10L, ECL, Trees.INFERRED_FORM, IDS);
+		assertThat(cache.get(MAIN, 1L, 10L, ECL, Trees.INFERRED_FORM)).isEqualTo(IDS);
+		assertThat(cache.get(MAIN, 1L, 10L, " <<  404684003\n", Trees.INFERRED_FORM)).isEqualTo(IDS);
+		assertThat(cache.getStats().hitCount()).isEqualTo(2L);
+	}
+
+	@Test
+	public void missOnDifferentExpressionForm() throws Exception {
+		cache.put(MAIN, 1L, 10L, ECL, Trees.INFERRED_FORM, IDS);
+		assertThat(cache.get(MAIN, 1L, 10L, ECL, Trees.STATED_FORM)).isNull();
+		assertThat(cache.get("MAIN/a", 1L, 10L, ECL, Trees.INFERRED_FORM)).isNull();
+	}
+
+	@Test
+	public void invalidateOnHeadChange() throws Exception {
+		cache.put(MAIN, 1L, 10L, ECL, Trees.INFERRED_FORM, IDS);
+		cache.put(MAIN, 1L, 10L, "<404684003", Trees.INFERRED_FORM, ImmutableSet.of("64572001"));
+		assertThat(cache.get(MAIN, 1L, 20L, ECL, Trees.INFERRED_FORM)).isNull();
+
+		cache.put(MAIN, 1L, 20L, ECL, Trees.INFERRED_FORM, ImmutableSet.of("404684003"));
+		assertThat(cache.getSize()).isEqualTo(1L);
+		assertThat(cache.get(MAIN, 1L, 10L, ECL, Trees.INFERRED_FORM)).isNull();
+		assertThat(cache.get(MAIN, 1L, 20L, ECL, Trees.INFERRED_FORM)).containsOnly("404684003");
+
+		// results of an outdated head are not registered
+		cache.put(MAIN, 1L, 10L, ECL, Trees.INFERRED_FORM, IDS);
+		assertThat(cache.getSize()).isEqualTo(1L);
+	}
+
+	@Test
+	public void quotedTermsAreNotNormalized() throws Exception {
+		assertThat(EclResultCache.normalize(" <  404684003 {{ term = \"heart  attack\" }} ")).isEqualTo("< 404684003 {{ term = \"heart  attack\" }}");
+	}
+
+	@Test
+	public void returnedSetIsDetached() throws Exception {
+		cache.put(MAIN, 1L, 10L, ECL, Trees.INFERRED_FORM, IDS);
+		cache.get(MAIN, 1L, 10L, ECL, Trees.INFERRED_FORM).clear();
+		assertThat(cache.get(MAIN, 1L, 10L, ECL, Trees.INFERRED_FORM)).isEqualTo(IDS);
+		assertThat(cache.getEstimatedWeightInBytes()).isPositive();
+	}
+
+}
@@ -19,6 +19,9 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.b2international.snowowl.snomed.core.ParsedExpressionCacheTest;
+import com.b2international.snowowl.snomed.core.ecl.DefaultEclParserPerformanceTest;
+import com.b2international.snowowl.snomed.core.ecl.EclResultCacheTest;
 import com.b2international.snowowl.snomed.core.ecl.SnomedEclEvaluationRequestTest;
 import com.b2international.snowowl.snomed.core.ecl.SnomedEclRewriterTest;
 import com.b2international.snowowl.snomed.core.ecl.SnomedStatedEclEvaluationTest;
@@ -26,10 +29,12 @@ import com.b2international.snowowl.snomed.core.ql.SnomedQueryEvaluationRequestTe
 import com.b2international.snowowl.snomed.core.tree.TerminologyTreeTest;
 import com.b2international.snowowl.snomed.datastore.id.memory.DefaultSnomedIdentifierServiceRegressionTest;
 import com.b2international.snowowl.snomed.datastore.id.memory.DefaultSnomedIdentifierServiceTest;
+import com.b2international.snowowl.snomed.datastore.id.pool.PooledSnomedIdentifierServiceTest;
 import com.b2international.snowowl.snomed.datastore.index.change.ConceptChangeProcessorAxiomTest;
 import com.b2international.snowowl.snomed.datastore.index.change.DescriptionChangeProcessorTest;
 import com.b2international.snowowl.snomed.datastore.index.change.PreferredDescriptionPreCommitHookTest;
 import com.b2international.snowowl.snomed.datastore.index.change.RelationshipChangeProcessorTest;
+import com.b2international.snowowl.snomed.datastore.index.change.TaxonomyGraphCachePreCommitHookTest;
 import com.b2international.snowowl.snomed.datastore.index.change.TaxonomyPreCommitHookTest;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptDocumentTermSortTest;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptIndexEntrySerializationTest;
@@ -40,6 +45,8 @@ import com.b2international.snowowl.snomed.datastore.index.entry.SnomedRelationsh
 import com.b2international.snowowl.snomed.datastore.internal.id.SnomedIdentifierTest;
 import com.b2international.snowowl.snomed.datastore.internal.id.reservations.ReservationImplTest;
 import com.b2international.snowowl.snomed.datastore.internal.id.reservations.SnomedIdentifierReservationServiceImplTest;
+import com.b2international.snowowl.snomed.datastore.request.rf2.exporter.Rf2RowWriterTest;
+import com.b2international.snowowl.snomed.datastore.taxonomy.TaxonomyGraphTest;
 import com.b2international.snowowl.snomed.validation.SnomedQueryValidationRuleEvaluatorTest;
 
 /**
@@ -54,6 +61,7 @@ import com.b2international.snowowl.snomed.validation.SnomedQueryValidationRuleEv
 	SnomedIdentifierReservationServiceImplTest.class,
 	DefaultSnomedIdentifierServiceTest.class,
 	DefaultSnomedIdentifierServiceRegressionTest.class,
+	PooledSnomedIdentifierServiceTest.class,
 	// index document test cases 
 	SnomedConceptIndexEntrySerializationTest.class,
 	SnomedRelationshipIndexEntrySerializationTest.class,
@@ -65,14 +73,21 @@ import com.b2international.snowowl.snomed.validation.SnomedQueryValidationRuleEv
 	DescriptionChangeProcessorTest.class,
 	RelationshipChangeProcessorTest.class,
 	TaxonomyPreCommitHookTest.class,
+	TaxonomyGraphCachePreCommitHookTest.class,
 	PreferredDescriptionPreCommitHookTest.class,
 	ConceptChangeProcessorAxiomTest.class,
+	TaxonomyGraphTest.class,
 	// ECL test cases
 	SnomedEclEvaluationRequestTest.class,
 	SnomedStatedEclEvaluationTest.class,
 	SnomedEclRewriterTest.class,
+	EclResultCacheTest.class,
+	ParsedExpressionCacheTest.class,
+	DefaultEclParserPerformanceTest.class,
 	SnomedQueryEvaluationRequestTest.class,
 	SnomedQueryValidationRuleEvaluatorTest.class,
+	// RF2 test cases
+	Rf2RowWriterTest.class,
 })
 public class AllSnomedDatastoreTests {
 
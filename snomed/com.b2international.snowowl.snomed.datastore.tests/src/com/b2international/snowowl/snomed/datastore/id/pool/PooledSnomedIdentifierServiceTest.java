@@ -0,0 +1,256 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.id.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.index.Index;
+import com.b2international.index.Indexes;
+import com.b2international.index.mapping.Mappings;
+import com.b2international.index.query.Expressions;
+import com.b2international.index.query.Query;
+import com.b2international.snowowl.core.terminology.ComponentCategory;
+import com.b2international.snowowl.snomed.cis.ISnomedIdentifierService;
+import com.b2international.snowowl.snomed.cis.SnomedIdentifierConfiguration;
+import com.b2international.snowowl.snomed.cis.SnomedIdentifiers;
+import com.b2international.snowowl.snomed.cis.domain.IdentifierStatus;
+import com.b2international.snowowl.snomed.cis.domain.SctId;
+import com.b2international.snowowl.snomed.cis.gen.SequentialItemIdGenerationStrategy;
+import com.b2international.snowowl.snomed.cis.internal.reservations.SnomedIdentifierReservationServiceImpl;
+import com.b2international.snowowl.snomed.cis.memory.DefaultSnomedIdentifierService;
+import com.b2international.snowowl.snomed.cis.pool.PooledSnomedIdentifierService;
+import com.b2international.snowowl.snomed.cis.reservations.ISnomedIdentifierReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * @since 7.5
+ */
+public class PooledSnomedIdentifierServiceTest {
+
+	private static final int BLOCK_SIZE = 10;
+	private static final int LOW_WATER_MARK = 2;
+	private static final long EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(10L);
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	private Index store;
+	private DefaultSnomedIdentifierService delegate;
+	private PooledSnomedIdentifierService service;
+
+	@Before
+	public void init() {
+		store = Indexes.createIndex(UUID.randomUUID().toString(), new ObjectMapper(), new Mappings(SctId.class));
+		store.admin().create();
+
+		final ISnomedIdentifierReservationService reservationService = new SnomedIdentifierReservationServiceImpl();
+		delegate = new DefaultSnomedIdentifierService(store, new SequentialItemIdGenerationStrategy(reservationService), reservationService, new SnomedIdentifierConfiguration());
+
+		final Ticker ticker = new Ticker() {
+			@Override
+			public long read() {
+				return nanos.get();
+			}
+		};
+
+		service = new PooledSnomedIdentifierService(delegate, BLOCK_SIZE, LOW_WATER_MARK, EXPIRY_NANOS, ticker, MoreExecutors.newDirectExecutorService());
+	}
+
+	@After
+	public void after() {
+		store.admin().delete();
+	}
+
+	@Test
+	public void firstGenerationFillsPool() throws Exception {
+		final Set<String> ids = service.generate(null, ComponentCategory.CONCEPT, 1);
+
+		assertThat(ids).hasSize(1);
+		assertThat(delegate.getSctIds(ids).values()).allMatch(SctId::isAssigned);
+		assertThat(service.getPoolSize(null, ComponentCategory.CONCEPT)).isEqualTo(BLOCK_SIZE);
+	}
+
+	@Test
+	public void generateTakesIdsFromPool() throws Exception {
+		service.generate(null, ComponentCategory.CONCEPT, 1);
+
+		final Map<String, SctId> sctIds = service.generateSctIds(null, ComponentCategory.CONCEPT, 3);
+
+		assertThat(sctIds).hasSize(3);
+		assertThat(sctIds.values()).allMatch(SctId::isAssigned);
+		assertThat(delegate.getSctIds(sctIds.keySet()).values()).allMatch(SctId::isAssigned);
+		assertThat(service.getPoolSize(null, ComponentCategory.CONCEPT)).isEqualTo(BLOCK_SIZE - 3);
+	}
+
+	@Test
+	public void poolIsRefilledAtLowWaterMark() throws Exception {
+		service.generate(null, ComponentCategory.DESCRIPTION, 1);
+		service.generate(null, ComponentCategory.DESCRIPTION, BLOCK_SIZE - LOW_WATER_MARK);
+
+		assertThat(service.getPoolSize(null, ComponentCategory.DESCRIPTION)).isEqualTo(LOW_WATER_MARK + BLOCK_SIZE);
+	}
+
+	@Test
+	public void poolsAreSeparatedByNamespaceAndCategory() throws Exception {
+		service.generate(null, ComponentCategory.CONCEPT, 1);
+		final Set<String> ids = service.generate("1000154", ComponentCategory.RELATIONSHIP, 2);
+
+		assertThat(ids).allMatch(id -> "1000154".equals(SnomedIdentifiers.getNamespace(id)));
+		assertThat(service.getPoolSize(null, ComponentCategory.RELATIONSHIP)).isZero();
+		assertThat(service.getPoolSize("1000154", ComponentCategory.RELATIONSHIP)).isEqualTo(BLOCK_SIZE);
+	}
+
+	@Test
+	public void expiredIdsAreReleased() throws Exception {
+		service.generate(null, ComponentCategory.CONCEPT, 1);
+		final Set<String> pooledIds = reserved();
+
+		nanos.addAndGet(EXPIRY_NANOS);
+		final Set<String> ids = service.generate(null, ComponentCategory.CONCEPT, 2);
+
+		assertThat(ids).doesNotContainAnyElementsOf(pooledIds);
+		assertThat(delegate.getSctIds(pooledIds).values()).allMatch(SctId::isAvailable);
+	}
+
+	@Test
+	public void disposeReleasesPooledIds() throws Exception {
+		final ISnomedIdentifierService mockDelegate = mock(ISnomedIdentifierService.class);
+		final Set<String> pooledIds = ImmutableSet.of("100005", "101009");
+		when(mockDelegate.generateSctIds(any(), eq(ComponentCategory.CONCEPT), anyInt())).thenReturn(ImmutableMap.of());
+		when(mockDelegate.reserve(any(), eq(ComponentCategory.CONCEPT), eq(BLOCK_SIZE))).thenReturn(pooledIds);
+
+		final PooledSnomedIdentifierService pooledService = new PooledSnomedIdentifierService(mockDelegate, BLOCK_SIZE, LOW_WATER_MARK, EXPIRY_NANOS, Ticker.systemTicker(), MoreExecutors.newDirectExecutorService());
+		pooledService.generate(null, ComponentCategory.CONCEPT, 1);
+		pooledService.dispose();
+
+		assertThat(pooledService.isDisposed()).isTrue();
+		assertThat(pooledService.getPoolSize(null, ComponentCategory.CONCEPT)).isZero();
+		verify(mockDelegate).release(pooledIds);
+	}
+
+	@Test
+	public void failedRegistrationReleasesPooledIds() throws Exception {
+		final ISnomedIdentifierService mockDelegate = mock(ISnomedIdentifierService.class);
+		when(mockDelegate.generateSctIds(any(), eq(ComponentCategory.CONCEPT), anyInt())).thenReturn(ImmutableMap.of());
+		when(mockDelegate.reserve(any(), eq(ComponentCategory.CONCEPT), eq(BLOCK_SIZE))).thenReturn(ImmutableSet.of("100005", "101009"));
+		when(mockDelegate.getSctIds(ImmutableSet.of("100005"))).thenReturn(ImmutableMap.of("100005", sctId("100005", IdentifierStatus.RESERVED)));
+		when(mockDelegate.register(any())).thenThrow(new IllegalStateException("Registration failed"));
+
+		final PooledSnomedIdentifierService pooledService = new PooledSnomedIdentifierService(mockDelegate, BLOCK_SIZE, LOW_WATER_MARK, EXPIRY_NANOS, Ticker.systemTicker(), MoreExecutors.newDirectExecutorService());
+		pooledService.generate(null, ComponentCategory.CONCEPT, 1);
+		final Set<String> ids = pooledService.generate(null, ComponentCategory.CONCEPT, 1);
+
+		assertThat(ids).doesNotContain("100005");
+		verify(mockDelegate).release(ImmutableSet.of("100005"));
+		verify(mockDelegate, times(2)).generateSctIds("", ComponentCategory.CONCEPT, 1);
+	}
+
+	@Test
+	public void unassignedPooledIdsAreReleased() throws Exception {
+		final ISnomedIdentifierService mockDelegate = mock(ISnomedIdentifierService.class);
+		when(mockDelegate.generateSctIds(any(), eq(ComponentCategory.CONCEPT), anyInt())).thenReturn(ImmutableMap.of());
+		when(mockDelegate.reserve(any(), eq(ComponentCategory.CONCEPT), eq(BLOCK_SIZE))).thenReturn(ImmutableSet.of("100005", "101009"));
+		when(mockDelegate.getSctIds(ImmutableSet.of("100005", "101009"))).thenReturn(ImmutableMap.of(
+				"100005", sctId("100005", IdentifierStatus.RESERVED), 
+				"101009", sctId("101009", IdentifierStatus.RESERVED)));
+		when(mockDelegate.register(ImmutableSet.of("100005", "101009"))).thenReturn(ImmutableMap.of(
+				"100005", sctId("100005", IdentifierStatus.ASSIGNED), 
+				"101009", sctId("101009", IdentifierStatus.RESERVED)));
+
+		final PooledSnomedIdentifierService pooledService = new PooledSnomedIdentifierService(mockDelegate, BLOCK_SIZE, LOW_WATER_MARK, EXPIRY_NANOS, Ticker.systemTicker(), MoreExecutors.newDirectExecutorService());
+		pooledService.generate(null, ComponentCategory.CONCEPT, 1);
+		final Set<String> ids = pooledService.generate(null, ComponentCategory.CONCEPT, 2);
+
+		assertThat(ids).containsOnly("100005");
+		verify(mockDelegate).release(ImmutableSet.of("101009"));
+		// the first generation and the one replacing the unassigned identifier
+		verify(mockDelegate, times(2)).generateSctIds("", ComponentCategory.CONCEPT, 1);
+	}
+
+	@Test
+	public void idsAssignedElsewhereAreNotHandedOut() throws Exception {
+		service.generate(null, ComponentCategory.CONCEPT, 1);
+		final Set<String> pooledIds = reserved();
+		final String assignedElsewhere = Iterables.get(pooledIds, 0);
+		delegate.register(ImmutableSet.of(assignedElsewhere));
+
+		final Set<String> ids = service.generate(null, ComponentCategory.CONCEPT, pooledIds.size());
+
+		assertThat(ids).hasSize(pooledIds.size());
+		assertThat(ids).doesNotContain(assignedElsewhere);
+		assertThat(delegate.getSctIds(ids).values()).allMatch(SctId::isAssigned);
+		// the identifier stays assigned to its owner
+		assertThat(delegate.getSctIds(ImmutableSet.of(assignedElsewhere)).get(assignedElsewhere).isAssigned()).isTrue();
+	}
+
+	@Test
+	public void idsNoLongerReservedAreDiscarded() throws Exception {
+		final ISnomedIdentifierService mockDelegate = mock(ISnomedIdentifierService.class);
+		when(mockDelegate.generateSctIds(any(), eq(ComponentCategory.CONCEPT), anyInt())).thenReturn(ImmutableMap.of());
+		when(mockDelegate.reserve(any(), eq(ComponentCategory.CONCEPT), eq(BLOCK_SIZE))).thenReturn(ImmutableSet.of("100005", "101009"));
+		when(mockDelegate.getSctIds(ImmutableSet.of("100005", "101009"))).thenReturn(ImmutableMap.of(
+				"100005", sctId("100005", IdentifierStatus.ASSIGNED), 
+				"101009", sctId("101009", IdentifierStatus.RESERVED)));
+		when(mockDelegate.register(ImmutableSet.of("101009"))).thenReturn(ImmutableMap.of("101009", sctId("101009", IdentifierStatus.ASSIGNED)));
+
+		final PooledSnomedIdentifierService pooledService = new PooledSnomedIdentifierService(mockDelegate, BLOCK_SIZE, LOW_WATER_MARK, EXPIRY_NANOS, Ticker.systemTicker(), MoreExecutors.newDirectExecutorService());
+		pooledService.generate(null, ComponentCategory.CONCEPT, 1);
+		final Set<String> ids = pooledService.generate(null, ComponentCategory.CONCEPT, 2);
+
+		assertThat(ids).containsOnly("101009");
+		verify(mockDelegate).register(ImmutableSet.of("101009"));
+		verify(mockDelegate, never()).release(any());
+		verify(mockDelegate, times(2)).generateSctIds("", ComponentCategory.CONCEPT, 1);
+	}
+
+	private SctId sctId(final String id, final IdentifierStatus status) {
+		final SctId sctId = new SctId();
+		sctId.setSctid(id);
+		sctId.setStatus(status.getSerializedName());
+		return sctId;
+	}
+
+	private Set<String> reserved() {
+		final Query<SctId> query = Query.select(SctId.class)
+				.where(Expressions.exactMatch("status", IdentifierStatus.RESERVED.getSerializedName()))
+				.limit(Integer.MAX_VALUE)
+				.build();
+		return store.read(searcher -> ImmutableSet.copyOf(Iterables.transform(searcher.search(query), SctId::getSctid)));
+	}
+
+}
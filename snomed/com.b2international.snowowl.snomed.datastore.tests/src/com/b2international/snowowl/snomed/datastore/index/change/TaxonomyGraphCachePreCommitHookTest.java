@@ -0,0 +1,226 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.index.change;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.commons.Pair;
+import com.b2international.index.revision.Commit;
+import com.b2international.index.revision.Hooks;
+import com.b2international.index.revision.Revision;
+import com.b2international.index.revision.RevisionBranch;
+import com.b2international.index.revision.RevisionSearcher;
+import com.b2international.index.revision.StagingArea;
+import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
+import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptDocument;
+import com.b2international.snowowl.snomed.datastore.request.SnomedOWLExpressionConverter;
+import com.b2international.snowowl.snomed.datastore.taxonomy.Taxonomies;
+import com.b2international.snowowl.snomed.datastore.taxonomy.Taxonomy;
+import com.b2international.snowowl.snomed.datastore.taxonomy.TaxonomyGraph;
+import com.b2international.snowowl.snomed.datastore.taxonomy.TaxonomyGraphCache;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Drives the taxonomy graph cache protocol of {@link SnomedRepositoryPreCommitHook} through real commits of the revision index.
+ *
+ * @since 7.5
+ */
+public class TaxonomyGraphCachePreCommitHookTest extends BaseChangeProcessorTest {
+
+	private TaxonomyGraphCache cache;
+	private SnomedRepositoryPreCommitHook hook;
+	private List<Pair<Taxonomy, Taxonomy>> taxonomies;
+	private boolean failNextCommit;
+
+	@Before
+	public void setupCache() {
+		// load the graphs of the branch synchronously right after the commit
+		cache = new TaxonomyGraphCache(10, MoreExecutors.newDirectExecutorService());
+		hook = new SnomedRepositoryPreCommitHook(LoggerFactory.getLogger(getClass()), cache);
+		taxonomies = Lists.newArrayList();
+		failNextCommit = false;
+
+		final SnomedConceptDocument parent = concept(Concepts.ROOT_CONCEPT).build();
+		final SnomedConceptDocument child = concept().build();
+		initRevisions(
+			parent,
+			child,
+			createStatedRelationship(child.getId(), Concepts.IS_A, parent.getId()),
+			createInferredRelationship(child.getId(), Concepts.IS_A, parent.getId())
+		);
+	}
+
+	@Test
+	public void patchCachedGraphs() throws Exception {
+		registerHooks(true);
+
+		addChild(Concepts.ROOT_CONCEPT);
+		assertPatched(false);
+
+		final String child = addChild(Concepts.ROOT_CONCEPT);
+		assertPatched(true);
+		assertGraphsMatchIndex();
+
+		addChild(child);
+		assertPatched(true);
+		assertGraphsMatchIndex();
+	}
+
+	@Test
+	public void failedCommitDiscardsPendingGraphs() throws Exception {
+		registerHooks(true);
+		assertFailedCommitIsNotCached();
+	}
+
+	@Test
+	public void checkoutDiscardsPendingGraphsOfFailedCommit() throws Exception {
+		// without the failure notification the pending graphs of the failed commit are still registered when the next commit starts
+		registerHooks(false);
+		assertFailedCommitIsNotCached();
+	}
+
+	@Test
+	public void disposedCacheFallsBackToIndex() throws Exception {
+		registerHooks(true);
+		cache.dispose();
+		assertThat(cache.isDisposed()).isTrue();
+
+		addChild(Concepts.ROOT_CONCEPT);
+		addChild(Concepts.ROOT_CONCEPT);
+		assertPatched(false);
+	}
+
+	private void assertFailedCommitIsNotCached() {
+		addChild(Concepts.ROOT_CONCEPT);
+		addChild(Concepts.ROOT_CONCEPT);
+		assertPatched(true);
+
+		failNextCommit = true;
+		final String failedChild = concept().build().getId();
+		try {
+			commit(concept(failedChild).build(), createStatedRelationship(failedChild, Concepts.IS_A, Concepts.ROOT_CONCEPT), createInferredRelationship(failedChild, Concepts.IS_A, Concepts.ROOT_CONCEPT));
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException expected) {
+			// the patched graphs contain the failed concept
+			assertPatched(true);
+			assertThat(last().getA().getNewTaxonomy().containsNode(Long.parseLong(failedChild))).isTrue();
+		}
+
+		// the graphs were checked out by the failed commit, the next commit falls back to the index and reloads the graphs
+		addChild(Concepts.ROOT_CONCEPT);
+		assertPatched(false);
+
+		addChild(Concepts.ROOT_CONCEPT);
+		assertPatched(true);
+		assertThat(last().getA().getNewTaxonomy().containsNode(Long.parseLong(failedChild))).isFalse();
+		assertThat(last().getB().getNewTaxonomy().containsNode(Long.parseLong(failedChild))).isFalse();
+		assertGraphsMatchIndex();
+	}
+
+	private void registerHooks(boolean forwardFailures) {
+		withHook(new TaxonomyHookAdapter(forwardFailures));
+		withHook((Hooks.PreCommitHook) staging -> {
+			if (failNextCommit) {
+				failNextCommit = false;
+				throw new IllegalStateException("Commit failure");
+			}
+		});
+	}
+
+	private String addChild(String parentId) {
+		final String childId = concept().build().getId();
+		commit(concept(childId).build(), createStatedRelationship(childId, Concepts.IS_A, parentId), createInferredRelationship(childId, Concepts.IS_A, parentId));
+		return childId;
+	}
+
+	private void commit(Revision...revisions) {
+		final StagingArea staging = index().prepareCommit(MAIN);
+		Arrays.asList(revisions).forEach(staging::stageNew);
+		staging.commit(currentTime(), "test", "Commit");
+	}
+
+	private Pair<Taxonomy, Taxonomy> last() {
+		return taxonomies.get(taxonomies.size() - 1);
+	}
+
+	private void assertPatched(boolean patched) {
+		// patched taxonomies have no separately built previous state
+		assertThat(last().getA().getOldTaxonomy() == null).as("Stated taxonomy patched").isEqualTo(patched);
+		assertThat(last().getB().getOldTaxonomy() == null).as("Inferred taxonomy patched").isEqualTo(patched);
+	}
+
+	private void assertGraphsMatchIndex() {
+		final Pair<TaxonomyGraph, TaxonomyGraph> expected = index().read(MAIN, searcher -> Pair.of(
+			Taxonomies.build(searcher, Concepts.STATED_RELATIONSHIP),
+			Taxonomies.build(searcher, Concepts.INFERRED_RELATIONSHIP)
+		));
+		assertThat(edges(last().getA().getNewTaxonomy())).isEqualTo(edges(expected.getA()));
+		assertThat(edges(last().getB().getNewTaxonomy())).isEqualTo(edges(expected.getB()));
+	}
+
+	private static Map<String, String> edges(TaxonomyGraph graph) {
+		final Map<String, String> edges = Maps.newHashMap();
+		for (String edgeId : graph.getEdgeIds()) {
+			final long[] destinationIds = graph.getDestinationNodeIds(edgeId).clone();
+			Arrays.sort(destinationIds);
+			edges.put(edgeId, graph.getSourceNodeId(edgeId) + " -> " + Arrays.toString(destinationIds));
+		}
+		return edges;
+	}
+
+	private final class TaxonomyHookAdapter implements Hooks.PreCommitHook, Hooks.PostCommitHook, Hooks.FailedCommitHook {
+
+		private final boolean forwardFailures;
+
+		TaxonomyHookAdapter(boolean forwardFailures) {
+			this.forwardFailures = forwardFailures;
+		}
+
+		@Override
+		public void run(StagingArea staging) {
+			taxonomies.add(staging.read(searcher -> {
+				final RevisionBranch branch = branching().getBranch(staging.getBranchPath());
+				final SnomedOWLExpressionConverter expressionConverter = new SnomedOWLExpressionConverter(context().inject().bind(RevisionSearcher.class, searcher).build());
+				return hook.computeTaxonomies(staging, searcher, expressionConverter, branch, index(), true);
+			}));
+		}
+
+		@Override
+		public void run(Commit commit) {
+			hook.run(commit);
+		}
+
+		@Override
+		public void failed(StagingArea staging) {
+			if (forwardFailures) {
+				hook.failed(staging);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.request.rf2.exporter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * @since 7.5
+ */
+public class Rf2RowWriterTest {
+
+	private ByteArrayOutputStream out;
+
+	@Before
+	public void setup() {
+		out = new ByteArrayOutputStream();
+	}
+
+	@Test
+	public void writeRows() throws Exception {
+		final Rf2RowWriter writer = new Rf2RowWriter(Channels.newChannel(out));
+		writer.writeRow(new String[] { "id", "effectiveTime", "active" });
+		writer.writeRow(ImmutableList.of("138875005", "20020131", "1"));
+		writer.flush();
+
+		assertThat(written()).isEqualTo("id\teffectiveTime\tactive\r\n138875005\t20020131\t1\r\n");
+	}
+
+	@Test
+	public void nothingIsWrittenBeforeFlush() throws Exception {
+		final Rf2RowWriter writer = new Rf2RowWriter(Channels.newChannel(out));
+		writer.writeRow(ImmutableList.of("138875005", "20020131", "1"));
+
+		assertThat(out.size()).isZero();
+	}
+
+	@Test
+	public void writeMultiByteValuesLargerThanBuffer() throws Exception {
+		final String term = "Sjögren's syndrome – Größe, Ménière, 中文 😀";
+		final Rf2RowWriter writer = new Rf2RowWriter(Channels.newChannel(out), 8);
+		writer.writeRow(ImmutableList.of("1", term));
+		writer.writeRow(ImmutableList.of("2", term));
+		writer.flush();
+
+		assertThat(written()).isEqualTo("1\t" + term + "\r\n2\t" + term + "\r\n");
+	}
+
+	private String written() {
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.taxonomy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.b2international.collections.PrimitiveSets;
+
+/**
+ * @since 7.5
+ */
+public class TaxonomyGraphTest {
+
+	private static final long ROOT = 138875005L;
+	private static final long PARENT = 404684003L;
+	private static final long CHILD = 64572001L;
+	private static final long OTHER_PARENT = 71388002L;
+
+	private TaxonomyGraph graph;
+
+	@Before
+	public void setup() {
+		graph = new TaxonomyGraph(4, 3);
+		graph.addNode(ROOT);
+		graph.addNode(PARENT);
+		graph.addNode(CHILD);
+		graph.addNode(OTHER_PARENT);
+		graph.addEdge("1", PARENT, new long[] { ROOT });
+		graph.addEdge("2", CHILD, new long[] { PARENT });
+		graph.addEdge("3", OTHER_PARENT, new long[] { ROOT });
+		graph.update();
+	}
+
+	@Test
+	public void edgesAreNotTrackedByDefault() throws Exception {
+		graph.addEdge("4", OTHER_PARENT, new long[] { PARENT });
+		graph.update();
+		assertThat(graph.getChangedEdgeIds()).isEmpty();
+	}
+
+	@Test
+	public void tracksChangedEdges() throws Exception {
+		graph.beginChanges();
+		graph.addEdge("2", CHILD, new long[] { OTHER_PARENT });
+		graph.removeEdge("1");
+		graph.addEdge("4", OTHER_PARENT, new long[] { PARENT });
+		graph.update();
+
+		assertThat(graph.getChangedEdgeIds()).containsOnly("1", "2", "4");
+		assertThat(graph.getPreviousEdge("1")).isEqualTo(new Edges(PARENT, new long[] { ROOT }));
+		assertThat(graph.getPreviousEdge("2")).isEqualTo(new Edges(CHILD, new long[] { PARENT }));
+		assertThat(graph.getPreviousEdge("4")).isNull();
+
+		graph.endChanges();
+		assertThat(graph.getChangedEdgeIds()).isEmpty();
+	}
+
+	@Test
+	public void incrementalUpdateMatchesFullUpdate() throws Exception {
+		final long newConcept = 22298006L;
+
+		graph.beginChanges();
+		graph.addNode(newConcept);
+		graph.addEdge("2", CHILD, new long[] { OTHER_PARENT });
+		graph.removeEdge("1");
+		graph.addEdge("4", newConcept, new long[] { CHILD, PARENT });
+		graph.addEdge("5", PARENT, new long[] { OTHER_PARENT });
+		assertThat(graph.update().getStatus().isOK()).isTrue();
+		graph.endChanges();
+
+		final TaxonomyGraph expected = new TaxonomyGraph(5, 4);
+		for (long nodeId : new long[] { ROOT, PARENT, CHILD, OTHER_PARENT, newConcept }) {
+			expected.addNode(nodeId);
+		}
+		expected.addEdge("2", CHILD, new long[] { OTHER_PARENT });
+		expected.addEdge("3", OTHER_PARENT, new long[] { ROOT });
+		expected.addEdge("4", newConcept, new long[] { CHILD, PARENT });
+		expected.addEdge("5", PARENT, new long[] { OTHER_PARENT });
+		expected.update();
+
+		for (long nodeId : new long[] { ROOT, PARENT, CHILD, OTHER_PARENT, newConcept }) {
+			assertThat(graph.getAncestorNodeIds(nodeId)).isEqualTo(expected.getAncestorNodeIds(nodeId));
+			assertThat(graph.getDescendantNodeIds(nodeId)).isEqualTo(expected.getDescendantNodeIds(nodeId));
+			assertThat(graph.getAllAncestorNodeIds(nodeId)).isEqualTo(expected.getAllAncestorNodeIds(nodeId));
+			assertThat(graph.getAllDescendantNodeIds(nodeId)).isEqualTo(expected.getAllDescendantNodeIds(nodeId));
+		}
+	}
+
+	@Test
+	public void removedNodeWithEdgesIsReported() throws Exception {
+		graph.beginChanges();
+		graph.removeNode(Long.toString(PARENT));
+		final TaxonomyGraphStatus status = graph.update();
+		graph.endChanges();
+
+		assertThat(status.getStatus().isOK()).isFalse();
+		assertThat(status.getInvalidRelationships()).hasSize(2);
+		assertThat(graph.getAllAncestorNodeIds(CHILD)).isEmpty();
+		assertThat(graph.getAllDescendantNodeIds(ROOT)).isEqualTo(PrimitiveSets.newLongOpenHashSet(OTHER_PARENT));
+	}
+
+	@Test
+	public void removedNodeWithRemovedEdges() throws Exception {
+		graph.beginChanges();
+		graph.removeNode(Long.toString(CHILD));
+		graph.removeEdge("2");
+		final TaxonomyGraphStatus status = graph.update();
+		graph.endChanges();
+
+		assertThat(status.getStatus().isOK()).isTrue();
+		assertThat(graph.containsNode(CHILD)).isFalse();
+		assertThat(graph.getAllDescendantNodeIds(ROOT)).isEqualTo(PrimitiveSets.newLongOpenHashSet(PARENT, OTHER_PARENT));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.eclipse.xtext.parser.IParser;
 import org.eclipse.xtext.serializer.ISerializer;
@@ -32,6 +33,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.b2international.collections.PrimitiveCollectionModule;
+import com.b2international.collections.PrimitiveSets;
 import com.b2international.commons.options.Options;
 import com.b2international.index.Index;
 import com.b2international.index.Indexes;
@@ -42,6 +44,7 @@ import com.b2international.index.revision.RevisionIndex;
 import com.b2international.snowowl.core.ComponentIdentifier;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.internal.validation.ValidationRepository;
+import com.b2international.snowowl.core.internal.validation.ValidationRuleRun;
 import com.b2international.snowowl.core.internal.validation.ValidationThreadPool;
 import com.b2international.snowowl.core.validation.ValidationRequests;
 import com.b2international.snowowl.core.validation.eval.ValidationRuleEvaluator;
@@ -117,17 +120,9 @@ public class SnomedQueryValidationRuleEvaluatorTest extends BaseRevisionIndexTes
 	
 	@Before
 	public void setup() {
-		final Index index = Indexes.createIndex(UUID.randomUUID().toString(), getMapper(), new Mappings(ValidationRule.class, ValidationIssue.class, ValidationWhiteList.class));
+		final Index index = Indexes.createIndex(UUID.randomUUID().toString(), getMapper(), new Mappings(ValidationRule.class, ValidationIssue.class, ValidationWhiteList.class, ValidationRuleRun.class));
 		repository = new ValidationRepository(index);
-		context = TestBranchContext.on(MAIN)
-				.with(ObjectMapper.class, getMapper())
-				.with(EclParser.class, new DefaultEclParser(INJECTOR.getInstance(IParser.class), INJECTOR.getInstance(IResourceValidator.class)))
-				.with(EclSerializer.class, new DefaultEclSerializer(INJECTOR.getInstance(ISerializer.class)))
-				.with(Index.class, rawIndex())
-				.with(RevisionIndex.class, index())
-				.with(ValidationThreadPool.class, new ValidationThreadPool(1, 1, 1))
-				.with(ValidationRepository.class, repository)
-				.build();
+		context = createContext(MAIN);
 		evaluator = new SnomedQueryValidationRuleEvaluator();
 		if (!ValidationRuleEvaluator.Registry.types().contains(evaluator.type())) {
 			ValidationRuleEvaluator.Registry.register(evaluator);
@@ -138,6 +133,18 @@ public class SnomedQueryValidationRuleEvaluatorTest extends BaseRevisionIndexTes
 		
 	}
 	
+	private BranchContext createContext(final String branchPath) {
+		return TestBranchContext.on(branchPath)
+				.with(ObjectMapper.class, getMapper())
+				.with(EclParser.class, new DefaultEclParser(INJECTOR.getInstance(IParser.class), INJECTOR.getInstance(IResourceValidator.class)))
+				.with(EclSerializer.class, new DefaultEclSerializer(INJECTOR.getInstance(ISerializer.class)))
+				.with(Index.class, rawIndex())
+				.with(RevisionIndex.class, index())
+				.with(ValidationThreadPool.class, new ValidationThreadPool(1, 1, 1))
+				.with(ValidationRepository.class, repository)
+				.build();
+	}
+	
 	@After
 	public void teardown() {
 		repository.dispose();
@@ -275,6 +282,99 @@ public class SnomedQueryValidationRuleEvaluatorTest extends BaseRevisionIndexTes
 		assertThat(issues.getItems().get(0).getAffectedComponent()).isEqualTo(ComponentIdentifier.of(SnomedTerminologyComponentConstants.DESCRIPTION_NUMBER, description1));
 	}
 	
+	@Test
+	public void conceptRuleIncremental() throws Exception {
+		final String concept1 = RandomSnomedIdentiferGenerator.generateConceptId();
+		final String concept2 = RandomSnomedIdentiferGenerator.generateConceptId();
+		final String concept3 = RandomSnomedIdentiferGenerator.generateConceptId();
+		
+		indexRevision(MAIN, 
+			concept(concept1).active(false).build(),
+			concept(concept2).active(false).build()
+		);
+		
+		final Map<String, Object> ruleQuery = ImmutableMap.<String, Object>builder()
+				.put("componentType", "concept")
+				.put("active", false)
+				.build();
+		
+		final String ruleId = createSnomedQueryRule(ruleQuery);
+		assertThat(validate(ruleId).getTotal()).isEqualTo(2);
+		
+		final String branch = createBranch(MAIN, "a");
+		indexChange(branch, concept(concept1).active(false).build(), concept(concept1).active(true).build());
+		indexRevision(branch, concept(concept3).active(false).build());
+		
+		final ValidationIssues issues = validateIncrementally(branch, ruleId);
+		
+		assertThat(issues.stream().map(ValidationIssue::getAffectedComponent).collect(Collectors.toList())).containsOnly(
+				ComponentIdentifier.of(SnomedTerminologyComponentConstants.CONCEPT_NUMBER, concept2),
+				ComponentIdentifier.of(SnomedTerminologyComponentConstants.CONCEPT_NUMBER, concept3));
+	}
+	
+	@Test
+	public void descriptionRuleIncrementalDependentComponentFixed() throws Exception {
+		final String parent1 = generateConceptId();
+		final String parent2 = generateConceptId();
+		final String concept1 = generateConceptId();
+		final String description1 = RandomSnomedIdentiferGenerator.generateDescriptionId();
+		
+		indexRevision(MAIN, 
+			concept(parent1).build(),
+			concept(parent2).build(),
+			concept(concept1).parents(PrimitiveSets.newLongOpenHashSet(Long.parseLong(parent1))).build(),
+			description(description1, Concepts.SYNONYM, "Minor heart attack")
+				.conceptId(concept1)
+				.build()
+		);
+		
+		final Map<String, Object> ruleQuery = ImmutableMap.<String, Object>builder()
+				.put("componentType", "description")
+				.put("concept", "<" + parent1)
+				.build();
+		
+		final String ruleId = createSnomedQueryRule(ruleQuery);
+		assertThat(validate(ruleId).getTotal()).isEqualTo(1);
+		
+		// the description itself does not change, but it no longer matches the rule after moving its concept to another parent
+		final String branch = createBranch(MAIN, "a");
+		indexChange(branch, 
+			concept(concept1).parents(PrimitiveSets.newLongOpenHashSet(Long.parseLong(parent1))).build(), 
+			concept(concept1).parents(PrimitiveSets.newLongOpenHashSet(Long.parseLong(parent2))).build());
+		
+		assertThat(validateIncrementally(branch, ruleId).getTotal()).isEqualTo(0);
+	}
+	
+	@Test
+	public void conceptRuleIncrementalParentNotValidated() throws Exception {
+		final String concept1 = RandomSnomedIdentiferGenerator.generateConceptId();
+		final String concept2 = RandomSnomedIdentiferGenerator.generateConceptId();
+		final String concept3 = RandomSnomedIdentiferGenerator.generateConceptId();
+		
+		indexRevision(MAIN, concept(concept1).active(false).build());
+		
+		final Map<String, Object> ruleQuery = ImmutableMap.<String, Object>builder()
+				.put("componentType", "concept")
+				.put("active", false)
+				.build();
+		
+		final String ruleId = createSnomedQueryRule(ruleQuery);
+		assertThat(validate(ruleId).getTotal()).isEqualTo(1);
+		
+		// the issues of the parent do not reflect this commit, so they can not be carried over to the branch
+		indexRevision(MAIN, concept(concept2).active(false).build());
+		
+		final String branch = createBranch(MAIN, "a");
+		indexRevision(branch, concept(concept3).active(false).build());
+		
+		final ValidationIssues issues = validateIncrementally(branch, ruleId);
+		
+		assertThat(issues.stream().map(ValidationIssue::getAffectedComponent).collect(Collectors.toList())).containsOnly(
+				ComponentIdentifier.of(SnomedTerminologyComponentConstants.CONCEPT_NUMBER, concept1),
+				ComponentIdentifier.of(SnomedTerminologyComponentConstants.CONCEPT_NUMBER, concept2),
+				ComponentIdentifier.of(SnomedTerminologyComponentConstants.CONCEPT_NUMBER, concept3));
+	}
+	
 	private ValidationIssues validate(final String ruleId) {
 		new RevisionIndexReadRequest<>(ValidationRequests.prepareValidate().build()).execute(context);
 		return ValidationRequests.issues().prepareSearch()
@@ -284,6 +384,17 @@ public class SnomedQueryValidationRuleEvaluatorTest extends BaseRevisionIndexTes
 			.execute(context);
 	}
 
+	private ValidationIssues validateIncrementally(final String branch, final String ruleId) {
+		final BranchContext branchContext = createContext(branch);
+		new RevisionIndexReadRequest<>(ValidationRequests.prepareValidate().setIncremental(true).build()).execute(branchContext);
+		return ValidationRequests.issues().prepareSearch()
+				.all()
+				.filterByBranchPath(branch)
+				.filterByRule(ruleId)
+				.build()
+				.execute(branchContext);
+	}
+
 	private String createSnomedQueryRule(final Map<String, Object> ruleQuery) throws JsonProcessingException {
 		return ValidationRequests.rules().prepareCreate()
 			.setType(evaluator.type())
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.core;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import com.b2international.commons.exceptions.SyntaxException;
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Bounded cache of parsed and validated expressions (ECL constraints, SNOMED CT queries), keyed by the expression text. Errors of expressions
+ * that fail to parse or validate are cached as well, subsequent requests for the same text throw a new {@link SyntaxException} with the same
+ * errors without running the parser again.
+ * <p>
+ * Parsed expressions are EMF object trees that may be rewritten in place by their consumers, so the cached trees are never handed out
+ * directly. Each call returns a deep copy of the cached tree instead, which is considerably cheaper than parsing and validating the
+ * expression again.
+ *
+ * @param <T> - the type of the parsed expression
+ * @since 7.5
+ */
+public final class ParsedExpressionCache<T extends EObject> {
+
+	private final Cache<String, Entry<T>> expressions;
+
+	/**
+	 * Creates a new cache that holds at most the given number of parsed expressions.
+	 *
+	 * @param maximumSize - the maximum number of cached expressions
+	 */
+	public ParsedExpressionCache(long maximumSize) {
+		this.expressions = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Returns a copy of the parsed form of the given expression, parsing it with the specified parser if it is not cached yet.
+	 *
+	 * @param expression - the expression text
+	 * @param parser - the function that parses and validates the expression, may return <code>null</code>
+	 * @return a copy of the parsed expression or <code>null</code> if the parser returned <code>null</code> for the expression
+	 * @throws SyntaxException - if the expression (or an earlier occurrence of the same expression text) failed to parse or validate
+	 */
+	public T get(String expression, Function<String, T> parser) {
+		final Entry<T> entry;
+		try {
+			entry = expressions.get(expression, () -> {
+				try {
+					return new Entry<>(parser.apply(expression), null, null);
+				} catch (SyntaxException e) {
+					return new Entry<>(null, e.getLanguage(), e.getErrors());
+				}
+			});
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			Throwables.propagateIfPossible(e.getCause());
+			throw new SnowowlRuntimeException(e.getCause());
+		}
+
+		if (entry.errors != null) {
+			throw new SyntaxException(entry.language, entry.errors);
+		}
+		return entry.value == null ? null : EcoreUtil.copy(entry.value);
+	}
+
+	/**
+	 * @return hit/miss statistics of this cache
+	 */
+	public CacheStats getStats() {
+		return expressions.stats();
+	}
+
+	/**
+	 * @return the approximate number of cached expressions, including the ones that failed to parse
+	 */
+	public long getSize() {
+		return expressions.size();
+	}
+
+	private static final class Entry<T> {
+
+		private final T value;
+		private final String language;
+		private final ImmutableMap<String, Object> errors;
+
+		private Entry(T value, String language, ImmutableMap<String, Object> errors) {
+			this.value = value;
+			this.language = language;
+			this.errors = errors;
+		}
+
+	}
+
+}
@@ -17,6 +17,7 @@ package com.b2international.snowowl.snomed.core;
 
 import java.util.List;
 
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.parser.IParser;
 import org.eclipse.xtext.serializer.ISerializer;
 import org.eclipse.xtext.validation.IResourceValidator;
@@ -50,6 +51,7 @@ import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSetM
 import com.b2international.snowowl.snomed.core.ecl.DefaultEclParser;
 import com.b2international.snowowl.snomed.core.ecl.DefaultEclSerializer;
 import com.b2international.snowowl.snomed.core.ecl.EclParser;
+import com.b2international.snowowl.snomed.core.ecl.EclResultCache;
 import com.b2international.snowowl.snomed.core.ecl.EclSerializer;
 import com.b2international.snowowl.snomed.core.merge.SnomedComponentRevisionConflictProcessor;
 import com.b2international.snowowl.snomed.core.mrcm.io.MrcmExporter;
@@ -67,18 +69,29 @@ import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfigurati
 import com.b2international.snowowl.snomed.datastore.index.change.SnomedRepositoryPreCommitHook;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedDocument;
 import com.b2international.snowowl.snomed.datastore.internal.SnomedRepositoryInitializer;
+import com.b2international.snowowl.snomed.datastore.taxonomy.TaxonomyGraphCache;
 import com.b2international.snowowl.snomed.ecl.EclStandaloneSetup;
+import com.b2international.snowowl.snomed.ecl.ecl.ExpressionConstraint;
 import com.b2international.snowowl.snomed.ql.QLStandaloneSetup;
+import com.b2international.snowowl.snomed.ql.ql.Query;
 import com.b2international.snowowl.snomed.validation.SnomedQueryValidationRuleEvaluator;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Injector;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * @since 7.0
  */
 @Component
 public final class SnomedPlugin extends TerminologyRepositoryPlugin {
 
+	private ParsedExpressionCache<ExpressionConstraint> eclParseCache;
+	private ParsedExpressionCache<Query> qlParseCache;
+	private TaxonomyGraphCache taxonomyGraphCache;
+
 	@Override
 	public void addConfigurations(ConfigurationRegistry registry) {
 		registry.add("snomed", SnomedCoreConfiguration.class);
@@ -88,13 +101,23 @@ public final class SnomedPlugin extends TerminologyRepositoryPlugin {
 	public void init(SnowOwlConfiguration configuration, Environment env) throws Exception {
 		final SnomedCoreConfiguration coreConfig = configuration.getModuleConfig(SnomedCoreConfiguration.class);
 		env.services().registerService(SnomedCoreConfiguration.class, coreConfig);
+		if (coreConfig.getTaxonomyGraphCacheSize() > 0) {
+			taxonomyGraphCache = new TaxonomyGraphCache(coreConfig.getTaxonomyGraphCacheSize());
+			// registered as a service, so its background loader is shut down when the environment is disposed
+			env.services().registerService(TaxonomyGraphCache.class, taxonomyGraphCache);
+		}
 		
 		final Injector injector = new EclStandaloneSetup().createInjectorAndDoEMFRegistration();
-		env.services().registerService(EclParser.class, new DefaultEclParser(injector.getInstance(IParser.class), injector.getInstance(IResourceValidator.class)));
+		eclParseCache = createParsedExpressionCache(coreConfig);
+		env.services().registerService(EclParser.class, new DefaultEclParser(injector.getInstance(IParser.class), injector.getInstance(IResourceValidator.class), eclParseCache));
 		env.services().registerService(EclSerializer.class, new DefaultEclSerializer(injector.getInstance(ISerializer.class)));
+		if (coreConfig.getEclCacheSize() > 0L) {
+			env.services().registerService(EclResultCache.class, new EclResultCache(coreConfig.getEclCacheSize() * 1024L * 1024L));
+		}
 		
 		final Injector qlInjector = new QLStandaloneSetup().createInjectorAndDoEMFRegistration();
-		env.services().registerService(SnomedQueryParser.class, new DefaultSnomedQueryParser(qlInjector.getInstance(IParser.class), qlInjector.getInstance(IResourceValidator.class)));
+		qlParseCache = createParsedExpressionCache(coreConfig);
+		env.services().registerService(SnomedQueryParser.class, new DefaultSnomedQueryParser(qlInjector.getInstance(IParser.class), qlInjector.getInstance(IResourceValidator.class), qlParseCache));
 		env.services().registerService(SnomedQuerySerializer.class, new DefaultSnomedQuerySerializer(qlInjector.getInstance(ISerializer.class)));
 		
 		// register SNOMED CT Query based validation rule evaluator
@@ -104,6 +127,14 @@ public final class SnomedPlugin extends TerminologyRepositoryPlugin {
 	
 	@Override
 	public void preRun(SnowOwlConfiguration configuration, Environment env) throws Exception {
+		env.optionalService(EclResultCache.class).ifPresent(cache -> registerEclCacheMetrics(env.service(MeterRegistry.class), cache));
+		if (eclParseCache != null) {
+			registerParseCacheMetrics(env.service(MeterRegistry.class), "ECL", eclParseCache);
+		}
+		if (qlParseCache != null) {
+			registerParseCacheMetrics(env.service(MeterRegistry.class), "QL", qlParseCache);
+		}
+		
 		// initialize MRCM Import-Export API
 		if (env.isServer()) {
 			env.services().registerService(MrcmExporter.class, new MrcmExporterImpl(env.provider(IEventBus.class)));
@@ -116,6 +147,50 @@ public final class SnomedPlugin extends TerminologyRepositoryPlugin {
 		}
 	}
 	
+	private void registerEclCacheMetrics(MeterRegistry registry, EclResultCache cache) {
+		FunctionCounter.builder("ecl_cache.hits", cache, c -> c.getStats().hitCount())
+			.description("The number of ECL evaluations served from the ECL result cache")
+			.register(registry);
+		
+		FunctionCounter.builder("ecl_cache.misses", cache, c -> c.getStats().missCount())
+			.description("The number of ECL evaluations that had to be executed against the index")
+			.register(registry);
+		
+		Gauge.builder("ecl_cache.hit_ratio", cache, c -> c.getStats().hitRate())
+			.description("The ratio of ECL evaluations served from the ECL result cache")
+			.register(registry);
+		
+		Gauge.builder("ecl_cache.size", cache, EclResultCache::getSize)
+			.description("The approximate number of ECL results held in the ECL result cache")
+			.register(registry);
+		
+		Gauge.builder("ecl_cache.memory", cache, EclResultCache::getEstimatedWeightInBytes)
+			.description("The estimated memory footprint of the ECL results held in the ECL result cache")
+			.baseUnit("bytes")
+			.register(registry);
+	}
+	
+	private <T extends EObject> ParsedExpressionCache<T> createParsedExpressionCache(SnomedCoreConfiguration coreConfig) {
+		return coreConfig.getParsedExpressionCacheSize() > 0 ? new ParsedExpressionCache<>(coreConfig.getParsedExpressionCacheSize()) : null;
+	}
+	
+	private void registerParseCacheMetrics(MeterRegistry registry, String language, ParsedExpressionCache<?> cache) {
+		FunctionCounter.builder("parse_cache.hits", cache, c -> c.getStats().hitCount())
+			.tag("language", language)
+			.description("The number of expressions served from the parsed expression cache")
+			.register(registry);
+		
+		FunctionCounter.builder("parse_cache.misses", cache, c -> c.getStats().missCount())
+			.tag("language", language)
+			.description("The number of expressions that had to be parsed and validated")
+			.register(registry);
+		
+		Gauge.builder("parse_cache.size", cache, ParsedExpressionCache::getSize)
+			.tag("language", language)
+			.description("The approximate number of parsed expressions (including syntax errors) held in the parsed expression cache")
+			.register(registry);
+	}
+	
 	@Override
 	protected ConceptSearchRequestEvaluator getConceptSearchRequestEvaluator() {
 		return new SnomedConceptSearchRequestEvaluator();
@@ -176,7 +251,7 @@ public final class SnomedPlugin extends TerminologyRepositoryPlugin {
 	
 	@Override
 	protected PreCommitHook getTerminologyRepositoryPreCommitHook(Logger log) {
-		return new SnomedRepositoryPreCommitHook(log);
+		return new SnomedRepositoryPreCommitHook(log, taxonomyGraphCache);
 	}
 	
 	@Override
@@ -86,6 +86,9 @@ public final class SnomedCommand extends Command {
 		@Option(names = { "-v" }, description = "Whether to create versions for the underlying code system or just import the content.", defaultValue = "true")
 		boolean createVersions;
 		
+		@Option(names = { "--bulk" }, description = "Whether to import each effective time in a single commit.", defaultValue = "false")
+		boolean bulkLoad;
+		
 		@Parameters(paramLabel = "PATH", description = "The absolute path to the importable file")
 		String path;
 		
@@ -117,6 +120,7 @@ public final class SnomedCommand extends Command {
 			final Rf2ImportResponse response = SnomedRequests.rf2().prepareImport()
 					.setCodeSystemShortName(codeSystem)
 					.setCreateVersions(createVersions)
+					.setBulkLoad(bulkLoad)
 					.setRf2ArchiveId(rf2ArchiveId)
 					.setUserId(user.getUsername())
 					.setReleaseType(rf2ReleaseType)
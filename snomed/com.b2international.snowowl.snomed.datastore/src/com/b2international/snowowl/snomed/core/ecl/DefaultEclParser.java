@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,7 @@ import com.b2international.commons.Pair;
 import com.b2international.commons.StringUtils;
 import com.b2international.commons.exceptions.BadRequestException;
 import com.b2international.commons.exceptions.SyntaxException;
+import com.b2international.snowowl.snomed.core.ParsedExpressionCache;
 import com.b2international.snowowl.snomed.ecl.ecl.ExpressionConstraint;
 import com.b2international.snowowl.snomed.ecl.ecl.Script;
 
@@ -47,10 +48,24 @@ public class DefaultEclParser implements EclParser {
 
 	private final IParser eclParser;
 	private final IResourceValidator validator;
+	private final ParsedExpressionCache<ExpressionConstraint> cache;
 
 	public DefaultEclParser(IParser eclParser, IResourceValidator validator) {
+		this(eclParser, validator, null);
+	}
+	
+	/**
+	 * Creates a new parser that serves repeated expressions from the given cache.
+	 * 
+	 * @param eclParser - the ECL parser
+	 * @param validator - the ECL validator
+	 * @param cache - the cache of parsed expressions, may be <code>null</code> to parse each expression on every call
+	 * @since 7.5
+	 */
+	public DefaultEclParser(IParser eclParser, IResourceValidator validator, ParsedExpressionCache<ExpressionConstraint> cache) {
 		this.eclParser = eclParser;
 		this.validator = validator;
+		this.cache = cache;
 	}
 	
 	@Override
@@ -60,33 +75,37 @@ public class DefaultEclParser implements EclParser {
 		} else if (StringUtils.isEmpty(expression)) {
 			return null;
 		} else {
-			try (final StringReader reader = new StringReader(expression)) {
-				final IParseResult parseResult = eclParser.parse(reader);
-				if (parseResult.hasSyntaxErrors()) {
+			return cache == null ? doParse(expression) : cache.get(expression, this::doParse);
+		}
+	}
+
+	private ExpressionConstraint doParse(String expression) {
+		try (final StringReader reader = new StringReader(expression)) {
+			final IParseResult parseResult = eclParser.parse(reader);
+			if (parseResult.hasSyntaxErrors()) {
+				final Map<Pair<Integer, Integer>, String> errors = newHashMap();
+				for (INode node : parseResult.getSyntaxErrors()) {
+					final SyntaxErrorMessage syntaxError = node.getSyntaxErrorMessage();
+					errors.put(Pair.of(node.getTotalStartLine(), node.getTotalOffset()), syntaxError.getMessage());
+				}
+				throw new SyntaxException("ECL", errors);
+			} else {
+				final Script script = (Script) parseResult.getRootASTElement();
+				final Resource resource = new ResourceImpl();
+				resource.getContents().add(script);
+				final List<Issue> issues = validator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
+				if (!issues.isEmpty()) {
 					final Map<Pair<Integer, Integer>, String> errors = newHashMap();
-					for (INode node : parseResult.getSyntaxErrors()) {
-						final SyntaxErrorMessage syntaxError = node.getSyntaxErrorMessage();
-						errors.put(Pair.of(node.getTotalStartLine(), node.getTotalOffset()), syntaxError.getMessage());
-					}
-					throw new SyntaxException("ECL", errors);
-				} else {
-					final Script script = (Script) parseResult.getRootASTElement();
-					final Resource resource = new ResourceImpl();
-					resource.getContents().add(script);
-					final List<Issue> issues = validator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
-					if (!issues.isEmpty()) {
-						final Map<Pair<Integer, Integer>, String> errors = newHashMap();
-						for (Issue issue : issues) {
-							if (issue.getSeverity() == Severity.ERROR) {
-								errors.put(Pair.of(issue.getLineNumber(), issue.getOffset()), issue.getMessage());
-							}
-						}
-						if (!errors.isEmpty()) {
-							throw new SyntaxException("ECL", errors);
+					for (Issue issue : issues) {
+						if (issue.getSeverity() == Severity.ERROR) {
+							errors.put(Pair.of(issue.getLineNumber(), issue.getOffset()), issue.getMessage());
 						}
 					}
-					return script.getConstraint();
+					if (!errors.isEmpty()) {
+						throw new SyntaxException("ECL", errors);
+					}
 				}
+				return script.getConstraint();
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,21 @@
 package com.b2international.snowowl.snomed.core.ecl;
 
 import static com.google.common.collect.Lists.newArrayListWithCapacity;
-import static com.google.common.collect.Sets.newHashSet;
 
-import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.b2international.commons.options.Options;
 import com.b2international.index.query.Expression;
 import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Query;
+import com.b2international.index.revision.RevisionBranch;
+import com.b2international.index.revision.RevisionIndex;
 import com.b2international.index.revision.RevisionSearcher;
-import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.b2international.snowowl.core.branch.Branch;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.events.util.Promise;
 import com.b2international.snowowl.core.request.SearchResourceRequest;
@@ -92,6 +95,16 @@ public final class EclExpression {
 	
 	public Promise<Set<String>> resolve(final BranchContext context) {
 		if (promise == null) {
+			final Optional<EclResultCache> cache = context.optionalService(EclResultCache.class);
+			final Branch branch = context.branch();
+			if (cache.isPresent()) {
+				final Set<String> cachedConceptIds = cache.get().get(context.branchPath(), branch.branchId(), branch.headTimestamp(), ecl, expressionForm);
+				if (cachedConceptIds != null) {
+					promise = Promise.immediate(cachedConceptIds);
+					return promise;
+				}
+			}
+			
 			RevisionSearcher searcher = context.service(RevisionSearcher.class);
 			promise = resolveToExpression(context)
 				.then(expression -> {
@@ -99,22 +112,34 @@ public final class EclExpression {
 					if (SnomedEclEvaluationRequest.canExtractIds(expression)) {
 						return SnomedEclEvaluationRequest.extractIds(expression);
 					}
-					try {
-						return newHashSet(searcher.search(Query.select(String.class)
-								.from(SnomedConceptDocument.class)
-								.fields(SnomedConceptDocument.Fields.ID)
-								.where(expression)
-								.limit(Integer.MAX_VALUE)
-								.build()));
-						
-					} catch (IOException e) {
-						throw new SnowowlRuntimeException(e);
+					final Query<String> conceptIdsQuery = Query.select(String.class)
+							.from(SnomedConceptDocument.class)
+							.fields(SnomedConceptDocument.Fields.ID)
+							.where(expression)
+							.limit(Integer.MAX_VALUE)
+							.build();
+					final Set<String> conceptIds;
+					try (Stream<String> conceptIdStream = searcher.stream(conceptIdsQuery)) {
+						conceptIds = conceptIdStream.collect(Collectors.toSet());
+					}
+					if (cache.isPresent() && isHeadUnchanged(context, branch)) {
+						cache.get().put(context.branchPath(), branch.branchId(), branch.headTimestamp(), ecl, expressionForm, conceptIds);
 					}
+					return conceptIds;
 				});
 		}
 		return promise;
 	}
 	
+	/*
+	 * The searcher is opened after the branch of the context has been resolved, so results are cached only if no commit happened on the branch
+	 * in the meantime, otherwise the result might reflect a newer state than the head timestamp of the context.
+	 */
+	private static boolean isHeadUnchanged(BranchContext context, Branch branch) {
+		final RevisionBranch currentBranch = context.service(RevisionIndex.class).branching().getBranch(branch.path());
+		return currentBranch.getId() == branch.branchId() && currentBranch.getHeadTimestamp() == branch.headTimestamp();
+	}
+	
 	public Promise<SnomedConcepts> resolveConcepts(final BranchContext context) {
 		if (conceptPromise == null) {
 			conceptPromise = SnomedRequests.prepareSearchConcept()
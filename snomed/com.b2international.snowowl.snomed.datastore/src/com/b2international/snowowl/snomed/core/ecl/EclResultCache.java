@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.core.ecl;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.b2international.collections.PrimitiveSets;
+import com.b2international.collections.longs.LongSet;
+import com.b2international.commons.collect.LongSets;
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.primitives.Ints;
+
+/**
+ * Shared cache of evaluated ECL expressions. Results are stored as primitive {@link LongSet}s and are associated with the branch path, branch
+ * identifier and head timestamp they were evaluated on, along with the normalized form of the expression and the expression form
+ * (stated/inferred) used for the evaluation.
+ * <p>
+ * Results computed on a previous head of a branch can never be returned after the head of the branch moves, as the head timestamp is part of
+ * the key. Those entries are removed from the cache when the first result for the new head is registered, and the remaining entries are evicted
+ * according to the configured maximum weight (the estimated memory footprint of the entries).
+ *
+ * @since 7.5
+ */
+public final class EclResultCache {
+
+	/*
+	 * Estimated memory footprint of a single concept ID in an open hash set (8 bytes per long, with the default 50% fill factor) and the
+	 * estimated fixed overhead of a cache entry (key, set and cache internals).
+	 */
+	private static final int BYTES_PER_ID = 16;
+	private static final int BYTES_PER_ENTRY = 256;
+
+	private final Cache<Key, LongSet> results;
+	private final Map<String, Long> latestHeadTimestamps = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new cache that holds ECL results up to the given estimated memory footprint.
+	 *
+	 * @param maximumWeightInBytes - the maximum estimated size of the cached results in bytes
+	 */
+	public EclResultCache(long maximumWeightInBytes) {
+		this.results = CacheBuilder.newBuilder()
+				.maximumWeight(maximumWeightInBytes)
+				.weigher((Key key, LongSet ids) -> weigh(key, ids))
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Returns the cached result of the given ECL expression as a new mutable set of concept IDs.
+	 *
+	 * @param branchPath - the path of the branch (including any point-in-time modifiers) the expression is evaluated on
+	 * @param branchId - the current identifier of the branch
+	 * @param headTimestamp - the current head timestamp of the branch
+	 * @param ecl - the ECL expression
+	 * @param expressionForm - the form (stated or inferred) used for the evaluation
+	 * @return the cached set of matching concept IDs or <code>null</code> if the result is not cached
+	 */
+	public Set<String> get(String branchPath, long branchId, long headTimestamp, String ecl, String expressionForm) {
+		final LongSet ids = results.getIfPresent(new Key(branchPath, branchId, headTimestamp, normalize(ecl), expressionForm));
+		return ids == null ? null : LongSets.toStringSet(ids);
+	}
+
+	/**
+	 * Registers the result of the given ECL expression evaluated on the specified branch head. Results with non-numeric identifiers are not
+	 * cached. Registering the first result for a new head of the branch evicts all previously cached results of the branch.
+	 *
+	 * @param branchPath - the path of the branch (including any point-in-time modifiers) the expression has been evaluated on
+	 * @param branchId - the identifier of the branch at the time of the evaluation
+	 * @param headTimestamp - the head timestamp of the branch at the time of the evaluation
+	 * @param ecl - the ECL expression
+	 * @param expressionForm - the form (stated or inferred) used for the evaluation
+	 * @param conceptIds - the matching concept IDs
+	 */
+	public void put(String branchPath, long branchId, long headTimestamp, String ecl, String expressionForm, Set<String> conceptIds) {
+		final LongSet ids = PrimitiveSets.newLongOpenHashSetWithExpectedSize(conceptIds.size());
+		for (String conceptId : conceptIds) {
+			try {
+				ids.add(Long.parseLong(conceptId));
+			} catch (NumberFormatException e) {
+				return;
+			}
+		}
+
+		final Long previousHeadTimestamp = latestHeadTimestamps.get(branchPath);
+		if (previousHeadTimestamp != null && previousHeadTimestamp > headTimestamp) {
+			// the branch has already moved past the evaluated head, the result can not be requested anymore
+			return;
+		}
+
+		final long latestHeadTimestamp = latestHeadTimestamps.merge(branchPath, headTimestamp, Math::max);
+		if (previousHeadTimestamp != null && previousHeadTimestamp < latestHeadTimestamp) {
+			results.asMap().keySet().removeIf(key -> key.branchPath.equals(branchPath) && key.headTimestamp < latestHeadTimestamp);
+		}
+		results.put(new Key(branchPath, branchId, headTimestamp, normalize(ecl), expressionForm), ids);
+	}
+
+	/**
+	 * Removes all cached results.
+	 */
+	public void invalidateAll() {
+		results.invalidateAll();
+		latestHeadTimestamps.clear();
+	}
+
+	/**
+	 * @return hit/miss statistics of this cache
+	 */
+	public CacheStats getStats() {
+		return results.stats();
+	}
+
+	/**
+	 * @return the approximate number of cached results
+	 */
+	public long getSize() {
+		return results.size();
+	}
+
+	/**
+	 * @return the estimated memory footprint of the cached results in bytes
+	 */
+	public long getEstimatedWeightInBytes() {
+		long weight = 0L;
+		for (Map.Entry<Key, LongSet> entry : results.asMap().entrySet()) {
+			weight += weigh(entry.getKey(), entry.getValue());
+		}
+		return weight;
+	}
+
+	private static int weigh(Key key, LongSet ids) {
+		return Ints.saturatedCast(BYTES_PER_ENTRY + 2L * key.ecl.length() + (long) BYTES_PER_ID * ids.size());
+	}
+
+	/**
+	 * Returns the normalized form of the given ECL expression, where leading and trailing whitespace is removed and all whitespace sequences
+	 * outside of quoted strings are replaced with a single space character.
+	 *
+	 * @param ecl
+	 * @return
+	 */
+	static String normalize(String ecl) {
+		final String trimmed = ecl.trim();
+		final StringBuilder normalized = new StringBuilder(trimmed.length());
+		boolean quoted = false;
+		boolean whitespace = false;
+		for (int i = 0; i < trimmed.length(); i++) {
+			final char c = trimmed.charAt(i);
+			if (!quoted && Character.isWhitespace(c)) {
+				whitespace = true;
+				continue;
+			}
+			if (whitespace) {
+				normalized.append(' ');
+				whitespace = false;
+			}
+			if (c == '"' && (i == 0 || trimmed.charAt(i - 1) != '\\')) {
+				quoted = !quoted;
+			}
+			normalized.append(c);
+		}
+		return normalized.toString();
+	}
+
+	private static final class Key {
+
+		private final String branchPath;
+		private final long branchId;
+		private final long headTimestamp;
+		private final String ecl;
+		private final String expressionForm;
+
+		private Key(String branchPath, long branchId, long headTimestamp, String ecl, String expressionForm) {
+			this.branchPath = branchPath;
+			this.branchId = branchId;
+			this.headTimestamp = headTimestamp;
+			this.ecl = ecl;
+			this.expressionForm = expressionForm;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(branchPath, branchId, headTimestamp, ecl, expressionForm);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (obj == null) return false;
+			if (getClass() != obj.getClass()) return false;
+			final Key other = (Key) obj;
+			return branchId == other.branchId
+					&& headTimestamp == other.headTimestamp
+					&& Objects.equals(branchPath, other.branchPath)
+					&& Objects.equals(ecl, other.ecl)
+					&& Objects.equals(expressionForm, other.expressionForm);
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this)
+					.add("branchPath", branchPath)
+					.add("branchId", branchId)
+					.add("headTimestamp", headTimestamp)
+					.add("ecl", ecl)
+					.add("expressionForm", expressionForm)
+					.toString();
+		}
+
+	}
+
+}
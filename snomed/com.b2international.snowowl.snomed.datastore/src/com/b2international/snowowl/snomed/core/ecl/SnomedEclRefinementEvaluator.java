@@ -26,7 +26,6 @@ import static com.b2international.snowowl.snomed.datastore.index.entry.SnomedRel
 import static com.google.common.collect.Sets.newHashSet;
 import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
 
-import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -36,6 +35,7 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.xtext.util.PolymorphicDispatcher;
 
@@ -632,36 +632,35 @@ final class SnomedEclRefinementEvaluator {
 	}
 
 	static Set<Property> evalAxiomStatements(final BranchContext context, final boolean groupedRelationshipsOnly, final Collection<String> sourceIds, final Collection<String> typeIds, final Collection<String> destinationIds) {
-		try {
-			// search existing axioms defined for the given set of conceptIds
-			ExpressionBuilder axiomFilter = Expressions.builder();
+		// search existing axioms defined for the given set of conceptIds
+		ExpressionBuilder axiomFilter = Expressions.builder();
 
-			if (typeIds != null) {
-				axiomFilter.filter(typeIds(typeIds));
-			}
-			
-			if (destinationIds != null) {
-				axiomFilter.filter(destinationIds(destinationIds));
-			}
-			
-			if (groupedRelationshipsOnly) {
-				axiomFilter.filter(group(1, Integer.MAX_VALUE));
-			}
-			
-			ExpressionBuilder activeOwlAxiomMemberQuery = Expressions.builder()
-					.filter(active())
-					.filter(Expressions.nestedMatch(SnomedRefSetMemberIndexEntry.Fields.CLASS_AXIOM_RELATIONSHIP, axiomFilter.build()));
-			
-			if (sourceIds != null) {
-				activeOwlAxiomMemberQuery.filter(SnomedRefSetMemberIndexEntry.Expressions.referencedComponentIds(sourceIds));
-			}
-			
-			final Query<SnomedRefSetMemberIndexEntry> activeAxiomStatementsQuery = Query.select(SnomedRefSetMemberIndexEntry.class)
-					.where(activeOwlAxiomMemberQuery.build())
-					.limit(Integer.MAX_VALUE)
-					.build();
-			return context.service(RevisionSearcher.class).search(activeAxiomStatementsQuery)
-				.stream()
+		if (typeIds != null) {
+			axiomFilter.filter(typeIds(typeIds));
+		}
+		
+		if (destinationIds != null) {
+			axiomFilter.filter(destinationIds(destinationIds));
+		}
+		
+		if (groupedRelationshipsOnly) {
+			axiomFilter.filter(group(1, Integer.MAX_VALUE));
+		}
+		
+		ExpressionBuilder activeOwlAxiomMemberQuery = Expressions.builder()
+				.filter(active())
+				.filter(Expressions.nestedMatch(SnomedRefSetMemberIndexEntry.Fields.CLASS_AXIOM_RELATIONSHIP, axiomFilter.build()));
+		
+		if (sourceIds != null) {
+			activeOwlAxiomMemberQuery.filter(SnomedRefSetMemberIndexEntry.Expressions.referencedComponentIds(sourceIds));
+		}
+		
+		final Query<SnomedRefSetMemberIndexEntry> activeAxiomStatementsQuery = Query.select(SnomedRefSetMemberIndexEntry.class)
+				.where(activeOwlAxiomMemberQuery.build())
+				.limit(Integer.MAX_VALUE)
+				.build();
+		try (Stream<SnomedRefSetMemberIndexEntry> activeAxioms = context.service(RevisionSearcher.class).stream(activeAxiomStatementsQuery)) {
+			return activeAxioms
 				.filter(owlMember -> !CompareUtils.isEmpty(owlMember.getClassAxiomRelationships()))
 				.flatMap(owlMember -> {
 					return owlMember.getClassAxiomRelationships().stream()
@@ -675,8 +674,6 @@ final class SnomedEclRefinementEvaluator {
 							});
 				})
 				.collect(Collectors.toSet());
-		} catch (IOException e) {
-			throw new SnowowlRuntimeException(e);
 		}
 	}
 	
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2019-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,7 @@ import com.b2international.commons.Pair;
 import com.b2international.commons.StringUtils;
 import com.b2international.commons.exceptions.BadRequestException;
 import com.b2international.commons.exceptions.SyntaxException;
+import com.b2international.snowowl.snomed.core.ParsedExpressionCache;
 import com.b2international.snowowl.snomed.ql.ql.Query;
 
 /**
@@ -46,10 +47,24 @@ public class DefaultSnomedQueryParser implements SnomedQueryParser {
 	
 	private final IParser qlParser;
 	private final IResourceValidator validator;
+	private final ParsedExpressionCache<Query> cache;
 	
 	public DefaultSnomedQueryParser(IParser qlParser, IResourceValidator validator) {
+		this(qlParser, validator, null);
+	}
+	
+	/**
+	 * Creates a new parser that serves repeated expressions from the given cache.
+	 * 
+	 * @param qlParser - the QL parser
+	 * @param validator - the QL validator
+	 * @param cache - the cache of parsed expressions, may be <code>null</code> to parse each expression on every call
+	 * @since 7.5
+	 */
+	public DefaultSnomedQueryParser(IParser qlParser, IResourceValidator validator, ParsedExpressionCache<Query> cache) {
 		this.qlParser = qlParser;
 		this.validator = validator;
+		this.cache = cache;
 	}
 
 	@Override
@@ -59,33 +74,37 @@ public class DefaultSnomedQueryParser implements SnomedQueryParser {
 		} else if (StringUtils.isEmpty(expression)) {
 			return null;
 		} else {
-			try (final StringReader reader = new StringReader(expression)) {
-				final IParseResult parseResult = qlParser.parse(reader);
-				if (parseResult.hasSyntaxErrors()) {
+			return cache == null ? doParse(expression) : cache.get(expression, this::doParse);
+		}
+	}
+
+	private Query doParse(String expression) {
+		try (final StringReader reader = new StringReader(expression)) {
+			final IParseResult parseResult = qlParser.parse(reader);
+			if (parseResult.hasSyntaxErrors()) {
+				final Map<Pair<Integer, Integer>, String> errors = newHashMap();
+				for (INode node : parseResult.getSyntaxErrors()) {
+					final SyntaxErrorMessage syntaxError = node.getSyntaxErrorMessage();
+					errors.put(Pair.of(node.getTotalStartLine(), node.getTotalOffset()), syntaxError.getMessage());
+				}
+				throw new SyntaxException("QL", errors);
+			} else {
+				final Query query = (Query) parseResult.getRootASTElement();
+				final Resource resource = new ResourceImpl();
+				resource.getContents().add(query);
+				final List<Issue> issues = validator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
+				if (!issues.isEmpty()) {
 					final Map<Pair<Integer, Integer>, String> errors = newHashMap();
-					for (INode node : parseResult.getSyntaxErrors()) {
-						final SyntaxErrorMessage syntaxError = node.getSyntaxErrorMessage();
-						errors.put(Pair.of(node.getTotalStartLine(), node.getTotalOffset()), syntaxError.getMessage());
-					}
-					throw new SyntaxException("QL", errors);
-				} else {
-					final Query query = (Query) parseResult.getRootASTElement();
-					final Resource resource = new ResourceImpl();
-					resource.getContents().add(query);
-					final List<Issue> issues = validator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
-					if (!issues.isEmpty()) {
-						final Map<Pair<Integer, Integer>, String> errors = newHashMap();
-						for (Issue issue : issues) {
-							if (issue.getSeverity() == Severity.ERROR) {
-								errors.put(Pair.of(issue.getLineNumber(), issue.getOffset()), issue.getMessage());
-							}
-						}
-						if (!errors.isEmpty()) {
-							throw new SyntaxException("QL", errors);
+					for (Issue issue : issues) {
+						if (issue.getSeverity() == Severity.ERROR) {
+							errors.put(Pair.of(issue.getLineNumber(), issue.getOffset()), issue.getMessage());
 						}
 					}
-					return query;
+					if (!errors.isEmpty()) {
+						throw new SyntaxException("QL", errors);
+					}
 				}
+				return query;
 			}
 		}
 	}
@@ -17,7 +17,8 @@ package com.b2international.snowowl.snomed.core.ql;
 
 import static com.b2international.snowowl.snomed.ql.QLRuntimeModule.getDomain;
 
-import java.io.IOException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
@@ -29,7 +30,6 @@ import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Expressions.ExpressionBuilder;
 import com.b2international.index.query.MatchNone;
 import com.b2international.index.revision.RevisionSearcher;
-import com.b2international.snowowl.core.api.SnowowlRuntimeException;
 import com.b2international.snowowl.core.authorization.BranchAccessControl;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.events.Request;
@@ -73,17 +73,15 @@ final class SnomedQueryEvaluationRequest implements Request<BranchContext, Promi
 		}
 		
 		final RevisionSearcher searcher = context.service(RevisionSearcher.class);
-		try {
-			return SnomedDocument.Expressions.ids(searcher.search(com.b2international.index.query.Query
-					.select(String.class)
-					.from(SnomedDescriptionIndexEntry.class)
-					.fields(SnomedDescriptionIndexEntry.Fields.CONCEPT_ID)
-					.where(descriptionQuery)
-					.limit(Integer.MAX_VALUE)
-					.build()
-				).getHits());
-		} catch (IOException e) {
-			throw new SnowowlRuntimeException(e);
+		final com.b2international.index.query.Query<String> conceptIdsQuery = com.b2international.index.query.Query
+				.select(String.class)
+				.from(SnomedDescriptionIndexEntry.class)
+				.fields(SnomedDescriptionIndexEntry.Fields.CONCEPT_ID)
+				.where(descriptionQuery)
+				.limit(Integer.MAX_VALUE)
+				.build();
+		try (Stream<String> conceptIds = searcher.stream(conceptIdsQuery)) {
+			return SnomedDocument.Expressions.ids(conceptIds.collect(Collectors.toSet()));
 		}
 	}
 
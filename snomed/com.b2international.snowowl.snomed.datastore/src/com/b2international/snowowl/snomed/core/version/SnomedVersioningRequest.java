@@ -15,31 +15,45 @@
  */
 package com.b2international.snowowl.snomed.core.version;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 
 import com.b2international.commons.CompareUtils;
 import com.b2international.index.Hits;
+import com.b2international.index.mapping.DocumentMapping;
 import com.b2international.index.query.Query;
+import com.b2international.index.revision.BaseRevisionBranching;
 import com.b2international.index.revision.RevisionSearcher;
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
 import com.b2international.snowowl.core.date.EffectiveTimes;
 import com.b2international.snowowl.core.domain.TransactionContext;
+import com.b2international.snowowl.core.events.Request;
+import com.b2international.snowowl.core.merge.ComponentRevisionConflictProcessor;
+import com.b2international.snowowl.datastore.oplock.impl.DatastoreLockContextDescriptions;
+import com.b2international.snowowl.datastore.request.BranchRequest;
+import com.b2international.snowowl.datastore.request.RepositoryRequests;
+import com.b2international.snowowl.datastore.request.RevisionIndexReadRequest;
+import com.b2international.snowowl.datastore.request.TransactionalRequest;
 import com.b2international.snowowl.datastore.version.VersioningConfiguration;
 import com.b2international.snowowl.datastore.version.VersioningRequest;
+import com.b2international.snowowl.datastore.version.VersioningRequestBuilder;
 import com.b2international.snowowl.snomed.cis.SnomedIdentifiers;
 import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
 import com.b2international.snowowl.snomed.common.SnomedRf2Headers;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSetMember;
+import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfiguration;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedComponentDocument;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptDocument;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedDescriptionIndexEntry;
@@ -70,6 +84,17 @@ public final class SnomedVersioningRequest extends VersioningRequest {
 		SnomedRelationshipIndexEntry.class
 	);
 	
+	private static final List<Class<? extends SnomedDocument>> VERSIONED_TYPES = ImmutableList.of(
+		SnomedConceptDocument.class,
+		SnomedDescriptionIndexEntry.class, 
+		SnomedRelationshipIndexEntry.class,
+		SnomedRefSetMemberIndexEntry.class
+	);
+	
+	private static final int PROGRESS_REPORT_INTERVAL = 50_000;
+	
+	private static final String VERSIONING_BRANCH_PREFIX = "versioning-";
+	
 	private Set<String> componentIdsToPublish = newHashSet();
 	
 	public SnomedVersioningRequest(VersioningConfiguration config) {
@@ -79,130 +104,225 @@ public final class SnomedVersioningRequest extends VersioningRequest {
 	@Override
 	protected void doVersionComponents(TransactionContext context) throws Exception {
 		final Logger log = context.service(Logger.class);
+		final RevisionSearcher searcher = context.service(RevisionSearcher.class);
+		final int chunkSize = context.service(SnomedCoreConfiguration.class).getVersioningChunkSize();
 		
-		log.info("Collecting unpublished components...");
-		RevisionSearcher searcher = context.service(RevisionSearcher.class);
-			
-		final Collection<SnomedDocument> componentsToVersion = newArrayList();
-		
-		searcher.search(Query.select(SnomedConceptDocument.class)
-				.where(SnomedDocument.Expressions.effectiveTime(EffectiveTimes.UNSET_EFFECTIVE_TIME))
-				.limit(Integer.MAX_VALUE)
-				.build())
-				.forEach(componentsToVersion::add);
+		log.info("Publishing SNOMED CT components [effectiveTime: {}]...", EffectiveTimes.format(config().getEffectiveTime()));
+		final long effectiveTime = EffectiveTimes.getEffectiveTime(config().getEffectiveTime());
 		
-		searcher.search(Query.select(SnomedDescriptionIndexEntry.class)
-				.where(SnomedDocument.Expressions.effectiveTime(EffectiveTimes.UNSET_EFFECTIVE_TIME))
-				.limit(Integer.MAX_VALUE)
-				.build())
-				.forEach(componentsToVersion::add);
+		int total = 0;
+		for (Class<? extends SnomedDocument> type : VERSIONED_TYPES) {
+			total += getUnpublishedCount(searcher, type);
+		}
 		
-		searcher.search(Query.select(SnomedRelationshipIndexEntry.class)
-				.where(SnomedDocument.Expressions.effectiveTime(EffectiveTimes.UNSET_EFFECTIVE_TIME))
-				.limit(Integer.MAX_VALUE)
-				.build())
-				.forEach(componentsToVersion::add);
+		if (total <= chunkSize) {
+			// publish the components along with the new version in a single commit
+			publishComponents(context, searcher, effectiveTime, () -> {});
+		} else {
+			publishComponentsInChunks(context, searcher, effectiveTime, chunkSize);
+		}
+	}
+	
+	/*
+	 * Each chunk of updates is committed to a temporary child branch of the versioned branch, so the staging area never holds more than a 
+	 * single chunk. The temporary branch is merged into the versioned branch when all components have been published, so the components become
+	 * visible on the versioned branch either all at once or not at all. The versioned branch is locked during versioning, so the merge is always
+	 * a fast-forward merge. 
+	 */
+	private void publishComponentsInChunks(TransactionContext context, RevisionSearcher searcher, long effectiveTime, int chunkSize) {
+		final Logger log = context.service(Logger.class);
+		final String commitComment = VersioningRequestBuilder.defaultCommitComment(config());
+		final String versioningBranch = RepositoryRequests.branching()
+				.prepareCreate()
+				.setParent(context.branchPath())
+				.setName(VERSIONING_BRANCH_PREFIX + UUID.randomUUID().toString().replace("-", ""))
+				.build()
+				.execute(context);
 		
-		searcher.search(Query.select(SnomedRefSetMemberIndexEntry.class)
-				.where(SnomedDocument.Expressions.effectiveTime(EffectiveTimes.UNSET_EFFECTIVE_TIME))
-				.limit(Integer.MAX_VALUE)
-				.build())
-				.forEach(componentsToVersion::add);
+		log.info("Publishing components in chunks of {} on branch '{}'...", chunkSize, versioningBranch);
+		try {
+			// read the temporary branch without a snapshot, so module dependency members published in earlier chunks are visible
+			new BranchRequest<>(versioningBranch, 
+				new RevisionIndexReadRequest<>(
+					new TransactionalRequest(
+						config().getUser(), 
+						commitComment, 
+						(Request<TransactionContext, Void>) tx -> {
+							// the components are still streamed from the versioned branch, the remaining chunk is committed by the enclosing request
+							publishComponents(tx, searcher, effectiveTime, new ChunkedCommit(tx, commitComment, chunkSize));
+							return null;
+						}, 
+						0L, 
+						DatastoreLockContextDescriptions.CREATE_VERSION
+					),
+					false
+				)
+			).execute(context);
+			
+			log.info("Merging published components from branch '{}'...", versioningBranch);
+			context.service(BaseRevisionBranching.class)
+				.prepareMerge(versioningBranch, context.branchPath())
+				.author(config().getUser())
+				.commitMessage(commitComment)
+				.conflictProcessor(context.service(ComponentRevisionConflictProcessor.class))
+				.context(context)
+				.merge();
+		} finally {
+			RepositoryRequests.branching()
+				.prepareDelete(versioningBranch)
+				.build()
+				.execute(context);
+		}
+	}
+	
+	/*
+	 * Stages the publication of all unpublished components and the module dependency changes in the given transaction. The onStaged callback
+	 * is notified after each published component.
+	 */
+	private void publishComponents(TransactionContext context, RevisionSearcher searcher, long effectiveTime, Runnable onStaged) {
+		final Logger log = context.service(Logger.class);
 		
 		// sourceModuleId to targetModuleId map
 		final Multimap<String, String> componentIdsByReferringModule = HashMultimap.create();
 		
-		log.info("Publishing SNOMED CT components [effectiveTime: {}]...", EffectiveTimes.format(config().getEffectiveTime()));
-		long effectiveTime = EffectiveTimes.getEffectiveTime(config().getEffectiveTime());
-		
-		for (SnomedDocument componentToVersion : componentsToVersion) {
-			
-			// register IDs for publication
-			if (componentToVersion instanceof SnomedComponentDocument) {
-				componentIdsToPublish.add(componentToVersion.getId());
+		try {
+			for (Class<? extends SnomedDocument> type : VERSIONED_TYPES) {
+				versionComponents(context, searcher, type, effectiveTime, componentIdsByReferringModule, onStaged);
 			}
 			
-			// stage update on components based on actual type
-			final SnomedDocument.Builder updatedComponent; 
-			if (componentToVersion instanceof SnomedConceptDocument) {
-				final SnomedConceptDocument concept = (SnomedConceptDocument) componentToVersion;
-				componentIdsByReferringModule.put(concept.getModuleId(), concept.isPrimitive() ? Concepts.PRIMITIVE : Concepts.FULLY_DEFINED);
-				updatedComponent = SnomedConceptDocument.builder(concept);
-			} else if (componentToVersion instanceof SnomedDescriptionIndexEntry) {
-				final SnomedDescriptionIndexEntry description = (SnomedDescriptionIndexEntry) componentToVersion;
-				componentIdsByReferringModule.put(description.getModuleId(), description.getConceptId());
-				componentIdsByReferringModule.put(description.getModuleId(), description.getTypeId());
-				componentIdsByReferringModule.put(description.getModuleId(), description.getCaseSignificanceId());
-				updatedComponent = SnomedDescriptionIndexEntry.builder(description);
-			} else if (componentToVersion instanceof SnomedRelationshipIndexEntry) {
-				final SnomedRelationshipIndexEntry relationship = (SnomedRelationshipIndexEntry) componentToVersion;
-				componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getSourceId());
-				componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getTypeId());
-				componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getDestinationId());
-				componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getModifierId());
-				componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getCharacteristicTypeId());
-				updatedComponent = SnomedRelationshipIndexEntry.builder(relationship);
-			} else if (componentToVersion instanceof SnomedRefSetMemberIndexEntry) {
-				final SnomedRefSetMemberIndexEntry member = (SnomedRefSetMemberIndexEntry) componentToVersion;
-				componentIdsByReferringModule.put(member.getModuleId(), member.getReferenceSetId());
-
-				registerIfConcept(componentIdsByReferringModule, member.getModuleId(), member.getReferencedComponentId());
-				
-				final Map<String, Object> additionalFields = member.getAdditionalFields();
-				SnomedRf2Headers.MEMBER_FIELDS_WITH_COMPONENT_ID.forEach(field -> {
-					registerIfConcept(componentIdsByReferringModule, member.getModuleId(), (String) additionalFields.get(field));
-				});
-				
-				updatedComponent = SnomedRefSetMemberIndexEntry.builder(member);
-			} else {
-				throw new UnsupportedOperationException("Not implemented case for: " + componentToVersion);
+			// iterate over each module and get modules of all components registered to componentsByReferringModule
+			log.info("Collecting module dependencies of changed components...");
+			final Multimap<String, String> moduleDependencies = HashMultimap.create();
+			final Map<String, Long> moduleToLatestEffectiveTime = newHashMap();
+			for (String module : ImmutableSet.copyOf(componentIdsByReferringModule.keySet())) {
+				final Collection<String> dependencies = componentIdsByReferringModule.removeAll(module);
+				for (Class<? extends SnomedComponentDocument> type : CORE_COMPONENT_TYPES) {
+					Query<String[]> dependencyQuery = Query.select(String[].class)
+							.from(type)
+							.fields(SnomedComponentDocument.Fields.ID, SnomedComponentDocument.Fields.MODULE_ID, SnomedComponentDocument.Fields.EFFECTIVE_TIME)
+							.where(SnomedComponentDocument.Expressions.ids(dependencies))
+							.limit(10000)
+							.build();
+					for (Hits<String[]> dependencyHits : searcher.scroll(dependencyQuery)) {
+						for (String[] dependency : dependencyHits) {
+							String targetModule = dependency[1];
+							if (!module.equals(targetModule)) {
+								moduleDependencies.put(module, targetModule);
+							}
+							moduleToLatestEffectiveTime.merge(targetModule, Long.parseLong(dependency[2]), (oldEffectiveTime, newEffectiveTime) -> {
+								if (oldEffectiveTime == EffectiveTimes.UNSET_EFFECTIVE_TIME || newEffectiveTime == EffectiveTimes.UNSET_EFFECTIVE_TIME) {
+									return EffectiveTimes.UNSET_EFFECTIVE_TIME;
+								} else {
+									return Math.max(oldEffectiveTime, newEffectiveTime);
+								}
+							});
+						}
+					}
+				}
 			}
-			
-			context.update(
-				componentToVersion, 
-				updatedComponent
-					.effectiveTime(effectiveTime)
-					.released(true)
-					.build()
-			);
+			log.info("Collecting module dependencies of changed components successfully finished.");
+		
+			log.info("Adjusting effective time changes on module dependency...");
+			adjustDependencyRefSetMembers(context, moduleDependencies, moduleToLatestEffectiveTime, config().getEffectiveTime());
+			log.info("Effective time adjustment successfully finished on module dependency.");
+		} catch (IOException e) {
+			throw new SnowowlRuntimeException(e);
+		}
+	}
+	
+	private int getUnpublishedCount(RevisionSearcher searcher, Class<? extends SnomedDocument> type) throws IOException {
+		return searcher.search(Query.select(type)
+				.where(SnomedDocument.Expressions.effectiveTime(EffectiveTimes.UNSET_EFFECTIVE_TIME))
+				.limit(0)
+				.build())
+				.getTotal();
+	}
+	
+	/*
+	 * Unpublished components are streamed from the index page by page instead of being loaded all at once, and updates are staged in the 
+	 * given transaction as the pages are consumed.
+	 */
+	private <T extends SnomedDocument> void versionComponents(TransactionContext context, RevisionSearcher searcher, Class<T> type, long effectiveTime, Multimap<String, String> componentIdsByReferringModule, Runnable onStaged) throws IOException {
+		final Logger log = context.service(Logger.class);
+		final String typeName = DocumentMapping.getType(type);
+		
+		final int total = getUnpublishedCount(searcher, type);
+		if (total == 0) {
+			return;
 		}
 		
-		// iterate over each module and get modules of all components registered to componentsByReferringModule
-		log.info("Collecting module dependencies of changed components...");
-		final Multimap<String, String> moduleDependencies = HashMultimap.create();
-		final Map<String, Long> moduleToLatestEffectiveTime = newHashMap();
-		for (String module : ImmutableSet.copyOf(componentIdsByReferringModule.keySet())) {
-			final Collection<String> dependencies = componentIdsByReferringModule.removeAll(module);
-			for (Class<? extends SnomedComponentDocument> type : CORE_COMPONENT_TYPES) {
-				Query<String[]> dependencyQuery = Query.select(String[].class)
-						.from(type)
-						.fields(SnomedComponentDocument.Fields.ID, SnomedComponentDocument.Fields.MODULE_ID, SnomedComponentDocument.Fields.EFFECTIVE_TIME)
-						.where(SnomedComponentDocument.Expressions.ids(dependencies))
-						.limit(10000)
-						.build();
-				for (Hits<String[]> dependencyHits : context.service(RevisionSearcher.class).scroll(dependencyQuery)) {
-					for (String[] dependency : dependencyHits) {
-						String targetModule = dependency[1];
-						if (!module.equals(targetModule)) {
-							moduleDependencies.put(module, targetModule);
-						}
-						moduleToLatestEffectiveTime.merge(targetModule, Long.parseLong(dependency[2]), (oldEffectiveTime, newEffectiveTime) -> {
-							if (oldEffectiveTime == EffectiveTimes.UNSET_EFFECTIVE_TIME || newEffectiveTime == EffectiveTimes.UNSET_EFFECTIVE_TIME) {
-								return EffectiveTimes.UNSET_EFFECTIVE_TIME;
-							} else {
-								return Math.max(oldEffectiveTime, newEffectiveTime);
-							}
-						});
-					}
+		log.info("Publishing {} unpublished {} components...", total, typeName);
+		
+		final Query<T> query = Query.select(type)
+				.where(SnomedDocument.Expressions.effectiveTime(EffectiveTimes.UNSET_EFFECTIVE_TIME))
+				.limit(Integer.MAX_VALUE)
+				.build();
+		
+		int published = 0;
+		try (Stream<T> componentsToVersion = searcher.stream(query)) {
+			final Iterator<T> iterator = componentsToVersion.iterator();
+			while (iterator.hasNext()) {
+				versionComponent(context, iterator.next(), effectiveTime, componentIdsByReferringModule);
+				onStaged.run();
+				published++;
+				if (published % PROGRESS_REPORT_INTERVAL == 0) {
+					log.info("Published {}/{} {} components.", published, total, typeName);
 				}
 			}
 		}
-		log.info("Collecting module dependencies of changed components successfully finished.");
 		
-		log.info("Adjusting effective time changes on module dependency...");
-		adjustDependencyRefSetMembers(context, moduleDependencies, moduleToLatestEffectiveTime, config().getEffectiveTime());
-		log.info("Effective time adjustment successfully finished on module dependency.");
+		log.info("Published {}/{} {} components.", published, total, typeName);
+	}
+
+	private void versionComponent(TransactionContext context, SnomedDocument componentToVersion, long effectiveTime, Multimap<String, String> componentIdsByReferringModule) {
+		// register IDs for publication
+		if (componentToVersion instanceof SnomedComponentDocument) {
+			componentIdsToPublish.add(componentToVersion.getId());
+		}
+		
+		// stage update on components based on actual type
+		final SnomedDocument.Builder updatedComponent; 
+		if (componentToVersion instanceof SnomedConceptDocument) {
+			final SnomedConceptDocument concept = (SnomedConceptDocument) componentToVersion;
+			componentIdsByReferringModule.put(concept.getModuleId(), concept.isPrimitive() ? Concepts.PRIMITIVE : Concepts.FULLY_DEFINED);
+			updatedComponent = SnomedConceptDocument.builder(concept);
+		} else if (componentToVersion instanceof SnomedDescriptionIndexEntry) {
+			final SnomedDescriptionIndexEntry description = (SnomedDescriptionIndexEntry) componentToVersion;
+			componentIdsByReferringModule.put(description.getModuleId(), description.getConceptId());
+			componentIdsByReferringModule.put(description.getModuleId(), description.getTypeId());
+			componentIdsByReferringModule.put(description.getModuleId(), description.getCaseSignificanceId());
+			updatedComponent = SnomedDescriptionIndexEntry.builder(description);
+		} else if (componentToVersion instanceof SnomedRelationshipIndexEntry) {
+			final SnomedRelationshipIndexEntry relationship = (SnomedRelationshipIndexEntry) componentToVersion;
+			componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getSourceId());
+			componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getTypeId());
+			componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getDestinationId());
+			componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getModifierId());
+			componentIdsByReferringModule.put(relationship.getModuleId(), relationship.getCharacteristicTypeId());
+			updatedComponent = SnomedRelationshipIndexEntry.builder(relationship);
+		} else if (componentToVersion instanceof SnomedRefSetMemberIndexEntry) {
+			final SnomedRefSetMemberIndexEntry member = (SnomedRefSetMemberIndexEntry) componentToVersion;
+			componentIdsByReferringModule.put(member.getModuleId(), member.getReferenceSetId());
+
+			registerIfConcept(componentIdsByReferringModule, member.getModuleId(), member.getReferencedComponentId());
+			
+			final Map<String, Object> additionalFields = member.getAdditionalFields();
+			SnomedRf2Headers.MEMBER_FIELDS_WITH_COMPONENT_ID.forEach(field -> {
+				registerIfConcept(componentIdsByReferringModule, member.getModuleId(), (String) additionalFields.get(field));
+			});
+			
+			updatedComponent = SnomedRefSetMemberIndexEntry.builder(member);
+		} else {
+			throw new UnsupportedOperationException("Not implemented case for: " + componentToVersion);
+		}
 		
+		context.update(
+			componentToVersion, 
+			updatedComponent
+				.effectiveTime(effectiveTime)
+				.released(true)
+				.build()
+		);
 	}
 	
 	private void adjustDependencyRefSetMembers(TransactionContext context, Multimap<String, String> moduleDependencies, Map<String, Long> moduleToLatestEffectiveTime, Date effectiveTime) {
@@ -269,6 +389,32 @@ public final class SnomedVersioningRequest extends VersioningRequest {
 		}
 	}
 	
+	/*
+	 * Commits the staged updates of the transaction every time the given number of components have been staged.
+	 */
+	private final class ChunkedCommit implements Runnable {
+		
+		private final TransactionContext context;
+		private final String commitComment;
+		private final int chunkSize;
+		private int staged;
+		
+		ChunkedCommit(TransactionContext context, String commitComment, int chunkSize) {
+			this.context = context;
+			this.commitComment = commitComment;
+			this.chunkSize = chunkSize;
+		}
+		
+		@Override
+		public void run() {
+			if (++staged == chunkSize) {
+				context.commit(config().getUser(), commitComment, DatastoreLockContextDescriptions.CREATE_VERSION);
+				staged = 0;
+			}
+		}
+		
+	}
+	
 //	@Override
 //	protected void createCodeSystemVersion(final CDOEditingContext editingContext, VersioningConfiguration config) {
 //		if (Branch.MAIN_PATH.equals(editingContext.getBranch())) {
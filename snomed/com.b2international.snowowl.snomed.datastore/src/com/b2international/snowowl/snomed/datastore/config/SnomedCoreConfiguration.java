@@ -47,6 +47,13 @@ public class SnomedCoreConfiguration {
 	public static final int DEFAULT_MAXIMUM_REASONER_RUNS = 1000;
 	public static final String DEFAULT_NAMESPACE = ""; //$NON-NLS-1$
 	public static final String DEFAULT_MODULE = Concepts.MODULE_SCT_CORE;
+	public static final long DEFAULT_ECL_CACHE_SIZE = 128L;
+	public static final int DEFAULT_PARSED_EXPRESSION_CACHE_SIZE = 10_000;
+	public static final int DEFAULT_TAXONOMY_GRAPH_CACHE_SIZE = 5;
+	public static final int DEFAULT_VERSIONING_CHUNK_SIZE = 50_000;
+	public static final int DEFAULT_IMPORT_BATCH_SIZE = 60_000;
+	public static final int DEFAULT_MAXIMUM_REASONER_SNAPSHOTS = 0;
+	public static final int DEFAULT_NORMAL_FORM_WORKERS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
 	
 	@Min(1)
 	@Max(3)
@@ -60,9 +67,32 @@ public class SnomedCoreConfiguration {
 	@Max(1_000_000)
 	private int maxReasonerRuns = DEFAULT_MAXIMUM_REASONER_RUNS;
 	
+	@Min(0)
+	@Max(10)
+	private int maxReasonerSnapshots = DEFAULT_MAXIMUM_REASONER_SNAPSHOTS;
+	
+	@Min(1)
+	@Max(64)
+	private int normalFormWorkers = DEFAULT_NORMAL_FORM_WORKERS;
+	
 	@NotEmpty
 	private String defaultReasoner = DEFAULT_REASONER;
 	
+	@Min(0)
+	private long eclCacheSize = DEFAULT_ECL_CACHE_SIZE;
+	
+	@Min(0)
+	private int parsedExpressionCacheSize = DEFAULT_PARSED_EXPRESSION_CACHE_SIZE;
+	
+	@Min(0)
+	private int taxonomyGraphCacheSize = DEFAULT_TAXONOMY_GRAPH_CACHE_SIZE;
+	
+	@Min(1)
+	private int versioningChunkSize = DEFAULT_VERSIONING_CHUNK_SIZE;
+	
+	@Min(1)
+	private int importBatchSize = DEFAULT_IMPORT_BATCH_SIZE;
+	
 	@NotEmpty
 	private String concreteDomainTypeRefsetIdentifier = Concepts.REFSET_CONCRETE_DOMAIN_TYPE;
 	
@@ -166,6 +196,132 @@ public class SnomedCoreConfiguration {
 		this.defaultReasoner = defaultReasoner;
 	}
 
+	/**
+	 * @return the number of branches for which the ontology and the reasoner state of the last ELK classification should be kept in memory
+	 *         for incremental reclassification. <code>0</code> disables incremental classification.
+	 */
+	@JsonProperty
+	public int getMaxReasonerSnapshots() {
+		return maxReasonerSnapshots;
+	}
+	
+	/**
+	 * @param maxReasonerSnapshots the maxReasonerSnapshots to set
+	 */
+	@JsonProperty
+	public void setMaxReasonerSnapshots(int maxReasonerSnapshots) {
+		this.maxReasonerSnapshots = maxReasonerSnapshots;
+	}
+	
+	/**
+	 * @return the number of worker threads used for computing the distribution normal form of concepts after a classification run
+	 */
+	@JsonProperty
+	public int getNormalFormWorkers() {
+		return normalFormWorkers;
+	}
+	
+	/**
+	 * @param normalFormWorkers the normalFormWorkers to set
+	 */
+	@JsonProperty
+	public void setNormalFormWorkers(int normalFormWorkers) {
+		this.normalFormWorkers = normalFormWorkers;
+	}
+	
+	/**
+	 * @return the maximum estimated memory footprint of evaluated ECL expression results kept in memory, in megabytes. <code>0</code>
+	 *         disables the ECL result cache.
+	 */
+	@JsonProperty
+	public long getEclCacheSize() {
+		return eclCacheSize;
+	}
+	
+	/**
+	 * @param eclCacheSize the eclCacheSize to set
+	 */
+	@JsonProperty
+	public void setEclCacheSize(long eclCacheSize) {
+		this.eclCacheSize = eclCacheSize;
+	}
+	
+	/**
+	 * @return the maximum number of parsed ECL and SNOMED CT Query expressions (per language) kept in memory. <code>0</code> disables the
+	 *         parsed expression cache.
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public int getParsedExpressionCacheSize() {
+		return parsedExpressionCacheSize;
+	}
+	
+	/**
+	 * @param parsedExpressionCacheSize the parsedExpressionCacheSize to set
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public void setParsedExpressionCacheSize(int parsedExpressionCacheSize) {
+		this.parsedExpressionCacheSize = parsedExpressionCacheSize;
+	}
+	
+	/**
+	 * @return the maximum number of branches for which the complete stated and inferred taxonomy graphs are kept in memory to speed up
+	 *         commits. Each entry holds the taxonomy of a full SNOMED CT edition. <code>0</code> disables the taxonomy graph cache.
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public int getTaxonomyGraphCacheSize() {
+		return taxonomyGraphCacheSize;
+	}
+	
+	/**
+	 * @param taxonomyGraphCacheSize the taxonomyGraphCacheSize to set
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public void setTaxonomyGraphCacheSize(int taxonomyGraphCacheSize) {
+		this.taxonomyGraphCacheSize = taxonomyGraphCacheSize;
+	}
+	
+	/**
+	 * @return the maximum number of components published in a single commit when creating a new version. Versions with more unpublished
+	 *         components are published in multiple commits on a temporary branch, which is merged back when all components have been published.
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public int getVersioningChunkSize() {
+		return versioningChunkSize;
+	}
+	
+	/**
+	 * @param versioningChunkSize the versioningChunkSize to set
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public void setVersioningChunkSize(int versioningChunkSize) {
+		this.versioningChunkSize = versioningChunkSize;
+	}
+	
+	/**
+	 * @return the minimum number of components imported in a single batch of an RF2 effective time slice. Dependent components are always
+	 *         imported in the same batch, so batches can be larger than this value.
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public int getImportBatchSize() {
+		return importBatchSize;
+	}
+	
+	/**
+	 * @param importBatchSize the importBatchSize to set
+	 * @since 7.5
+	 */
+	@JsonProperty
+	public void setImportBatchSize(int importBatchSize) {
+		this.importBatchSize = importBatchSize;
+	}
+
 	@JsonProperty("concreteDomainSupport")
 	public boolean isConcreteDomainSupported() {
 		return concreteDomainSupport;
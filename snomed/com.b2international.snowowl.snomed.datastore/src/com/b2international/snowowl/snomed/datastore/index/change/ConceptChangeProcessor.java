@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
+import com.b2international.collections.longs.LongIterator;
 import com.b2international.commons.collect.LongSets;
 import com.b2international.index.query.Query;
 import com.b2international.index.revision.ObjectId;
@@ -337,15 +338,38 @@ public final class ConceptChangeProcessor extends ChangeSetProcessorBase {
 		// collect inferred taxonomy changes
 		dirtyConceptIds.addAll(registerConceptAndDescendants(inferredTaxonomy.getNewEdges(), inferredTaxonomy.getNewTaxonomy()));
 		dirtyConceptIds.addAll(registerConceptAndDescendants(inferredTaxonomy.getChangedEdges(), inferredTaxonomy.getNewTaxonomy()));
-		dirtyConceptIds.addAll(registerConceptAndDescendants(inferredTaxonomy.getDetachedEdges(), inferredTaxonomy.getOldTaxonomy()));
+		dirtyConceptIds.addAll(registerDetachedConceptAndDescendants(inferredTaxonomy));
 		// collect stated taxonomy changes
 		dirtyConceptIds.addAll(registerConceptAndDescendants(statedTaxonomy.getNewEdges(), statedTaxonomy.getNewTaxonomy()));
 		dirtyConceptIds.addAll(registerConceptAndDescendants(statedTaxonomy.getChangedEdges(), statedTaxonomy.getNewTaxonomy()));
-		dirtyConceptIds.addAll(registerConceptAndDescendants(statedTaxonomy.getDetachedEdges(), statedTaxonomy.getOldTaxonomy()));
+		dirtyConceptIds.addAll(registerDetachedConceptAndDescendants(statedTaxonomy));
 
 		return dirtyConceptIds;
 	}
 	
+	private Set<String> registerDetachedConceptAndDescendants(Taxonomy taxonomy) {
+		if (taxonomy.getOldTaxonomy() != null) {
+			return registerConceptAndDescendants(taxonomy.getDetachedEdges(), taxonomy.getOldTaxonomy());
+		}
+		
+		/*
+		 * The graph has been updated in place, so descendants are collected from the new state of the graph. Concepts that were connected to the
+		 * source of a detached edge only in the previous state of the graph are still descendants of the source of another new, changed or
+		 * detached edge in the new state, so they are registered as well.
+		 */
+		final TaxonomyGraph newTaxonomy = taxonomy.getNewTaxonomy();
+		final Set<String> ids = newHashSet();
+		final LongIterator sourceIds = taxonomy.getDetachedEdgeSourceIds().iterator();
+		while (sourceIds.hasNext()) {
+			final long conceptId = sourceIds.next();
+			ids.add(Long.toString(conceptId));
+			if (newTaxonomy.containsNode(conceptId)) {
+				ids.addAll(LongSets.toStringSet(newTaxonomy.getAllDescendantNodeIds(conceptId)));
+			}
+		}
+		return ids;
+	}
+	
 	private Set<String> registerConceptAndDescendants(Set<String> edgeIds, TaxonomyGraph taxonomy) {
 		final Set<String> ids = newHashSet();
 		for (String edgeId : edgeIds) {
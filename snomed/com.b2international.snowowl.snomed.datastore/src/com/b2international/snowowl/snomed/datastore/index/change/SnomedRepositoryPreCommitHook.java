@@ -27,9 +27,13 @@ import com.b2international.collections.PrimitiveSets;
 import com.b2international.collections.longs.LongSet;
 import com.b2international.commons.ClassUtils;
 import com.b2international.commons.CompareUtils;
+import com.b2international.commons.Pair;
 import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Query;
+import com.b2international.index.revision.Commit;
+import com.b2international.index.revision.Hooks;
 import com.b2international.index.revision.RevisionBranch;
+import com.b2international.index.revision.RevisionIndex;
 import com.b2international.index.revision.RevisionSearcher;
 import com.b2international.index.revision.StagingArea;
 import com.b2international.snowowl.core.domain.RepositoryContext;
@@ -49,18 +53,29 @@ import com.b2international.snowowl.snomed.datastore.request.SnomedOWLExpressionC
 import com.b2international.snowowl.snomed.datastore.request.SnomedOWLExpressionConverterResult;
 import com.b2international.snowowl.snomed.datastore.taxonomy.Taxonomies;
 import com.b2international.snowowl.snomed.datastore.taxonomy.Taxonomy;
+import com.b2international.snowowl.snomed.datastore.taxonomy.TaxonomyGraphCache;
+import com.b2international.snowowl.snomed.datastore.taxonomy.TaxonomyGraphCache.TaxonomyGraphs;
 import com.b2international.snowowl.snomed.icons.SnomedIconProvider;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 
 /**
- * Repository precommit hook implementation for SNOMED CT repository.
+ * Repository precommit hook implementation for SNOMED CT repository. The hook also acts as a post-commit and failed commit hook to keep the
+ * cached taxonomy graphs of the committed branch up-to-date.
  * @see BaseRepositoryPreCommitHook
  */
-public final class SnomedRepositoryPreCommitHook extends BaseRepositoryPreCommitHook {
+public final class SnomedRepositoryPreCommitHook extends BaseRepositoryPreCommitHook implements Hooks.PostCommitHook, Hooks.FailedCommitHook {
 
-	public SnomedRepositoryPreCommitHook(Logger log) {
+	private final TaxonomyGraphCache taxonomyGraphs;
+	
+	/**
+	 * @param log
+	 * @param taxonomyGraphs - the cache of the complete taxonomy graphs of recently modified branches, may be <code>null</code>
+	 */
+	public SnomedRepositoryPreCommitHook(Logger log, TaxonomyGraphCache taxonomyGraphs) {
 		super(log);
+		this.taxonomyGraphs = taxonomyGraphs;
 	}
 	
 	@Override
@@ -83,6 +98,83 @@ public final class SnomedRepositoryPreCommitHook extends BaseRepositoryPreCommit
 					.build());
 		}).execute(context);
 		
+		final RevisionBranch branch = index.get(RevisionBranch.class, staging.getBranchPath());
+		
+		log.trace("Retrieving taxonomic information from store...");
+
+		final FeatureToggles featureToggles = context.service(FeatureToggles.class);
+		final boolean importRunning = featureToggles.isEnabled(Features.getImportFeatureToggle(context.id(), index.branch()));
+		final boolean reindexRunning = featureToggles.isEnabled(Features.getReindexFeatureToggle(context.id()));
+		final boolean checkCycles = !importRunning && !reindexRunning;
+		
+		final Pair<Taxonomy, Taxonomy> taxonomies = computeTaxonomies(staging, index, expressionConverter, branch, context.service(RevisionIndex.class), checkCycles);
+		final Taxonomy statedTaxonomy = taxonomies.getA();
+		final Taxonomy inferredTaxonomy = taxonomies.getB();
+
+		// XXX change processor execution order is important!!!
+		return ImmutableList.<ChangeSetProcessor>builder()
+				// execute description change processor to get proper acceptabilityMap values before executing other change processors
+				// those values will be used in the ConceptChangeProcessor for example to properly compute the preferredDescriptions derived field
+				.add(new DescriptionChangeProcessor())
+				.add(new ConceptChangeProcessor(DoiDataProvider.INSTANCE, SnomedIconProvider.INSTANCE.getAvailableIconIds(), statedTaxonomy, inferredTaxonomy))
+				.add(new RelationshipChangeProcessor())
+				.build();
+	}
+	
+	/*
+	 * Computes the new state of the stated (A) and inferred (B) taxonomy, patching the cached graphs of the branch if they are available.
+	 */
+	@VisibleForTesting
+	Pair<Taxonomy, Taxonomy> computeTaxonomies(StagingArea staging, RevisionSearcher index, SnomedOWLExpressionConverter expressionConverter, RevisionBranch branch, RevisionIndex revisionIndex, boolean checkCycles) throws IOException {
+		final TaxonomyGraphs currentGraphs = taxonomyGraphs == null ? null : taxonomyGraphs.checkout(branch);
+		final Taxonomy inferredTaxonomy;
+		final Taxonomy statedTaxonomy;
+		if (currentGraphs != null) {
+			// patch the current graphs of the branch in place instead of building the affected part of the taxonomy from the index
+			inferredTaxonomy = Taxonomies.inferred(index, expressionConverter, staging, currentGraphs.getInferredGraph(), checkCycles);
+			statedTaxonomy = Taxonomies.stated(index, expressionConverter, staging, currentGraphs.getStatedGraph(), checkCycles);
+			taxonomyGraphs.stage(branch, statedTaxonomy.getNewTaxonomy(), inferredTaxonomy.getNewTaxonomy());
+		} else {
+			final LongSet statedConceptIds = PrimitiveSets.newLongOpenHashSet();
+			final LongSet inferredConceptIds = PrimitiveSets.newLongOpenHashSet();
+			collectAffectedConceptIds(staging, index, expressionConverter, statedConceptIds, inferredConceptIds);
+			inferredTaxonomy = Taxonomies.inferred(index, expressionConverter, staging, inferredConceptIds, checkCycles);
+			statedTaxonomy = Taxonomies.stated(index, expressionConverter, staging, statedConceptIds, checkCycles);
+			if (taxonomyGraphs != null) {
+				// subsequent commits can patch the complete graphs once they have been loaded in the background
+				taxonomyGraphs.stageLoad(branch, revisionIndex);
+			}
+		}
+		return Pair.of(statedTaxonomy, inferredTaxonomy);
+	}
+	
+	@Override
+	public void run(Commit commit) {
+		if (taxonomyGraphs != null) {
+			taxonomyGraphs.commit(commit.getBranch(), commit.getTimestamp());
+		}
+	}
+	
+	@Override
+	public void failed(StagingArea staging) {
+		if (taxonomyGraphs != null) {
+			taxonomyGraphs.discard(staging.getBranchPath());
+		}
+	}
+	
+	@Override
+	protected void postUpdateDocuments(StagingArea staging, RevisionSearcher index) throws IOException {
+		final RepositoryContext context = ClassUtils.checkAndCast(staging.getContext(), RepositoryContext.class);
+		final FeatureToggles featureToggles = context.service(FeatureToggles.class);
+		final boolean importRunning = featureToggles.isEnabled(Features.getImportFeatureToggle(context.id(), index.branch()));
+		if (!importRunning) {
+			final long branchBaseTimestamp = index.get(RevisionBranch.class, staging.getBranchPath()).getBaseTimestamp();
+			// XXX effective time restore should be the last processing unit before we send the changes to commit
+			doProcess(Collections.singleton(new ComponentEffectiveTimeRestoreChangeProcessor(log, branchBaseTimestamp)), staging, index);
+		}
+	}
+	
+	private void collectAffectedConceptIds(StagingArea staging, RevisionSearcher index, SnomedOWLExpressionConverter expressionConverter, LongSet statedConceptIds, LongSet inferredConceptIds) throws IOException {
 		final Set<String> statedSourceIds = Sets.newHashSet();
 		final Set<String> statedDestinationIds = Sets.newHashSet();
 		final Set<String> inferredSourceIds = Sets.newHashSet();
@@ -113,10 +205,6 @@ public final class SnomedRepositoryPreCommitHook extends BaseRepositoryPreCommit
 				collectIds(statedSourceIds, statedDestinationIds, detachedOwlMember.getReferencedComponentId(), detachedOwlMember.getOwlExpression(), expressionConverter);
 			});
 		
-		final LongSet statedConceptIds = PrimitiveSets.newLongOpenHashSet();
-		final LongSet inferredConceptIds = PrimitiveSets.newLongOpenHashSet();
-		
-		
 		if (!statedDestinationIds.isEmpty()) {
 			final Query<SnomedConceptDocument> statedDestinationConceptsQuery = Query.select(SnomedConceptDocument.class)
 					.where(SnomedDocument.Expressions.ids(statedDestinationIds))
@@ -161,14 +249,16 @@ public final class SnomedRepositoryPreCommitHook extends BaseRepositoryPreCommit
 					.limit(Integer.MAX_VALUE)
 					.build();
 			
-			for (SnomedConceptDocument statedSourceConcept : index.search(statedSourceConceptsQuery)) {
-				statedConceptIds.add(Long.parseLong(statedSourceConcept.getId()));
-				if (statedSourceConcept.getStatedParents() != null) {
-					statedConceptIds.addAll(statedSourceConcept.getStatedParents());
-				}
-				if (statedSourceConcept.getStatedAncestors() != null) {
-					statedConceptIds.addAll(statedSourceConcept.getStatedAncestors());
-				}
+			try (Stream<SnomedConceptDocument> statedSourceConcepts = index.stream(statedSourceConceptsQuery)) {
+				statedSourceConcepts.forEach(statedSourceConcept -> {
+					statedConceptIds.add(Long.parseLong(statedSourceConcept.getId()));
+					if (statedSourceConcept.getStatedParents() != null) {
+						statedConceptIds.addAll(statedSourceConcept.getStatedParents());
+					}
+					if (statedSourceConcept.getStatedAncestors() != null) {
+						statedConceptIds.addAll(statedSourceConcept.getStatedAncestors());
+					}
+				});
 			}
 		}
 		
@@ -182,14 +272,16 @@ public final class SnomedRepositoryPreCommitHook extends BaseRepositoryPreCommit
 					.limit(Integer.MAX_VALUE)
 					.build();
 			
-			for (SnomedConceptDocument inferredSourceConcept : index.search(inferredSourceConceptsQuery)) {
-				inferredConceptIds.add(Long.parseLong(inferredSourceConcept.getId()));
-				if (inferredSourceConcept.getParents() != null) {
-					inferredConceptIds.addAll(inferredSourceConcept.getParents());
-				}
-				if (inferredSourceConcept.getAncestors() != null) {
-					inferredConceptIds.addAll(inferredSourceConcept.getAncestors());
-				}
+			try (Stream<SnomedConceptDocument> inferredSourceConcepts = index.stream(inferredSourceConceptsQuery)) {
+				inferredSourceConcepts.forEach(inferredSourceConcept -> {
+					inferredConceptIds.add(Long.parseLong(inferredSourceConcept.getId()));
+					if (inferredSourceConcept.getParents() != null) {
+						inferredConceptIds.addAll(inferredSourceConcept.getParents());
+					}
+					if (inferredSourceConcept.getAncestors() != null) {
+						inferredConceptIds.addAll(inferredSourceConcept.getAncestors());
+					}
+				});
 			}
 		}
 		
@@ -198,37 +290,6 @@ public final class SnomedRepositoryPreCommitHook extends BaseRepositoryPreCommit
 			statedConceptIds.add(longId);
 			inferredConceptIds.add(longId);
 		});
-
-		log.trace("Retrieving taxonomic information from store...");
-
-		final FeatureToggles featureToggles = context.service(FeatureToggles.class);
-		final boolean importRunning = featureToggles.isEnabled(Features.getImportFeatureToggle(context.id(), index.branch()));
-		final boolean reindexRunning = featureToggles.isEnabled(Features.getReindexFeatureToggle(context.id()));
-		final boolean checkCycles = !importRunning && !reindexRunning;
-		
-		final Taxonomy inferredTaxonomy = Taxonomies.inferred(index, expressionConverter, staging, inferredConceptIds, checkCycles);
-		final Taxonomy statedTaxonomy = Taxonomies.stated(index, expressionConverter, staging, statedConceptIds, checkCycles);
-
-		// XXX change processor execution order is important!!!
-		return ImmutableList.<ChangeSetProcessor>builder()
-				// execute description change processor to get proper acceptabilityMap values before executing other change processors
-				// those values will be used in the ConceptChangeProcessor for example to properly compute the preferredDescriptions derived field
-				.add(new DescriptionChangeProcessor())
-				.add(new ConceptChangeProcessor(DoiDataProvider.INSTANCE, SnomedIconProvider.INSTANCE.getAvailableIconIds(), statedTaxonomy, inferredTaxonomy))
-				.add(new RelationshipChangeProcessor())
-				.build();
-	}
-	
-	@Override
-	protected void postUpdateDocuments(StagingArea staging, RevisionSearcher index) throws IOException {
-		final RepositoryContext context = ClassUtils.checkAndCast(staging.getContext(), RepositoryContext.class);
-		final FeatureToggles featureToggles = context.service(FeatureToggles.class);
-		final boolean importRunning = featureToggles.isEnabled(Features.getImportFeatureToggle(context.id(), index.branch()));
-		if (!importRunning) {
-			final long branchBaseTimestamp = index.get(RevisionBranch.class, staging.getBranchPath()).getBaseTimestamp();
-			// XXX effective time restore should be the last processing unit before we send the changes to commit
-			doProcess(Collections.singleton(new ComponentEffectiveTimeRestoreChangeProcessor(log, branchBaseTimestamp)), staging, index);
-		}
 	}
 	
 	private void collectIds(final Set<String> sourceIds, final Set<String> destinationIds, Stream<SnomedRelationshipIndexEntry> newRelationships, String characteristicTypeId) {
@@ -27,12 +27,14 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import com.b2international.commons.exceptions.BadRequestException;
 import com.b2international.index.Hits;
 import com.b2international.index.query.Expression;
 import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Expressions.ExpressionBuilder;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.terminology.ComponentCategory;
+import com.b2international.snowowl.datastore.config.RepositoryConfiguration;
 import com.b2international.snowowl.datastore.index.RevisionDocument;
 import com.b2international.snowowl.snomed.cis.SnomedIdentifiers;
 import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
@@ -125,7 +127,12 @@ public class SnomedConceptSearchRequest extends SnomedComponentSearchRequest<Sno
 		/**
 		 * Use fuzzy query in the search
 		 */
-		USE_FUZZY
+		USE_FUZZY,
+		
+		/**
+		 * Restrict term matching to the best matching description of the top-k scoring concepts
+		 */
+		TERM_MATCH_LIMIT
 
 	}
 	
@@ -267,8 +274,25 @@ public class SnomedConceptSearchRequest extends SnomedComponentSearchRequest<Sno
 	}
 	
 	private Map<String, Float> executeDescriptionSearch(BranchContext context, String term) {
-		final SnomedDescriptionSearchRequestBuilder requestBuilder = SnomedRequests.prepareSearchDescription()
-			.all()
+		final SnomedDescriptionSearchRequestBuilder requestBuilder = SnomedRequests.prepareSearchDescription();
+		
+		if (containsKey(OptionKey.TERM_MATCH_LIMIT)) {
+			// collapsed searches can not be scrolled, the limit must fit into a single page of results
+			final int termMatchLimit = get(OptionKey.TERM_MATCH_LIMIT, Integer.class);
+			final int resultWindow = context.config().getModuleConfig(RepositoryConfiguration.class).getIndexConfiguration().getResultWindow();
+			if (termMatchLimit > resultWindow) {
+				throw new BadRequestException("Term match limit must be less than or equal to '%s', was '%s'.", resultWindow, termMatchLimit);
+			}
+			
+			// let the index score and collapse the descriptions, and return the best matching description of the top-k concepts only
+			requestBuilder
+				.setLimit(termMatchLimit)
+				.collapseByConcept();
+		} else {
+			requestBuilder.all();
+		}
+		
+		requestBuilder
 			.filterByActive(true)
 			.filterByTerm(term)
 			.setFields(SnomedDescriptionIndexEntry.Fields.ID, SnomedDescriptionIndexEntry.Fields.CONCEPT_ID)
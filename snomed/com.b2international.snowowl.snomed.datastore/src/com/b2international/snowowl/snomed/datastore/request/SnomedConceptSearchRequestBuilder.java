@@ -17,6 +17,7 @@ package com.b2international.snowowl.snomed.datastore.request;
 
 import java.util.List;
 
+import com.b2international.commons.exceptions.BadRequestException;
 import com.b2international.commons.http.ExtendedLocale;
 import com.b2international.snowowl.core.domain.BranchContext;
 import com.b2international.snowowl.core.request.SearchResourceRequest;
@@ -61,6 +62,26 @@ public final class SnomedConceptSearchRequestBuilder extends SnomedComponentSear
 	public final SnomedConceptSearchRequestBuilder withParsedTerm() {
 		return addOption(SnomedConceptSearchRequest.OptionKey.PARSED_TERM, true);
 	}
+	
+	/**
+	 * Enables top-k term matching: instead of collecting every description matching the {@link #filterByTerm(String) term filter}, only the
+	 * best matching description of the given number of top scoring concepts is retrieved, and the concept search is restricted to these
+	 * concepts. Recommended for type-ahead style searches where short terms would match a large number of descriptions.
+	 * <p>
+	 * Other concept filters are applied on the top matching concepts, so fewer results than requested might be returned if the filters
+	 * exclude some of them, and the total number of matches is limited to the given value.
+	 * 
+	 * @param termMatchLimit - the number of top scoring concepts to consider, must be positive and can not exceed the result window of the
+	 * index if specified
+	 * @return <code>this</code> search request builder, for method chaining
+	 * @since 7.5
+	 */
+	public final SnomedConceptSearchRequestBuilder withTermMatchLimit(Integer termMatchLimit) {
+		if (termMatchLimit != null && termMatchLimit <= 0) {
+			throw new BadRequestException("Term match limit must be positive, was '%s'.", termMatchLimit);
+		}
+		return addOption(SnomedConceptSearchRequest.OptionKey.TERM_MATCH_LIMIT, termMatchLimit);
+	}
 
 	/**
 	 * Filters results by matching description terms on each concept, using different methods for comparison.
@@ -57,7 +57,8 @@ final class SnomedDescriptionSearchRequest extends SnomedComponentSearchRequest<
 		SEMANTIC_TAG_REGEX,
 		LANGUAGE_REFSET,
 		ACCEPTABLE_IN,
-		PREFERRED_IN;
+		PREFERRED_IN,
+		COLLAPSE_BY_CONCEPT;
 	}
 	
 	SnomedDescriptionSearchRequest() {}
@@ -131,6 +132,11 @@ final class SnomedDescriptionSearchRequest extends SnomedComponentSearchRequest<
 	protected boolean trackScores() {
 		return containsKey(OptionKey.TERM);
 	}
+	
+	@Override
+	protected String collapseField() {
+		return containsKey(OptionKey.COLLAPSE_BY_CONCEPT) ? SnomedDescriptionIndexEntry.Fields.CONCEPT_ID : null;
+	}
 
 	@Override
 	protected SnomedDescriptions toCollectionResource(BranchContext context, Hits<SnomedDescriptionIndexEntry> hits) {
@@ -53,6 +53,18 @@ public final class SnomedDescriptionSearchRequestBuilder extends SnomedComponent
 		return addOption(OptionKey.PARSED_TERM, true);
 	}
 	
+	/**
+	 * Returns only the first matching description (in sort order) of each concept. When combined with a term filter and sorting by
+	 * {@link SearchResourceRequest#SCORE}, the result contains the best matching description of the top matching concepts. The total
+	 * number of hits still reflects the number of matching descriptions. Can not be combined with search after based paging.
+	 * 
+	 * @return <code>this</code> search request builder, for method chaining
+	 * @since 7.5
+	 */
+	public SnomedDescriptionSearchRequestBuilder collapseByConcept() {
+		return addOption(OptionKey.COLLAPSE_BY_CONCEPT, true);
+	}
+	
 	/**
 	 * Filters results by matching description terms, using different methods for comparison.
 	 * <p>
@@ -16,7 +16,6 @@
 package com.b2international.snowowl.snomed.datastore.request.rf2;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Sets.newHashSet;
 import static com.google.common.collect.Sets.newTreeSet;
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toSet;
@@ -29,6 +28,10 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -83,6 +86,7 @@ import com.b2international.snowowl.snomed.datastore.request.SnomedRefSetMemberSe
 import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
 import com.b2international.snowowl.snomed.datastore.request.rf2.exporter.Rf2ConceptExporter;
 import com.b2international.snowowl.snomed.datastore.request.rf2.exporter.Rf2DescriptionExporter;
+import com.b2international.snowowl.snomed.datastore.request.rf2.exporter.Rf2Exporter;
 import com.b2international.snowowl.snomed.datastore.request.rf2.exporter.Rf2LanguageRefSetExporter;
 import com.b2international.snowowl.snomed.datastore.request.rf2.exporter.Rf2RefSetDescriptorRefSetExporter;
 import com.b2international.snowowl.snomed.datastore.request.rf2.exporter.Rf2RefSetExporter;
@@ -90,6 +94,7 @@ import com.b2international.snowowl.snomed.datastore.request.rf2.exporter.Rf2Rela
 import com.b2international.snowowl.terminologyregistry.core.request.CodeSystemRequests;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
@@ -97,6 +102,8 @@ import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Ordering;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * @since 5.7
@@ -105,6 +112,7 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 
 	private static final String DESCRIPTION_TYPES_EXCEPT_TEXT_DEFINITION = "<<" + Concepts.DESCRIPTION_TYPE_ROOT_CONCEPT + " MINUS " + Concepts.TEXT_DEFINITION;
 	private static final String NON_STATED_CHARACTERISTIC_TYPES = "<<" + Concepts.CHARACTERISTIC_TYPE + " MINUS " + Concepts.STATED_RELATIONSHIP;
+	private static final int MAX_EXPORT_THREADS = 4;
 
 	private static final long serialVersionUID = 1L;
 
@@ -284,36 +292,48 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 			// create main folder including release status and archive effective date
 			final Path releaseDirectory = createReleaseDirectory(exportDirectory, archiveEffectiveDate);
 
-			final Set<String> visitedComponentEffectiveTimes = newHashSet();
+			// Visited keys are shared between the workers writing different files
+			final Set<String> visitedComponentEffectiveTimes = Sets.newConcurrentHashSet();
 			
 			final long effectiveTimeStart = startEffectiveTime != null ? startEffectiveTime.getTime() : 0;
 			final long effectiveTimeEnd =  endEffectiveTime != null ? endEffectiveTime.getTime() : Long.MAX_VALUE;
 
-			// export content from the pre-computed version branches
-			for (String branch : branchesToExport) {
+			final ExecutorService exportWorkers = Executors.newFixedThreadPool(MAX_EXPORT_THREADS, 
+					new ThreadFactoryBuilder().setNameFormat("rf2-export-%d").setDaemon(true).build());
+			
+			try {
 				
-				exportBranch(releaseDirectory, 
-						context,
-						branch, 
-						archiveEffectiveDateShort, 
-						effectiveTimeStart,
-						effectiveTimeEnd,
-						visitedComponentEffectiveTimes,
-						availableLanguageCodes.get(branch));
+				// export content from the pre-computed version branches
+				for (String branch : branchesToExport) {
+					
+					exportBranch(releaseDirectory, 
+							context,
+							branch, 
+							archiveEffectiveDateShort, 
+							effectiveTimeStart,
+							effectiveTimeEnd,
+							visitedComponentEffectiveTimes,
+							availableLanguageCodes.get(branch),
+							exportWorkers);
+					
+				}
 				
-			}
-			
-			// export content from reference branch
-			if (includePreReleaseContent) {
-				final String referenceBranchToExport = String.format("%s%s%s", referenceBranch, RevisionIndex.AT_CHAR, exportStartTime);
-				exportBranch(releaseDirectory, 
-						context, 
-						referenceBranchToExport, 
-						archiveEffectiveDateShort, 
-						EffectiveTimes.UNSET_EFFECTIVE_TIME,
-						EffectiveTimes.UNSET_EFFECTIVE_TIME,
-						visitedComponentEffectiveTimes,
-						availableLanguageCodes.get(referenceBranch));
+				// export content from reference branch
+				if (includePreReleaseContent) {
+					final String referenceBranchToExport = String.format("%s%s%s", referenceBranch, RevisionIndex.AT_CHAR, exportStartTime);
+					exportBranch(releaseDirectory, 
+							context, 
+							referenceBranchToExport, 
+							archiveEffectiveDateShort, 
+							EffectiveTimes.UNSET_EFFECTIVE_TIME,
+							EffectiveTimes.UNSET_EFFECTIVE_TIME,
+							visitedComponentEffectiveTimes,
+							availableLanguageCodes.get(referenceBranch),
+							exportWorkers);
+				}
+				
+			} finally {
+				exportWorkers.shutdownNow();
 			}
 
 			// Step 6: compress to archive and upload to the file registry
@@ -642,62 +662,32 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 			final long effectiveTimeFilterStart, 
 			final long effectiveTimeFilterEnd,
 			final Set<String> visitedComponentEffectiveTimes,
-			final Collection<String> languageCodes) throws IOException {
+			final Collection<String> languageCodes,
+			final ExecutorService exportWorkers) throws IOException {
 
+		final List<Rf2Exporter<?, ?, ?>> exporters = newArrayList();
+		
 		for (final String componentToExport : componentTypes) {
 			switch (componentToExport) {
 				case SnomedTerminologyComponentConstants.CONCEPT:
-					exportConcepts(releaseDirectory, 
-							context,
-							branch,
-							archiveEffectiveTime,
-							effectiveTimeFilterStart,
-							effectiveTimeFilterEnd,
-							visitedComponentEffectiveTimes);
+					addConceptExporters(archiveEffectiveTime, exporters);
 					break;
 	
 				case SnomedTerminologyComponentConstants.DESCRIPTION:
 					for (final String languageCode : languageCodes) {
-						exportDescriptions(releaseDirectory, 
-								context,
-								branch,
-								archiveEffectiveTime,
-								effectiveTimeFilterStart,
-								effectiveTimeFilterEnd,
-								languageCode,
-								visitedComponentEffectiveTimes);
+						addDescriptionExporters(context, branch, archiveEffectiveTime, languageCode, exporters);
 					}
 					break;
 	
 				case SnomedTerminologyComponentConstants.RELATIONSHIP:
-					exportRelationships(releaseDirectory, 
-							context,
-							branch,
-							archiveEffectiveTime,
-							effectiveTimeFilterStart,
-							effectiveTimeFilterEnd,
-							visitedComponentEffectiveTimes);
+					addRelationshipExporters(context, branch, archiveEffectiveTime, exporters);
 					break;
 	
 				case SnomedTerminologyComponentConstants.REFSET_MEMBER:
 					if (Rf2RefSetExportLayout.COMBINED.equals(refSetExportLayout)) {
-						exportCombinedRefSets(releaseDirectory,
-								context,
-								branch,
-								archiveEffectiveTime,
-								effectiveTimeFilterStart,
-								effectiveTimeFilterEnd,
-								languageCodes,
-								visitedComponentEffectiveTimes);
+						addCombinedRefSetExporters(context, branch, archiveEffectiveTime, languageCodes, exporters);
 					} else {
-						exportIndividualRefSets(releaseDirectory,
-								context,
-								branch,
-								archiveEffectiveTime,
-								effectiveTimeFilterStart,
-								effectiveTimeFilterEnd,
-								languageCodes,
-								visitedComponentEffectiveTimes);
+						addIndividualRefSetExporters(context, branch, archiveEffectiveTime, languageCodes, exporters);
 					}
 				break;
 
@@ -707,25 +697,62 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 		}
 		
 		if (Boolean.valueOf(System.getProperty("so.snomed.refsetdescriptor_preview", "false"))) {
-			exportRefSetDescriptor(releaseDirectory,
-					context,
-					branch,
-					archiveEffectiveTime,
-					effectiveTimeFilterStart,
-					effectiveTimeFilterEnd,
-					languageCodes,
-					visitedComponentEffectiveTimes);
+			addRefSetDescriptorExporter(archiveEffectiveTime, exporters);
 		}
+		
+		runExporters(releaseDirectory, 
+				context, 
+				branch, 
+				effectiveTimeFilterStart, 
+				effectiveTimeFilterEnd, 
+				visitedComponentEffectiveTimes, 
+				exporters, 
+				exportWorkers);
 	}
 
-	private void exportRefSetDescriptor(Path releaseDirectory, 
-			RepositoryContext context, 
-			String branch, 
-			String archiveEffectiveTime, 
-			long effectiveTimeFilterStart, 
-			long effectiveTimeFilterEnd, 
-			Collection<String> languageCodes, 
-			Set<String> visitedComponentEffectiveTimes) throws IOException {
+	/*
+	 * Each RF2 file is written by a separate worker. Exporters appending to the same file are run one after the other on the same worker, in 
+	 * the order they were added. The method returns when all files of the branch have been written, so content from subsequent branches is 
+	 * always appended after the content of this branch.
+	 */
+	private void runExporters(final Path releaseDirectory, 
+			final RepositoryContext context, 
+			final String branch, 
+			final long effectiveTimeFilterStart, 
+			final long effectiveTimeFilterEnd, 
+			final Set<String> visitedComponentEffectiveTimes, 
+			final List<Rf2Exporter<?, ?, ?>> exporters, 
+			final ExecutorService exportWorkers) throws IOException {
+		
+		final Map<Path, List<Rf2Exporter<?, ?, ?>>> exportersByFile = exporters.stream()
+				.collect(Collectors.groupingBy(exporter -> exporter.getExportFile(releaseDirectory), LinkedHashMap::new, Collectors.toList()));
+		
+		final List<Future<?>> futures = newArrayList();
+		for (final List<Rf2Exporter<?, ?, ?>> fileExporters : exportersByFile.values()) {
+			futures.add(exportWorkers.submit(() -> {
+				for (final Rf2Exporter<?, ?, ?> exporter : fileExporters) {
+					exporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+				}
+				return null;
+			}));
+		}
+		
+		try {
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} catch (final InterruptedException e) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new SnowowlRuntimeException("Thread interrupted while exporting branch '" + branch + "'.", e);
+		} catch (final ExecutionException e) {
+			futures.forEach(future -> future.cancel(true));
+			Throwables.propagateIfPossible(e.getCause(), IOException.class);
+			throw new SnowowlRuntimeException(e.getCause());
+		}
+	}
+
+	private void addRefSetDescriptorExporter(String archiveEffectiveTime, List<Rf2Exporter<?, ?, ?>> exporters) {
 		final Rf2RefSetDescriptorRefSetExporter exporter = new Rf2RefSetDescriptorRefSetExporter(releaseType, 
 				countryNamespaceElement, 
 				namespaceFilter,
@@ -734,16 +761,10 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 				includePreReleaseContent,
 				modules);
 		
-		exporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+		exporters.add(exporter);
 	}
 
-	private void exportConcepts(final Path releaseDirectory, 
-			final RepositoryContext context, 
-			final String branch,
-			final String archiveEffectiveTime, 
-			final long effectiveTimeFilterStart,
-			final long effectiveTimeFilterEnd,
-			final Set<String> visitedComponentEffectiveTimes) throws IOException {
+	private void addConceptExporters(final String archiveEffectiveTime, final List<Rf2Exporter<?, ?, ?>> exporters) {
 
 		final Rf2ConceptExporter conceptExporter = new Rf2ConceptExporter(releaseType, 
 				countryNamespaceElement, 
@@ -753,17 +774,14 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 				includePreReleaseContent,
 				modules);
 
-		conceptExporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+		exporters.add(conceptExporter);
 	}
 
-	private void exportDescriptions(final Path releaseDirectory, 
-			final RepositoryContext context, 
+	private void addDescriptionExporters(final RepositoryContext context, 
 			final String branch,
 			final String archiveEffectiveTime, 
-			final long effectiveTimeFilterStart,
-			final long effectiveTimeFilterEnd, 
 			final String languageCode,
-			final Set<String> visitedComponentEffectiveTimes) throws IOException {
+			final List<Rf2Exporter<?, ?, ?>> exporters) {
 
 		final Set<String> descriptionTypes = execute(context, getBranchOrRangeTarget(branch), SnomedRequests.prepareSearchConcept()
 			.all()
@@ -794,8 +812,8 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 				ImmutableSet.of(Concepts.TEXT_DEFINITION),
 				languageCode);
 
-		descriptionExporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
-		textDefinitionExporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+		exporters.add(descriptionExporter);
+		exporters.add(textDefinitionExporter);
 	}
 
 	private String getBranchOrRangeTarget(final String branch) {
@@ -806,13 +824,10 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 		return new BranchRequest<>(branch, new RevisionIndexReadRequest<>(next)).execute(context);
 	}
 	
-	private void exportRelationships(final Path releaseDirectory, 
-			final RepositoryContext context, 
+	private void addRelationshipExporters(final RepositoryContext context, 
 			final String branch,
 			final String archiveEffectiveTime, 
-			final long effectiveTimeFilterStart,
-			final long effectiveTimeFilterEnd,
-			final Set<String> visitedComponentEffectiveTimes) throws IOException {
+			final List<Rf2Exporter<?, ?, ?>> exporters) {
 
 		final Set<String> characteristicTypes = execute(context, getBranchOrRangeTarget(branch), SnomedRequests.prepareSearchConcept()
 				.all()
@@ -841,18 +856,15 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 				modules, 
 				characteristicTypes);
 
-		statedRelationshipExporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
-		relationshipExporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+		exporters.add(statedRelationshipExporter);
+		exporters.add(relationshipExporter);
 	}
 
-	private void exportCombinedRefSets(final Path releaseDirectory, 
-			final RepositoryContext context, 
+	private void addCombinedRefSetExporters(final RepositoryContext context, 
 			final String branch,
 			final String archiveEffectiveTime, 
-			final long effectiveTimeFilterStart,
-			final long effectiveTimeFilterEnd,  
 			final Collection<String> languageCodes,
-			final Set<String> visitedComponentEffectiveTimes) throws IOException {
+			final List<Rf2Exporter<?, ?, ?>> exporters) {
 
 		final Multimap<SnomedRefSetType, SnomedConcept> referenceSetsByType = FluentIterable.from(getIdentifierConcepts(context, getBranchOrRangeTarget(branch)))
 				.index(c -> c.getReferenceSet().getType());
@@ -876,28 +888,20 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 					refSetType,
 					referenceSetsByType.get(refSetType));
 
-			refSetExporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+			exporters.add(refSetExporter);
 		}
 
-		exportLanguageRefSets(releaseDirectory, 
-				context, 
-				branch, 
-				archiveEffectiveTime, 
-				effectiveTimeFilterStart, 
-				effectiveTimeFilterEnd, 
+		addLanguageRefSetExporters(archiveEffectiveTime, 
 				languageCodes, 
 				referenceSetsByType.get(SnomedRefSetType.LANGUAGE),
-				visitedComponentEffectiveTimes);
+				exporters);
 	}
 
-	private void exportIndividualRefSets(final Path releaseDirectory, 
-			final RepositoryContext context, 
+	private void addIndividualRefSetExporters(final RepositoryContext context, 
 			final String revisionRange,
 			final String archiveEffectiveTime, 
-			final long effectiveTimeFilterStart,
-			final long effectiveTimeFilterEnd, 
 			final Collection<String> languageCodes,
-			final Set<String> visitedComponentEffectiveTimes) throws IOException {
+			final List<Rf2Exporter<?, ?, ?>> exporters) {
 
 		final Multimap<SnomedRefSetType, SnomedConcept> referenceSetsByType = FluentIterable.from(getIdentifierConcepts(context, getBranchOrRangeTarget(revisionRange)))
 				.index(c -> c.getReferenceSet().getType());
@@ -924,29 +928,19 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 					entry.getKey(),
 					ImmutableSet.of(entry.getValue()));
 
-			refSetExporter.exportBranch(releaseDirectory, context, revisionRange, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+			exporters.add(refSetExporter);
 		}
 
-		exportLanguageRefSets(releaseDirectory, 
-				context, 
-				revisionRange, 
-				archiveEffectiveTime, 
-				effectiveTimeFilterStart, 
-				effectiveTimeFilterEnd, 
+		addLanguageRefSetExporters(archiveEffectiveTime, 
 				languageCodes, 
 				referenceSetsByType.get(SnomedRefSetType.LANGUAGE),
-				visitedComponentEffectiveTimes);
+				exporters);
 	}
 
-	private void exportLanguageRefSets(final Path releaseDirectory, 
-			final RepositoryContext context, 
-			final String branch,
-			final String archiveEffectiveTime, 
-			final long effectiveTimeFilterStart,
-			final long effectiveTimeFilterEnd, 
+	private void addLanguageRefSetExporters(final String archiveEffectiveTime, 
 			final Collection<String> languageCodes, 
 			final Collection<SnomedConcept> languageRefSets,
-			final Set<String> visitedComponentEffectiveTimes) throws IOException {
+			final List<Rf2Exporter<?, ?, ?>> exporters) {
 
 		if (languageRefSets.isEmpty()) {
 			return;
@@ -965,7 +959,7 @@ final class SnomedRf2ExportRequest implements Request<RepositoryContext, ExportR
 					languageRefSets,
 					languageCode);
 
-			languageExporter.exportBranch(releaseDirectory, context, branch, effectiveTimeFilterStart, effectiveTimeFilterEnd, visitedComponentEffectiveTimes);
+			exporters.add(languageExporter);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,13 +15,21 @@
  */
 package com.b2international.snowowl.snomed.datastore.request.rf2;
 
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -56,7 +64,6 @@ import com.b2international.snowowl.snomed.datastore.request.rf2.importer.Rf2Form
 import com.b2international.snowowl.snomed.datastore.request.rf2.importer.Rf2ImportConfiguration;
 import com.b2international.snowowl.snomed.datastore.request.rf2.validation.Rf2GlobalValidator;
 import com.b2international.snowowl.snomed.datastore.request.rf2.validation.Rf2ValidationIssueReporter;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
@@ -64,6 +71,7 @@ import com.fasterxml.jackson.dataformat.csv.CsvParser;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.google.common.base.Stopwatch;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * @since 6.0.0
@@ -73,6 +81,9 @@ final class SnomedRf2ImportRequest implements Request<BranchContext, Rf2ImportRe
 	private static final Logger LOG = LoggerFactory.getLogger("import");
 	
 	private static final String TXT_EXT = ".txt";
+	private static final int MAX_PARSER_THREADS = 4;
+	private static final int ROW_BATCH_SIZE = 1000;
+	private static final int MAX_PENDING_BATCHES = 64;
 	
 	@NotNull
 	private final UUID rf2ArchiveId;
@@ -86,6 +97,8 @@ final class SnomedRf2ImportRequest implements Request<BranchContext, Rf2ImportRe
 	private String userId;
 	
 	private boolean createVersions = true;
+	
+	private boolean bulkLoad = false;
 
 	SnomedRf2ImportRequest(UUID rf2ArchiveId) {
 		this.rf2ArchiveId = rf2ArchiveId;
@@ -103,6 +116,10 @@ final class SnomedRf2ImportRequest implements Request<BranchContext, Rf2ImportRe
 		this.createVersions = createVersions;
 	}
 	
+	void setBulkLoad(boolean bulkLoad) {
+		this.bulkLoad = bulkLoad;
+	}
+	
 	void setUserId(String userId) {
 		this.userId = userId;
 	}
@@ -118,7 +135,9 @@ final class SnomedRf2ImportRequest implements Request<BranchContext, Rf2ImportRe
 		try {
 			features.enable(feature);
 			final String user = !Strings.isNullOrEmpty(userId) ? userId : context.service(User.class).getUsername();
-			return doImport(rf2Archive, new Rf2ImportConfiguration(user, createVersions, codeSystemShortName, type), context);
+			final Rf2ImportConfiguration importConfig = new Rf2ImportConfiguration(user, createVersions, codeSystemShortName, type);
+			importConfig.setBulkLoad(bulkLoad);
+			return doImport(rf2Archive, importConfig, context);
 		} catch (Exception e) {
 			if (e instanceof ApiException) {
 				throw (ApiException) e;
@@ -189,19 +208,14 @@ final class SnomedRf2ImportRequest implements Request<BranchContext, Rf2ImportRe
 				.withLineSeparator("\r\n");
 		final ObjectReader oReader = csvMapper.readerFor(String[].class).with(schema);
 
-		final Stopwatch w = Stopwatch.createStarted();
 		try (final ZipFile zip = new ZipFile(rf2Archive)) {
-			for (ZipEntry entry : Collections.list(zip.entries())) {
-				final String fileName = Paths.get(entry.getName()).getFileName().toString().toLowerCase();
-				if (fileName.endsWith(TXT_EXT)) {
-					if (fileName.contains(type.toString().toLowerCase())) {
-						w.reset().start();
-						try (final InputStream in = zip.getInputStream(entry)) {
-							readFile(entry, in, oReader, slices, reporter);
-						}
-						LOG.info(entry.getName() + " - " + w);
-					}
-				}
+			final List<ZipEntry> entries = Collections.list(zip.entries())
+					.stream()
+					.filter(this::isImportable)
+					.collect(Collectors.toList());
+			
+			if (!entries.isEmpty()) {
+				readFiles(zip, entries, oReader, slices, reporter);
 			}
 		} catch (IOException e) {
 			throw new SnowowlRuntimeException(e);
@@ -210,41 +224,117 @@ final class SnomedRf2ImportRequest implements Request<BranchContext, Rf2ImportRe
 		slices.flushAll();
 	}
 
-	private void readFile(ZipEntry entry, final InputStream in, final ObjectReader oReader, Rf2EffectiveTimeSlices effectiveTimeSlices, Rf2ValidationIssueReporter reporter)
-			throws IOException, JsonProcessingException {
-		boolean header = true;
-		Rf2ContentType<?> resolver = null;
+	private boolean isImportable(ZipEntry entry) {
+		final String fileName = Paths.get(entry.getName()).getFileName().toString().toLowerCase();
+		return fileName.endsWith(TXT_EXT) && fileName.contains(type.toString().toLowerCase());
+	}
+	
+	/*
+	 * Files are parsed and validated in parallel, while parsed rows are registered in the (non thread-safe) effective time slices on the calling 
+	 * thread. Rows of a single file are registered in the order they appear in the file.
+	 */
+	private void readFiles(ZipFile zip, List<ZipEntry> entries, ObjectReader oReader, Rf2EffectiveTimeSlices slices, Rf2ValidationIssueReporter reporter) {
+		final BlockingQueue<Rf2RowBatch> batches = new ArrayBlockingQueue<>(MAX_PENDING_BATCHES);
+		final ExecutorService parsers = Executors.newFixedThreadPool(Math.min(entries.size(), MAX_PARSER_THREADS), 
+				new ThreadFactoryBuilder().setNameFormat("rf2-import-parser-%d").setDaemon(true).build());
 		
-		MappingIterator<String[]> mi = oReader.readValues(in);
-		while (mi.hasNext()) {
-			String[] line = mi.next();
+		try {
 			
-			if (header) {
-				for (Rf2ContentType<?> contentType : Rf2Format.getContentTypes()) {
-					if (contentType.canResolve(line)) {
-						resolver = contentType;
-						break;
-					}
+			for (ZipEntry entry : entries) {
+				parsers.execute(() -> readFile(zip, entry, oReader, batches, reporter));
+			}
+			
+			int remainingFiles = entries.size();
+			while (remainingFiles > 0) {
+				final Rf2RowBatch batch = batches.take();
+				if (batch.failure != null) {
+					throw new SnowowlRuntimeException(batch.failure);
+				} else if (batch.rows == null) {
+					remainingFiles--;
+				} else {
+					register(batch, slices);
 				}
+			}
+			
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SnowowlRuntimeException("Thread interrupted while reading RF2 files", e);
+		} finally {
+			parsers.shutdownNow();
+		}
+	}
 
-				if (resolver == null) {
-					LOG.warn("Unrecognized RF2 file: " + entry.getName());
-					break;
+	private void readFile(ZipFile zip, ZipEntry entry, ObjectReader oReader, BlockingQueue<Rf2RowBatch> batches, Rf2ValidationIssueReporter reporter) {
+		final Stopwatch w = Stopwatch.createStarted();
+		
+		try {
+			
+			try (final InputStream in = zip.getInputStream(entry)) {
+				Rf2ContentType<?> resolver = null;
+				List<String[]> rows = newArrayListWithCapacity(ROW_BATCH_SIZE);
+				
+				MappingIterator<String[]> mi = oReader.readValues(in);
+				while (mi.hasNext()) {
+					String[] line = mi.next();
+					
+					if (resolver == null) {
+						resolver = getContentType(line);
+						if (resolver == null) {
+							LOG.warn("Unrecognized RF2 file: " + entry.getName());
+							break;
+						}
+					} else {
+						resolver.validate(reporter, line);
+						rows.add(line);
+						
+						if (rows.size() >= ROW_BATCH_SIZE) {
+							batches.put(new Rf2RowBatch(resolver, rows, null));
+							rows = newArrayListWithCapacity(ROW_BATCH_SIZE);
+						}
+					}
 				}
 				
-				header = false;
-			} else {
-				if (Rf2ReleaseType.SNAPSHOT == type) {
-					final String effectiveTime = Strings.isNullOrEmpty(line[1]) ? EffectiveTimes.UNSET_EFFECTIVE_TIME_LABEL : Rf2EffectiveTimeSlice.SNAPSHOT_SLICE;
-					resolver.register(line, effectiveTimeSlices.getOrCreate(effectiveTime), reporter);
-				} else {
-					final String effectiveTime = Strings.isNullOrEmpty(line[1]) ? EffectiveTimes.UNSET_EFFECTIVE_TIME_LABEL : line[1];
-					resolver.register(line, effectiveTimeSlices.getOrCreate(effectiveTime), reporter);
+				if (!rows.isEmpty()) {
+					batches.put(new Rf2RowBatch(resolver, rows, null));
 				}
 			}
-
+			
+			LOG.info(entry.getName() + " - " + w);
+			batches.put(new Rf2RowBatch(null, null, null));
+			
+		} catch (InterruptedException e) {
+			// import has been cancelled, stop reading
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			try {
+				batches.put(new Rf2RowBatch(null, null, e));
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
 		}
+	}
 
+	private Rf2ContentType<?> getContentType(String[] header) {
+		for (Rf2ContentType<?> contentType : Rf2Format.getContentTypes()) {
+			if (contentType.canResolve(header)) {
+				return contentType;
+			}
+		}
+		return null;
+	}
+	
+	private void register(Rf2RowBatch batch, Rf2EffectiveTimeSlices effectiveTimeSlices) {
+		for (String[] line : batch.rows) {
+			final String effectiveTime;
+			if (Strings.isNullOrEmpty(line[1])) {
+				effectiveTime = EffectiveTimes.UNSET_EFFECTIVE_TIME_LABEL;
+			} else if (Rf2ReleaseType.SNAPSHOT == type) {
+				effectiveTime = Rf2EffectiveTimeSlice.SNAPSHOT_SLICE;
+			} else {
+				effectiveTime = line[1];
+			}
+			batch.resolver.register(line, effectiveTimeSlices.getOrCreate(effectiveTime));
+		}
 	}
 
 	private DB createDb() {
@@ -272,6 +362,23 @@ final class SnomedRf2ImportRequest implements Request<BranchContext, Rf2ImportRe
 		}
 	}
 	
+	/*
+	 * A batch of parsed rows of an RF2 file. Batches without rows mark the end of a file, batches with a failure indicate that the file couldn't be read.
+	 */
+	private static final class Rf2RowBatch {
+		
+		private final Rf2ContentType<?> resolver;
+		private final List<String[]> rows;
+		private final Exception failure;
+		
+		private Rf2RowBatch(Rf2ContentType<?> resolver, List<String[]> rows, Exception failure) {
+			this.resolver = resolver;
+			this.rows = rows;
+			this.failure = failure;
+		}
+		
+	}
+	
 	@Override
 	public String getOperation() {
 		return Permission.IMPORT;
@@ -39,6 +39,7 @@ public final class SnomedRf2ImportRequestBuilder
 	private Rf2ReleaseType releaseType;
 	private String codeSystemShortName;
 	private boolean createVersions;
+	private boolean bulkLoad;
 	
 	SnomedRf2ImportRequestBuilder() {
 	}
@@ -68,11 +69,25 @@ public final class SnomedRf2ImportRequestBuilder
 		return getSelf();
 	}
 	
+	/**
+	 * Enables or disables bulk load mode. In bulk load mode each effective time slice of the RF2 release is imported in a single commit,
+	 * which considerably reduces the import time of large releases at the expense of a higher memory footprint.
+	 * 
+	 * @param bulkLoad
+	 * @return
+	 * @since 7.5
+	 */
+	public SnomedRf2ImportRequestBuilder setBulkLoad(boolean bulkLoad) {
+		this.bulkLoad = bulkLoad;
+		return getSelf();
+	}
+	
 	@Override
 	protected Request<BranchContext, Rf2ImportResponse> doBuild() {
 		final SnomedRf2ImportRequest req = new SnomedRf2ImportRequest(rf2ArchiveId);
 		req.setReleaseType(releaseType);
 		req.setCreateVersions(createVersions);
+		req.setBulkLoad(bulkLoad);
 		req.setUserId(userId);
 		req.setCodeSystemShortName(codeSystemShortName);
 		return req;
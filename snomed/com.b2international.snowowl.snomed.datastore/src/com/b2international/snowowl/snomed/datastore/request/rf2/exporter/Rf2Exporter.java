@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,6 @@ package com.b2international.snowowl.snomed.datastore.request.rf2.exporter;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -42,8 +41,6 @@ import com.b2international.snowowl.datastore.request.RevisionIndexReadRequest;
 import com.b2international.snowowl.snomed.core.domain.Rf2ReleaseType;
 import com.b2international.snowowl.snomed.core.domain.SnomedComponent;
 import com.b2international.snowowl.snomed.datastore.request.SnomedSearchRequestBuilder;
-import com.google.common.base.Charsets;
-import com.google.common.base.Joiner;
 
 /**
  * @since 6.3
@@ -51,10 +48,6 @@ import com.google.common.base.Joiner;
 public abstract class Rf2Exporter<B extends SnomedSearchRequestBuilder<B, R>, R extends PageableCollectionResource<C>, C extends SnomedComponent> {
 
 	private static final Logger LOG = LoggerFactory.getLogger("rf2.export");
-	private static final Joiner TAB_JOINER = Joiner.on('\t');
-	
-	private static final String CR_LF = "\r\n";
-
 	private static final int BATCH_SIZE = 10000;
 	
 	// Parameters used for file name calculations
@@ -122,17 +115,17 @@ public abstract class Rf2Exporter<B extends SnomedSearchRequestBuilder<B, R>, R
 		LOG.info("Exporting {} branch to '{}'", branch, getFileName());
 		
 		// Ensure that the path leading to the export file exists
-		final Path exportFileDirectory = releaseDirectory.resolve(getRelativeDirectory());
-		Files.createDirectories(exportFileDirectory);
+		final Path exportFile = getExportFile(releaseDirectory);
+		Files.createDirectories(exportFile.getParent());
 
-		final Path exportFile = exportFileDirectory.resolve(getFileName());
 		try (RandomAccessFile randomAccessFile = new RandomAccessFile(exportFile.toFile(), "rw")) {
 			try (FileChannel fileChannel = randomAccessFile.getChannel()) {
 
+				final Rf2RowWriter writer = new Rf2RowWriter(fileChannel);
+
 				// Add a header if the file is empty
 				if (randomAccessFile.length() == 0L) {
-					fileChannel.write(toByteBuffer(TAB_JOINER.join(getHeader())));
-					fileChannel.write(toByteBuffer(CR_LF));
+					writer.writeRow(getHeader());
 				}
 
 				// We want to append rows, if the file already exists, so jump to the end
@@ -172,18 +165,25 @@ public abstract class Rf2Exporter<B extends SnomedSearchRequestBuilder<B, R>, R
 							}
 							
 							try {
-								fileChannel.write(toByteBuffer(TAB_JOINER.join(row)));
-								fileChannel.write(toByteBuffer(CR_LF));
+								writer.writeRow(row);
 							} catch (final IOException e) {
 								throw new SnowowlRuntimeException("Failed to write contents for file '" + exportFile.getFileName() + "'.");
 							}
 						});
 				}
+				
+				writer.flush();
 			}
 		}
 	}
 
-	private static ByteBuffer toByteBuffer(final String s) {
-		return ByteBuffer.wrap(s.getBytes(Charsets.UTF_8));
+	/**
+	 * Returns the path of the file this exporter appends its rows to. Exporters returning the same path must not be run concurrently.
+	 * 
+	 * @param releaseDirectory - the root directory of the release
+	 * @return the path of the export file
+	 */
+	public final Path getExportFile(final Path releaseDirectory) {
+		return releaseDirectory.resolve(getRelativeDirectory()).resolve(getFileName());
 	}
 }
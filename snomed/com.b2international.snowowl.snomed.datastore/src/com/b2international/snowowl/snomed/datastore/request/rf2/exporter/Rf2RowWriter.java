@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.request.rf2.exporter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes tab-separated, CRLF-terminated RF2 rows to a channel. Values are encoded to UTF-8 directly into a single reusable direct buffer,
+ * which is written to the channel whenever it becomes full, and when {@link #flush()} is called.
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @since 7.5
+ */
+final class Rf2RowWriter {
+
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private static final String TAB = "\t";
+	private static final String CR_LF = "\r\n";
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer;
+	private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+	Rf2RowWriter(final WritableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER_SIZE);
+	}
+
+	Rf2RowWriter(final WritableByteChannel channel, final int bufferSize) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+	}
+
+	/**
+	 * Appends a single row to the buffer, separating the values with tab characters.
+	 *
+	 * @param values - the values of the row, may not contain <code>null</code> elements
+	 * @throws IOException - if the buffer had to be written to the channel and the write failed
+	 */
+	public void writeRow(final Iterable<String> values) throws IOException {
+		boolean first = true;
+		for (final String value : values) {
+			if (!first) {
+				write(TAB);
+			}
+			write(value);
+			first = false;
+		}
+		write(CR_LF);
+	}
+
+	public void writeRow(final String[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				write(TAB);
+			}
+			write(values[i]);
+		}
+		write(CR_LF);
+	}
+
+	/**
+	 * Writes all buffered content to the underlying channel.
+	 *
+	 * @throws IOException
+	 */
+	public void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	private void write(final String value) throws IOException {
+		final CharBuffer chars = CharBuffer.wrap(value);
+		encoder.reset();
+
+		CoderResult result = encoder.encode(chars, buffer, true);
+		while (result.isOverflow()) {
+			flush();
+			result = encoder.encode(chars, buffer, true);
+		}
+
+		result = encoder.flush(buffer);
+		while (result.isOverflow()) {
+			flush();
+			result = encoder.flush(buffer);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,9 +36,16 @@ import com.google.common.base.Strings;
  */
 public interface Rf2ContentType<T extends SnomedComponent> {
 
-	default void register(String[] values, Rf2EffectiveTimeSlice slice, Rf2ValidationIssueReporter reporter) {
+	/**
+	 * Registers an already validated RF2 row in the given effective time slice.
+	 * 
+	 * @param values - the RF2 row
+	 * @param slice - the slice to register the row in
+	 * @since 7.5
+	 */
+	default void register(String[] values, Rf2EffectiveTimeSlice slice) {
 		final String containerId = getContainerId(values);
-		slice.register(containerId, this, values, reporter);
+		slice.register(containerId, this, values);
 		slice.registerDependencies(getDependentComponentId(values), getDependencies(values));
 	}
 
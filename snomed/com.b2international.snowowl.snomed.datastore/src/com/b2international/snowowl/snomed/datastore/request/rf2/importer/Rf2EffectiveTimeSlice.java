@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -54,11 +54,11 @@ import com.b2international.snowowl.snomed.core.domain.SnomedComponent;
 import com.b2international.snowowl.snomed.core.domain.SnomedCoreComponent;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSetMember;
 import com.b2international.snowowl.snomed.datastore.SnomedDatastoreActivator;
+import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfiguration;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptDocument;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedDescriptionIndexEntry;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedDocument;
 import com.b2international.snowowl.snomed.datastore.index.entry.SnomedRelationshipIndexEntry;
-import com.b2international.snowowl.snomed.datastore.request.rf2.validation.Rf2ValidationIssueReporter;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
@@ -127,7 +127,7 @@ public final class Rf2EffectiveTimeSlice {
 		throw new IllegalArgumentException("Unrecognized RF2 component: " + componentId + " - " + Arrays.toString(valuesWithType));
 	}
 	
-	public void register(String containerId, Rf2ContentType<?> type, String[] values, Rf2ValidationIssueReporter reporter) {
+	public void register(String containerId, Rf2ContentType<?> type, String[] values) {
 		String[] valuesWithType = new String[values.length + 1];
 		valuesWithType[0] = type.getType();
 		System.arraycopy(values, 0, valuesWithType, 1, values.length);
@@ -148,8 +148,6 @@ public final class Rf2EffectiveTimeSlice {
 			}
 		}
 		
-		type.validate(reporter, values);
-		
 		tmpComponentsById.put(componentId, valuesWithType);
 		if (tmpComponentsById.size() >= BATCH_SIZE) {
 			flush();
@@ -179,8 +177,8 @@ public final class Rf2EffectiveTimeSlice {
 		tmpComponentsById.clear();
 	}
 
-	private List<LongSet> getImportPlan() {
-		return new LongTarjan(60000, dependenciesByComponent::get).run(dependenciesByComponent.keySet());
+	private List<LongSet> getImportPlan(int batchSize) {
+		return new LongTarjan(batchSize, dependenciesByComponent::get).run(dependenciesByComponent.keySet());
 	}
 	
 	public void doImport(Rf2ImportConfiguration importConfig, BranchContext context) throws Exception {
@@ -189,10 +187,12 @@ public final class Rf2EffectiveTimeSlice {
 		final String commitMessage = isUnpublishedSlice() ? "Imported unpublished components" : String.format("Imported components from %s", effectiveTime);
 		final boolean doCreateVersion = !isUnpublishedSlice() && !isSnapshotSlice() && importConfig.isCreateVersions();
 		final String userId = importConfig.getUserId();
+		// in bulk mode all batches of the slice are committed at once, so change processors compute derived properties only once per slice
+		final boolean bulkLoad = importConfig.isBulkLoad();
 		
 		LOG.info(importingMessage);
 		try (Rf2TransactionContext tx = new Rf2TransactionContext(context.service(TransactionContextProvider.class).get(context, userId, null, DatastoreLockContextDescriptions.ROOT), loadOnDemand)) {
-			final Iterator<LongSet> importPlan = getImportPlan().iterator();
+			final Iterator<LongSet> importPlan = getImportPlan(context.service(SnomedCoreConfiguration.class).getImportBatchSize()).iterator();
 			while (importPlan.hasNext()) {
 				LongSet componentsToImportInBatch = importPlan.next();
 				LongIterator it = componentsToImportInBatch.iterator();
@@ -230,7 +230,9 @@ public final class Rf2EffectiveTimeSlice {
 							.build());
 				}
 				
-				tx.commit(userId, commitMessage, DatastoreLockContextDescriptions.ROOT);
+				if (!bulkLoad || !importPlan.hasNext()) {
+					tx.commit(userId, commitMessage, DatastoreLockContextDescriptions.ROOT);
+				}
 			}
 			
 			if (doCreateVersion) {
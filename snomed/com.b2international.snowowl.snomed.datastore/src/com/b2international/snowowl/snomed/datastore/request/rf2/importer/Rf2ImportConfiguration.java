@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ public final class Rf2ImportConfiguration {
 	private boolean createVersions;
 	private String codeSystemShortName;
 	private Rf2ReleaseType releaseType;
+	private boolean bulkLoad;
 
 	public Rf2ImportConfiguration(String userId, boolean createVersions, String codeSystemShortName, Rf2ReleaseType releaseType) {
 		this.userId = userId;
@@ -66,4 +67,12 @@ public final class Rf2ImportConfiguration {
 		this.releaseType = releaseType;
 	}
 	
+	public boolean isBulkLoad() {
+		return bulkLoad;
+	}
+	
+	public void setBulkLoad(boolean bulkLoad) {
+		this.bulkLoad = bulkLoad;
+	}
+	
 }
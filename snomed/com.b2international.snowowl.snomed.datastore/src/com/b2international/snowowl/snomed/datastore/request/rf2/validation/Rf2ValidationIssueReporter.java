@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 
 /**
+ * Collects RF2 validation issues. Issues can be reported concurrently from multiple threads.
+ * 
  * @since 7.0
  */
 public final class Rf2ValidationIssueReporter {
@@ -32,35 +34,35 @@ public final class Rf2ValidationIssueReporter {
 	
 	private Multimap<Rf2ValidationType, String> validationProblems = ArrayListMultimap.create(2, MAX_NUMBER_OF_VALIDATION_PROBLEMS);
 	
-	public void error(String message, Object...args) {
+	public synchronized void error(String message, Object...args) {
 		if (getNumberOfErrors() < MAX_NUMBER_OF_VALIDATION_PROBLEMS) {
 			validationProblems.put(Rf2ValidationType.ERROR, String.format(message, args));
 		}
 	}
 	
-	public void warning(String message, Object...args) {
+	public synchronized void warning(String message, Object...args) {
 		if (getNumberOfWarnings() < MAX_NUMBER_OF_VALIDATION_PROBLEMS) {
 			validationProblems.put(Rf2ValidationType.WARNING, String.format(message, args));
 		}
 	}
 	
-	public int getNumberOfErrors() {
+	public synchronized int getNumberOfErrors() {
 		return getErrors().size();
 	}
 	
-	public int getNumberOfWarnings() {
+	public synchronized int getNumberOfWarnings() {
 		return getWarnings().size();
 	}
 	
-	public Collection<String> getErrors() {
+	public synchronized Collection<String> getErrors() {
 		return ImmutableList.copyOf(validationProblems.get(Rf2ValidationType.ERROR));
 	}
 	
-	public Collection<String> getWarnings() {
+	public synchronized Collection<String> getWarnings() {
 		return ImmutableList.copyOf(validationProblems.get(Rf2ValidationType.WARNING));
 	}
 	
-	public Collection<String> getIssues() {
+	public synchronized Collection<String> getIssues() {
 		return ImmutableList.copyOf(validationProblems.values());
 	}
 
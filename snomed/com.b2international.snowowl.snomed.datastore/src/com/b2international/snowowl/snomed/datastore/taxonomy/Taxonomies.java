@@ -26,16 +26,18 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.b2international.collections.PrimitiveSets;
 import com.b2international.collections.longs.LongCollection;
 import com.b2international.collections.longs.LongCollections;
 import com.b2international.collections.longs.LongIterator;
+import com.b2international.collections.longs.LongSet;
 import com.b2international.commons.CompareUtils;
 import com.b2international.commons.collect.LongSets;
-import com.b2international.index.Hits;
 import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Expressions.ExpressionBuilder;
 import com.b2international.index.query.Query;
@@ -73,6 +75,107 @@ public final class Taxonomies {
 		return buildTaxonomy(searcher, expressionConverter, staging, conceptIds, Concepts.STATED_RELATIONSHIP, checkCycles);
 	}
 
+	/**
+	 * Computes the new state of the inferred taxonomy by applying the changes of the given {@link StagingArea} to the given complete inferred
+	 * taxonomy graph of the branch in place. The returned {@link Taxonomy} does not have an old taxonomy graph.
+	 * 
+	 * @since 7.5
+	 * @see #build(RevisionSearcher, String)
+	 */
+	public static Taxonomy inferred(RevisionSearcher searcher, SnomedOWLExpressionConverter expressionConverter, StagingArea staging, TaxonomyGraph currentTaxonomy, boolean checkCycles) {
+		return patchTaxonomy(searcher, expressionConverter, staging, currentTaxonomy, Concepts.INFERRED_RELATIONSHIP, checkCycles);
+	}
+	
+	/**
+	 * Computes the new state of the stated taxonomy by applying the changes of the given {@link StagingArea} to the given complete stated
+	 * taxonomy graph of the branch in place. The returned {@link Taxonomy} does not have an old taxonomy graph.
+	 * 
+	 * @since 7.5
+	 * @see #build(RevisionSearcher, String)
+	 */
+	public static Taxonomy stated(RevisionSearcher searcher, SnomedOWLExpressionConverter expressionConverter, StagingArea staging, TaxonomyGraph currentTaxonomy, boolean checkCycles) {
+		return patchTaxonomy(searcher, expressionConverter, staging, currentTaxonomy, Concepts.STATED_RELATIONSHIP, checkCycles);
+	}
+	
+	/**
+	 * Builds the complete taxonomy graph of the branch the given searcher is opened on, using all concepts as nodes and all active IS A
+	 * statements with the given characteristic type as edges.
+	 * 
+	 * @param searcher
+	 * @param characteristicTypeId - {@link Concepts#STATED_RELATIONSHIP} or {@link Concepts#INFERRED_RELATIONSHIP}
+	 * @return the up-to-date (non-dirty) taxonomy graph, never <code>null</code>
+	 * @since 7.5
+	 */
+	public static TaxonomyGraph build(RevisionSearcher searcher, String characteristicTypeId) {
+		try {
+			final LongSet conceptIds = PrimitiveSets.newLongOpenHashSet();
+			final Query<String> conceptIdsQuery = Query.select(String.class)
+					.from(SnomedConceptDocument.class)
+					.fields(SnomedConceptDocument.Fields.ID)
+					.where(Expressions.matchAll())
+					.limit(Integer.MAX_VALUE)
+					.build();
+			try (Stream<String> ids = searcher.stream(conceptIdsQuery)) {
+				ids.forEach(id -> conceptIds.add(Long.parseLong(id)));
+			}
+			
+			final Collection<Object[]> isaStatements = getAllStatements(searcher, characteristicTypeId);
+			final TaxonomyGraph graph = new TaxonomyGraph(conceptIds.size(), isaStatements.size());
+			
+			final LongIterator conceptIdsIt = conceptIds.iterator();
+			while (conceptIdsIt.hasNext()) {
+				graph.addNode(conceptIdsIt.next());
+			}
+			
+			for (Object[] isaStatement : isaStatements) {
+				graph.addEdge((String) isaStatement[0], (long) isaStatement[1], (long[]) isaStatement[2]);
+			}
+			
+			graph.update();
+			return graph;
+		} catch (IOException e) {
+			throw new SnowowlRuntimeException(e);
+		}
+	}
+	
+	private static Taxonomy patchTaxonomy(RevisionSearcher searcher, SnomedOWLExpressionConverter expressionConverter, StagingArea staging, TaxonomyGraph taxonomy, String characteristicTypeId, boolean checkCycles) {
+		try {
+			taxonomy.setCheckCycles(checkCycles);
+			taxonomy.beginChanges();
+			
+			// new concepts are always part of the graph, regardless of their status
+			staging.getNewObjects(SnomedConceptDocument.class).forEach(newConcept -> taxonomy.addNode(newConcept.getId()));
+			
+			final TaxonomyGraphStatus status = updateTaxonomy(searcher, expressionConverter, staging, taxonomy, characteristicTypeId);
+			
+			// only the edges touched by the change set can differ between the previous and the current state of the graph
+			final Set<String> newEdges = newHashSet();
+			final Set<String> changedEdges = newHashSet();
+			final Set<String> detachedEdges = newHashSet();
+			final LongSet detachedEdgeSourceIds = PrimitiveSets.newLongOpenHashSet();
+			for (String edgeId : taxonomy.getChangedEdgeIds()) {
+				final Edges oldValue = taxonomy.getPreviousEdge(edgeId);
+				final Edges newValue = taxonomy.getEdge(edgeId);
+				if (oldValue == null) {
+					if (newValue != null) {
+						newEdges.add(edgeId);
+					}
+				} else if (newValue == null) {
+					detachedEdges.add(edgeId);
+					detachedEdgeSourceIds.add(oldValue.sourceId);
+				} else if (!oldValue.equals(newValue)) {
+					changedEdges.add(edgeId);
+				}
+			}
+			
+			return new Taxonomy(taxonomy, status, newEdges, changedEdges, detachedEdges, detachedEdgeSourceIds);
+		} catch (IOException e) {
+			throw new SnowowlRuntimeException(e);
+		} finally {
+			taxonomy.endChanges();
+		}
+	}
+	
 	private static Taxonomy buildTaxonomy(RevisionSearcher searcher, SnomedOWLExpressionConverter expressionConverter, StagingArea staging, LongCollection conceptIds, String characteristicTypeId, boolean checkCycles) {
 		try {
 			Collection<Object[]> isaStatements = getStatements(searcher, conceptIds, characteristicTypeId, true);
@@ -197,7 +300,7 @@ public final class Taxonomies {
 			});
 		
 		if (!conceptWithPossibleMissingRelationships.isEmpty()) {
-			Hits<String[]> possibleMissingRelationships = searcher.search(Query.select(String[].class)
+			final Query<String[]> possibleMissingRelationshipsQuery = Query.select(String[].class)
 					.from(SnomedRelationshipIndexEntry.class)
 					.fields(SnomedRelationshipIndexEntry.Fields.ID, SnomedRelationshipIndexEntry.Fields.SOURCE_ID, SnomedRelationshipIndexEntry.Fields.DESTINATION_ID)
 					.where(Expressions.builder()
@@ -209,11 +312,13 @@ public final class Taxonomies {
 							.build()
 					)
 					.limit(Integer.MAX_VALUE)
-					.build());
+					.build();
 			
-			for (String[] relationship : possibleMissingRelationships) {
-				graphToUpdate.addNode(relationship[2]);
-				graphToUpdate.addEdge(relationship[0], Long.parseLong(relationship[1]), new long[] { Long.parseLong(relationship[2]) });
+			try (Stream<String[]> possibleMissingRelationships = searcher.stream(possibleMissingRelationshipsQuery)) {
+				possibleMissingRelationships.forEach(relationship -> {
+					graphToUpdate.addNode(relationship[2]);
+					graphToUpdate.addEdge(relationship[0], Long.parseLong(relationship[1]), new long[] { Long.parseLong(relationship[2]) });
+				});
 			}
 		}
 		
@@ -280,11 +385,11 @@ public final class Taxonomies {
 				.where(activeIsaRelationshipQuery.build())
 				.limit(Integer.MAX_VALUE)
 				.build();
-		Hits<String[]> activeIsaRelationships = searcher.search(activeStatedISARelationshipsQuery);
-		activeIsaRelationships.forEach(activeIsaRelationship -> {
-			isaStatementsBuilder.add(new Object[] { activeIsaRelationship[0], Long.parseLong(activeIsaRelationship[1]), new long[] { Long.parseLong(activeIsaRelationship[2]) } });
-		});
-		activeIsaRelationships = null;
+		try (Stream<String[]> activeIsaRelationships = searcher.stream(activeStatedISARelationshipsQuery)) {
+			activeIsaRelationships.forEach(activeIsaRelationship -> {
+				isaStatementsBuilder.add(new Object[] { activeIsaRelationship[0], Long.parseLong(activeIsaRelationship[1]), new long[] { Long.parseLong(activeIsaRelationship[2]) } });
+			});
+		}
 		
 		if (Concepts.STATED_RELATIONSHIP.equals(characteristicTypeId)) {
 			// search existing axioms defined for the given set of conceptIds
@@ -316,19 +421,19 @@ public final class Taxonomies {
 					.where(activeOwlAxiomMemberQuery.build())
 					.limit(Integer.MAX_VALUE)
 					.build();
-			Hits<SnomedRefSetMemberIndexEntry> activeAxiomISARelationships = searcher.search(activeAxiomISARelationshipsQuery);
-			activeAxiomISARelationships.forEach(owlMember -> {
-				if (!CompareUtils.isEmpty(owlMember.getClassAxiomRelationships())) {
-					long[] destinationIds = owlMember.getClassAxiomRelationships()
-						.stream()
-						.filter(classAxiom -> Concepts.IS_A.equals(classAxiom.getTypeId()))
-						.map(SnomedOWLRelationshipDocument::getDestinationId)
-						.mapToLong(Long::parseLong)
-						.toArray();
-					isaStatementsBuilder.add(new Object[] { owlMember.getId(), Long.parseLong(owlMember.getReferencedComponentId()), destinationIds });
-				}
-			});
-			activeAxiomISARelationships = null;
+			try (Stream<SnomedRefSetMemberIndexEntry> activeAxiomISARelationships = searcher.stream(activeAxiomISARelationshipsQuery)) {
+				activeAxiomISARelationships.forEach(owlMember -> {
+					if (!CompareUtils.isEmpty(owlMember.getClassAxiomRelationships())) {
+						long[] destinationIds = owlMember.getClassAxiomRelationships()
+							.stream()
+							.filter(classAxiom -> Concepts.IS_A.equals(classAxiom.getTypeId()))
+							.map(SnomedOWLRelationshipDocument::getDestinationId)
+							.mapToLong(Long::parseLong)
+							.toArray();
+						isaStatementsBuilder.add(new Object[] { owlMember.getId(), Long.parseLong(owlMember.getReferencedComponentId()), destinationIds });
+					}
+				});
+			}
 		}
 		
 		return isaStatementsBuilder.build();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@ package com.b2international.snowowl.snomed.datastore.taxonomy;
 
 import java.util.Set;
 
+import com.b2international.collections.PrimitiveSets;
+import com.b2international.collections.longs.LongSet;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 
@@ -30,9 +32,24 @@ public final class Taxonomy {
 	private final Set<String> newEdges;
 	private final Set<String> changedEdges;
 	private final Set<String> detachedEdges;
+	private final LongSet detachedEdgeSourceIds;
 	private final TaxonomyGraphStatus status;
 
 	public Taxonomy(TaxonomyGraph newTaxonomy, TaxonomyGraph oldTaxonomy, TaxonomyGraphStatus status, Set<String> newEdges, Set<String> changedEdges, Set<String> detachedEdges) {
+		this(newTaxonomy, oldTaxonomy, status, newEdges, changedEdges, detachedEdges, PrimitiveSets.newLongOpenHashSet());
+		detachedEdges.forEach(detachedEdge -> detachedEdgeSourceIds.add(oldTaxonomy.getSourceNodeId(detachedEdge)));
+	}
+	
+	/**
+	 * Creates a taxonomy that only has the new state of the taxonomy graph, eg. because the graph has been updated in place.
+	 * 
+	 * @since 7.5
+	 */
+	public Taxonomy(TaxonomyGraph newTaxonomy, TaxonomyGraphStatus status, Set<String> newEdges, Set<String> changedEdges, Set<String> detachedEdges, LongSet detachedEdgeSourceIds) {
+		this(newTaxonomy, null, status, newEdges, changedEdges, detachedEdges, detachedEdgeSourceIds);
+	}
+	
+	private Taxonomy(TaxonomyGraph newTaxonomy, TaxonomyGraph oldTaxonomy, TaxonomyGraphStatus status, Set<String> newEdges, Set<String> changedEdges, Set<String> detachedEdges, LongSet detachedEdgeSourceIds) {
 		this.newTaxonomy = newTaxonomy;
 		Preconditions.checkState(!newTaxonomy.isDirty(), "Builder for representing the new state of the taxonomy has dirty state.");
 		this.oldTaxonomy = oldTaxonomy;
@@ -40,12 +57,16 @@ public final class Taxonomy {
 		this.newEdges = ImmutableSet.copyOf(newEdges);
 		this.changedEdges = ImmutableSet.copyOf(changedEdges);
 		this.detachedEdges = ImmutableSet.copyOf(detachedEdges);
+		this.detachedEdgeSourceIds = detachedEdgeSourceIds;
 	}
 	
 	public TaxonomyGraph getNewTaxonomy() {
 		return newTaxonomy;
 	}
 	
+	/**
+	 * @return the previous state of the taxonomy graph, or <code>null</code> if the graph has been updated in place
+	 */
 	public TaxonomyGraph getOldTaxonomy() {
 		return oldTaxonomy;
 	}
@@ -65,5 +86,13 @@ public final class Taxonomy {
 	public Set<String> getDetachedEdges() {
 		return detachedEdges;
 	}
+	
+	/**
+	 * @return the source node identifiers of the detached edges
+	 * @since 7.5
+	 */
+	public LongSet getDetachedEdgeSourceIds() {
+		return detachedEdgeSourceIds;
+	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2019-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,15 +18,22 @@ package com.b2international.snowowl.snomed.datastore.taxonomy;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Iterables.isEmpty;
 
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.b2international.collections.PrimitiveMaps;
 import com.b2international.collections.PrimitiveSets;
+import com.b2international.collections.ints.IntIterator;
+import com.b2international.collections.longs.LongIterator;
+import com.b2international.collections.longs.LongKeyIntMap;
 import com.b2international.collections.longs.LongSet;
 import com.b2international.commons.CompareUtils;
 import com.b2international.commons.arrays.LongBidiMapWithInternalId;
@@ -36,6 +43,7 @@ import com.b2international.snowowl.core.api.SnowowlRuntimeException;
 import com.b2international.snowowl.snomed.datastore.taxonomy.InvalidRelationship.MissingConcept;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * @since 6.14
@@ -44,6 +52,8 @@ public final class TaxonomyGraph {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(TaxonomyGraph.class);
 	
+	private static final int[] EMPTY = new int[0];
+	
 	/**
 	 * Matrix for storing ancestors by internal IDs.
 	 */
@@ -69,9 +79,51 @@ public final class TaxonomyGraph {
 	 */
 	private final Map<String, Edges> edges;
 	
+	/**
+	 * Identifiers of edges referencing missing nodes as of the last {@link #update()}.
+	 */
+	private final Set<String> invalidEdgeIds;
+	
+	/**
+	 * The state of the edges before they were first added, changed or removed since {@link #beginChanges()}, <code>null</code> if changes are not
+	 * tracked. A <code>null</code> value represents an edge that did not exist.
+	 */
+	private Map<String, Edges> previousEdges;
+	
+	/**
+	 * Internal identifiers of the nodes removed since {@link #beginChanges()}.
+	 */
+	private LongKeyIntMap removedNodes;
+	
+	private boolean nodesAdded;
+	
 	public TaxonomyGraph(int numberOfExpectedNodes, int numberOfExpectedEdges) {
 		this.nodes = new LongBidiMapWithInternalId(numberOfExpectedNodes);
 		this.edges = Maps.newHashMapWithExpectedSize(numberOfExpectedEdges);
+		this.invalidEdgeIds = Sets.newHashSet();
+	}
+	
+	/**
+	 * Starts tracking the changes of this graph. The next {@link #update()} recomputes the hierarchy of the nodes affected by the changes only,
+	 * instead of rebuilding it from all edges, if possible.
+	 * 
+	 * @since 7.5
+	 */
+	void beginChanges() {
+		previousEdges = Maps.newHashMap();
+		removedNodes = PrimitiveMaps.newLongKeyIntOpenHashMap();
+		nodesAdded = false;
+	}
+	
+	/**
+	 * Stops tracking the changes of this graph.
+	 * 
+	 * @since 7.5
+	 */
+	void endChanges() {
+		previousEdges = null;
+		removedNodes = null;
+		nodesAdded = false;
 	}
 	
 	public void setCheckCycles(boolean checkCycles) {
@@ -100,7 +152,13 @@ public final class TaxonomyGraph {
 	}
 	
 	public TaxonomyGraphStatus update() {
+		if (previousEdges != null && ancestors != null && updateIncrementally()) {
+			dirty = false;
+			return getStatus();
+		}
+		
 		final List<InvalidRelationship> invalidRelationships = Lists.newArrayList();
+		invalidEdgeIds.clear();
 
 		// allocate data
 		final int conceptCount = nodes.size();
@@ -123,7 +181,8 @@ public final class TaxonomyGraph {
 		int count = 0;
 		
 		// refresh all RelationshipMini concepts, since they may have been modified
-		for (final Edges statements : edges.values()) {
+		for (final Entry<String, Edges> entry : edges.entrySet()) {
+			final Edges statements = entry.getValue();
 
 			final long sourceId = statements.sourceId;
 			final long[] destinationIds = statements.destinationIds;
@@ -146,6 +205,8 @@ public final class TaxonomyGraph {
 				if (!edgeSkipped) {
 					outgoingIsaHistogram[sourceConceptInternalId]++;
 					incomingIsaHistogram[destinationConceptInternalId]++;
+				} else {
+					invalidEdgeIds.add(entry.getKey());
 				}
 				
 				_conceptInternalIds[count][0] = sourceConceptInternalId;
@@ -188,13 +249,139 @@ public final class TaxonomyGraph {
 		dirty = false;
 		return result;
 	}
+	
+	/*
+	 * Applies the tracked changes to the computed hierarchy. Returns false if the changes can not be applied incrementally (new nodes might
+	 * turn previously invalid edges valid, or removed nodes still have edges), in which case the hierarchy must be rebuilt.
+	 */
+	private boolean updateIncrementally() {
+		if (nodesAdded && !invalidEdgeIds.isEmpty()) {
+			return false;
+		}
+		
+		final LongIterator removedNodeIds = removedNodes.keySet().iterator();
+		while (removedNodeIds.hasNext()) {
+			if (nodes.getInternalId(removedNodeIds.next()) >= 0) {
+				// node removed and added again
+				return false;
+			}
+		}
+		
+		ensureCapacity(nodes.size());
+		
+		// unlink the previous state of the changed edges
+		for (final Entry<String, Edges> previousEdge : previousEdges.entrySet()) {
+			final Edges statements = previousEdge.getValue();
+			if (statements != null) {
+				invalidEdgeIds.remove(previousEdge.getKey());
+				final int sourceInternalId = getPreviousInternalId(statements.sourceId);
+				for (long destinationId : statements.destinationIds) {
+					final int destinationInternalId = getPreviousInternalId(destinationId);
+					if (sourceInternalId >= 0 && destinationInternalId >= 0) {
+						ancestors[sourceInternalId] = removeFirst(ancestors[sourceInternalId], destinationInternalId);
+						descendants[destinationInternalId] = removeFirst(descendants[destinationInternalId], sourceInternalId);
+					}
+				}
+			}
+		}
+		
+		// edges of removed nodes that are still present became invalid
+		final IntIterator removedInternalIds = removedNodes.values().iterator();
+		while (removedInternalIds.hasNext()) {
+			final int removedInternalId = removedInternalIds.next();
+			if (ancestors[removedInternalId].length > 0 || descendants[removedInternalId].length > 0) {
+				return false;
+			}
+		}
+		
+		// link the current state of the changed edges
+		for (final String edgeId : previousEdges.keySet()) {
+			final Edges statements = edges.get(edgeId);
+			if (statements != null) {
+				final int sourceInternalId = nodes.getInternalId(statements.sourceId);
+				for (long destinationId : statements.destinationIds) {
+					final int destinationInternalId = nodes.getInternalId(destinationId);
+					if (sourceInternalId >= 0 && destinationInternalId >= 0) {
+						ancestors[sourceInternalId] = append(ancestors[sourceInternalId], destinationInternalId);
+						descendants[destinationInternalId] = append(descendants[destinationInternalId], sourceInternalId);
+					} else {
+						invalidEdgeIds.add(edgeId);
+					}
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	private int getPreviousInternalId(long nodeId) {
+		return removedNodes.containsKey(nodeId) ? removedNodes.get(nodeId) : nodes.getInternalId(nodeId);
+	}
+	
+	private void ensureCapacity(int conceptCount) {
+		if (ancestors.length < conceptCount) {
+			// grow with some headroom, so commits adding a few concepts do not copy the arrays each time
+			final int newLength = Math.max(conceptCount, ancestors.length + (ancestors.length >> 4));
+			final int oldLength = ancestors.length;
+			ancestors = Arrays.copyOf(ancestors, newLength);
+			descendants = Arrays.copyOf(descendants, newLength);
+			for (int i = oldLength; i < newLength; i++) {
+				ancestors[i] = EMPTY;
+				descendants[i] = EMPTY;
+			}
+		}
+	}
+	
+	private static int[] append(int[] values, int value) {
+		final int[] newValues = Arrays.copyOf(values, values.length + 1);
+		newValues[values.length] = value;
+		return newValues;
+	}
+	
+	private static int[] removeFirst(int[] values, int value) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] == value) {
+				final int[] newValues = new int[values.length - 1];
+				System.arraycopy(values, 0, newValues, 0, i);
+				System.arraycopy(values, i + 1, newValues, i, values.length - i - 1);
+				return newValues;
+			}
+		}
+		return values;
+	}
+	
+	private TaxonomyGraphStatus getStatus() {
+		if (invalidEdgeIds.isEmpty()) {
+			return new TaxonomyGraphStatus(Statuses.ok());
+		}
+		
+		final List<InvalidRelationship> invalidRelationships = Lists.newArrayList();
+		for (String edgeId : invalidEdgeIds) {
+			final Edges statements = edges.get(edgeId);
+			final boolean sourceMissing = nodes.getInternalId(statements.sourceId) < 0;
+			for (long destinationId : statements.destinationIds) {
+				if (sourceMissing) {
+					invalidRelationships.add(new InvalidRelationship(statements.sourceId, destinationId, MissingConcept.SOURCE));
+				}
+				if (nodes.getInternalId(destinationId) < 0) {
+					invalidRelationships.add(new InvalidRelationship(statements.sourceId, destinationId, MissingConcept.DESTINATION));
+				}
+			}
+		}
+		LOGGER.warn("Taxonomy builder encountered relationships referencing inactive / non-existent concepts");
+		return new TaxonomyGraphStatus(
+				Statuses.error("Taxonomy builder encountered relationships referencing inactive / non-existent concepts"), invalidRelationships);
+	}
 
 	public boolean containsNode(final long nodeId) {
 		return 0 < nodes.get(nodeId);
 	}
 	
 	public void addEdge(final String edgeId, final long sourceId, final long[] destinationIds) {
-		edges.put(edgeId, new Edges(sourceId, destinationIds));
+		final Edges previous = edges.put(edgeId, new Edges(sourceId, destinationIds));
+		if (previousEdges != null && !previousEdges.containsKey(edgeId)) {
+			previousEdges.put(edgeId, previous);
+		}
 		dirty = true;
 	}
 
@@ -203,11 +390,17 @@ public final class TaxonomyGraph {
 	}
 
 	public void addNode(final long conceptId) {
-		nodes.put(conceptId, conceptId);
+		if (nodes.put(conceptId, conceptId) < 0 && previousEdges != null) {
+			nodesAdded = true;
+			dirty = true;
+		}
 	}
 	
 	public void removeEdge(final String edgeId) {
-		edges.remove(edgeId);
+		final Edges previous = edges.remove(edgeId);
+		if (previousEdges != null && !previousEdges.containsKey(edgeId)) {
+			previousEdges.put(edgeId, previous);
+		}
 		dirty = true;
 	}
 	
@@ -216,6 +409,10 @@ public final class TaxonomyGraph {
 	}
 
 	private void removeNode(long nodeIdLong) {
+		final int internalId = nodes.getInternalId(nodeIdLong);
+		if (previousEdges != null && internalId >= 0 && !removedNodes.containsKey(nodeIdLong)) {
+			removedNodes.put(nodeIdLong, internalId);
+		}
 		nodes.remove(nodeIdLong);
 		dirty = true;
 	}
@@ -270,6 +467,22 @@ public final class TaxonomyGraph {
 		return edges.keySet();
 	}
 	
+	/**
+	 * @return the identifiers of the edges added, changed or removed since {@link #beginChanges()}, or an empty set if changes are not tracked
+	 * @since 7.5
+	 */
+	Set<String> getChangedEdgeIds() {
+		return previousEdges == null ? Collections.emptySet() : previousEdges.keySet();
+	}
+	
+	/**
+	 * @return the state of the given edge before it was first changed since {@link #beginChanges()}, or <code>null</code> if it did not exist
+	 * @since 7.5
+	 */
+	Edges getPreviousEdge(String edgeId) {
+		return previousEdges == null ? null : previousEdges.get(edgeId);
+	}
+	
 	Edges getEdge(String edgeId) {
 		return edges.get(edgeId);
 	}
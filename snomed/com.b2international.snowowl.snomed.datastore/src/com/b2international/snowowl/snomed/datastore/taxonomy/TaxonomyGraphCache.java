@@ -0,0 +1,253 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.datastore.taxonomy;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.b2international.index.revision.RevisionBranch;
+import com.b2international.index.revision.RevisionIndex;
+import com.b2international.snowowl.core.IDisposableService;
+import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Keeps the complete stated and inferred {@link TaxonomyGraph} of recently modified branches in memory, so commits can compute the new state of
+ * the taxonomy by patching the current graphs with the changes instead of building the affected part of the taxonomy from the index.
+ * <p>
+ * Graphs are associated with a branch path and are valid only for the branch identifier and head timestamp they were loaded or committed with.
+ * A commit {@link #checkout(RevisionBranch) checks out} the graphs of the branch and patches them in place, so they are not available to anyone
+ * else until the commit completes. The patched graphs are registered as pending, and become available again only after the commit has been
+ * successfully completed with the given timestamp. Graphs of failed commits are {@link #discard(String) discarded}, and any pending state left
+ * behind by an earlier commit on the same branch is dropped when the next commit checks out the graphs of the branch.
+ * <p>
+ * Commits that find no graphs for their branch fall back to building the affected part of the taxonomy, and the complete graphs of the branch
+ * are loaded from the index in the background after the commit, so loading the complete graphs is never part of a commit.
+ *
+ * @since 7.5
+ */
+public final class TaxonomyGraphCache implements IDisposableService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TaxonomyGraphCache.class);
+
+	private static final long PENDING_EXPIRATION_MINUTES = 60L;
+
+	private final Cache<String, TaxonomyGraphs> graphs;
+	private final Cache<String, TaxonomyGraphs> pendingGraphs;
+	private final Cache<String, RevisionIndex> pendingLoads;
+	private final Set<String> loadingBranches = ConcurrentHashMap.newKeySet();
+	private final ExecutorService loader;
+
+	/**
+	 * Creates a new cache that holds the graphs of at most the given number of branches.
+	 *
+	 * @param maximumSize - the maximum number of branches to keep the complete taxonomy graphs of
+	 */
+	public TaxonomyGraphCache(long maximumSize) {
+		this(maximumSize, Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+				.setNameFormat("taxonomy-graph-loader-%d")
+				.setDaemon(true)
+				.build()));
+	}
+	
+	/**
+	 * Creates a new cache that holds the graphs of at most the given number of branches and loads graphs with the given executor.
+	 *
+	 * @param maximumSize - the maximum number of branches to keep the complete taxonomy graphs of
+	 * @param loader - the executor to load the complete graphs of branches with, shut down when the cache is disposed
+	 */
+	public TaxonomyGraphCache(long maximumSize, ExecutorService loader) {
+		this.loader = loader;
+		this.graphs = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.softValues()
+				.build();
+		this.pendingGraphs = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(PENDING_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+				.softValues()
+				.build();
+		this.pendingLoads = CacheBuilder.newBuilder()
+				.expireAfterWrite(PENDING_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+				.build();
+	}
+
+	/**
+	 * Removes the current stated and inferred taxonomy graphs of the given branch from the cache and returns them for patching them in place.
+	 * Commits on a branch are serialized, so any pending state registered for the branch at this point belongs to an earlier commit that
+	 * did not complete, and it is discarded.
+	 *
+	 * @param branch - the branch to get the graphs for
+	 * @return the graphs representing the current state of the branch, or <code>null</code> if the graphs of the branch are not available
+	 */
+	public TaxonomyGraphs checkout(RevisionBranch branch) {
+		discard(branch.getPath());
+		final TaxonomyGraphs cachedGraphs = graphs.asMap().remove(branch.getPath());
+		if (cachedGraphs != null && cachedGraphs.isValid(branch.getId(), branch.getHeadTimestamp())) {
+			return cachedGraphs;
+		}
+		return null;
+	}
+
+	/**
+	 * Registers the new state of the taxonomy graphs computed for an ongoing commit on the given branch.
+	 *
+	 * @param branch - the branch being committed
+	 * @param statedGraph - the new stated graph
+	 * @param inferredGraph - the new inferred graph
+	 */
+	public void stage(RevisionBranch branch, TaxonomyGraph statedGraph, TaxonomyGraph inferredGraph) {
+		pendingLoads.invalidate(branch.getPath());
+		pendingGraphs.put(branch.getPath(), new TaxonomyGraphs(branch.getId(), -1L, statedGraph, inferredGraph));
+	}
+
+	/**
+	 * Registers that the complete taxonomy graphs of the given branch should be loaded in the background after the ongoing commit on the branch
+	 * completes.
+	 *
+	 * @param branch - the branch being committed
+	 * @param index - the index to load the graphs from
+	 */
+	public void stageLoad(RevisionBranch branch, RevisionIndex index) {
+		pendingGraphs.invalidate(branch.getPath());
+		pendingLoads.put(branch.getPath(), index);
+	}
+	
+	/**
+	 * Discards the pending state registered for an ongoing commit on the given branch, used when the commit fails.
+	 * 
+	 * @param branchPath - the branch of the failed commit
+	 */
+	public void discard(String branchPath) {
+		pendingGraphs.invalidate(branchPath);
+		pendingLoads.invalidate(branchPath);
+	}
+
+	/**
+	 * Makes the pending taxonomy graphs of the given branch available for subsequent commits after a successful commit, or starts loading the
+	 * graphs of the branch in the background if the commit did not have any.
+	 *
+	 * @param branchPath - the committed branch
+	 * @param timestamp - the timestamp of the commit, becomes the head timestamp of the branch
+	 */
+	public void commit(String branchPath, long timestamp) {
+		final TaxonomyGraphs committedGraphs = pendingGraphs.getIfPresent(branchPath);
+		final RevisionIndex index = pendingLoads.getIfPresent(branchPath);
+		pendingGraphs.invalidate(branchPath);
+		pendingLoads.invalidate(branchPath);
+		if (committedGraphs != null) {
+			// graphs may be used as the previous state of parallel computations from now on, cycles were already checked during the commit
+			committedGraphs.getStatedGraph().setCheckCycles(false);
+			committedGraphs.getInferredGraph().setCheckCycles(false);
+			graphs.put(branchPath, committedGraphs.withTimestamp(timestamp));
+		} else {
+			graphs.invalidate(branchPath);
+			if (index != null) {
+				load(index, branchPath);
+			}
+		}
+	}
+
+	private void load(RevisionIndex index, String branchPath) {
+		if (!loadingBranches.add(branchPath)) {
+			return;
+		}
+
+		try {
+			loader.execute(() -> {
+				try {
+					final RevisionBranch branch = index.branching().getBranch(branchPath);
+					final TaxonomyGraphs loadedGraphs = index.read(branchPath + RevisionIndex.AT_CHAR + branch.getHeadTimestamp(), searcher -> {
+						final TaxonomyGraph statedGraph = Taxonomies.build(searcher, Concepts.STATED_RELATIONSHIP);
+						final TaxonomyGraph inferredGraph = Taxonomies.build(searcher, Concepts.INFERRED_RELATIONSHIP);
+						statedGraph.setCheckCycles(false);
+						inferredGraph.setCheckCycles(false);
+						return new TaxonomyGraphs(branch.getId(), branch.getHeadTimestamp(), statedGraph, inferredGraph);
+					});
+					// graphs committed in the meantime are more recent than the loaded ones
+					graphs.asMap().putIfAbsent(branchPath, loadedGraphs);
+				} catch (RuntimeException e) {
+					LOG.warn("Failed to load taxonomy graphs of branch '{}'.", branchPath, e);
+				} finally {
+					loadingBranches.remove(branchPath);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// the cache has been disposed
+			loadingBranches.remove(branchPath);
+		}
+	}
+	
+	@Override
+	public void dispose() {
+		loader.shutdownNow();
+		graphs.invalidateAll();
+		pendingGraphs.invalidateAll();
+		pendingLoads.invalidateAll();
+	}
+	
+	@Override
+	public boolean isDisposed() {
+		return loader.isShutdown();
+	}
+
+	/**
+	 * Stated and inferred taxonomy graphs representing the state of a branch at a given head timestamp.
+	 *
+	 * @since 7.5
+	 */
+	public static final class TaxonomyGraphs {
+
+		private final long branchId;
+		private final long timestamp;
+		private final TaxonomyGraph statedGraph;
+		private final TaxonomyGraph inferredGraph;
+
+		private TaxonomyGraphs(long branchId, long timestamp, TaxonomyGraph statedGraph, TaxonomyGraph inferredGraph) {
+			this.branchId = branchId;
+			this.timestamp = timestamp;
+			this.statedGraph = statedGraph;
+			this.inferredGraph = inferredGraph;
+		}
+
+		public TaxonomyGraph getStatedGraph() {
+			return statedGraph;
+		}
+
+		public TaxonomyGraph getInferredGraph() {
+			return inferredGraph;
+		}
+
+		boolean isValid(long branchId, long headTimestamp) {
+			return this.branchId == branchId && this.timestamp == headTimestamp;
+		}
+
+		TaxonomyGraphs withTimestamp(long timestamp) {
+			return new TaxonomyGraphs(branchId, timestamp, statedGraph, inferredGraph);
+		}
+
+	}
+
+}
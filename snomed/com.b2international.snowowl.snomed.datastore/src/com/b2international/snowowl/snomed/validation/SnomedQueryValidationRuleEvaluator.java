@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,16 +17,21 @@ package com.b2international.snowowl.snomed.validation;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Lists.newArrayListWithExpectedSize;
+import static com.google.common.collect.Sets.newHashSet;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.annotation.OverridingMethodsMustInvokeSuper;
 
 import com.b2international.index.Hits;
+import com.b2international.index.query.Expression;
 import com.b2international.index.query.Expressions;
 import com.b2international.index.query.Expressions.ExpressionBuilder;
 import com.b2international.index.query.Query;
@@ -69,6 +74,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
 
 /**
  * @since 6.0
@@ -81,9 +87,7 @@ public final class SnomedQueryValidationRuleEvaluator implements ValidationRuleE
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public List<?> eval(BranchContext context, ValidationRule rule, Map<String, Object> params) throws Exception {
-		checkArgument(type().equals(rule.getType()), "'%s' is not recognizable by this evaluator (accepts: %s)", rule, type());
-		SnomedComponentValidationQuery<?, PageableCollectionResource<SnomedComponent>, SnomedComponent> validationQuery = context.service(ObjectMapper.class)
-				.<SnomedComponentValidationQuery<?, PageableCollectionResource<SnomedComponent>, SnomedComponent>>readValue(rule.getImplementation(), TYPE_REF);
+		SnomedComponentValidationQuery<?, PageableCollectionResource<SnomedComponent>, SnomedComponent> validationQuery = readValidationQuery(context, rule);
 		
 		SnomedSearchRequestBuilder<?, PageableCollectionResource<SnomedComponent>> req = validationQuery
 				.prepareSearch();
@@ -96,6 +100,11 @@ public final class SnomedQueryValidationRuleEvaluator implements ValidationRuleE
 			expressionBuilder.filter(SnomedDocument.Expressions.effectiveTime(EffectiveTimes.UNSET_EFFECTIVE_TIME));
 		}
 		
+		if (params != null && params.containsKey(ValidationConfiguration.AFFECTED_COMPONENT_IDS)) {
+			final Collection<String> affectedComponentIds = (Collection<String>) params.get(ValidationConfiguration.AFFECTED_COMPONENT_IDS);
+			expressionBuilder.filter(validationQuery.toAffectedComponentsExpression(affectedComponentIds));
+		}
+		
 		Iterable<Hits<String>> pages = context.service(RevisionSearcher.class).scroll(Query.select(String.class)
 				.from(validationQuery.getDocType())
 				.fields(SnomedDocument.Fields.ID)
@@ -120,6 +129,31 @@ public final class SnomedQueryValidationRuleEvaluator implements ValidationRuleE
 		
 		return issues == null ? Collections.emptyList() : issues;
 	}
+	
+	@Override
+	public Set<String> getEvaluatedComponentIds(BranchContext context, ValidationRule rule, Collection<String> affectedComponentIds) throws Exception {
+		SnomedComponentValidationQuery<?, PageableCollectionResource<SnomedComponent>, SnomedComponent> validationQuery = readValidationQuery(context, rule);
+		
+		Iterable<Hits<String>> pages = context.service(RevisionSearcher.class).scroll(Query.select(String.class)
+				.from(validationQuery.getDocType())
+				.fields(SnomedDocument.Fields.ID)
+				.where(validationQuery.toAffectedComponentsExpression(affectedComponentIds))
+				.limit(RULE_LIMIT)
+				.withScores(false)
+				.build());
+		
+		final Set<String> evaluatedComponentIds = newHashSet();
+		for (Hits<String> page : pages) {
+			Iterables.addAll(evaluatedComponentIds, page);
+		}
+		return evaluatedComponentIds;
+	}
+	
+	private SnomedComponentValidationQuery<?, PageableCollectionResource<SnomedComponent>, SnomedComponent> readValidationQuery(BranchContext context, ValidationRule rule) throws IOException {
+		checkArgument(type().equals(rule.getType()), "'%s' is not recognizable by this evaluator (accepts: %s)", rule, type());
+		return context.service(ObjectMapper.class)
+				.<SnomedComponentValidationQuery<?, PageableCollectionResource<SnomedComponent>, SnomedComponent>>readValue(rule.getImplementation(), TYPE_REF);
+	}
 
 	@Override
 	public String type() {
@@ -147,6 +181,17 @@ public final class SnomedQueryValidationRuleEvaluator implements ValidationRuleE
 		protected abstract Class<? extends SnomedDocument> getDocType();
 
 		protected abstract SB createSearch();
+		
+		/**
+		 * Restricts the evaluation to the given components and the components depending on them.
+		 * 
+		 * @param affectedComponentIds - the identifiers of the changed components
+		 * @return the expression matching affected components of this query's type
+		 * @since 7.5
+		 */
+		protected Expression toAffectedComponentsExpression(Collection<String> affectedComponentIds) {
+			return SnomedDocument.Expressions.ids(affectedComponentIds);
+		}
 
 		@OverridingMethodsMustInvokeSuper
 		protected SB prepareSearch(SB req) {
@@ -223,6 +268,14 @@ public final class SnomedQueryValidationRuleEvaluator implements ValidationRuleE
 			return SnomedDescriptionIndexEntry.class;
 		}
 		
+		@Override
+		protected Expression toAffectedComponentsExpression(Collection<String> affectedComponentIds) {
+			return Expressions.builder()
+					.should(super.toAffectedComponentsExpression(affectedComponentIds))
+					.should(SnomedDescriptionIndexEntry.Expressions.concepts(affectedComponentIds))
+					.build();
+		}
+		
 		@Override
 		protected SnomedDescriptionSearchRequestBuilder prepareSearch(SnomedDescriptionSearchRequestBuilder req) {
 			if (!Strings.isNullOrEmpty(term)) {
@@ -274,6 +327,15 @@ public final class SnomedQueryValidationRuleEvaluator implements ValidationRuleE
 			return SnomedRelationshipIndexEntry.class;
 		}
 		
+		@Override
+		protected Expression toAffectedComponentsExpression(Collection<String> affectedComponentIds) {
+			return Expressions.builder()
+					.should(super.toAffectedComponentsExpression(affectedComponentIds))
+					.should(SnomedRelationshipIndexEntry.Expressions.sourceIds(affectedComponentIds))
+					.should(SnomedRelationshipIndexEntry.Expressions.destinationIds(affectedComponentIds))
+					.build();
+		}
+		
 		@Override
 		protected SnomedRelationshipSearchRequestBuilder prepareSearch(SnomedRelationshipSearchRequestBuilder req) {
 			return super.prepareSearch(req)
@@ -302,6 +364,14 @@ public final class SnomedQueryValidationRuleEvaluator implements ValidationRuleE
 			return SnomedRefSetMemberIndexEntry.class;
 		}
 		
+		@Override
+		protected Expression toAffectedComponentsExpression(Collection<String> affectedComponentIds) {
+			return Expressions.builder()
+					.should(super.toAffectedComponentsExpression(affectedComponentIds))
+					.should(SnomedRefSetMemberIndexEntry.Expressions.referencedComponentIds(affectedComponentIds))
+					.build();
+		}
+		
 		@Override
 		protected SnomedRefSetMemberSearchRequestBuilder prepareSearch(SnomedRefSetMemberSearchRequestBuilder req) {
 			return super.prepareSearch(req)
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2018-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,15 @@
 package com.b2international.snowowl.snomed.fhir;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.b2international.commons.exceptions.NotFoundException;
@@ -28,6 +32,7 @@ import com.b2international.commons.exceptions.NotImplementedException;
 import com.b2international.commons.extension.Component;
 import com.b2international.commons.http.ExtendedLocale;
 import com.b2international.snowowl.datastore.CodeSystemVersionEntry;
+import com.b2international.snowowl.datastore.request.RepositoryRequests;
 import com.b2international.snowowl.eventbus.IEventBus;
 import com.b2international.snowowl.fhir.core.LogicalId;
 import com.b2international.snowowl.fhir.core.codesystems.IdentifierUse;
@@ -46,6 +51,8 @@ import com.b2international.snowowl.fhir.core.model.valueset.ValueSet.Builder;
 import com.b2international.snowowl.fhir.core.model.valueset.ValueSetFilter;
 import com.b2international.snowowl.fhir.core.model.valueset.expansion.Contains;
 import com.b2international.snowowl.fhir.core.model.valueset.expansion.Expansion;
+import com.b2international.snowowl.fhir.core.model.valueset.expansion.IntegerParameter;
+import com.b2international.snowowl.fhir.core.model.valueset.expansion.StringParameter;
 import com.b2international.snowowl.fhir.core.model.valueset.expansion.UriParameter;
 import com.b2international.snowowl.fhir.core.provider.IValueSetApiProvider;
 import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
@@ -57,13 +64,14 @@ import com.b2international.snowowl.snomed.core.domain.SnomedConcepts;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedRefSetType;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSet;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSetMember;
-import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSetMembers;
 import com.b2international.snowowl.snomed.core.domain.refset.SnomedReferenceSets;
+import com.b2international.snowowl.snomed.datastore.index.entry.SnomedConceptDocument;
 import com.b2international.snowowl.snomed.datastore.request.SnomedConceptSearchRequestBuilder;
 import com.b2international.snowowl.snomed.datastore.request.SnomedRefSetSearchRequestBuilder;
 import com.b2international.snowowl.snomed.datastore.request.SnomedRequests;
 import com.b2international.snowowl.snomed.fhir.SnomedUri.QueryPart;
 import com.b2international.snowowl.snomed.fhir.SnomedUri.QueryPartDefinition;
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -79,15 +87,63 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 	@Component
 	public static final class Factory implements IValueSetApiProvider.Factory {
 		
+		private final SnomedValueSetExpansionCache expansionCache = new SnomedValueSetExpansionCache();
+		
 		@Override
 		public IValueSetApiProvider create(IEventBus bus, List<ExtendedLocale> locales) {
-			return new SnomedValueSetApiProvider(bus, locales);
+			return new SnomedValueSetApiProvider(bus, locales, expansionCache);
 		}
 		
 	}
 	
+	/**
+	 * The filter and the page of an expansion requested by the client.
+	 * 
+	 * @since 7.5
+	 */
+	private static final class ExpansionParameters {
+		
+		private static final ExpansionParameters ALL = new ExpansionParameters(null, 0, null);
+		
+		private final String filter;
+		private final int offset;
+		private final Integer count; // null if all concepts should be returned
+		
+		private ExpansionParameters(String filter, int offset, Integer count) {
+			this.filter = Strings.emptyToNull(filter);
+			this.offset = offset;
+			this.count = count;
+		}
+		
+		static ExpansionParameters of(ExpandValueSetRequest request) {
+			final int offset = request.getOffset() == null ? 0 : request.getOffset();
+			if (offset < 0) {
+				throw new BadRequestException("Offset must be a non-negative integer.", "$expand.offset");
+			}
+			if (request.getCount() != null && request.getCount() < 0) {
+				throw new BadRequestException("Count must be a non-negative integer.", "$expand.count");
+			}
+			return new ExpansionParameters(request.getFilter(), offset, request.getCount());
+		}
+		
+		ExpansionParameters withDefaultCount(int defaultCount) {
+			return count == null ? new ExpansionParameters(filter, offset, defaultCount) : this;
+		}
+		
+	}
+	
+	// The number of concepts returned when expanding the entire SNOMED CT without an explicit count
+	private static final int DEFAULT_ALL_CONCEPTS_COUNT = 50;
+	
+	private final SnomedValueSetExpansionCache expansionCache;
+	
 	public SnomedValueSetApiProvider(IEventBus bus, List<ExtendedLocale> locales) {
+		this(bus, locales, new SnomedValueSetExpansionCache());
+	}
+	
+	SnomedValueSetApiProvider(IEventBus bus, List<ExtendedLocale> locales, SnomedValueSetExpansionCache expansionCache) {
 		super(bus, locales);
+		this.expansionCache = expansionCache;
 	}
 
 	@Override
@@ -161,7 +217,7 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 		CodeSystemVersionEntry codeSystemVersion = findCodeSystemVersion(logicalId);
 
 		if (!logicalId.isMemberId()) {
-			return buildSimpleTypeRefsetValueSet(logicalId.getComponentId(), codeSystemVersion);
+			return buildSimpleTypeRefsetValueSet(logicalId.getComponentId(), codeSystemVersion, logicalId.toString(), ExpansionParameters.ALL);
 		} 
 		else {
 			//Query type reference set member
@@ -175,7 +231,7 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 				.execute(getBus())
 				.then(members -> {
 					return members.stream()
-						.map(member -> buildExpandedQueryTypeValueSet(member, (SnomedConcept) member.getReferencedComponent(), codeSystemVersion, getLocales()))
+						.map(member -> buildExpandedQueryTypeValueSet(member, (SnomedConcept) member.getReferencedComponent(), codeSystemVersion, logicalId.toString(), ExpansionParameters.ALL))
 						.map(ValueSet.Builder::build)
 						.collect(Collectors.toList());
 				})
@@ -186,17 +242,14 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 		}
 	}
 	
-	private ValueSet buildSimpleTypeRefsetValueSet(String componentId, CodeSystemVersionEntry codeSystemVersion) {
-		
-		int all = Integer.MAX_VALUE;
+	private ValueSet buildSimpleTypeRefsetValueSet(String componentId, CodeSystemVersionEntry codeSystemVersion, String url, ExpansionParameters parameters) {
 		
 		return getSimpleTypeRefsetSearchRequestBuilder(componentId)
-			.setExpand("members(expand(referencedComponent(expand(pt()))), limit:"+ all +")")
 			.build(repositoryId, codeSystemVersion.getPath())
 			.execute(getBus())
 			.then(refsets -> {
 				return refsets.stream()
-					.map(r -> buildExpandedSimpleTypeValueSet(r, codeSystemVersion, getLocales()))
+					.map(r -> buildExpandedSimpleTypeValueSet(r, codeSystemVersion, url, parameters))
 					.map(ValueSet.Builder::build)
 					.collect(Collectors.toList());
 			})
@@ -212,6 +265,10 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 	//url=http://snomed.info/sct?fhir_vs=isa/SCT_ID for SNOMED CT
 	@Override
 	public ValueSet expandValueSet(String uriString) {
+		return expandValueSet(uriString, ExpansionParameters.ALL);
+	}
+	
+	private ValueSet expandValueSet(String uriString, ExpansionParameters parameters) {
 		
 		String locationName = "$expand.url";
 		SnomedUri snomedUri = SnomedUri.fromUriString(uriString, locationName);
@@ -230,14 +287,14 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 				
 				case NONE:
 					//Entire SNOMED CT, makes no real sense
-					return buildSubsumptionValueSet(Concepts.ROOT_CONCEPT, codeSystemVersion, false);
+					return buildSubsumptionValueSet(Concepts.ROOT_CONCEPT, codeSystemVersion, uriString, parameters.withDefaultCount(DEFAULT_ALL_CONCEPTS_COUNT));
 				case REFSET:
-					return buildSimpleTypeRefsetValueSet(queryPart.getQueryValue(), codeSystemVersion);
+					return buildSimpleTypeRefsetValueSet(queryPart.getQueryValue(), codeSystemVersion, uriString, parameters);
 				case REFSETS:
 					//All simple type refsets
-					return buildSimpleTypeRefsetValueSets(codeSystemVersion);
+					return buildSimpleTypeRefsetValueSets(codeSystemVersion, uriString, parameters);
 				case ISA:
-					return buildSubsumptionValueSet(queryPart.getQueryValue(), codeSystemVersion, true);
+					return buildSubsumptionValueSet(queryPart.getQueryValue(), codeSystemVersion, uriString, parameters);
 				default:
 					//should not happen
 					throw new BadRequestException("Unknown query part definition '" + queryPartDefinition + "'.", locationName);
@@ -250,7 +307,9 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 	public ValueSet expandValueSet(ExpandValueSetRequest request) {
 		//same as the GET url parameter
 		if (request.getValueSet() == null) {
-			return expandValueSet(request.getUrl().getUriValue());
+			final String url = request.getUrl().getUriValue();
+			final ExpansionParameters parameters = ExpansionParameters.of(request);
+			return expandValueSet(url, parameters);
 		}
 		
 		//valueset is sent for expansion
@@ -523,39 +582,17 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 		return ValidateCodeResult.builder().okResult(concept.getPt().getTerm()).build();
 	}
 	
-	private ValueSet buildSimpleTypeRefsetValueSets(CodeSystemVersionEntry codeSystemVersion) {
-		
-		int all = Integer.MAX_VALUE;
+	private ValueSet buildSimpleTypeRefsetValueSets(CodeSystemVersionEntry codeSystemVersion, String url, ExpansionParameters parameters) {
 		
-		//collect all simple type reference set members
-		Set<SnomedConcept> memberConcepts = SnomedRequests.prepareSearchRefSet()
+		//collect all simple type reference sets
+		Set<String> refsetIds = SnomedRequests.prepareSearchRefSet()
+			.all()
 			.filterByActive(true)
 			.filterByType(SnomedRefSetType.SIMPLE)
 			.filterByReferencedComponentType(SnomedTerminologyComponentConstants.CONCEPT)
-			.setLocales(getLocales())
-			.setExpand("members(expand(referencedComponent(expand(pt()))), limit:"+ all +")")
 			.build(repositoryId, codeSystemVersion.getPath())
 			.execute(getBus())
-			
-			//collect the members
-			.then(refsets -> {
-				return refsets.stream()
-						
-						//get the members
-						.map(r -> r.getMembers())
-						
-						//convert to membersList
-						.map(ms -> ms.getItems())
-						
-						//flatten the nested collections
-						.flatMap(Collection::stream)
-						
-						//get the referenced components
-						.map(member -> member.getReferencedComponent())
-
-						//convert to referenced concepts
-						.map(SnomedConcept.class::cast).collect(Collectors.toSet());
-			})
+			.then(refsets -> refsets.stream().map(SnomedReferenceSet::getId).collect(Collectors.toSet()))
 			.getSync();
 		
 		Builder builder = ValueSet.builder(UUID.randomUUID().toString());
@@ -582,30 +619,17 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 			.div("<div>This is the Value Set representation of all the active simple type SNOMED CT reference sets, requested by the SNOMED CT URI query part (?refset) .</div>")
 			.build());
 		
-		com.b2international.snowowl.fhir.core.model.valueset.expansion.Expansion.Builder expansionBuilder = Expansion.builder()
-				.identifier("1")
-				.timestamp(new Date())
-				.total(memberConcepts.size())
-				.addParameter(UriParameter.builder()
-					.name("version")
-					.value(uri.toUri())
-					.build());
-		
-		for (SnomedConcept concept : memberConcepts) {
-			
-			Contains content = Contains.builder()
-				.system(SnomedUri.SNOMED_BASE_URI)
-				.code(concept.getId())
-				.display(getPreferredTermOrId(concept))
-				.build();
-			expansionBuilder.addContains(content);
-		}
+		//every concept that is an active member of any simple type reference set
+		Expansion expansion = buildExpansion("1", url, codeSystemVersion, uri, parameters, refsetIds.isEmpty() ? null : () -> {
+			return SnomedRequests.prepareSearchConcept()
+				.isActiveMemberOf(refsetIds);
+		});
 		
-		builder.expansion(expansionBuilder.build());
+		builder.expansion(expansion);
 		return builder.build();		
 	}
 	
-	private ValueSet buildSubsumptionValueSet(String parentConceptId, CodeSystemVersionEntry codeSystemVersion, boolean fetchAll) {
+	private ValueSet buildSubsumptionValueSet(String parentConceptId, CodeSystemVersionEntry codeSystemVersion, String url, ExpansionParameters parameters) {
 		
 		Builder builder = ValueSet.builder(UUID.randomUUID().toString());
 		
@@ -632,46 +656,19 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 			.build());
 		
 		//evaluate the ECL expression
-		SnomedConceptSearchRequestBuilder snomedConceptSearchRequestBuilder = SnomedRequests.prepareSearchConcept()
-			.filterByEcl("<<" + parentConceptId)
-			.filterByActive(true)
-			.setLocales(getLocales())
-			.setExpand("pt()");
-		
-		if (fetchAll) {
-			snomedConceptSearchRequestBuilder.all();
-		}
-		
-		SnomedConcepts snomedConcepts  = snomedConceptSearchRequestBuilder.build(repositoryId, codeSystemVersion.getPath())
-			.execute(getBus())
-			.getSync();
-		
-		com.b2international.snowowl.fhir.core.model.valueset.expansion.Expansion.Builder expansionBuilder = Expansion.builder()
-				.identifier("1")
-				.timestamp(new Date())
-				.total(snomedConcepts.getTotal())
-				.addParameter(UriParameter.builder()
-					.name("version")
-					.value(uri.toUri())
-					.build());
-		
-		snomedConcepts.forEach(c -> {
-			
-			Contains content = Contains.builder()
-					.system(SnomedUri.SNOMED_BASE_URI)
-					.code(c.getId())
-					.display(getPreferredTermOrId(c))
-					.build();
-			expansionBuilder.addContains(content);
+		Expansion expansion = buildExpansion("1", url, codeSystemVersion, uri, parameters, () -> {
+			return SnomedRequests.prepareSearchConcept()
+				.filterByEcl("<<" + parentConceptId)
+				.filterByActive(true);
 		});
 		
 		builder.name(String.format("SNOMED CT concept [ID: %s] and descendants (<<%s)", parentConceptId, parentConceptId))
-			.expansion(expansionBuilder.build());
+			.expansion(expansion);
 		
 		return builder.build();
 	}
 
-	private ValueSet.Builder buildExpandedQueryTypeValueSet(SnomedReferenceSetMember refsetMember, SnomedConcept referencedComponent, CodeSystemVersionEntry codeSystemVersion, List<ExtendedLocale> locales) {
+	private ValueSet.Builder buildExpandedQueryTypeValueSet(SnomedReferenceSetMember refsetMember, SnomedConcept referencedComponent, CodeSystemVersionEntry codeSystemVersion, String url, ExpansionParameters parameters) {
 		
 		LogicalId logicalId = new LogicalId(repositoryId, codeSystemVersion.getPath(), refsetMember.getReferenceSetId(), refsetMember.getId());
 		
@@ -686,43 +683,20 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 		
 		String eclExpression = (String) refsetMember.getProperties().get(SnomedRf2Headers.FIELD_QUERY);
 
-		//evaluate the ECL expression
-		SnomedConcepts snomedConcepts = SnomedRequests.prepareSearchConcept()
-			.all()
-			.filterByEcl(eclExpression)
-			.filterByActive(true)
-			.setLocales(locales)
-			.setExpand("pt()")
-			.build(repositoryId, logicalId.getBranchPath())
-			.execute(getBus())
-			.getSync();
-		
 		SnomedUri uri = SnomedUri.builder().version(codeSystemVersion.getEffectiveDate()).build();
 		
-		com.b2international.snowowl.fhir.core.model.valueset.expansion.Expansion.Builder expansionBuilder = Expansion.builder()
-				.identifier(refsetMember.getId())
-				.timestamp(new Date())
-				.total(snomedConcepts.getTotal())
-				.addParameter(UriParameter.builder()
-					.name("version")
-					.value(uri.toUri())
-					.build());
-		
-		snomedConcepts.forEach(c -> {
-			
-			Contains content = Contains.builder()
-					.system(SnomedUri.SNOMED_BASE_URI)
-					.code(c.getId())
-					.display(getPreferredTermOrId(c))
-					.build();
-			expansionBuilder.addContains(content);
+		//evaluate the ECL expression
+		Expansion expansion = buildExpansion(refsetMember.getId(), url, codeSystemVersion, uri, parameters, () -> {
+			return SnomedRequests.prepareSearchConcept()
+				.filterByEcl(eclExpression)
+				.filterByActive(true);
 		});
 		
 		String pt = getPreferredTermOrId(referencedComponent);
 		return builder
 			.name(pt)
 			.title(pt)
-			.expansion(expansionBuilder.build());
+			.expansion(expansion);
 	}
 	
 	private ValueSet.Builder buildSimpleTypeValueSet(final SnomedComponent snomedComponent, final CodeSystemVersionEntry codeSystemVersion, final List<ExtendedLocale> locales) {
@@ -746,41 +720,117 @@ public final class SnomedValueSetApiProvider extends SnomedFhirApiProvider imple
 		return builder.compose(compose);
 	}
 	
-	private ValueSet.Builder buildExpandedSimpleTypeValueSet(SnomedReferenceSet referenceSet, CodeSystemVersionEntry codeSystemVersion, final List<ExtendedLocale> locales) {
+	private ValueSet.Builder buildExpandedSimpleTypeValueSet(SnomedReferenceSet referenceSet, CodeSystemVersionEntry codeSystemVersion, String url, ExpansionParameters parameters) {
 		
 		LogicalId logicalId = new LogicalId(repositoryId, codeSystemVersion.getPath(), referenceSet.getId());
 		
 		Builder builder = createValueSetBuilder(logicalId, referenceSet, codeSystemVersion);
 		addSimpleTypeProperties(builder, referenceSet, codeSystemVersion);
 		
-		SnomedReferenceSetMembers members = referenceSet.getMembers();
-		
 		SnomedUri uri = SnomedUri.builder().version(codeSystemVersion.getEffectiveDate()).build();
 		
-		com.b2international.snowowl.fhir.core.model.valueset.expansion.Expansion.Builder expansionBuilder = Expansion.builder()
-			.identifier(referenceSet.getId())
+		//concepts referenced by the active members of the reference set
+		Expansion expansion = buildExpansion(referenceSet.getId(), url, codeSystemVersion, uri, parameters, () -> {
+			return SnomedRequests.prepareSearchConcept()
+				.isActiveMemberOf(referenceSet.getId());
+		});
+		
+		return builder.expansion(expansion);
+	}
+	
+	/*
+	 * Builds a single page of the expansion. The ordered identifiers of all concepts in the expansion are cached, so only the preferred terms
+	 * of the concepts on the requested page are loaded for each request. A null concept search represents an empty expansion.
+	 */
+	private Expansion buildExpansion(String identifier, String url, CodeSystemVersionEntry codeSystemVersion, SnomedUri uri, ExpansionParameters parameters, 
+			Supplier<SnomedConceptSearchRequestBuilder> conceptSearch) {
+		
+		String branchPath = codeSystemVersion.getPath();
+		List<String> conceptIds = getExpansionConceptIds(url, branchPath, parameters.filter, conceptSearch);
+		
+		int fromIndex = Math.min(parameters.offset, conceptIds.size());
+		int toIndex = parameters.count == null ? conceptIds.size() : (int) Math.min((long) fromIndex + parameters.count, conceptIds.size());
+		List<String> pageConceptIds = conceptIds.subList(fromIndex, toIndex);
+		
+		Map<String, SnomedConcept> pageConcepts = pageConceptIds.isEmpty() ? Collections.emptyMap() : SnomedRequests.prepareSearchConcept()
+			.filterByIds(pageConceptIds)
+			.setLimit(pageConceptIds.size())
+			.setLocales(getLocales())
+			.setExpand("pt()")
+			.build(repositoryId, branchPath)
+			.execute(getBus())
+			.getSync()
+			.stream()
+			.collect(Collectors.toMap(SnomedConcept::getId, Function.identity()));
+		
+		Expansion.Builder expansionBuilder = Expansion.builder()
+			.identifier(identifier)
 			.timestamp(new Date())
-			.total(members.getTotal())
+			.total(conceptIds.size())
+			.offset(parameters.offset)
 			.addParameter(UriParameter.builder()
 				.name("version")
 				.value(uri.toUri())
 				.build());
-			
-		for (SnomedReferenceSetMember snomedReferenceSetMember : members) {
-			
-			//skip inactive members
-			if (!snomedReferenceSetMember.isActive()) continue;
-			
-			SnomedConcept concept = (SnomedConcept) snomedReferenceSetMember.getReferencedComponent();
-			
+		
+		if (parameters.count != null) {
+			expansionBuilder.addParameter(IntegerParameter.builder()
+				.name("count")
+				.value(parameters.count)
+				.build());
+		}
+		
+		if (parameters.filter != null) {
+			expansionBuilder.addParameter(StringParameter.builder()
+				.name("filter")
+				.value(parameters.filter)
+				.build());
+		}
+		
+		for (String conceptId : pageConceptIds) {
+			SnomedConcept concept = pageConcepts.get(conceptId);
 			Contains content = Contains.builder()
-					.system(SnomedUri.SNOMED_BASE_URI)
-					.code(concept.getId())
-					.display(getPreferredTermOrId(concept))
-					.build();
+				.system(SnomedUri.SNOMED_BASE_URI)
+				.code(conceptId)
+				.display(concept == null ? conceptId : getPreferredTermOrId(concept))
+				.build();
 			expansionBuilder.addContains(content);
 		}
-		return builder.expansion(expansionBuilder.build());
+		
+		return expansionBuilder.build();
+	}
+	
+	private List<String> getExpansionConceptIds(String url, String branchPath, String filter, Supplier<SnomedConceptSearchRequestBuilder> conceptSearch) {
+		
+		if (conceptSearch == null) {
+			return Collections.emptyList();
+		}
+		
+		long headTimestamp = RepositoryRequests.branching()
+			.prepareGet(branchPath)
+			.build(repositoryId)
+			.execute(getBus())
+			.getSync()
+			.headTimestamp();
+		
+		return expansionCache.getConceptIds(url, branchPath, headTimestamp, filter, () -> {
+			SnomedConceptSearchRequestBuilder req = conceptSearch.get()
+				.all()
+				.setFields(SnomedConceptDocument.Fields.ID);
+			
+			if (filter != null) {
+				req.filterByTerm(filter);
+			}
+			
+			List<String> conceptIds = req.build(repositoryId, branchPath)
+				.execute(getBus())
+				.getSync()
+				.stream()
+				.map(SnomedConcept::getId)
+				.collect(Collectors.toList());
+			
+			return ImmutableList.copyOf(conceptIds);
+		});
 	}
 	
 	//Collect every version on every extension
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.fhir;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.b2international.snowowl.core.api.SnowowlRuntimeException;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Caches the ordered list of concept identifiers that make up a value set expansion, so that subsequent pages of the same expansion can be
+ * served without evaluating the value set definition again. Entries are keyed by the value set URL, the branch the value set was expanded
+ * on along with its head timestamp, and the text filter applied to the expansion, so changes committed to the branch are never served from
+ * a stale entry.
+ *
+ * @since 7.5
+ */
+final class SnomedValueSetExpansionCache {
+
+	private static final long MAXIMUM_CACHED_CONCEPT_IDS = 5_000_000L;
+	private static final long EXPIRE_AFTER_ACCESS_MINUTES = 10L;
+
+	private final Cache<Key, List<String>> expansions = CacheBuilder.newBuilder()
+			.maximumWeight(MAXIMUM_CACHED_CONCEPT_IDS)
+			.<Key, List<String>>weigher((key, conceptIds) -> Math.max(1, conceptIds.size()))
+			.expireAfterAccess(EXPIRE_AFTER_ACCESS_MINUTES, TimeUnit.MINUTES)
+			.build();
+
+	/**
+	 * Returns the identifiers of the concepts in the expansion of the given value set, loading them with the specified loader if the
+	 * expansion is not cached yet.
+	 *
+	 * @param url - the URL of the value set
+	 * @param branchPath - the branch the value set is expanded on
+	 * @param headTimestamp - the head timestamp of the branch
+	 * @param filter - the text filter applied to the expansion, may be <code>null</code>
+	 * @param loader - the loader computing the ordered concept identifiers of the expansion
+	 * @return the ordered concept identifiers of the expansion
+	 */
+	public List<String> getConceptIds(String url, String branchPath, long headTimestamp, String filter, Callable<List<String>> loader) {
+		try {
+			return expansions.get(new Key(url, branchPath, headTimestamp, filter), loader);
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			Throwables.propagateIfPossible(e.getCause());
+			throw new SnowowlRuntimeException(e.getCause());
+		}
+	}
+
+	private static final class Key {
+
+		private final String url;
+		private final String branchPath;
+		private final long headTimestamp;
+		private final String filter;
+
+		Key(String url, String branchPath, long headTimestamp, String filter) {
+			this.url = url;
+			this.branchPath = branchPath;
+			this.headTimestamp = headTimestamp;
+			this.filter = filter;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(url, branchPath, headTimestamp, filter);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (obj == null) return false;
+			if (getClass() != obj.getClass()) return false;
+			final Key other = (Key) obj;
+			return Objects.equals(url, other.url)
+					&& Objects.equals(branchPath, other.branchPath)
+					&& headTimestamp == other.headTimestamp
+					&& Objects.equals(filter, other.filter);
+		}
+
+	}
+
+}
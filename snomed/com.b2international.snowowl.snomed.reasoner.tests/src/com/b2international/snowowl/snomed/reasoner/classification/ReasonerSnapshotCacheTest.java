@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.reasoner.classification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import com.b2international.snowowl.snomed.reasoner.classification.ReasonerSnapshotCache.Snapshot;
+
+/**
+ * @since 7.5
+ */
+public class ReasonerSnapshotCacheTest {
+
+	private static final String ELK = "elk";
+	private static final String OTHER = "other";
+
+	private ReasonerSnapshotCache cache;
+
+	@Before
+	public void setup() {
+		cache = new ReasonerSnapshotCache(2);
+	}
+
+	@Test
+	public void takeRemovesSnapshot() throws Exception {
+		final Snapshot snapshot = snapshot(ELK);
+		cache.put("MAIN", snapshot);
+
+		assertThat(cache.take("MAIN", ELK)).isSameAs(snapshot);
+		assertThat(cache.take("MAIN", ELK)).isNull();
+		verify(snapshot.getReasoner(), never()).dispose();
+	}
+
+	@Test
+	public void takeFallsBackToParentBranch() throws Exception {
+		final Snapshot snapshot = snapshot(ELK);
+		cache.put("MAIN/a", snapshot);
+
+		assertThat(cache.take("MAIN/a/b", ELK)).isSameAs(snapshot);
+		assertThat(cache.take("MAIN/a", ELK)).isNull();
+	}
+
+	@Test
+	public void takeDisposesSnapshotOfOtherReasoner() throws Exception {
+		final Snapshot snapshot = snapshot(OTHER);
+		cache.put("MAIN", snapshot);
+
+		assertThat(cache.take("MAIN", ELK)).isNull();
+		verify(snapshot.getReasoner()).dispose();
+	}
+
+	@Test
+	public void putDisposesReplacedSnapshot() throws Exception {
+		final Snapshot first = snapshot(ELK);
+		final Snapshot second = snapshot(ELK);
+		cache.put("MAIN", first);
+		cache.put("MAIN", second);
+
+		verify(first.getReasoner()).dispose();
+		verify(second.getReasoner(), never()).dispose();
+	}
+
+	@Test
+	public void evictionDisposesSnapshot() throws Exception {
+		final Snapshot first = snapshot(ELK);
+		cache.put("MAIN/a", first);
+		cache.put("MAIN/b", snapshot(ELK));
+		cache.put("MAIN/c", snapshot(ELK));
+
+		verify(first.getReasoner()).dispose();
+	}
+
+	@Test
+	public void invalidateAllDisposesSnapshots() throws Exception {
+		final Snapshot snapshot = snapshot(ELK);
+		cache.put("MAIN", snapshot);
+		cache.invalidateAll();
+
+		assertThat(cache.take("MAIN", ELK)).isNull();
+		verify(snapshot.getReasoner()).dispose();
+	}
+
+	private static Snapshot snapshot(final String reasonerId) {
+		return new Snapshot(reasonerId, null, mock(OWLReasoner.class));
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.reasoner.normalform;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.b2international.collections.PrimitiveLists;
+import com.b2international.collections.longs.LongList;
+import com.b2international.snowowl.snomed.common.SnomedConstants.Concepts;
+import com.b2international.snowowl.snomed.core.domain.SnomedConcept;
+import com.b2international.snowowl.snomed.core.domain.SnomedRelationship;
+import com.b2international.snowowl.snomed.datastore.ConcreteDomainFragment;
+import com.b2international.snowowl.snomed.datastore.StatementFragment;
+import com.b2international.snowowl.snomed.datastore.index.taxonomy.InternalIdEdges;
+import com.b2international.snowowl.snomed.datastore.index.taxonomy.InternalIdMap;
+import com.b2international.snowowl.snomed.datastore.index.taxonomy.InternalSctIdMultimap;
+import com.b2international.snowowl.snomed.datastore.index.taxonomy.InternalSctIdSet;
+import com.b2international.snowowl.snomed.datastore.index.taxonomy.ReasonerTaxonomy;
+import com.b2international.snowowl.snomed.datastore.index.taxonomy.ReasonerTaxonomyBuilder;
+import com.b2international.snowowl.snomed.reasoner.classification.ReasonerTaxonomyInferrer;
+import com.b2international.snowowl.snomed.reasoner.diff.OntologyChangeProcessor;
+
+/**
+ * Verifies that computing the normal form of taxonomy levels in parallel produces the same changes as a sequential run. Levels of the test
+ * taxonomy are wider than the minimum level size that is processed in parallel.
+ *
+ * @since 7.5
+ */
+public class NormalFormGeneratorTest {
+
+	private static final int LEVEL_WIDTH = 600;
+	private static final int VALUE_COUNT = 4;
+
+	private static final String ROOT = Concepts.ROOT_CONCEPT;
+	private static final String ATTRIBUTE_TYPE = "1001";
+	private static final String OTHER_ATTRIBUTE_TYPE = "1002";
+	private static final String VALUE_PARENT = "1003";
+
+	private static ReasonerTaxonomy taxonomy;
+	private static int relationshipId = 0;
+
+	@BeforeClass
+	public static void buildTaxonomy() {
+		final List<SnomedConcept> concepts = newArrayList();
+		final List<SnomedRelationship> statedRelationships = newArrayList();
+		final List<SnomedRelationship> inferredRelationships = newArrayList();
+		final List<String> sourceIds = newArrayList();
+		final List<String> parentIds = newArrayList();
+
+		concepts.add(concept(ROOT, true));
+		concepts.add(concept(ATTRIBUTE_TYPE, true));
+		concepts.add(concept(OTHER_ATTRIBUTE_TYPE, true));
+		concepts.add(concept(VALUE_PARENT, true));
+		addParent(sourceIds, parentIds, ATTRIBUTE_TYPE, ROOT);
+		addParent(sourceIds, parentIds, OTHER_ATTRIBUTE_TYPE, ROOT);
+		addParent(sourceIds, parentIds, VALUE_PARENT, ROOT);
+
+		for (int v = 0; v < VALUE_COUNT; v++) {
+			concepts.add(concept(value(v), true));
+			addParent(sourceIds, parentIds, value(v), VALUE_PARENT);
+		}
+
+		// First level: primitive concepts with a grouped attribute, existing inferred relationships use varying group numbers
+		for (int i = 0; i < LEVEL_WIDTH; i++) {
+			concepts.add(concept(first(i), true));
+			addParent(sourceIds, parentIds, first(i), ROOT);
+			statedRelationships.add(relationship(first(i), ATTRIBUTE_TYPE, VALUE_PARENT, 1, Concepts.STATED_RELATIONSHIP));
+			inferredRelationships.add(relationship(first(i), Concepts.IS_A, ROOT, 0, Concepts.INFERRED_RELATIONSHIP));
+			inferredRelationships.add(relationship(first(i), ATTRIBUTE_TYPE, VALUE_PARENT, i % 3, Concepts.INFERRED_RELATIONSHIP));
+		}
+
+		// Second level: concepts with two parents and a more specific value, every fifth concept is fully defined
+		for (int i = 0; i < LEVEL_WIDTH; i++) {
+			concepts.add(concept(second(i), i % 5 != 0));
+			addParent(sourceIds, parentIds, second(i), first(i));
+			addParent(sourceIds, parentIds, second(i), first((i + 1) % LEVEL_WIDTH));
+			statedRelationships.add(relationship(second(i), ATTRIBUTE_TYPE, value(i % VALUE_COUNT), 1, Concepts.STATED_RELATIONSHIP));
+			statedRelationships.add(relationship(second(i), OTHER_ATTRIBUTE_TYPE, VALUE_PARENT, 0, Concepts.STATED_RELATIONSHIP));
+			if (i % 2 == 0) {
+				inferredRelationships.add(relationship(second(i), ATTRIBUTE_TYPE, value(i % VALUE_COUNT), 1, Concepts.INFERRED_RELATIONSHIP));
+			}
+		}
+
+		// Third level: concepts inheriting all of their properties
+		for (int i = 0; i < LEVEL_WIDTH; i++) {
+			concepts.add(concept(third(i), true));
+			addParent(sourceIds, parentIds, third(i), second(i));
+			if (i % 4 == 0) {
+				inferredRelationships.add(relationship(third(i), ATTRIBUTE_TYPE, VALUE_PARENT, 2, Concepts.INFERRED_RELATIONSHIP));
+			}
+		}
+
+		final ReasonerTaxonomy statedTaxonomy = new ReasonerTaxonomyBuilder()
+				.addActiveConceptIds(concepts.stream())
+				.finishConcepts()
+				.addConceptFlags(concepts.stream())
+				.addActiveStatedEdges(statedRelationships.stream())
+				.addActiveStatedNonIsARelationships(statedRelationships.stream())
+				.addActiveInferredRelationships(inferredRelationships.stream())
+				.build();
+
+		final InternalIdMap conceptMap = statedTaxonomy.getConceptMap();
+		final LongList iterationOrder = PrimitiveLists.newLongArrayList();
+		iterationOrder.add(Long.parseLong(ROOT));
+		iterationOrder.add(ReasonerTaxonomyInferrer.DEPTH_CHANGE);
+		for (final SnomedConcept concept : concepts) {
+			if (!ROOT.equals(concept.getId())) {
+				iterationOrder.add(Long.parseLong(concept.getId()));
+			}
+		}
+
+		taxonomy = statedTaxonomy.withInferences(InternalIdEdges.builder(conceptMap).addEdges(sourceIds, parentIds).build(),
+				InternalSctIdSet.builder(conceptMap).build(),
+				InternalSctIdMultimap.builder(conceptMap).build(),
+				iterationOrder);
+	}
+
+	@Test
+	public void parallelChangesMatchSequentialChanges() throws Exception {
+		final List<String> sequentialChanges = computeChanges(1);
+		final List<String> parallelChanges = computeChanges(4);
+
+		assertThat(sequentialChanges).isNotEmpty();
+		assertThat(parallelChanges).isEqualTo(sequentialChanges);
+	}
+
+	private static List<String> computeChanges(final int parallelism) {
+		final List<String> changes = newArrayList();
+		new NormalFormGenerator(taxonomy, parallelism).computeChanges(new NullProgressMonitor(),
+				new RecordingChangeProcessor<StatementFragment>(changes),
+				new RecordingChangeProcessor<ConcreteDomainFragment>(changes));
+		return changes;
+	}
+
+	private static SnomedConcept concept(final String id, final boolean primitive) {
+		final SnomedConcept concept = new SnomedConcept(id);
+		concept.setActive(true);
+		concept.setModuleId(Concepts.MODULE_SCT_CORE);
+		concept.setDefinitionStatusId(primitive ? Concepts.PRIMITIVE : Concepts.FULLY_DEFINED);
+		return concept;
+	}
+
+	private static SnomedRelationship relationship(final String sourceId, final String typeId, final String destinationId, final int group, final String characteristicTypeId) {
+		final SnomedRelationship relationship = new SnomedRelationship(Integer.toString(++relationshipId));
+		relationship.setActive(true);
+		relationship.setModuleId(Concepts.MODULE_SCT_CORE);
+		relationship.setSourceId(sourceId);
+		relationship.setTypeId(typeId);
+		relationship.setDestinationId(destinationId);
+		relationship.setGroup(group);
+		relationship.setUnionGroup(0);
+		relationship.setCharacteristicTypeId(characteristicTypeId);
+		relationship.setModifierId(Concepts.EXISTENTIAL_RESTRICTION_MODIFIER);
+		return relationship;
+	}
+
+	private static void addParent(final List<String> sourceIds, final List<String> parentIds, final String sourceId, final String parentId) {
+		sourceIds.add(sourceId);
+		parentIds.add(parentId);
+	}
+
+	private static String value(final int index) {
+		return Integer.toString(2000 + index);
+	}
+
+	private static String first(final int index) {
+		return Integer.toString(10_000 + index);
+	}
+
+	private static String second(final int index) {
+		return Integer.toString(20_000 + index);
+	}
+
+	private static String third(final int index) {
+		return Integer.toString(30_000 + index);
+	}
+
+	private static final class RecordingChangeProcessor<T extends Serializable> extends OntologyChangeProcessor<T> {
+
+		private final List<String> changes;
+
+		RecordingChangeProcessor(final List<String> changes) {
+			this.changes = changes;
+		}
+
+		@Override
+		protected void handleAddedSubject(final String conceptId, final T addedSubject) {
+			changes.add("+" + conceptId + " " + addedSubject);
+		}
+
+		@Override
+		protected void handleRemovedSubject(final String conceptId, final T removedSubject) {
+			changes.add("-" + conceptId + " " + removedSubject);
+		}
+	}
+
+}
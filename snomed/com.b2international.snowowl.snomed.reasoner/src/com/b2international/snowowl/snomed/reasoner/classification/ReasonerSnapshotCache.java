@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 B2i Healthcare Pte Ltd, http://b2i.sg
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.b2international.snowowl.snomed.reasoner.classification;
+
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import com.b2international.commons.StringUtils;
+import com.b2international.snowowl.snomed.reasoner.ontology.DelegateOntology;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Retains the ontology and the live reasoner instance of the last classification run on a limited number of branches, so that subsequent
+ * classifications can feed only the changed axioms to the reasoner instead of classifying the entire ontology again.
+ * <p>
+ * Snapshots are exclusively owned by a single classification at a time: {@link #take(String, String) taking} a snapshot removes it from the
+ * cache, and it should be either {@link #put(String, Snapshot) returned} after a successful run or {@link Snapshot#dispose() disposed}.
+ *
+ * @since 7.5
+ */
+public final class ReasonerSnapshotCache {
+
+	private final Cache<String, Snapshot> snapshots;
+
+	public ReasonerSnapshotCache(final int maximumSize) {
+		this.snapshots = CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.<String, Snapshot>removalListener(this::onRemoval)
+				.build();
+	}
+
+	/**
+	 * Removes and returns the snapshot registered for the given branch, or for its parent branch if the branch itself does not have one.
+	 * <p>
+	 * The snapshot of the parent branch is taken rather than copied, as the reasoner instance is mutated by the incremental run, and copying
+	 * it would require loading the ontology into a new reasoner, which is the full classification the snapshot is meant to avoid. Taking it
+	 * is safe: the snapshot is owned by a single classification at a time, and the next run on the parent branch finds no snapshot and
+	 * classifies its full ontology. The incremental run on the child branch computes the axiom changes between the snapshot's ontology and
+	 * the current state of the child branch, so it does not depend on which branch the snapshot was registered for.
+	 *
+	 * @param branchPath - the path of the branch to be classified
+	 * @param reasonerId - the identifier of the reasoner to be used for the classification
+	 * @return the snapshot to update incrementally, or <code>null</code> if no snapshot is available for the branch and the reasoner
+	 */
+	public Snapshot take(final String branchPath, final String reasonerId) {
+		final Snapshot snapshot = takeExact(branchPath, reasonerId);
+		if (snapshot != null) {
+			return snapshot;
+		}
+
+		final String parentPath = getParentPath(branchPath);
+		return StringUtils.isEmpty(parentPath) ? null : takeExact(parentPath, reasonerId);
+	}
+
+	private Snapshot takeExact(final String branchPath, final String reasonerId) {
+		final Snapshot snapshot = snapshots.asMap().remove(branchPath);
+		if (snapshot == null) {
+			return null;
+		}
+
+		if (!snapshot.getReasonerId().equals(reasonerId)) {
+			snapshot.dispose();
+			return null;
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Registers the snapshot representing the state of the given branch after a successful classification. Any previously registered
+	 * snapshot of the branch is disposed.
+	 *
+	 * @param branchPath - the path of the classified branch
+	 * @param snapshot - the snapshot to register
+	 */
+	public void put(final String branchPath, final Snapshot snapshot) {
+		snapshots.put(branchPath, snapshot);
+	}
+
+	/**
+	 * Disposes and removes all snapshots from this cache.
+	 */
+	public void invalidateAll() {
+		snapshots.asMap().keySet().forEach(branchPath -> {
+			final Snapshot snapshot = snapshots.asMap().remove(branchPath);
+			if (snapshot != null) {
+				snapshot.dispose();
+			}
+		});
+	}
+
+	private void onRemoval(final RemovalNotification<String, Snapshot> notification) {
+		// Explicitly removed snapshots are owned by the caller
+		if (notification.wasEvicted() || notification.getCause() == RemovalCause.REPLACED) {
+			notification.getValue().dispose();
+		}
+	}
+
+	private static String getParentPath(final String branchPath) {
+		final int separatorIdx = branchPath.lastIndexOf('/');
+		return separatorIdx < 0 ? null : branchPath.substring(0, separatorIdx);
+	}
+
+	/**
+	 * An ontology along with the reasoner instance that has been created for it.
+	 *
+	 * @since 7.5
+	 */
+	public static final class Snapshot {
+
+		private final String reasonerId;
+		private final DelegateOntology ontology;
+		private final OWLReasoner reasoner;
+
+		public Snapshot(final String reasonerId, final DelegateOntology ontology, final OWLReasoner reasoner) {
+			this.reasonerId = reasonerId;
+			this.ontology = ontology;
+			this.reasoner = reasoner;
+		}
+
+		public String getReasonerId() {
+			return reasonerId;
+		}
+
+		public DelegateOntology getOntology() {
+			return ontology;
+		}
+
+		public OWLReasoner getReasoner() {
+			return reasoner;
+		}
+
+		public void dispose() {
+			reasoner.dispose();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2018 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -132,6 +132,8 @@ public final class ReasonerTaxonomyInferrer {
 	private final String reasonerId;
 	private final DelegateOntology ontology;
 	private final BranchContext branchContext;
+	// Reasoners supplied by the caller are not disposed after extracting the inferences
+	private final boolean disposeReasoner;
 
 	private OWLReasoner reasoner;
 	// owl:Nothing should only be considered once
@@ -143,7 +145,15 @@ public final class ReasonerTaxonomyInferrer {
 	private InternalSctIdSet.Builder unsatisfiableConcepts;
 	private InternalSctIdMultimap.Builder equivalentConcepts;
 
-	private static OWLReasoner createReasoner(final String reasonerId, final OWLOntology owlOntology) {
+	/**
+	 * Creates a non-buffering reasoner instance with the specified identifier for the given ontology. 
+	 * 
+	 * @param reasonerId - the extension identifier of the reasoner
+	 * @param owlOntology - the ontology to reason over
+	 * @return the created reasoner
+	 * @since 7.5
+	 */
+	public static OWLReasoner createReasoner(final String reasonerId, final OWLOntology owlOntology) {
 		final IExtensionPoint extensionPoint = Platform.getExtensionRegistry().getExtensionPoint(EXTENSION_POINT_ID);
 		final IExtension[] extensions = extensionPoint.getExtensions();
 
@@ -184,6 +194,25 @@ public final class ReasonerTaxonomyInferrer {
 		this.reasonerId = reasonerId;
 		this.ontology = ontology;
 		this.branchContext = branchContext;
+		this.disposeReasoner = true;
+	}
+
+	/**
+	 * Creates an inferrer that extracts inferences using an existing reasoner
+	 * instance. The reasoner is not disposed after use, so it can process
+	 * subsequent changes of the ontology incrementally.
+	 * 
+	 * @param reasoner - the reasoner to use, created for the given ontology
+	 * @param ontology - the ontology to classify
+	 * @param branchContext - the context of the branch being classified
+	 * @since 7.5
+	 */
+	public ReasonerTaxonomyInferrer(final OWLReasoner reasoner, final DelegateOntology ontology, final BranchContext branchContext) {
+		this.reasonerId = null;
+		this.reasoner = reasoner;
+		this.ontology = ontology;
+		this.branchContext = branchContext;
+		this.disposeReasoner = false;
 	}
 
 	public ReasonerTaxonomy addInferences(final ReasonerTaxonomy taxonomy) {
@@ -196,7 +225,12 @@ public final class ReasonerTaxonomyInferrer {
 			Deque<Node<OWLClass>> secondLayer = new LinkedList<Node<OWLClass>>();
 			final Set<Node<OWLClass>> deferredNodes = newHashSet();
 			
-			reasoner = createReasoner(reasonerId, ontology);
+			if (reasoner == null) {
+				reasoner = createReasoner(reasonerId, ontology);
+			} else {
+				reasoner.flush();
+			}
+			
 			if (Boolean.getBoolean(PRECOMPUTE_PROPERTY)) {
 				reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
 			}
@@ -246,8 +280,9 @@ public final class ReasonerTaxonomyInferrer {
 					iterationOrder);
 			
 		} finally {
-			if (reasoner != null) {
+			if (reasoner != null && disposeReasoner) {
 				reasoner.dispose();
+				reasoner = null;
 			}
 		}
 	}
@@ -1,6 +1,6 @@
 /*
  * Copyright 2009-2017 International Health Terminology Standards Development Organisation
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,22 +19,29 @@
  */
 package com.b2international.snowowl.snomed.reasoner.normalform;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.b2international.collections.PrimitiveLists;
 import com.b2international.collections.PrimitiveMaps;
-import com.b2international.collections.PrimitiveSets;
 import com.b2international.collections.longs.LongIterator;
+import com.b2international.collections.longs.LongKeyIntMap;
 import com.b2international.collections.longs.LongKeyMap;
 import com.b2international.collections.longs.LongList;
 import com.b2international.collections.longs.LongSet;
@@ -49,7 +56,9 @@ import com.b2international.snowowl.snomed.reasoner.classification.ReasonerTaxono
 import com.b2international.snowowl.snomed.reasoner.diff.OntologyChangeProcessor;
 import com.b2international.snowowl.snomed.reasoner.diff.concretedomain.ConcreteDomainChangeOrdering;
 import com.b2international.snowowl.snomed.reasoner.diff.relationship.StatementFragmentOrdering;
+import com.b2international.snowowl.snomed.reasoner.exceptions.ReasonerApiException;
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
@@ -68,20 +77,47 @@ public final class NormalFormGenerator implements INormalFormGenerator {
 	private static final Logger LOGGER = LoggerFactory.getLogger(NormalFormGenerator.class);
 	private static final long IS_A = Long.parseLong(Concepts.IS_A);
 
+	// Levels with fewer concepts are processed on the calling thread
+	private static final int MIN_PARALLEL_LEVEL_SIZE = 256;
+
 	private final ReasonerTaxonomy reasonerTaxonomy;
+	private final int parallelism;
+	
+	/*
+	 * Caches are only written by the thread calling computeChanges, between the processing of two levels, and read by workers while a level is 
+	 * being processed. Results of all levels are retained, as a concept's direct parents may appear on any of the earlier levels.
+	 */
 	private final LongKeyMap<Collection<StatementFragment>> statementCache = PrimitiveMaps.newLongKeyOpenHashMap();
 	private final LongKeyMap<Collection<ConcreteDomainFragment>> concreteDomainCache = PrimitiveMaps.newLongKeyOpenHashMap();
 	private final Map<Long, NodeGraph> transitiveNodeGraphs = newHashMap();
 	
 	/**
-	 * Creates a new distribution normal form generator instance.
+	 * Creates a new distribution normal form generator instance that computes
+	 * changes on the calling thread.
 	 *
 	 * @param reasonerTaxonomy used for querying the concept hierarchy inferred by
 	 *                         the reasoner, as well as the pre-classification
 	 *                         contents of the branch (may not be {@code null})
 	 */
 	public NormalFormGenerator(final ReasonerTaxonomy reasonerTaxonomy) {
+		this(reasonerTaxonomy, 1);
+	}
+	
+	/**
+	 * Creates a new distribution normal form generator instance.
+	 *
+	 * @param reasonerTaxonomy used for querying the concept hierarchy inferred by
+	 *                         the reasoner, as well as the pre-classification
+	 *                         contents of the branch (may not be {@code null})
+	 * @param parallelism      the number of worker threads to use for computing
+	 *                         the normal form of concepts on the same level of
+	 *                         the inferred taxonomy (must be positive)
+	 * @since 7.5
+	 */
+	public NormalFormGenerator(final ReasonerTaxonomy reasonerTaxonomy, final int parallelism) {
+		checkArgument(parallelism > 0, "Parallelism should be positive, got %s.", parallelism);
 		this.reasonerTaxonomy = reasonerTaxonomy;
+		this.parallelism = parallelism;
 	}
 
 	@Override
@@ -94,11 +130,12 @@ public final class NormalFormGenerator implements INormalFormGenerator {
 
 		final LongList entries = reasonerTaxonomy.getIterationOrder();
 		final SubMonitor subMonitor = SubMonitor.convert(monitor, "Generating distribution normal form...", entries.size() * 2);
+		final ForkJoinPool workers = (parallelism > 1) ? new ForkJoinPool(parallelism) : null;
 
 		try {
 
-			LongSet previousLayer = null;
-			LongSet currentLayer = PrimitiveSets.newLongOpenHashSet();
+			final List<LongList> levels = getLevels(entries);
+			LOGGER.info("--- Computing normal form of {} taxonomy levels using {} worker(s)", levels.size(), parallelism);
 			
 			final Set<Long> graphTypeIds = reasonerTaxonomy.getPropertyChains()
 					.stream()
@@ -113,34 +150,21 @@ public final class NormalFormGenerator implements INormalFormGenerator {
 				// Initialize node graphs for properties we need to traverse
 				LOGGER.info("--- Initializing node graphs for types: {}", graphTypeIds);
 				graphTypeIds.forEach(id -> transitiveNodeGraphs.put(id, new NodeGraph()));
-			
 
 				// Round 1: build alternative hierarchies
-				for (final LongIterator itr = entries.iterator(); itr.hasNext(); /* empty */) {
-					final long conceptId = itr.next();
+				for (final LongList level : levels) {
+					precomputeProperties(level, false, workers);
 	
-					if (conceptId == ReasonerTaxonomyInferrer.DEPTH_CHANGE) {
-						if (previousLayer != null) {
-							invalidate(previousLayer);
-						}
-	
-						previousLayer = currentLayer;
-						currentLayer = PrimitiveSets.newLongOpenHashSet();
-						continue;
+					for (final LongIterator itr = level.iterator(); itr.hasNext(); /* empty */) {
+						final long conceptId = itr.next();
+						final Collection<StatementFragment> inferredNonIsAFragments = statementCache.get(conceptId);
+						inferredNonIsAFragments.stream()
+							.filter(r -> transitiveNodeGraphs.keySet().contains(r.getTypeId()))
+							.forEachOrdered(r -> transitiveNodeGraphs.get(r.getTypeId())
+									.addParent(conceptId, r.getDestinationId()));
 					}
-	
-					precomputeProperties(conceptId, false);
-					
-					final Collection<StatementFragment> inferredNonIsAFragments = statementCache.get(conceptId);
-					inferredNonIsAFragments.stream()
-						.filter(r -> transitiveNodeGraphs.keySet().contains(r.getTypeId()))
-						.forEachOrdered(r -> transitiveNodeGraphs.get(r.getTypeId())
-								.addParent(conceptId, r.getDestinationId()));
 				}
 				
-				// Clear the last layer of concepts
-				previousLayer = null;
-				currentLayer = PrimitiveSets.newLongOpenHashSet();
 				statementCache.clear();
 				concreteDomainCache.clear();
 				
@@ -150,23 +174,19 @@ public final class NormalFormGenerator implements INormalFormGenerator {
 		
 			LOGGER.info("--- Use node graphs for hierarchy computation");
 			
-			// Round 2: record changes using the hierarchies
+			// Round 2: compute the normal form using the hierarchies (run costly comparison of property chain hierarchies only if there are any)
+			for (final LongList level : levels) {
+				precomputeProperties(level, propertyChainsPresent, workers);
+			}
+			
+			// Record changes in the original iteration order, so that the output is identical to a sequential run
 			for (final LongIterator itr = entries.iterator(); itr.hasNext(); /* empty */) {
 				final long conceptId = itr.next();
 
 				if (conceptId == ReasonerTaxonomyInferrer.DEPTH_CHANGE) {
-					if (previousLayer != null) {
-						invalidate(previousLayer);
-					}
-
-					previousLayer = currentLayer;
-					currentLayer = PrimitiveSets.newLongOpenHashSet();
 					continue;
 				}
 
-				// Run costly comparison of property chain hierarchies only if there are any
-				precomputeProperties(conceptId, propertyChainsPresent);
-
 				final Collection<StatementFragment> existingStatements = reasonerTaxonomy.getExistingInferredRelationships().get(conceptId);
 				final Collection<StatementFragment> targetStatements = getTargetRelationships(conceptId);
 				statementProcessor.apply(conceptId, existingStatements, targetStatements, StatementFragmentOrdering.INSTANCE, subMonitor.newChild(1));
@@ -177,29 +197,98 @@ public final class NormalFormGenerator implements INormalFormGenerator {
 			}
 
 		} finally {
+			if (workers != null) {
+				workers.shutdownNow();
+			}
 			subMonitor.done();
 			LOGGER.info("<<< Distribution normal form generation [{}]", stopwatch.toString());
 		}
 	}
 
 	/**
-	 * Indicates that the breadth-first iteration has reached a new level in the tree.
-	 * Generators are free to drop caches associated with components in the previous
-	 * "slice".
+	 * Splits the breadth-first iteration order of concepts into topological
+	 * levels, where each concept is placed one level below the deepest of its
+	 * inferred direct parents. The normal form of concepts on the same level can
+	 * be computed independently of each other. Concepts on each level keep their
+	 * relative order from the iteration order.
 	 * 
-	 * @param keysToInvalidate 
+	 * @param entries the iteration order of concepts
+	 * @return the list of levels, starting with concepts without parents
 	 */
-	private void invalidate(final LongSet keysToInvalidate) {
-		statementCache.keySet().removeAll(keysToInvalidate);
-		concreteDomainCache.keySet().removeAll(keysToInvalidate);
+	private List<LongList> getLevels(final LongList entries) {
+		final LongKeyIntMap levelByConceptId = PrimitiveMaps.newLongKeyIntOpenHashMapWithExpectedSize(entries.size());
+		final List<LongList> levels = newArrayList();
+		
+		for (final LongIterator itr = entries.iterator(); itr.hasNext(); /* empty */) {
+			final long conceptId = itr.next();
+			
+			if (conceptId == ReasonerTaxonomyInferrer.DEPTH_CHANGE) {
+				continue;
+			}
+			
+			int level = 0;
+			final LongSet parentIds = reasonerTaxonomy.getInferredAncestors().getDestinations(conceptId, true);
+			for (final LongIterator parentItr = parentIds.iterator(); parentItr.hasNext(); /* empty */) {
+				final long parentId = parentItr.next();
+				if (levelByConceptId.containsKey(parentId)) {
+					level = Math.max(level, levelByConceptId.get(parentId) + 1);
+				}
+			}
+			
+			levelByConceptId.put(conceptId, level);
+			if (level == levels.size()) {
+				levels.add(PrimitiveLists.newLongArrayList());
+			}
+			levels.get(level).add(conceptId);
+		}
+		
+		return levels;
+	}
+
+	private void precomputeProperties(final LongList level, final boolean useNodeGraphs, final ForkJoinPool workers) {
+		final int size = level.size();
+		
+		if (workers == null || size < MIN_PARALLEL_LEVEL_SIZE) {
+			for (final LongIterator itr = level.iterator(); itr.hasNext(); /* empty */) {
+				final long conceptId = itr.next();
+				putTargetGroupSet(conceptId, computeTargetGroupSet(conceptId, useNodeGraphs));
+			}
+			return;
+		}
+		
+		// Workers only read the caches (populated from previous levels), results are registered on the calling thread
+		final NormalFormGroupSet[] targetGroupSets = new NormalFormGroupSet[size];
+		
+		try {
+			workers.submit(() -> IntStream.range(0, size)
+					.parallel()
+					.forEach(i -> targetGroupSets[i] = computeTargetGroupSet(level.get(i), useNodeGraphs)))
+				.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ReasonerApiException("Thread interrupted while computing distribution normal form.", e);
+		} catch (final ExecutionException e) {
+			Throwables.propagateIfPossible(e.getCause());
+			throw new ReasonerApiException("Exception caught while computing distribution normal form.", e.getCause());
+		}
+		
+		for (int i = 0; i < size; i++) {
+			putTargetGroupSet(level.get(i), targetGroupSets[i]);
+		}
+	}
+	
+	private void putTargetGroupSet(final long conceptId, final NormalFormGroupSet targetGroupSet) {
+		// Extract results; place them in the cache, so following concepts can re-use it
+		statementCache.put(conceptId, ImmutableList.copyOf(relationshipsFromGroupSet(targetGroupSet)));
+		concreteDomainCache.put(conceptId, ImmutableList.copyOf(membersFromGroupSet(targetGroupSet)));
 	}
 
-	private void precomputeProperties(final long conceptId, final boolean useNodeGraphs) {
+	private NormalFormGroupSet computeTargetGroupSet(final long conceptId, final boolean useNodeGraphs) {
 		final LongSet parentIds = reasonerTaxonomy.getInferredAncestors().getDestinations(conceptId, true);
 
 		/*
 		 * Non IS-A relationships are fetched from ancestors; redundancy must be removed. Since we are working through the list
-		 * of concepts in breadth-first order, we only need to look at cached results from the direct parents, and "distill"
+		 * of concepts in topological order, we only need to look at cached results from the direct parents, and "distill"
 		 * a non-redundant set of components out of them.
 		 */
 		final LongKeyMap<Collection<StatementFragment>> candidateNonIsARelationships = PrimitiveMaps.newLongKeyOpenHashMap();
@@ -242,17 +331,13 @@ public final class NormalFormGenerator implements INormalFormGenerator {
 		final Collection<ConcreteDomainFragment> ownInferredMembers = reasonerTaxonomy.getInferredConcreteDomainMembers().get(referencedComponentId);
 
 		// Remove redundancy
-		final NormalFormGroupSet targetGroupSet = getTargetGroupSet(conceptId, 
+		return getTargetGroupSet(conceptId, 
 				parentIds,
 				ownInferredNonIsaRelationships,
 				ownInferredMembers,
 				candidateNonIsARelationships,
 				candidateMembers,
 				useNodeGraphs);
-
-		// Extract results; place them in the cache, so following concepts can re-use it
-		statementCache.put(conceptId, ImmutableList.copyOf(relationshipsFromGroupSet(targetGroupSet)));
-		concreteDomainCache.put(conceptId, ImmutableList.copyOf(membersFromGroupSet(targetGroupSet)));
 	}
 
 	private NormalFormGroupSet getTargetGroupSet(final long conceptId,
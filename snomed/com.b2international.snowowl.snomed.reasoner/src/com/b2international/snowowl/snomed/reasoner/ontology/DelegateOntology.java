@@ -1,5 +1,5 @@
 /*
- * Copyright 2011-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2011-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 package com.b2international.snowowl.snomed.reasoner.ontology;
 
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Sets.newHashSet;
 
 import java.io.IOException;
@@ -342,13 +344,15 @@ public final class DelegateOntology extends DelegateOntologyStub implements OWLM
 
 	private final OWLOntologyManager manager;
 	private final OWLOntologyID ontologyID;
-	private final ReasonerTaxonomy taxonomy;
-
 	private final DefaultPrefixManager prefixManager;
 	
-	private final long objectAttributeId;
-	private final long dataAttributeId;
-	private final LongSet neverGroupedIds;
+	// Axiom changes computed in updateTaxonomy(...), accepted when the ontology manager applies them
+	private final Set<OWLOntologyChange> pendingChanges = Sets.newIdentityHashSet();
+	
+	private ReasonerTaxonomy taxonomy;
+	private long objectAttributeId;
+	private long dataAttributeId;
+	private LongSet neverGroupedIds;
 
 	public DelegateOntology(final OWLOntologyManager manager, 
 			final OWLOntologyID ontologyID, 
@@ -356,10 +360,53 @@ public final class DelegateOntology extends DelegateOntologyStub implements OWLM
 
 		this.manager = manager;
 		this.ontologyID = ontologyID;
-		this.taxonomy = taxonomy;
-
 		this.prefixManager = createPrefixManager();
 		
+		setTaxonomy(taxonomy);
+	}
+	
+	/**
+	 * Replaces the taxonomy backing this ontology, and returns the list of
+	 * logical axiom changes between the previous and the new state. The returned
+	 * changes should be passed to {@link OWLOntologyManager#applyChanges(List)},
+	 * so that reasoners listening to the ontology manager can process them
+	 * incrementally.
+	 * <p>
+	 * Computing the changes materializes the logical axioms of both states,
+	 * so it takes time proportional to the size of the ontology; only the
+	 * reasoner's work is proportional to the size of the change.
+	 * 
+	 * @param newTaxonomy - the taxonomy representing the new state of the ontology
+	 * @return the axiom additions and removals, in this order
+	 * @since 7.5
+	 */
+	public List<OWLOntologyChange> updateTaxonomy(final ReasonerTaxonomy newTaxonomy) {
+		final DelegateOntology newOntology = new DelegateOntology(manager, ontologyID, newTaxonomy);
+		final Set<OWLLogicalAxiom> addedAxioms = newHashSet(newOntology.getLogicalAxioms());
+		final List<OWLOntologyChange> removals = newArrayList();
+		
+		for (final OWLLogicalAxiom axiom : getLogicalAxioms()) {
+			if (!addedAxioms.remove(axiom)) {
+				removals.add(new RemoveAxiom(this, axiom));
+			}
+		}
+
+		final List<OWLOntologyChange> changes = newArrayListWithCapacity(addedAxioms.size() + removals.size());
+		addedAxioms.forEach(axiom -> changes.add(new AddAxiom(this, axiom)));
+		changes.addAll(removals);
+		
+		setTaxonomy(newTaxonomy);
+		synchronized (pendingChanges) {
+			pendingChanges.clear();
+			pendingChanges.addAll(changes);
+		}
+		
+		return changes;
+	}
+	
+	private void setTaxonomy(final ReasonerTaxonomy taxonomy) {
+		this.taxonomy = taxonomy;
+		
 		if (taxonomy.getConceptMap().getInternalId(POST_2018_OBJECT_ATTRIBUTE) != -1) {
 			objectAttributeId = POST_2018_OBJECT_ATTRIBUTE;
 		} else {
@@ -391,7 +438,14 @@ public final class DelegateOntology extends DelegateOntologyStub implements OWLM
 	
 	@Override
 	public ChangeApplied applyChange(OWLOntologyChange change) {
-		return change instanceof SetOntologyID ? ChangeApplied.SUCCESSFULLY : ChangeApplied.UNSUCCESSFULLY;
+		if (change instanceof SetOntologyID) {
+			return ChangeApplied.SUCCESSFULLY;
+		}
+		
+		// Axiom changes are already reflected in the backing taxonomy, they only need to reach change listeners
+		synchronized (pendingChanges) {
+			return pendingChanges.remove(change) ? ChangeApplied.SUCCESSFULLY : ChangeApplied.UNSUCCESSFULLY;
+		}
 	}
 	
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 B2i Healthcare Pte Ltd, http://b2i.sg
+ * Copyright 2017-2020 B2i Healthcare Pte Ltd, http://b2i.sg
  * 
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,10 +25,14 @@ import javax.validation.constraints.NotNull;
 import org.hibernate.validator.constraints.NotEmpty;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerRuntimeException;
 import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.b2international.index.revision.RevisionSearcher;
 import com.b2international.snowowl.core.authorization.BranchAccessControl;
@@ -48,6 +52,8 @@ import com.b2international.snowowl.snomed.datastore.config.SnomedCoreConfigurati
 import com.b2international.snowowl.snomed.datastore.index.taxonomy.ReasonerTaxonomy;
 import com.b2international.snowowl.snomed.datastore.index.taxonomy.ReasonerTaxonomyBuilder;
 import com.b2international.snowowl.snomed.reasoner.classification.ClassificationTracker;
+import com.b2international.snowowl.snomed.reasoner.classification.ReasonerSnapshotCache;
+import com.b2international.snowowl.snomed.reasoner.classification.ReasonerSnapshotCache.Snapshot;
 import com.b2international.snowowl.snomed.reasoner.classification.ReasonerTaxonomyInferrer;
 import com.b2international.snowowl.snomed.reasoner.exceptions.ReasonerApiException;
 import com.b2international.snowowl.snomed.reasoner.normalform.NormalFormGenerator;
@@ -63,6 +69,8 @@ import com.b2international.snowowl.snomed.reasoner.ontology.DelegateOntologyFact
  */
 final class ClassificationJobRequest implements Request<BranchContext, Boolean>, BranchAccessControl {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger("reasoner");
+
 	@NotEmpty
 	private String reasonerId;
 
@@ -130,16 +138,52 @@ final class ClassificationJobRequest implements Request<BranchContext, Boolean>,
 			throw new ReasonerApiException("Thread interrupted while acquiring exclusive access to terminology store for classification.", e);
 		}
 		
+		final ReasonerSnapshotCache snapshotCache = context.optionalService(ReasonerSnapshotCache.class).orElse(null);
+		final boolean incremental = snapshotCache != null 
+				&& additionalConcepts.isEmpty() 
+				&& SnomedCoreConfiguration.ELK_REASONER_ID.equals(reasonerId);
+		
+		if (incremental) {
+			final Snapshot snapshot = snapshotCache.take(branch.path(), reasonerId);
+			if (snapshot != null) {
+				final ReasonerTaxonomy inferredTaxonomy = classifyIncrementally(context, snapshot, taxonomy);
+				if (inferredTaxonomy != null) {
+					snapshotCache.put(branch.path(), snapshot);
+					final NormalFormGenerator normalFormGenerator = new NormalFormGenerator(inferredTaxonomy, configuration.getNormalFormWorkers());
+					tracker.classificationCompleted(classificationId, inferredTaxonomy, normalFormGenerator);
+					return;
+				}
+			}
+		}
+		
 		final OWLOntologyManager ontologyManager = OWLManager.createOWLOntologyManager();
-		ontologyManager.getOntologyFactories().add(new DelegateOntologyFactory(taxonomy));
+		final DelegateOntologyFactory ontologyFactory = new DelegateOntologyFactory(taxonomy);
+		ontologyManager.getOntologyFactories().add(ontologyFactory);
 		final IRI ontologyIRI = IRI.create(DelegateOntology.NAMESPACE_SCTM + Concepts.MODULE_SCT_CORE); // TODO: custom moduleId in ontology IRI?
 
+		OWLReasoner reasoner = null;
+		
 		try {
 
 			final DelegateOntology ontology = (DelegateOntology) ontologyManager.createOntology(ontologyIRI);
-			final ReasonerTaxonomyInferrer inferrer = new ReasonerTaxonomyInferrer(reasonerId, ontology, context);
+			final ReasonerTaxonomyInferrer inferrer;
+			
+			if (incremental) {
+				// Keep the reasoner alive after the run, so that the next classification of the branch can update it
+				ontologyManager.getOntologyFactories().remove(ontologyFactory);
+				reasoner = ReasonerTaxonomyInferrer.createReasoner(reasonerId, ontology);
+				inferrer = new ReasonerTaxonomyInferrer(reasoner, ontology, context);
+			} else {
+				inferrer = new ReasonerTaxonomyInferrer(reasonerId, ontology, context);
+			}
+			
 			final ReasonerTaxonomy inferredTaxonomy = inferrer.addInferences(taxonomy);
-			final NormalFormGenerator normalFormGenerator = new NormalFormGenerator(inferredTaxonomy);
+			final NormalFormGenerator normalFormGenerator = new NormalFormGenerator(inferredTaxonomy, configuration.getNormalFormWorkers());
+			
+			if (reasoner != null) {
+				snapshotCache.put(branch.path(), new Snapshot(reasonerId, ontology, reasoner));
+				reasoner = null;
+			}
 			
 			tracker.classificationCompleted(classificationId, inferredTaxonomy, normalFormGenerator);
 
@@ -147,6 +191,37 @@ final class ClassificationJobRequest implements Request<BranchContext, Boolean>,
 			throw new ReasonerApiException("Exception caught while creating ontology instance.", e);
 		} catch (final ReasonerInterruptedException | OWLReasonerRuntimeException e) {
 			throw new ReasonerApiException("Exception caught while classifying the ontology.", e);	
+		} finally {
+			if (reasoner != null) {
+				reasoner.dispose();
+			}
+		}
+	}
+
+	/*
+	 * Updates the ontology of a previous classification run with the axiom changes between the two taxonomies, and lets the reasoner of the 
+	 * run process the changes incrementally. Returns null (and disposes the snapshot) if the update fails, in which case the caller should 
+	 * classify the full ontology instead.
+	 */
+	private ReasonerTaxonomy classifyIncrementally(final BranchContext context, final Snapshot snapshot, final ReasonerTaxonomy taxonomy) {
+		try {
+			final DelegateOntology ontology = snapshot.getOntology();
+			final List<OWLOntologyChange> changes = ontology.updateTaxonomy(taxonomy);
+			LOGGER.info("Applying {} axiom change(s) to the ontology of the previous classification run.", changes.size());
+			
+			if (!changes.isEmpty()) {
+				ontology.getOWLOntologyManager().applyChanges(changes);
+			}
+			
+			final ReasonerTaxonomyInferrer inferrer = new ReasonerTaxonomyInferrer(snapshot.getReasoner(), ontology, context);
+			return inferrer.addInferences(taxonomy);
+		} catch (final ReasonerInterruptedException e) {
+			snapshot.dispose();
+			throw new ReasonerApiException("Exception caught while classifying the ontology.", e);
+		} catch (final RuntimeException e) {
+			LOGGER.warn("Incremental classification failed, falling back to classifying the full ontology.", e);
+			snapshot.dispose();
+			return null;
 		}
 	}
 